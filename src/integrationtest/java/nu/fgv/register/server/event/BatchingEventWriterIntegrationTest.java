@@ -0,0 +1,71 @@
+package nu.fgv.register.server.event;
+
+import nu.fgv.register.server.tag.Tag;
+import nu.fgv.register.server.util.AbstractIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchingEventWriterIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAll();
+    }
+
+    @Test
+    void should_persist_events_of_committed_transaction() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new SpringEvent(tag("first"), Event.EventType.CREATE, Event.SourceType.TAG));
+            eventPublisher.publishEvent(new SpringEvent(tag("second"), Event.EventType.UPDATE, Event.SourceType.TAG));
+        });
+
+        assertThat(count()).isEqualTo(2);
+    }
+
+    @Test
+    void should_not_persist_events_of_rolled_back_transaction() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new SpringEvent(tag("first"), Event.EventType.CREATE, Event.SourceType.TAG));
+            status.setRollbackOnly();
+        });
+
+        assertThat(count()).isZero();
+    }
+
+    @Test
+    void should_persist_events_outside_transaction() {
+        eventPublisher.publishEvent(new SpringEvent(tag("first"), Event.EventType.REMOVE, Event.SourceType.TAG));
+
+        assertThat(count()).isEqualTo(1);
+    }
+
+    private long count() {
+        // Read on a connection of its own, so that only committed rows are seen
+        return jdbcClient.sql("SELECT COUNT(*) FROM event").query(Long.class).single();
+    }
+
+    private static Tag tag(final String createdBy) {
+        final Tag tag = new Tag();
+        tag.setCreatedBy(createdBy);
+        return tag;
+    }
+}
@@ -0,0 +1,101 @@
+package nu.fgv.register.server.export;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.LogConfig;
+import io.restassured.http.ContentType;
+import nu.fgv.register.server.util.AbstractIntegrationTest;
+import nu.fgv.register.server.util.Constants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import static io.restassured.RestAssured.config;
+import static io.restassured.RestAssured.given;
+import static io.restassured.config.EncoderConfig.encoderConfig;
+
+class ExportJobApiIntegrationTest extends AbstractIntegrationTest {
+
+    private static String basePath;
+    @LocalServerPort
+    private int localPort;
+
+    @BeforeAll
+    public static void beforeClass() {
+        basePath = ExportJobApi.class.getAnnotation(RequestMapping.class).value()[0];
+    }
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = localPort;
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+        final RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder();
+        requestSpecBuilder.setBasePath(basePath);
+        RestAssured.requestSpecification = requestSpecBuilder.build();
+        RestAssured.config = config()
+                .encoderConfig(encoderConfig().appendDefaultContentCharsetToContentTypeIfUndefined(false))
+                .logConfig(LogConfig.logConfig().enableLoggingOfRequestAndResponseIfValidationFails());
+    }
+
+    @AfterEach
+    void tearDown() {
+        RestAssured.reset();
+    }
+
+    @Nested
+    @DisplayName("Create")
+    class CreateTests {
+
+        @Test
+        void should_create_and_return_202() {
+            //@formatter:off
+            given()
+                .header(HttpHeaders.AUTHORIZATION, obtainAdminAccessToken())
+                .contentType(ContentType.JSON)
+                .body(ExportJobCreateDto.builder().entity("task").contentType(Constants.MediaTypes.APPLICATION_XLSX_VALUE).build())
+            .when()
+                .post()
+            .then()
+                .statusCode(HttpStatus.ACCEPTED.value());
+            //@formatter:on
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"task", "taskCategory", "spexCategory", "tag"})
+        void should_return_403_when_not_permitted(final String entity) {
+            //@formatter:off
+            given()
+                .header(HttpHeaders.AUTHORIZATION, obtainUserAccessToken())
+                .contentType(ContentType.JSON)
+                .body(ExportJobCreateDto.builder().entity(entity).contentType(Constants.MediaTypes.APPLICATION_XLSX_VALUE).build())
+            .when()
+                .post()
+            .then()
+                .statusCode(HttpStatus.FORBIDDEN.value());
+            //@formatter:on
+        }
+
+        @Test
+        void should_create_tag_export_for_editor() {
+            //@formatter:off
+            given()
+                .header(HttpHeaders.AUTHORIZATION, obtainEditorAccessToken())
+                .contentType(ContentType.JSON)
+                .body(ExportJobCreateDto.builder().entity("tag").contentType(Constants.MediaTypes.APPLICATION_XLSX_VALUE).build())
+            .when()
+                .post()
+            .then()
+                .statusCode(HttpStatus.ACCEPTED.value());
+            //@formatter:on
+        }
+    }
+}
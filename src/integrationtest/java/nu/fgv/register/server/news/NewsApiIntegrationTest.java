@@ -24,6 +24,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.stream.IntStream;
 
@@ -32,6 +35,7 @@ import static io.restassured.RestAssured.given;
 import static io.restassured.config.EncoderConfig.encoderConfig;
 import static nu.fgv.register.server.util.security.SecurityUtil.toObjectIdentity;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.nullValue;
 
 class NewsApiIntegrationTest extends AbstractIntegrationTest {
 
@@ -332,6 +336,53 @@ class NewsApiIntegrationTest extends AbstractIntegrationTest {
                 .statusCode(HttpStatus.NOT_FOUND.value());
             //@formatter:on
         }
+
+        @Test
+        void should_return_304_when_not_modified() {
+            var news = persistNews(randomizeNews());
+            grantReadPermissionToRoleUser(toObjectIdentity(News.class, news.getId()));
+
+            //@formatter:off
+            final String eTag =
+                    given()
+                        .header(HttpHeaders.AUTHORIZATION, obtainUserAccessToken())
+                        .contentType(ContentType.JSON)
+                    .when()
+                        .get("/{id}", news.getId())
+                    .then()
+                        .statusCode(HttpStatus.OK.value())
+                        .extract().header(HttpHeaders.ETAG);
+
+            given()
+                .header(HttpHeaders.AUTHORIZATION, obtainUserAccessToken())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .contentType(ContentType.JSON)
+            .when()
+                .get("/{id}", news.getId())
+            .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+            //@formatter:on
+        }
+
+        @Test
+        void should_return_403_instead_of_304_when_not_permitted() {
+            var news = persistNews(randomizeNews());
+            grantReadPermissionToRoleAdmin(toObjectIdentity(News.class, news.getId()));
+
+            //@formatter:off
+            given()
+                .header(HttpHeaders.AUTHORIZATION, obtainUserAccessToken())
+                .header(HttpHeaders.IF_MODIFIED_SINCE, DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusDays(1)))
+                .header(HttpHeaders.IF_NONE_MATCH, "*")
+                .contentType(ContentType.JSON)
+            .when()
+                .get("/{id}", news.getId())
+            .then()
+                .statusCode(HttpStatus.FORBIDDEN.value())
+                .header(HttpHeaders.ETAG, nullValue())
+                .header(HttpHeaders.LAST_MODIFIED, nullValue());
+            //@formatter:on
+        }
     }
 
     @Nested
@@ -10,6 +10,7 @@ import nu.fgv.register.server.event.EventDto;
 import nu.fgv.register.server.event.EventRepository;
 import nu.fgv.register.server.user.User;
 import nu.fgv.register.server.util.AbstractIntegrationTest;
+import nu.fgv.register.server.util.Constants;
 import nu.fgv.register.server.util.randomizer.SocialSecurityNumberRandomizer;
 import org.jeasy.random.EasyRandom;
 import org.jeasy.random.EasyRandomParameters;
@@ -642,6 +643,39 @@ class SpexareApiIntegrationTest extends AbstractIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("Stream")
+    class StreamTests {
+
+        @Test
+        void should_stream_and_return_200() {
+            persistSpexare(randomizeSpexare());
+
+            //@formatter:off
+            given()
+                .header(HttpHeaders.AUTHORIZATION, obtainAdminAccessToken())
+                .header(HttpHeaders.ACCEPT, Constants.MediaTypes.TEXT_CSV_VALUE)
+            .when()
+                .get()
+            .then()
+                .statusCode(HttpStatus.OK.value());
+            //@formatter:on
+        }
+
+        @Test
+        void should_return_403_when_not_permitted() {
+            //@formatter:off
+            given()
+                .header(HttpHeaders.AUTHORIZATION, obtainUserAccessToken())
+                .header(HttpHeaders.ACCEPT, Constants.MediaTypes.TEXT_CSV_VALUE)
+            .when()
+                .get()
+            .then()
+                .statusCode(HttpStatus.FORBIDDEN.value());
+            //@formatter:on
+        }
+    }
+
     @Nested
     @DisplayName("Image")
     class ImageTests {
@@ -0,0 +1,65 @@
+package nu.fgv.register.server.spexare;
+
+import nu.fgv.register.server.util.AbstractIntegrationTest;
+import nu.fgv.register.server.util.BatchResultDto;
+import nu.fgv.register.server.util.sql.QueryStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpexareBatchingIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int NUMBER_OF_SPEXARE = 500;
+
+    @Autowired
+    private SpexareService service;
+
+    @Autowired
+    private SpexareRepository repository;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void should_insert_spexare_in_batches() {
+        final SpexareBatchDto dto = SpexareBatchDto.builder()
+                .create(IntStream.range(0, NUMBER_OF_SPEXARE)
+                        .mapToObj(i -> SpexareCreateDto.builder().firstName("First name " + i).lastName("Last name " + i).build())
+                        .toList())
+                .build();
+        final long insertsBefore = executedInserts();
+        final QueryStatistics.Snapshot before = QueryStatistics.current().snapshot();
+
+        final BatchResultDto result = service.batch(dto);
+
+        final QueryStatistics.Snapshot executed = QueryStatistics.current().snapshot().minus(before);
+
+        assertThat(result.getSucceeded()).isEqualTo(NUMBER_OF_SPEXARE);
+        assertThat(repository.count()).isEqualTo(NUMBER_OF_SPEXARE);
+        // One JDBC batch per hibernate.jdbc.batch_size rows and one id generator round trip per allocation
+        assertThat(executed.statements())
+                .as("Statements executed")
+                .isLessThan(NUMBER_OF_SPEXARE / 10);
+        // Each JDBC batch is rewritten by the driver into a single multi-row insert
+        assertThat(executedInserts() - insertsBefore)
+                .as("Inserts executed by the server")
+                .isLessThan(NUMBER_OF_SPEXARE / 10);
+    }
+
+    private long executedInserts() {
+        return jdbcClient
+                .sql("SELECT VARIABLE_VALUE FROM performance_schema.global_status WHERE VARIABLE_NAME = 'Com_insert'")
+                .query(Long.class)
+                .single();
+    }
+}
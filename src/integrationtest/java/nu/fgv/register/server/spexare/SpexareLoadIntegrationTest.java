@@ -0,0 +1,203 @@
+package nu.fgv.register.server.spexare;
+
+import io.restassured.RestAssured;
+import io.restassured.config.LogConfig;
+import nu.fgv.register.server.admin.DatasetGenerator;
+import nu.fgv.register.server.admin.IndexingService;
+import nu.fgv.register.server.spexare.activity.task.actor.ActorApi;
+import nu.fgv.register.server.util.AbstractIntegrationTest;
+import nu.fgv.register.server.util.Constants;
+import nu.fgv.register.server.util.load.LoadTestProperties;
+import nu.fgv.register.server.util.load.LoadTestRunner;
+import nu.fgv.register.server.util.load.LocalJwtIssuer;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.util.ResourceUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.config;
+import static io.restassured.RestAssured.given;
+import static io.restassured.config.EncoderConfig.encoderConfig;
+
+/**
+ * Measures latency of the heaviest read paths under concurrent load against a generated dataset and fails when any
+ * scenario exceeds its budget in {@code spexregister.load-test}. Excluded from the integration tests, run with
+ * {@code ./gradlew loadTest}. The debug logging of the integration tests is turned down, since writing it would
+ * otherwise dominate the measured latencies.
+ */
+@Tag("load")
+@Import(LocalJwtIssuer.class)
+@TestPropertySource(properties = "logging.level.org.springframework=WARN")
+class SpexareLoadIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String BASE_PATH = SpexareApi.class.getAnnotation(RequestMapping.class).value()[0];
+    private static final String ACTORS_PATH = ActorApi.class.getAnnotation(RequestMapping.class).value()[0];
+
+    @LocalServerPort
+    private int localPort;
+
+    @Autowired
+    private LocalJwtIssuer jwtIssuer;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private IndexingService indexingService;
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    @Autowired
+    private Environment environment;
+
+    private LoadTestProperties properties;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        RestAssured.port = localPort;
+        RestAssured.config = config()
+                .encoderConfig(encoderConfig().appendDefaultContentCharsetToContentTypeIfUndefined(false))
+                .logConfig(LogConfig.logConfig().enableLoggingOfRequestAndResponseIfValidationFails());
+
+        properties = Binder.get(environment).bind("spexregister.load-test", LoadTestProperties.class).get();
+
+        new DatasetGenerator(
+                jdbcClient,
+                dataSource,
+                indexingService,
+                applicationContext,
+                environment.getRequiredProperty("spexregister.crypto.algorithm"),
+                environment.getRequiredProperty("spexregister.crypto.secret-key"),
+                environment.getRequiredProperty("spexregister.crypto.initialization-vector"),
+                properties.spexare(),
+                properties.seed(),
+                1000,
+                true
+        ).generate();
+
+        jdbcClient
+                .sql("UPDATE spexare SET image = :image, image_content_type = 'image/png' WHERE MOD(id, 10) = 0")
+                .param("image", Files.readAllBytes(ResourceUtils.getFile("classpath:test.png").toPath()))
+                .update();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RestAssured.reset();
+    }
+
+    @Test
+    void should_stay_within_budgets() throws Exception {
+        final String token = jwtIssuer.issue(TEST_ADMIN, AUTHORITY_ADMIN);
+        final List<String> names = jdbcClient.sql("SELECT DISTINCT first_name FROM spexare ORDER BY first_name LIMIT 200").query(String.class).list();
+        final List<Long> spexareIds = jdbcClient.sql("SELECT id FROM spexare ORDER BY id").query(Long.class).list();
+        final List<Long> spexareIdsWithImage = jdbcClient.sql("SELECT id FROM spexare WHERE image IS NOT NULL ORDER BY id").query(Long.class).list();
+        final List<Long[]> taskActivities = jdbcClient
+                .sql("""
+                        SELECT a.spexare_id, a.id AS activity_id, ta.id AS task_activity_id
+                        FROM task_activity ta
+                        JOIN activity a ON a.id = ta.activity_id
+                        WHERE EXISTS (SELECT 1 FROM actor ac WHERE ac.task_activity_id = ta.id)
+                        ORDER BY ta.id
+                        LIMIT 1000
+                        """)
+                .query((rs, rowNum) -> new Long[]{rs.getLong("spexare_id"), rs.getLong("activity_id"), rs.getLong("task_activity_id")})
+                .list();
+
+        final List<LoadTestRunner.Scenario> scenarios = List.of(
+                new LoadTestRunner.Scenario("search", 30, rnd ->
+                        given()
+                                .header(HttpHeaders.AUTHORIZATION, token)
+                                .queryParam("q", names.get(rnd.nextInt(names.size())))
+                                .get(BASE_PATH)
+                                .statusCode()),
+                new LoadTestRunner.Scenario("suggest", 30, rnd -> {
+                    final String name = names.get(rnd.nextInt(names.size()));
+
+                    return given()
+                            .header(HttpHeaders.AUTHORIZATION, token)
+                            .queryParam("prefix", name.substring(0, Math.min(name.length(), 1 + rnd.nextInt(4))))
+                            .get(BASE_PATH + "/suggest")
+                            .statusCode();
+                }),
+                new LoadTestRunner.Scenario("listing", 30, rnd ->
+                        given()
+                                .header(HttpHeaders.AUTHORIZATION, token)
+                                .queryParam("filter", Spexare_.FIRST_NAME + ":" + names.get(rnd.nextInt(names.size())))
+                                .queryParam("page", rnd.nextInt(3))
+                                .queryParam("size", 20)
+                                .queryParam("sort", Spexare_.LAST_NAME + ",asc")
+                                .get(BASE_PATH)
+                                .statusCode()),
+                new LoadTestRunner.Scenario("actors", 20, rnd -> {
+                    final Long[] ids = taskActivities.get(rnd.nextInt(taskActivities.size()));
+
+                    return given()
+                            .header(HttpHeaders.AUTHORIZATION, token)
+                            .get(ACTORS_PATH, (Object[]) ids)
+                            .statusCode();
+                }),
+                new LoadTestRunner.Scenario("export", 5, rnd ->
+                        given()
+                                .header(HttpHeaders.AUTHORIZATION, token)
+                                .header(HttpHeaders.ACCEPT, Constants.MediaTypes.TEXT_CSV_VALUE)
+                                .queryParam("ids", IntStream.range(0, 100)
+                                        .mapToObj(i -> String.valueOf(spexareIds.get(rnd.nextInt(spexareIds.size()))))
+                                        .collect(Collectors.joining(",")))
+                                .get(BASE_PATH)
+                                .statusCode()),
+                new LoadTestRunner.Scenario("image", 15, rnd ->
+                        given()
+                                .header(HttpHeaders.AUTHORIZATION, token)
+                                .get(BASE_PATH + "/{id}/image", spexareIdsWithImage.get(rnd.nextInt(spexareIdsWithImage.size())))
+                                .statusCode())
+        );
+
+        final Map<String, LoadTestRunner.Statistics> statistics = new LoadTestRunner(
+                properties.concurrency(),
+                properties.warmupRequests(),
+                properties.requests(),
+                properties.seed()
+        ).run(scenarios);
+
+        final SoftAssertions softly = new SoftAssertions();
+
+        statistics.forEach((scenario, s) -> {
+            final LoadTestProperties.Budget budget = properties.budgets().get(scenario);
+
+            softly.assertThat(s.requests()).as("%s requests", scenario).isPositive();
+            if (budget != null) {
+                softly.assertThat(Duration.ofNanos(s.p50())).as("%s p50", scenario).isLessThanOrEqualTo(budget.p50());
+                softly.assertThat(Duration.ofNanos(s.p95())).as("%s p95", scenario).isLessThanOrEqualTo(budget.p95());
+                softly.assertThat(Duration.ofNanos(s.p99())).as("%s p99", scenario).isLessThanOrEqualTo(budget.p99());
+                softly.assertThat(s.errorRate()).as("%s error rate", scenario).isLessThanOrEqualTo(budget.maxErrorRate());
+            }
+        });
+        softly.assertAll();
+    }
+}
@@ -0,0 +1,122 @@
+package nu.fgv.register.server.spexare;
+
+import nu.fgv.register.server.spexare.activity.Activity;
+import nu.fgv.register.server.spexare.activity.ActivityRepository;
+import nu.fgv.register.server.spexare.activity.spex.SpexActivity;
+import nu.fgv.register.server.user.User;
+import nu.fgv.register.server.util.AbstractIntegrationTest;
+import nu.fgv.register.server.util.randomizer.SocialSecurityNumberRandomizer;
+import org.jeasy.random.EasyRandom;
+import org.jeasy.random.EasyRandomParameters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.jeasy.random.FieldPredicates.inClass;
+import static org.jeasy.random.FieldPredicates.named;
+import static org.jeasy.random.FieldPredicates.ofType;
+
+class SpexarePathResolverIntegrationTest extends AbstractIntegrationTest {
+
+    private final EasyRandom random;
+
+    @Autowired
+    private SpexarePathResolver resolver;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private SpexareRepository spexareRepository;
+
+    public SpexarePathResolverIntegrationTest() {
+        final EasyRandomParameters parameters = new EasyRandomParameters();
+        parameters
+                .randomize(
+                        named("socialSecurityNumber"), new SocialSecurityNumberRandomizer()
+                )
+                .excludeField(named("partner").and(ofType(Spexare.class)).and(inClass(Spexare.class)))
+                .excludeField(named("user").and(ofType(User.class)).and(inClass(Spexare.class)))
+                .excludeField(named("tags").and(ofType(Set.class)).and(inClass(Spexare.class)))
+                .excludeField(named("activities").and(ofType(List.class)).and(inClass(Spexare.class)))
+                .excludeField(named("memberships").and(ofType(List.class)).and(inClass(Spexare.class)))
+                .excludeField(named("consents").and(ofType(List.class)).and(inClass(Spexare.class)))
+                .excludeField(named("toggles").and(ofType(List.class)).and(inClass(Spexare.class)))
+                .excludeField(named("tags").and(ofType(List.class)).and(inClass(Spexare.class)))
+                .excludeField(named("spexActivity").and(ofType(SpexActivity.class)).and(inClass(Activity.class)))
+                .excludeField(named("taskActivities").and(ofType(Set.class)).and(inClass(Activity.class)))
+                .randomizationDepth(1);
+        random = new EasyRandom(parameters);
+    }
+
+    @BeforeEach
+    void setUp() {
+        activityRepository.deleteAll();
+        spexareRepository.deleteAll();
+    }
+
+    @Test
+    void should_resolve_valid_path() {
+        final Spexare spexare = persistSpexare(randomizeSpexare());
+        final Activity activity = persistActivity(randomizeActivity(spexare));
+
+        final SpexarePathResolver.ResolvedPath path = resolver.spexare(spexare.getId()).activity(activity.getId()).resolve();
+
+        assertThat(path.allExist()).isTrue();
+        assertThat(path.isLinked()).isTrue();
+    }
+
+    @Test
+    void should_not_link_activity_of_other_spexare() {
+        final Spexare spexare = persistSpexare(randomizeSpexare());
+        final Spexare other = persistSpexare(randomizeSpexare());
+        final Activity activity = persistActivity(randomizeActivity(other));
+
+        final SpexarePathResolver.ResolvedPath path = resolver.spexare(spexare.getId()).activity(activity.getId()).resolve();
+
+        assertThat(path.allExist()).isTrue();
+        assertThat(path.isLinked()).isFalse();
+    }
+
+    @Test
+    void should_resolve_missing_activity() {
+        final Spexare spexare = persistSpexare(randomizeSpexare());
+
+        final SpexarePathResolver.ResolvedPath path = resolver.spexare(spexare.getId()).activity(1L).resolve();
+
+        assertThat(path.ancestorsExist()).isTrue();
+        assertThat(path.allExist()).isFalse();
+        assertThat(path.isLinked()).isFalse();
+    }
+
+    @Test
+    void should_resolve_missing_spexare() {
+        final SpexarePathResolver.ResolvedPath path = resolver.spexare(1L).activity(1L).resolve();
+
+        assertThat(path.ancestorsExist()).isFalse();
+        assertThat(path.allExist()).isFalse();
+    }
+
+    private Activity randomizeActivity(Spexare spexare) {
+        var activity = random.nextObject(Activity.class);
+        activity.setSpexare(spexare);
+        return activity;
+    }
+
+    private Activity persistActivity(Activity activity) {
+        return activityRepository.save(activity);
+    }
+
+    private Spexare randomizeSpexare() {
+        return random.nextObject(Spexare.class);
+    }
+
+    private Spexare persistSpexare(Spexare spexare) {
+        return spexareRepository.save(spexare);
+    }
+
+}
@@ -37,6 +37,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 class TaskApiIntegrationTest extends AbstractIntegrationTest {
 
+    private static final long MAX_STATEMENTS_PER_PAGE = 20;
+
     private static String basePath;
     private final EasyRandom random;
     @LocalServerPort
@@ -141,8 +143,9 @@ class TaskApiIntegrationTest extends AbstractIntegrationTest {
                 grantReadPermissionToRoleUser(toObjectIdentity(Task.class, task.getId()));
             });
 
+            // The statements must not grow with the number of tasks
             //@formatter:off
-            final List<TaskDto> result =
+            final List<TaskDto> result = withinQueryBudget(MAX_STATEMENTS_PER_PAGE, () ->
                     given()
                         .header(HttpHeaders.AUTHORIZATION, obtainUserAccessToken())
                         .contentType(ContentType.JSON)
@@ -152,7 +155,7 @@ class TaskApiIntegrationTest extends AbstractIntegrationTest {
                     .then()
                         .statusCode(HttpStatus.OK.value())
                         .extract().body()
-                        .jsonPath().getList("_embedded.tasks", TaskDto.class);
+                        .jsonPath().getList("_embedded.tasks", TaskDto.class));
             //@formatter:on
 
             assertThat(result).hasSize(size);
@@ -4,8 +4,11 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import dasniko.testcontainers.keycloak.KeycloakContainer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.ws.rs.core.Response;
 import nu.fgv.register.server.acl.PermissionService;
+import nu.fgv.register.server.util.sql.QueryObservationHandler;
 import org.apache.http.client.utils.URIBuilder;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.AfterEach;
@@ -50,10 +53,12 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static nu.fgv.register.server.util.security.SecurityUtil.ROLE_ADMIN_SID;
 import static nu.fgv.register.server.util.security.SecurityUtil.ROLE_EDITOR_SID;
 import static nu.fgv.register.server.util.security.SecurityUtil.ROLE_USER_SID;
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Testcontainers
@@ -103,6 +108,9 @@ public abstract class AbstractIntegrationTest {
     @Autowired
     protected PermissionService permissionService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Container
     @ServiceConnection
     private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0.39");
@@ -221,6 +229,29 @@ public abstract class AbstractIntegrationTest {
         return obtainAccessToken(TEST_ADMIN, TEST_PASSWORD);
     }
 
+    /**
+     * Asserts that no more than the given number of statements are executed while performing the request. Only
+     * statements executed on request threads while serving a request are counted, not those of e.g. scheduled jobs.
+     */
+    protected <T> T withinQueryBudget(final long maxStatements, final Supplier<T> request) {
+        final double before = requestStatements();
+        final T result = request.get();
+
+        assertThat((long) (requestStatements() - before))
+                .as("Statements executed")
+                .isLessThanOrEqualTo(maxStatements);
+        return result;
+    }
+
+    private double requestStatements() {
+        return meterRegistry
+                .find(QueryObservationHandler.REQUEST_METRIC_PREFIX + ".statements")
+                .summaries()
+                .stream()
+                .mapToDouble(DistributionSummary::totalAmount)
+                .sum();
+    }
+
     protected void grantPermission(final ObjectIdentity oid, final Sid sid, final Permission permission) {
         permissionService.grantPermission(oid, sid, permission);
     }
@@ -0,0 +1,102 @@
+package nu.fgv.register.server.util.datasource;
+
+import nu.fgv.register.server.tag.TagDto;
+import nu.fgv.register.server.tag.TagService;
+import nu.fgv.register.server.util.AbstractIntegrationTest;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+import java.time.LocalDateTime;
+
+import static nu.fgv.register.server.util.security.SecurityUtil.ROLE_ADMIN;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Uses a second, unreplicated, instance as replica so that where a statement was executed can be told from the result.
+ */
+class ReadWriteRoutingIntegrationTest extends AbstractIntegrationTest {
+
+    @Container
+    private static final MySQLContainer<?> replica = new MySQLContainer<>("mysql:8.0.39");
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicationLagGuard replicationLagGuard;
+
+    @Autowired
+    private TagService tagService;
+
+    @DynamicPropertySource
+    static void replicaProperties(final DynamicPropertyRegistry registry) {
+        registry.add("spexregister.datasource.replica.url", replica::getJdbcUrl);
+        registry.add("spexregister.datasource.replica.username", replica::getUsername);
+        registry.add("spexregister.datasource.replica.password", replica::getPassword);
+    }
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcClient.sql("DELETE FROM tag").update();
+        replicaJdbcClient().sql("DELETE FROM tag").update();
+    }
+
+    @Test
+    void should_route_read_only_transactions_to_replica() {
+        jdbcClient.sql("INSERT INTO tag (name, created_by, created_at) VALUES ('primary', 'test', :now)").param("now", LocalDateTime.now()).update();
+        replicationLagGuard.check();
+
+        assertThat(replicationLagGuard.isReplicaUsable()).isTrue();
+        assertThat(countTags(false)).isEqualTo(1);
+        assertThat(countTags(true)).isZero();
+    }
+
+    @Test
+    void should_route_service_find_methods_to_replica() {
+        jdbcClient.sql("INSERT INTO tag (name, created_by, created_at) VALUES ('primary', 'test', :now)").param("now", LocalDateTime.now()).update();
+        final Long primaryId = jdbcClient.sql("SELECT MAX(id) FROM tag").query(Long.class).single();
+
+        replicaJdbcClient().sql("INSERT INTO tag (id, name, created_by, created_at) VALUES (:id, 'replica', 'test', :now)").param("id", primaryId).param("now", LocalDateTime.now()).update();
+        replicationLagGuard.check();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("whoever", "ignored", ROLE_ADMIN));
+
+        // Services are annotated with jakarta.transaction.Transactional, only the method name makes them read-only
+        assertThat(tagService.findById(primaryId).map(TagDto::getName)).contains("replica");
+    }
+
+    private static JdbcClient replicaJdbcClient() {
+        return JdbcClient.create(new DriverManagerDataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword()));
+    }
+
+    private long countTags(final boolean readOnly) {
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcClient.sql("SELECT COUNT(*) FROM tag").query(Long.class).single());
+    }
+}
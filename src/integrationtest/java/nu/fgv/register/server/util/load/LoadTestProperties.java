@@ -0,0 +1,19 @@
+package nu.fgv.register.server.util.load;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Bound from {@code spexregister.load-test}, any value can be overridden from the command line, e.g.
+ * {@code ./gradlew loadTest -Pspexregister.load-test.concurrency=16}.
+ */
+public record LoadTestProperties(int spexare,
+                                 long seed,
+                                 int concurrency,
+                                 int warmupRequests,
+                                 int requests,
+                                 Map<String, Budget> budgets) {
+
+    public record Budget(Duration p50, Duration p95, Duration p99, double maxErrorRate) {
+    }
+}
@@ -0,0 +1,161 @@
+package nu.fgv.register.server.util.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Drives a weighted mix of scenarios from a fixed number of workers, each sending its next request as soon as the
+ * previous one completes, and reports latency percentiles and errors per scenario. Requests sent during warmup are not
+ * recorded.
+ */
+public class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private final int concurrency;
+    private final int warmupRequests;
+    private final int requests;
+    private final long seed;
+
+    public LoadTestRunner(final int concurrency, final int warmupRequests, final int requests, final long seed) {
+        this.concurrency = concurrency;
+        this.warmupRequests = warmupRequests;
+        this.requests = requests;
+        this.seed = seed;
+    }
+
+    public Map<String, Statistics> run(final List<Scenario> scenarios) throws Exception {
+        final int totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+        final AtomicInteger sent = new AtomicInteger();
+        final Map<String, Samples> samples = new ConcurrentHashMap<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+
+        scenarios.forEach(scenario -> samples.put(scenario.name(), new Samples()));
+
+        try {
+            final List<Future<?>> workers = IntStream.range(0, concurrency)
+                    .<Future<?>>mapToObj(worker -> executor.submit(() -> {
+                        final Random rnd = new Random(seed + worker);
+                        int sequence;
+
+                        while ((sequence = sent.getAndIncrement()) < warmupRequests + requests) {
+                            final Scenario scenario = pick(scenarios, rnd.nextInt(totalWeight));
+                            final long start = System.nanoTime();
+                            boolean error;
+
+                            try {
+                                final int status = scenario.request().apply(rnd);
+
+                                error = status < 200 || status >= 300;
+                            } catch (final Exception e) {
+                                error = true;
+                                if (log.isWarnEnabled()) {
+                                    log.warn("Request for {} failed", scenario.name(), e);
+                                }
+                            }
+
+                            if (sequence >= warmupRequests) {
+                                samples.get(scenario.name()).add(System.nanoTime() - start, error);
+                            }
+                        }
+                    }))
+                    .toList();
+
+            for (final Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final Map<String, Statistics> statistics = new LinkedHashMap<>();
+
+        scenarios.forEach(scenario -> statistics.put(scenario.name(), samples.get(scenario.name()).toStatistics(scenario.name())));
+        report(statistics);
+
+        return statistics;
+    }
+
+    private static Scenario pick(final List<Scenario> scenarios, final int value) {
+        int remaining = value;
+
+        for (final Scenario scenario : scenarios) {
+            remaining -= scenario.weight();
+            if (remaining < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.getLast();
+    }
+
+    private void report(final Map<String, Statistics> statistics) {
+        if (log.isInfoEnabled()) {
+            final StringBuilder report = new StringBuilder("%nLoad test with %d workers and %d requests%n%-12s %8s %8s %10s %10s %10s %10s%n"
+                    .formatted(concurrency, requests, "Scenario", "Requests", "Errors", "p50 (ms)", "p95 (ms)", "p99 (ms)", "max (ms)"));
+
+            statistics.values().forEach(s -> report.append("%-12s %8d %8d %10.1f %10.1f %10.1f %10.1f%n"
+                    .formatted(s.scenario(), s.requests(), s.errors(), millis(s.p50()), millis(s.p95()), millis(s.p99()), millis(s.max()))));
+            log.info(report.toString());
+        }
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @param weight  the relative share of the requests sent for this scenario
+     * @param request sends one request and returns its status code
+     */
+    public record Scenario(String name, int weight, Function<Random, Integer> request) {
+    }
+
+    public record Statistics(String scenario, int requests, int errors, long p50, long p95, long p99, long max) {
+
+        public double errorRate() {
+            return requests == 0 ? 0 : errors / (double) requests;
+        }
+    }
+
+    private static class Samples {
+
+        private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger errors = new AtomicInteger();
+
+        void add(final long nanos, final boolean error) {
+            latencies.add(nanos);
+            if (error) {
+                errors.incrementAndGet();
+            }
+        }
+
+        Statistics toStatistics(final String scenario) {
+            final long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+
+            return new Statistics(scenario, sorted.length, errors.get(), percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99), percentile(sorted, 1.0));
+        }
+
+        private static long percentile(final long[] sorted, final double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            // Nearest rank
+            return sorted[Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1)];
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package nu.fgv.register.server.util.load;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stands in for Keycloak during load tests, issuing tokens shaped like Keycloak's (resource roles, email) signed with
+ * a key pair that only lives for the test, so that neither obtaining nor validating tokens depends on the container.
+ */
+@TestConfiguration
+public class LocalJwtIssuer {
+
+    private static final String ISSUER = "http://localhost/realms/load-test";
+    private static final String RESOURCE = "spexregister";
+
+    private final RSAKey key;
+
+    public LocalJwtIssuer() throws NoSuchAlgorithmException {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+
+        generator.initialize(2048);
+
+        final KeyPair keyPair = generator.generateKeyPair();
+
+        key = new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+                .privateKey((RSAPrivateKey) keyPair.getPrivate())
+                .keyID("load-test")
+                .build();
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder() throws Exception {
+        return NimbusJwtDecoder.withPublicKey(key.toRSAPublicKey()).build();
+    }
+
+    /**
+     * @return an authorization header value for the given user holding the given spexregister roles
+     */
+    public String issue(final String username, final String... roles) {
+        final Instant now = Instant.now();
+        final JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(ISSUER)
+                .subject(username)
+                .issuedAt(now)
+                .expiresAt(now.plus(Duration.ofHours(1)))
+                .claim("email", username)
+                .claim("resource_access", Map.of(RESOURCE, Map.of("roles", List.of(roles))))
+                .build();
+        final JwsHeader header = JwsHeader.with(SignatureAlgorithm.RS256).keyId(key.getKeyID()).build();
+
+        return "Bearer " + new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(key)))
+                .encode(JwtEncoderParameters.from(header, claims))
+                .getTokenValue();
+    }
+}
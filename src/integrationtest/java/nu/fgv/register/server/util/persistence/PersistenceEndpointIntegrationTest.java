@@ -0,0 +1,58 @@
+package nu.fgv.register.server.util.persistence;
+
+import io.restassured.RestAssured;
+import io.restassured.config.LogConfig;
+import nu.fgv.register.server.util.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import static io.restassured.RestAssured.config;
+import static io.restassured.RestAssured.given;
+
+class PersistenceEndpointIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String PATH = "/actuator/persistence";
+
+    @LocalServerPort
+    private int localPort;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = localPort;
+        RestAssured.config = config()
+                .logConfig(LogConfig.logConfig().enableLoggingOfRequestAndResponseIfValidationFails());
+    }
+
+    @AfterEach
+    void tearDown() {
+        RestAssured.reset();
+    }
+
+    @Test
+    void should_return_200_for_admin() {
+        //@formatter:off
+        given()
+            .header(HttpHeaders.AUTHORIZATION, obtainAdminAccessToken())
+        .when()
+            .get(PATH)
+        .then()
+            .statusCode(HttpStatus.OK.value());
+        //@formatter:on
+    }
+
+    @Test
+    void should_return_403_when_not_permitted() {
+        //@formatter:off
+        given()
+            .header(HttpHeaders.AUTHORIZATION, obtainEditorAccessToken())
+        .when()
+            .get(PATH)
+        .then()
+            .statusCode(HttpStatus.FORBIDDEN.value());
+        //@formatter:on
+    }
+}
@@ -0,0 +1,84 @@
+package nu.fgv.register.server.spexare;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static nu.fgv.register.server.spexare.SpexareMapper.SPEXARE_MAPPER;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpexareMapperBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private Spexare model;
+    private List<Spexare> models;
+    private SpexareCreateDto createDto;
+    private SpexareUpdateDto updateDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        model = spexare(1L);
+        models = LongStream.rangeClosed(1, PAGE_SIZE).mapToObj(SpexareMapperBenchmark::spexare).toList();
+        createDto = SpexareCreateDto.builder().firstName("First").lastName("Last").nickName("Nick").build();
+        updateDto = SpexareUpdateDto.builder().id(1L).firstName("First").lastName("Last").nickName("Nick").graduation("1998").comment("Comment").build();
+    }
+
+    @Benchmark
+    public SpexareDto toDto() {
+        return SPEXARE_MAPPER.toDto(model);
+    }
+
+    @Benchmark
+    public List<SpexareDto> toDtos100() {
+        return SPEXARE_MAPPER.toDtos(models);
+    }
+
+    @Benchmark
+    public Spexare toModelFromCreate() {
+        return SPEXARE_MAPPER.toModel(createDto);
+    }
+
+    @Benchmark
+    public Spexare toModelFromUpdate() {
+        return SPEXARE_MAPPER.toModel(updateDto);
+    }
+
+    @Benchmark
+    public Spexare toPartialModel() {
+        SPEXARE_MAPPER.toPartialModel(updateDto, model);
+        return model;
+    }
+
+    private static Spexare spexare(final long id) {
+        final Spexare spexare = new Spexare();
+
+        spexare.setId(id);
+        spexare.setFirstName("First " + id);
+        spexare.setLastName("Last " + id);
+        spexare.setNickName("Nick " + id);
+        spexare.setGraduation("1998");
+        spexare.setComment("Comment " + id);
+        spexare.setCreatedBy("admin@spexregister.com");
+        spexare.setCreatedAt(Instant.now());
+        return spexare;
+    }
+}
@@ -0,0 +1,135 @@
+package nu.fgv.register.server.util;
+
+import nu.fgv.register.server.spexare.SpexareApi;
+import nu.fgv.register.server.spexare.SpexareDto;
+import nu.fgv.register.server.spexare.activity.ActivityApi;
+import nu.fgv.register.server.spexare.address.AddressApi;
+import nu.fgv.register.server.spexare.consent.ConsentApi;
+import nu.fgv.register.server.spexare.membership.MembershipApi;
+import nu.fgv.register.server.spexare.tag.TaggingApi;
+import nu.fgv.register.server.spexare.toggle.ToggleApi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkTemplateBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(ids -> methodOn(SpexareApi.class).retrieve(ids[0]));
+    private static final LinkTemplate IMAGE_LINK = LinkTemplate.of(ids -> methodOn(SpexareApi.class).downloadImage(ids[0]));
+    private static final LinkTemplate ACTIVITIES_LINK = LinkTemplate.of(ids -> methodOn(ActivityApi.class).retrieve(ids[0], Pageable.unpaged()));
+    private static final LinkTemplate MEMBERSHIPS_LINK = LinkTemplate.of(ids -> methodOn(MembershipApi.class).retrieve(ids[0], Pageable.unpaged(), ""));
+    private static final LinkTemplate CONSENTS_LINK = LinkTemplate.of(ids -> methodOn(ConsentApi.class).retrieve(ids[0], Pageable.unpaged()));
+    private static final LinkTemplate TOGGLES_LINK = LinkTemplate.of(ids -> methodOn(ToggleApi.class).retrieve(ids[0], Pageable.unpaged()));
+    private static final LinkTemplate ADDRESSES_LINK = LinkTemplate.of(ids -> methodOn(AddressApi.class).retrieve(ids[0], Pageable.unpaged(), ""));
+    private static final LinkTemplate TAGS_LINK = LinkTemplate.of(ids -> methodOn(TaggingApi.class).retrieve(ids[0], Pageable.unpaged()));
+    private static final LinkTemplate PARTNER_LINK = LinkTemplate.of(ids -> methodOn(SpexareApi.class).retrievePartner(ids[0]));
+    private static final LinkTemplate EVENTS_LINK = LinkTemplate.of(ids -> methodOn(SpexareApi.class).retrieveEvents(null));
+
+    private List<SpexareDto> content;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        content = LongStream.rangeClosed(1, PAGE_SIZE)
+                .mapToObj(id -> SpexareDto.builder().id(id).firstName("First " + id).lastName("Last " + id).build())
+                .toList();
+    }
+
+    @Setup(Level.Invocation)
+    public void bindRequest() {
+        // A fresh request per invocation, so the per-request base URI is resolved as in production
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/spexare");
+
+        request.setServerName("register.example.org");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown(Level.Invocation)
+    public void unbindRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public PagedModel<EntityModel<SpexareDto>> linkTo100() {
+        return toPagedModel(LinkTemplateBenchmark::linkToLinks);
+    }
+
+    @Benchmark
+    public PagedModel<EntityModel<SpexareDto>> linkTemplate100() {
+        return toPagedModel(LinkTemplateBenchmark::templateLinks);
+    }
+
+    private PagedModel<EntityModel<SpexareDto>> toPagedModel(final Function<SpexareDto, List<Link>> linkFactory) {
+        final List<EntityModel<SpexareDto>> models = content.stream()
+                .map(dto -> EntityModel.of(dto, linkFactory.apply(dto)))
+                .toList();
+
+        return PagedModel.of(models, new PagedModel.PageMetadata(PAGE_SIZE, 0, PAGE_SIZE * 10L));
+    }
+
+    private static List<Link> linkToLinks(final SpexareDto dto) {
+        final List<Link> links = new ArrayList<>();
+
+        links.add(linkTo(methodOn(SpexareApi.class).retrieve(dto.getId())).withSelfRel());
+        links.add(linkTo(methodOn(SpexareApi.class).downloadImage(dto.getId())).withRel("image"));
+        links.add(linkTo(methodOn(ActivityApi.class).retrieve(dto.getId(), Pageable.unpaged())).withRel("activities"));
+        links.add(linkTo(methodOn(MembershipApi.class).retrieve(dto.getId(), Pageable.unpaged(), "")).withRel("memberships"));
+        links.add(linkTo(methodOn(ConsentApi.class).retrieve(dto.getId(), Pageable.unpaged())).withRel("consents"));
+        links.add(linkTo(methodOn(ToggleApi.class).retrieve(dto.getId(), Pageable.unpaged())).withRel("toggles"));
+        links.add(linkTo(methodOn(AddressApi.class).retrieve(dto.getId(), Pageable.unpaged(), "")).withRel("addresses"));
+        links.add(linkTo(methodOn(TaggingApi.class).retrieve(dto.getId(), Pageable.unpaged())).withRel("tags"));
+        links.add(linkTo(methodOn(SpexareApi.class).retrievePartner(dto.getId())).withRel("partner"));
+        links.add(linkTo(methodOn(SpexareApi.class).retrieveEvents(null)).withRel("events"));
+
+        return links;
+    }
+
+    private static List<Link> templateLinks(final SpexareDto dto) {
+        final List<Link> links = new ArrayList<>();
+
+        links.add(SELF_LINK.expand(dto.getId()).withSelfRel());
+        links.add(IMAGE_LINK.expand(dto.getId()).withRel("image"));
+        links.add(ACTIVITIES_LINK.expand(dto.getId()).withRel("activities"));
+        links.add(MEMBERSHIPS_LINK.expand(dto.getId()).withRel("memberships"));
+        links.add(CONSENTS_LINK.expand(dto.getId()).withRel("consents"));
+        links.add(TOGGLES_LINK.expand(dto.getId()).withRel("toggles"));
+        links.add(ADDRESSES_LINK.expand(dto.getId()).withRel("addresses"));
+        links.add(TAGS_LINK.expand(dto.getId()).withRel("tags"));
+        links.add(PARTNER_LINK.expand(dto.getId()).withRel("partner"));
+        links.add(EVENTS_LINK.expand().withRel("events"));
+
+        return links;
+    }
+}
@@ -0,0 +1,46 @@
+package nu.fgv.register.server.util;
+
+import nu.fgv.register.server.spexare.Spexare;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LuhnValidatorBenchmark {
+
+    @Param({
+            "20120606-4659",
+            "20120606-4658",
+            "20120606"
+    })
+    private String socialSecurityNumber;
+
+    private final LuhnValidator validator = new LuhnValidator();
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchFieldException {
+        // The constraint as declared on the entity
+        validator.initialize(Spexare.class.getDeclaredField("socialSecurityNumber").getAnnotation(Luhn.class));
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(socialSecurityNumber, null);
+    }
+}
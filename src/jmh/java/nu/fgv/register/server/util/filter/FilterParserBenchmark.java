@@ -0,0 +1,47 @@
+package nu.fgv.register.server.util.filter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterParserBenchmark {
+
+    @Param({
+            "lastName:Svensson",
+            "firstName:Anna* AND lastName:*son",
+            "( firstName:*ohan* OR nickName:*ohan* ) AND graduation:1998 AND published:true",
+            "subject:*spex* OR ( visibleFrom>2020 AND visibleTo<2030 ) OR published:false"
+    })
+    private String filter;
+
+    @Benchmark
+    public void parseAndBuild(final Blackhole blackhole) {
+        final Specification<Object> specification = SpecificationsBuilder.<Object>builder().build(FilterParser.parse(filter), BaseSpecification::new);
+
+        blackhole.consume(specification);
+    }
+
+    @Benchmark
+    public void parseTreeAndBind(final Blackhole blackhole) {
+        final Specification<Object> specification = SpecificationsBuilder.<Object>builder().build(FilterParser.parseTree(filter), BaseSpecification::new);
+
+        blackhole.consume(specification);
+    }
+}
@@ -0,0 +1,79 @@
+package nu.fgv.register.server.util.impex.exporting;
+
+import nu.fgv.register.server.spexare.SpexareDto;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExcelWriterBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private final StaticMessageSource messageSource = new StaticMessageSource();
+    private List<SpexareDto> data;
+    private Workbook workbook;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Instant now = Instant.now();
+
+        data = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> SpexareDto.builder()
+                        .id(id)
+                        .firstName("First " + id)
+                        .lastName("Last " + id)
+                        .nickName("Nick " + id)
+                        .graduation("1998")
+                        .comment("Comment " + id)
+                        .createdBy("admin@spexregister.com")
+                        .createdAt(now)
+                        .lastModifiedBy("admin@spexregister.com")
+                        .lastModifiedAt(now)
+                        .build())
+                .toList();
+    }
+
+    @Setup(Level.Invocation)
+    public void createWorkbook() {
+        workbook = new XSSFWorkbook();
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeWorkbook() throws IOException {
+        workbook.close();
+    }
+
+    @Benchmark
+    public Optional<Sheet> createSheet() {
+        return new ExcelWriter().createSheet(messageSource, Locale.ENGLISH, workbook, data);
+    }
+}
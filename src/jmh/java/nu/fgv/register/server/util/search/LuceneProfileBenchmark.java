@@ -0,0 +1,184 @@
+package nu.fgv.register.server.util.search;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LogByteSizeMergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.store.NIOFSDirectory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Compares the default Lucene settings with those of application-search-throughput.yml the way Hibernate Search
+ * applies them: by default every write is committed and the searcher refreshed before it returns, with the throughput
+ * profile both happen in the background at fixed intervals. {@code write} is the time added to a save,
+ * {@code writeUntilSearchable} how long it takes for the change to show up in searches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LuceneProfileBenchmark {
+
+    private static final int EXISTING_DOCUMENTS = 10_000;
+    private static final long COMMIT_INTERVAL_MILLIS = 1000;
+    private static final long REFRESH_INTERVAL_MILLIS = 1000;
+
+    @Param({"default", "throughput", "throughput-nio"})
+    private String profile;
+
+    private final AtomicLong ids = new AtomicLong();
+    private Path path;
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ScheduledExecutorService scheduler;
+    private boolean synchronous;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final boolean throughput = profile.startsWith("throughput");
+        final LogByteSizeMergePolicy mergePolicy = new LogByteSizeMergePolicy();
+        final IndexWriterConfig config = new IndexWriterConfig(new StandardAnalyzer());
+
+        path = Files.createTempDirectory("lucene-profile");
+        directory = switch (profile) {
+            case "throughput" -> new MMapDirectory(path);
+            case "throughput-nio" -> new NIOFSDirectory(path);
+            default -> FSDirectory.open(path);
+        };
+        if (throughput) {
+            mergePolicy.setMergeFactor(10);
+            mergePolicy.setMinMergeMB(2);
+            mergePolicy.setMaxMergeMB(512);
+            mergePolicy.setMaxMergeMBForForcedMerge(1024);
+            mergePolicy.setCalibrateSizeByDeletes(true);
+            config.setRAMBufferSizeMB(64);
+        }
+        config.setMergePolicy(mergePolicy);
+
+        writer = new IndexWriter(directory, config);
+        for (int i = 0; i < EXISTING_DOCUMENTS; i++) {
+            writer.addDocument(document(ids.incrementAndGet()));
+        }
+        writer.commit();
+        searcherManager = new SearcherManager(writer, null);
+
+        synchronous = !throughput;
+        if (throughput) {
+            scheduler = Executors.newScheduledThreadPool(2);
+            scheduler.scheduleWithFixedDelay(this::commit, COMMIT_INTERVAL_MILLIS, COMMIT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            scheduler.scheduleWithFixedDelay(this::refresh, REFRESH_INTERVAL_MILLIS, REFRESH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        try (Stream<Path> files = Files.walk(path)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        return save(ids.incrementAndGet());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long writeUntilSearchable() throws IOException, InterruptedException {
+        final long id = ids.incrementAndGet();
+        final TermQuery query = new TermQuery(new Term("id", String.valueOf(id)));
+
+        save(id);
+        while (true) {
+            final IndexSearcher searcher = searcherManager.acquire();
+
+            try {
+                if (searcher.count(query) > 0) {
+                    return id;
+                }
+            } finally {
+                searcherManager.release(searcher);
+            }
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+    }
+
+    private long save(final long id) throws IOException {
+        final long sequence = writer.updateDocument(new Term("id", String.valueOf(id)), document(id));
+
+        if (synchronous) {
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+        }
+        return sequence;
+    }
+
+    private void commit() {
+        try {
+            writer.commit();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Document document(final long id) {
+        final Document document = new Document();
+
+        document.add(new StringField("id", String.valueOf(id), Field.Store.YES));
+        document.add(new TextField("firstName", "First " + id, Field.Store.NO));
+        document.add(new TextField("lastName", "Last " + id, Field.Store.NO));
+        document.add(new TextField("comment", "Comment for spexare number " + id, Field.Store.NO));
+        return document;
+    }
+}
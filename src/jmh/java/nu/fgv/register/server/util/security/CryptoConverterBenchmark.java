@@ -0,0 +1,64 @@
+package nu.fgv.register.server.util.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The converter is shared by every entity of a session factory, so it is measured both alone and with several threads
+ * converting at the same time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CryptoConverterBenchmark {
+
+    private static final String PLAIN_VALUE = "19800101-1234";
+
+    private CryptoConverter converter;
+    private String encryptedValue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        converter = new CryptoConverter("AES/CFB/PKCS5Padding", "7x!A%C*F-JaNdRgUkXp2s5v8y/B?E(G+", "8914343887327891");
+        encryptedValue = converter.convertToDatabaseColumn(PLAIN_VALUE);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String encrypt() {
+        return converter.convertToDatabaseColumn(PLAIN_VALUE);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String decrypt() {
+        return converter.convertToEntityAttribute(encryptedValue);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String encryptContended() {
+        return converter.convertToDatabaseColumn(PLAIN_VALUE);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String decryptContended() {
+        return converter.convertToEntityAttribute(encryptedValue);
+    }
+}
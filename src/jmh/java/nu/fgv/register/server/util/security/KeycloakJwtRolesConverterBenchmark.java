@@ -0,0 +1,50 @@
+package nu.fgv.register.server.util.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeycloakJwtRolesConverterBenchmark {
+
+    private final KeycloakJwtRolesConverter converter = new KeycloakJwtRolesConverter();
+    private Jwt jwt;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwt = Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .claim("email", "user@spexregister.com")
+                .claim("realm_access", Map.of("roles", List.of("offline_access", "uma_authorization", "default-roles-fgv")))
+                .claim("resource_access", Map.of(
+                        "spexregister", Map.of("roles", List.of("USER", "EDITOR")),
+                        "account", Map.of("roles", List.of("manage-account", "view-profile"))
+                ))
+                .build();
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> convert() {
+        return converter.convert(jwt);
+    }
+}
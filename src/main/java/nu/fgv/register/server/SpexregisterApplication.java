@@ -4,12 +4,19 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Profiles;
 
 @SpringBootApplication(exclude = {SecurityAutoConfiguration.class, ManagementWebSecurityAutoConfiguration.class})
 public class SpexregisterApplication {
 
     public static void main(final String[] args) {
-        SpringApplication.run(SpexregisterApplication.class, args);
+        final ConfigurableApplicationContext context = SpringApplication.run(SpexregisterApplication.class, args);
+
+        // The dataset generator has run as part of the startup, so there is nothing left to serve
+        if (context.getEnvironment().acceptsProfiles(Profiles.of("dataset"))) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 
 }
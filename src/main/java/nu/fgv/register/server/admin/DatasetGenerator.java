@@ -0,0 +1,485 @@
+package nu.fgv.register.server.admin;
+
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+import nu.fgv.register.server.news.News;
+import nu.fgv.register.server.spex.Spex;
+import nu.fgv.register.server.spex.category.SpexCategory;
+import nu.fgv.register.server.spexare.Spexare;
+import nu.fgv.register.server.tag.Tag;
+import nu.fgv.register.server.task.Task;
+import nu.fgv.register.server.task.category.TaskCategory;
+import nu.fgv.register.server.util.Constants.IdGenerator;
+import nu.fgv.register.server.util.security.CryptoConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StopWatch;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static nu.fgv.register.server.util.security.SecurityUtil.ROLE_ADMIN;
+import static nu.fgv.register.server.util.security.SecurityUtil.ROLE_EDITOR;
+import static nu.fgv.register.server.util.security.SecurityUtil.ROLE_USER;
+
+/**
+ * Generates a production sized, reproducible dataset for load and benchmark runs, e.g.
+ * {@code ./gradlew generateDataset -Pspexare=100000 -Pseed=42}. Unlike the sample data migration all rows are written
+ * with multi-row inserts and explicit ids, and every value is drawn from a single seeded {@link Random} so the same
+ * seed always gives the same data on an empty database. The application exits once done, see
+ * {@link nu.fgv.register.server.SpexregisterApplication}.
+ */
+@Slf4j
+@Component
+@Profile("dataset")
+public class DatasetGenerator implements ApplicationRunner {
+
+    private static final String SYSTEM_USER = "system";
+    private static final int FIRST_YEAR = 1948;
+    private static final int MAX_ACTIVITIES = 15;
+    private static final int MAX_TASK_ACTIVITIES_PER_ACTIVITY = 3;
+    private static final int MAX_TAGS_PER_SPEXARE = 4;
+    private static final int ACL_READ = 1;
+    private static final int ACL_WRITE = 2;
+    private static final int ACL_DELETE = 8;
+    // Mirrors what the services grant on create
+    private static final List<Grant> CATEGORY_GRANTS = List.of(
+            new Grant(ROLE_ADMIN, ACL_READ, ACL_WRITE, ACL_DELETE), new Grant(ROLE_EDITOR, ACL_READ), new Grant(ROLE_USER, ACL_READ));
+    private static final List<Grant> REFERENCE_GRANTS = List.of(
+            new Grant(ROLE_ADMIN, ACL_READ, ACL_WRITE, ACL_DELETE), new Grant(ROLE_EDITOR, ACL_READ, ACL_WRITE), new Grant(ROLE_USER, ACL_READ));
+    private static final List<Grant> CONTENT_GRANTS = List.of(
+            new Grant(ROLE_ADMIN, ACL_READ, ACL_WRITE, ACL_DELETE), new Grant(ROLE_EDITOR, ACL_READ, ACL_WRITE, ACL_DELETE), new Grant(ROLE_USER, ACL_READ));
+    private static final List<Grant> UNPUBLISHED_CONTENT_GRANTS = List.of(
+            new Grant(ROLE_ADMIN, ACL_READ, ACL_WRITE, ACL_DELETE), new Grant(ROLE_EDITOR, ACL_READ, ACL_WRITE, ACL_DELETE));
+
+    private final JdbcClient jdbcClient;
+    private final DataSource dataSource;
+    private final CryptoConverter cryptoConverter;
+    private final IndexingService indexingService;
+    private final int numberOfSpexare;
+    private final int batchSize;
+    private final boolean reindex;
+    private final Random rnd;
+    private final Faker faker;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private final Map<String, Long> nextIds = new HashMap<>();
+
+    public DatasetGenerator(final JdbcClient jdbcClient,
+                            final DataSource dataSource,
+                            final IndexingService indexingService,
+                            @Value("${spexregister.crypto.algorithm}") final String algorithm,
+                            @Value("${spexregister.crypto.secret-key}") final String secretKey,
+                            @Value("${spexregister.crypto.initialization-vector}") final String iv,
+                            @Value("${spexregister.dataset.spexare:100000}") final int numberOfSpexare,
+                            @Value("${spexregister.dataset.seed:42}") final long seed,
+                            @Value("${spexregister.dataset.batch-size:1000}") final int batchSize,
+                            @Value("${spexregister.dataset.reindex:true}") final boolean reindex) {
+        this.jdbcClient = jdbcClient;
+        this.dataSource = dataSource;
+        this.indexingService = indexingService;
+        this.cryptoConverter = new CryptoConverter(algorithm, secretKey, iv);
+        this.numberOfSpexare = numberOfSpexare;
+        this.batchSize = batchSize;
+        this.reindex = reindex;
+        this.rnd = new Random(seed);
+        this.faker = new Faker(Locale.of("sv", "SE"), rnd);
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) {
+        generate();
+    }
+
+    /**
+     * Generates the dataset without exiting, for use outside the dataset profile (e.g. load tests).
+     */
+    public void generate() {
+        final StopWatch stopWatch = new StopWatch("Dataset");
+
+        if (log.isInfoEnabled()) {
+            log.info("Generating dataset with {} spexare in batches of {}", numberOfSpexare, batchSize);
+        }
+
+        stopWatch.start("Reference data");
+        ensureReferenceData();
+        stopWatch.stop();
+
+        stopWatch.start("Tags and news");
+        final List<Long> tagIds = createTags(Math.max(5, numberOfSpexare / 2000));
+        final Map<Boolean, List<Long>> newsIdsByPublished = createNews(Math.max(20, numberOfSpexare / 5000));
+        stopWatch.stop();
+
+        stopWatch.start("ACL");
+        createAcl(SpexCategory.class, idsWithoutAcl(SpexCategory.class, "spex_category"), CATEGORY_GRANTS);
+        createAcl(Spex.class, idsWithoutAcl(Spex.class, "spex"), REFERENCE_GRANTS);
+        createAcl(TaskCategory.class, idsWithoutAcl(TaskCategory.class, "task_category"), CATEGORY_GRANTS);
+        createAcl(Task.class, idsWithoutAcl(Task.class, "task"), REFERENCE_GRANTS);
+        createAcl(Tag.class, tagIds, CONTENT_GRANTS);
+        createAcl(News.class, newsIdsByPublished.get(true), CONTENT_GRANTS);
+        createAcl(News.class, newsIdsByPublished.get(false), UNPUBLISHED_CONTENT_GRANTS);
+        stopWatch.stop();
+
+        stopWatch.start("Spexare");
+        createSpexare(tagIds);
+        stopWatch.stop();
+
+        IdGenerator.reset(jdbcClient);
+
+        if (reindex) {
+            stopWatch.start("Index");
+            indexingService.initiateIndexingFor(Spexare.class, true).join().toCompletableFuture().join();
+            stopWatch.stop();
+        }
+
+        if (log.isInfoEnabled()) {
+            log.info(stopWatch.prettyPrint(TimeUnit.SECONDS));
+        }
+    }
+
+    private void ensureReferenceData() {
+        final long count = jdbcClient.sql("SELECT COUNT(*) FROM spex").query(Long.class).single();
+
+        if (count == 0) {
+            try (Connection connection = dataSource.getConnection()) {
+                ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/sampledata/tasks.sql"));
+                ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/sampledata/spex.sql"));
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not insert spex and tasks", e);
+            }
+        }
+    }
+
+    private List<Long> createTags(final int count) {
+        final BatchInsert tags = new BatchInsert("tag", "id", "name", "created_by", "created_at");
+        final List<Long> ids = new ArrayList<>(count);
+
+        IntStream.range(0, count).forEach(i -> {
+            final long id = nextId("tag");
+
+            tags.add(id, "%s %d".formatted(faker.lorem().word(), i), SYSTEM_USER, now);
+            ids.add(id);
+        });
+        tags.flush();
+
+        return ids;
+    }
+
+    private Map<Boolean, List<Long>> createNews(final int count) {
+        final BatchInsert news = new BatchInsert("news", "id", "visible_from", "visible_to", "subject", "text", "published", "created_by", "created_at");
+        final Map<Boolean, List<Long>> ids = Map.of(true, new ArrayList<>(count), false, new ArrayList<>());
+
+        IntStream.range(0, count).forEach(i -> {
+            final long id = nextId("news");
+            final LocalDateTime visibleFrom = now.minusDays(rnd.nextInt(365)).plusDays(2);
+            final boolean published = rnd.nextInt(10) != 0;
+
+            news.add(id,
+                    Timestamp.valueOf(visibleFrom),
+                    Timestamp.valueOf(visibleFrom.plusDays(1 + rnd.nextInt(20))),
+                    faker.lorem().maxLengthSentence(255),
+                    String.join(System.lineSeparator(), faker.lorem().paragraphs(5)),
+                    published,
+                    SYSTEM_USER,
+                    now);
+            ids.get(published).add(id);
+        });
+        news.flush();
+
+        return ids;
+    }
+
+    /**
+     * Writes the object identities and entries for the given objects, with the same grants for all of them.
+     */
+    private void createAcl(final Class<?> clazz, final List<Long> objectIds, final List<Grant> grants) {
+        final long classId = aclClassId(clazz);
+        final long adminSid = aclSid(ROLE_ADMIN);
+        final List<long[]> aces = grants.stream()
+                .flatMap(grant -> {
+                    final long sid = aclSid(grant.role());
+
+                    return Arrays.stream(grant.masks()).mapToObj(mask -> new long[]{sid, mask});
+                })
+                .toList();
+        final BatchInsert objectIdentities = new BatchInsert("acl_object_identity", "id", "object_id_class", "object_id_identity", "parent_object", "owner_sid", "entries_inheriting");
+        final BatchInsert entries = new BatchInsert("acl_entry", "id", "acl_object_identity", "ace_order", "sid", "mask", "granting", "audit_success", "audit_failure");
+
+        objectIds.forEach(objectId -> {
+            final long objectIdentityId = nextId("acl_object_identity");
+
+            objectIdentities.add(objectIdentityId, classId, objectId, null, adminSid, 1);
+            IntStream.range(0, aces.size()).forEach(order ->
+                    entries.add(nextId("acl_entry"), objectIdentityId, order, aces.get(order)[0], aces.get(order)[1], 1, 0, 0));
+        });
+        objectIdentities.flush();
+        entries.flush();
+    }
+
+    /**
+     * The ids of reference data loaded from the sample scripts, which come without ACL.
+     */
+    private List<Long> idsWithoutAcl(final Class<?> clazz, final String table) {
+        return jdbcClient
+                .sql("SELECT id FROM %s WHERE id NOT IN (SELECT object_id_identity FROM acl_object_identity WHERE object_id_class = :classId) ORDER BY id".formatted(table))
+                .param("classId", aclClassId(clazz))
+                .query(Long.class)
+                .list();
+    }
+
+    private void createSpexare(final List<Long> tagIds) {
+        final ReferenceData referenceData = getReferenceData();
+        final List<Long> spexareIds = new ArrayList<>(numberOfSpexare);
+        final BatchInsert spexare = new BatchInsert("spexare", "id", "first_name", "last_name", "nick_name", "social_security_number", "graduation", "comment", "created_by", "created_at");
+        final BatchInsert activities = new BatchInsert("activity", "id", "spexare_id", "created_by", "created_at");
+        final BatchInsert spexActivities = new BatchInsert("spex_activity", "id", "activity_id", "spex_id", "created_by", "created_at");
+        final BatchInsert taskActivities = new BatchInsert("task_activity", "id", "activity_id", "task_id", "created_by", "created_at");
+        final BatchInsert actors = new BatchInsert("actor", "id", "task_activity_id", "vocal_id", "role", "created_by", "created_at");
+        final BatchInsert memberships = new BatchInsert("membership", "id", "year", "type_id", "spexare_id", "created_by", "created_at");
+        final BatchInsert consents = new BatchInsert("consent", "id", "value", "type_id", "spexare_id", "created_by", "created_at");
+        final BatchInsert toggles = new BatchInsert("toggle", "id", "value", "type_id", "spexare_id", "created_by", "created_at");
+        final BatchInsert addresses = new BatchInsert("address", "id", "street_address", "postal_code", "city", "country", "phone", "phone_mobile", "email_address", "type_id", "spexare_id", "created_by", "created_at");
+        final BatchInsert taggings = new BatchInsert("tagging", "tag_id", "spexare_id");
+        // Parents first so that the foreign keys hold
+        final List<BatchInsert> inOrder = List.of(spexare, activities, spexActivities, taskActivities, actors, memberships, consents, toggles, addresses, taggings);
+
+        for (int i = 0; i < numberOfSpexare; i++) {
+            final long spexareId = nextId("spexare");
+            // Most spexare are recent, only a few date back to the first years
+            final int firstYear = Year.now().getValue() - (int) Math.min(Year.now().getValue() - FIRST_YEAR, exponential(12));
+
+            spexare.add(spexareId,
+                    faker.name().firstName(),
+                    faker.name().lastName(),
+                    rnd.nextInt(3) == 0 ? faker.starWars().character() : null,
+                    rnd.nextBoolean() ? cryptoConverter.convertToDatabaseColumn(faker.idNumber().valid()) : null,
+                    rnd.nextBoolean() ? faker.regexify("[A|B|D|E|G|K|M|I|V|T]\\d{2}") : null,
+                    rnd.nextInt(5) == 0 ? faker.lorem().paragraph() : null,
+                    SYSTEM_USER,
+                    now);
+            spexareIds.add(spexareId);
+
+            final int numberOfActivities = (int) Math.min(MAX_ACTIVITIES, exponential(2));
+
+            for (int j = 0; j < numberOfActivities; j++) {
+                final long activityId = nextId("activity");
+                final List<Long> spex = rnd.nextInt(4) == 0 && !referenceData.revivals().isEmpty() ? referenceData.revivals() : referenceData.spex();
+
+                activities.add(activityId, spexareId, SYSTEM_USER, now);
+                spexActivities.add(nextId("spex_activity"), activityId, spex.get(rnd.nextInt(spex.size())), SYSTEM_USER, now);
+
+                for (int k = 0, n = 1 + rnd.nextInt(MAX_TASK_ACTIVITIES_PER_ACTIVITY); k < n; k++) {
+                    final long taskActivityId = nextId("task_activity");
+                    final long taskId = skewed(referenceData.tasks());
+
+                    taskActivities.add(taskActivityId, activityId, taskId, SYSTEM_USER, now);
+                    if (referenceData.tasksWithActor().contains(taskId)) {
+                        actors.add(nextId("actor"),
+                                taskActivityId,
+                                rnd.nextBoolean() ? referenceData.vocals().get(rnd.nextInt(referenceData.vocals().size())) : "UNKNOWN",
+                                rnd.nextBoolean() ? faker.ancient().hero() : null,
+                                SYSTEM_USER,
+                                now);
+                    }
+                }
+            }
+
+            for (final String typeId : referenceData.membershipTypes()) {
+                if (rnd.nextInt(10) < 6) {
+                    final int years = 1 + (int) exponential(3);
+
+                    IntStream.range(firstYear, Math.min(firstYear + years, Year.now().getValue() + 1)).forEach(year ->
+                            memberships.add(nextId("membership"), String.valueOf(year), typeId, spexareId, SYSTEM_USER, now));
+                }
+            }
+            referenceData.consentTypes().forEach(typeId -> consents.add(nextId("consent"), rnd.nextBoolean(), typeId, spexareId, SYSTEM_USER, now));
+            referenceData.toggleTypes().forEach(typeId -> toggles.add(nextId("toggle"), rnd.nextBoolean(), typeId, spexareId, SYSTEM_USER, now));
+            referenceData.addressTypes().forEach(typeId -> {
+                if (rnd.nextInt(10) < 6) {
+                    addresses.add(nextId("address"),
+                            faker.address().streetAddress(),
+                            faker.address().zipCode(),
+                            faker.address().city(),
+                            faker.address().country(),
+                            rnd.nextBoolean() ? faker.phoneNumber().phoneNumber() : null,
+                            rnd.nextBoolean() ? faker.phoneNumber().cellPhone() : null,
+                            rnd.nextBoolean() ? faker.internet().emailAddress() : null,
+                            typeId,
+                            spexareId,
+                            SYSTEM_USER,
+                            now);
+                }
+            });
+
+            // A handful of popular tags on most, the long tail on few
+            final Set<Long> tags = new LinkedHashSet<>();
+
+            IntStream.range(0, rnd.nextInt(MAX_TAGS_PER_SPEXARE + 1)).forEach(j -> tags.add(skewed(tagIds)));
+            tags.forEach(tagId -> taggings.add(tagId, spexareId));
+
+            if ((i + 1) % batchSize == 0) {
+                inOrder.forEach(BatchInsert::flush);
+                if (log.isInfoEnabled()) {
+                    log.info("Generated {}/{} spexare", i + 1, numberOfSpexare);
+                }
+            }
+        }
+        inOrder.forEach(BatchInsert::flush);
+
+        createPartners(spexareIds);
+    }
+
+    private void createPartners(final List<Long> spexareIds) {
+        final List<Long> shuffled = new ArrayList<>(spexareIds);
+        final int pairs = spexareIds.size() / 20;
+
+        Collections.shuffle(shuffled, rnd);
+        IntStream.range(0, pairs).forEach(i -> {
+            final long spexareId = shuffled.get(2 * i);
+            final long partnerId = shuffled.get(2 * i + 1);
+
+            jdbcClient
+                    .sql("UPDATE spexare SET partner_id = CASE id WHEN :spexareId THEN :partnerId ELSE :spexareId END WHERE id IN (:spexareId, :partnerId)")
+                    .param("spexareId", spexareId)
+                    .param("partnerId", partnerId)
+                    .update();
+        });
+    }
+
+    private ReferenceData getReferenceData() {
+        final List<Long> spex = new ArrayList<>();
+        final List<Long> revivals = new ArrayList<>();
+        final List<Long> tasks = new ArrayList<>();
+        final Set<Long> tasksWithActor = new HashSet<>();
+
+        jdbcClient.sql("SELECT id, parent_id FROM spex ORDER BY id").query(resultSet -> {
+            resultSet.getLong("parent_id");
+            (resultSet.wasNull() ? spex : revivals).add(resultSet.getLong("id"));
+        });
+        jdbcClient.sql("SELECT t.id, c.has_actor FROM task t JOIN task_category c ON c.id = t.category_id ORDER BY t.id").query(resultSet -> {
+            tasks.add(resultSet.getLong("id"));
+            if (resultSet.getBoolean("has_actor")) {
+                tasksWithActor.add(resultSet.getLong("id"));
+            }
+        });
+
+        return new ReferenceData(spex, revivals, tasks, tasksWithActor,
+                typeIds("VOCAL"), typeIds("MEMBERSHIP"), typeIds("CONSENT"), typeIds("TOGGLE"), typeIds("ADDRESS"));
+    }
+
+    private List<String> typeIds(final String type) {
+        return jdbcClient
+                .sql("SELECT id FROM type WHERE type = :type ORDER BY id")
+                .param("type", type)
+                .query(String.class)
+                .list();
+    }
+
+    private long aclClassId(final Class<?> clazz) {
+        return jdbcClient.sql("SELECT id FROM acl_class WHERE class = :class")
+                .param("class", clazz.getName())
+                .query(Long.class)
+                .optional()
+                .orElseGet(() -> {
+                    jdbcClient.sql("INSERT INTO acl_class (class) VALUES (:class)").param("class", clazz.getName()).update();
+                    return aclClassId(clazz);
+                });
+    }
+
+    private long aclSid(final String sid) {
+        return jdbcClient.sql("SELECT id FROM acl_sid WHERE sid = :sid AND principal = 0")
+                .param("sid", sid)
+                .query(Long.class)
+                .optional()
+                .orElseGet(() -> {
+                    jdbcClient.sql("INSERT INTO acl_sid (principal, sid) VALUES (0, :sid)").param("sid", sid).update();
+                    return aclSid(sid);
+                });
+    }
+
+    private long nextId(final String table) {
+        return nextIds.compute(table, (t, id) -> id != null ?
+                id + 1 :
+                jdbcClient.sql("SELECT COALESCE(MAX(id), 0) + 1 FROM %s".formatted(t)).query(Long.class).single());
+    }
+
+    private double exponential(final double mean) {
+        return -Math.log(1 - rnd.nextDouble()) * mean;
+    }
+
+    private <T> T skewed(final List<T> values) {
+        final double u = rnd.nextDouble();
+
+        return values.get((int) (u * u * values.size()));
+    }
+
+    private record ReferenceData(List<Long> spex,
+                                 List<Long> revivals,
+                                 List<Long> tasks,
+                                 Set<Long> tasksWithActor,
+                                 List<String> vocals,
+                                 List<String> membershipTypes,
+                                 List<String> consentTypes,
+                                 List<String> toggleTypes,
+                                 List<String> addressTypes) {
+    }
+
+    private record Grant(String role, int... masks) {
+    }
+
+    /**
+     * Collects rows for a table and writes them as {@code INSERT ... VALUES (...), (...)} statements of at most
+     * batch size rows each.
+     */
+    private class BatchInsert {
+
+        private final String sql;
+        private final String rowPlaceholders;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        BatchInsert(final String table, final String... columns) {
+            this.sql = "INSERT INTO %s (%s) VALUES ".formatted(table, String.join(", ", columns));
+            this.rowPlaceholders = IntStream.range(0, columns.length).mapToObj(i -> "?").collect(Collectors.joining(", ", "(", ")"));
+        }
+
+        void add(final Object... values) {
+            rows.add(values);
+        }
+
+        void flush() {
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                final List<Object[]> batch = rows.subList(from, Math.min(from + batchSize, rows.size()));
+
+                jdbcClient
+                        .sql(sql + String.join(", ", Collections.nCopies(batch.size(), rowPlaceholders)))
+                        .params(batch.stream().flatMap(Arrays::stream).toList())
+                        .update();
+            }
+            rows.clear();
+        }
+    }
+}
@@ -1,24 +1,67 @@
 package nu.fgv.register.server.admin;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nu.fgv.register.server.spexare.Spexare;
+import org.hibernate.search.engine.backend.metamodel.IndexFieldDescriptor;
+import org.hibernate.search.engine.backend.metamodel.IndexValueFieldTypeDescriptor;
 import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.entity.SearchIndexedEntity;
+import org.hibernate.search.mapper.orm.mapping.SearchMapping;
 import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class IndexingService {
 
+    private static final String FINGERPRINT_FILE = "mapping-fingerprint";
+
     private final EntityManager entityManager;
+    @Value("${spring.jpa.properties.hibernate.search.backend.directory.root:./.index}")
+    private String indexRoot;
+    private String fingerprint;
+    private volatile boolean indexCurrent;
+    private CompletableFuture<Void> running;
+
+    @PostConstruct
+    public void checkMapping() {
+        fingerprint = fingerprint(Search.mapping(entityManager.getEntityManagerFactory()));
+        indexCurrent = fingerprint.equals(readFingerprint());
+    }
+
+    /**
+     * @return whether the index has been built with the current mapping, i.e. carries every field the entities declare
+     */
+    public boolean isIndexCurrent() {
+        return indexCurrent;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMappingChanged() {
+        if (!indexCurrent) {
+            log.info("Index was built with another mapping, rebuilding");
+            massIndex();
+        }
+    }
 
     @Async
     public CompletableFuture<CompletionStage<Void>> initiateIndexingFor(final Class<?> clazz, final boolean force) {
@@ -30,11 +73,8 @@ public class IndexingService {
                 .where(f -> f.bool().with(b -> b.must(f.matchAll())))
                 .fetchTotalHitCount();
 
-        if (force || count == 0) {
-            return CompletableFuture
-                    .completedFuture(searchSession.massIndexer()
-                    .start()
-                    .thenAccept(action -> log.info("All entities indexed")));
+        if (force || count == 0 || !indexCurrent) {
+            return CompletableFuture.completedFuture(massIndex());
         }
 
         log.info("Not starting index due to existing documents (count: {})", count);
@@ -49,4 +89,61 @@ public class IndexingService {
     public void scheduledRun() {
         initiateIndexingFor(Spexare.class, true);
     }
+
+    private synchronized CompletionStage<Void> massIndex() {
+        // The startup rebuild and an explicitly requested one share the same run
+        if (running == null || running.isDone()) {
+            running = Search.session(entityManager)
+                    .massIndexer()
+                    .start()
+                    .thenAccept(action -> {
+                        writeFingerprint();
+                        indexCurrent = true;
+                        log.info("All entities indexed");
+                    })
+                    .toCompletableFuture();
+        }
+        return running;
+    }
+
+    private static String fingerprint(final SearchMapping mapping) {
+        final String fields = mapping.allIndexedEntities().stream()
+                .sorted(Comparator.comparing(SearchIndexedEntity::name))
+                .flatMap(entity -> entity.indexManager().descriptor().staticFields().stream()
+                        .filter(IndexFieldDescriptor::isValueField)
+                        .map(field -> entity.name() + "." + field.absolutePath() + describe(field.toValueField().type())))
+                .sorted()
+                .collect(Collectors.joining("\n"));
+
+        return DigestUtils.md5DigestAsHex(fields.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String describe(final IndexValueFieldTypeDescriptor type) {
+        return ":" + type.searchable() + type.sortable() + type.projectable() + type.aggregable() +
+                ":" + type.analyzerName().orElse("") +
+                ":" + type.searchAnalyzerName().orElse("") +
+                ":" + type.normalizerName().orElse("");
+    }
+
+    private String readFingerprint() {
+        try {
+            final Path file = Path.of(indexRoot, FINGERPRINT_FILE);
+
+            return Files.exists(file) ? Files.readString(file, StandardCharsets.UTF_8).trim() : null;
+        } catch (final IOException e) {
+            log.warn("Could not read index mapping fingerprint", e);
+            return null;
+        }
+    }
+
+    private void writeFingerprint() {
+        try {
+            final Path file = Path.of(indexRoot, FINGERPRINT_FILE);
+
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, fingerprint, StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            log.warn("Could not write index mapping fingerprint", e);
+        }
+    }
 }
@@ -1,17 +1,23 @@
 package nu.fgv.register.server.config;
 
-import nu.fgv.register.server.util.LoggingAspect;
+import io.micrometer.observation.ObservationRegistry;
+import nu.fgv.register.server.util.ObservationAspect;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.core.env.Environment;
 
+import java.time.Duration;
+
 @Configuration
 @EnableAspectJAutoProxy
 public class AspectConfig {
 
     @Bean
-    public LoggingAspect loggingAspect(Environment env) {
-        return new LoggingAspect(env);
+    public ObservationAspect observationAspect(final ObservationRegistry observationRegistry,
+                                               final Environment env,
+                                               @Value("${spexregister.observation.slow-call-threshold:500ms}") final Duration slowCallThreshold) {
+        return new ObservationAspect(observationRegistry, env, slowCallThreshold);
     }
 }
@@ -0,0 +1,58 @@
+package nu.fgv.register.server.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import nu.fgv.register.server.util.sql.QueryObservationHandler;
+import nu.fgv.register.server.util.sql.QueryStatisticsListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(value = "spexregister.sql.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceProxyConfig {
+
+    @Bean
+    public QueryStatisticsListener queryStatisticsListener(@Value("${spexregister.sql.slow-query-threshold:200ms}") final Duration slowQueryThreshold) {
+        return new QueryStatisticsListener(slowQueryThreshold);
+    }
+
+    @Bean
+    public QueryObservationHandler queryObservationHandler(final MeterRegistry meterRegistry,
+                                                           @Value("${spexregister.sql.n-plus-one-threshold:5}") final int nPlusOneThreshold) {
+        return new QueryObservationHandler(meterRegistry, nPlusOneThreshold);
+    }
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(final ObjectProvider<QueryStatisticsListener> listener,
+                                                                 @Value("${spexregister.sql.count-rows-read:false}") final boolean countRowsRead) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                // Routing and lazy data sources delegate to pools that are proxied themselves
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource) && !(bean instanceof DelegatingDataSource)) {
+                    final ProxyDataSourceBuilder builder = ProxyDataSourceBuilder
+                            .create(dataSource)
+                            .name(beanName)
+                            .listener(listener.getObject());
+
+                    // Counting rows read means intercepting every JDBC call, so only rows written are counted by default
+                    if (countRowsRead) {
+                        builder.methodListener(listener.getObject()).proxyResultSet();
+                    }
+                    return builder.build();
+                }
+                return bean;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,92 @@
+package nu.fgv.register.server.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import nu.fgv.register.server.util.datasource.ReadWriteRoutingDataSource;
+import nu.fgv.register.server.util.datasource.ReplicationLagGuard;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Replaces the single data source with a primary and a replica pool, each with its own Hikari metrics (tagged
+ * {@code pool=primary} and {@code pool=replica}), when a replica url is configured.
+ */
+@Configuration
+@ConditionalOnProperty("spexregister.datasource.replica.url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(final DataSourceProperties properties, final ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+        final JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+        final HikariDataSource dataSource = details != null ?
+                DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(details.getJdbcUrl())
+                        .username(details.getUsername())
+                        .password(details.getPassword())
+                        .driverClassName(details.getDriverClassName())
+                        .build() :
+                properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spexregister.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${spexregister.datasource.replica.url}") final String url,
+                                              @Value("${spexregister.datasource.replica.username:}") final String username,
+                                              @Value("${spexregister.datasource.replica.password:}") final String password) {
+        final HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicationLagGuard replicationLagGuard(@Qualifier("replicaDataSource") final DataSource replica,
+                                                   @Value("${spexregister.datasource.replica.lag-query:SHOW REPLICA STATUS}") final String lagQuery,
+                                                   @Value("${spexregister.datasource.replica.lag-column:Seconds_Behind_Source}") final String lagColumn,
+                                                   @Value("${spexregister.datasource.replica.max-lag:5s}") final Duration maxLag,
+                                                   @Value("${spexregister.datasource.replica.lag-check-interval:5s}") final Duration lagCheckInterval,
+                                                   final MeterRegistry meterRegistry,
+                                                   final TaskScheduler taskScheduler) {
+        final ReplicationLagGuard guard = new ReplicationLagGuard(replica, lagQuery, lagColumn, maxLag, meterRegistry);
+
+        taskScheduler.scheduleWithFixedDelay(guard::check, lagCheckInterval);
+        return guard;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") final DataSource primary,
+                                 @Qualifier("replicaDataSource") final DataSource replica,
+                                 final ReplicationLagGuard replicationLagGuard) {
+        final ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primary, replica, replicationLagGuard);
+
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+}
@@ -0,0 +1,89 @@
+package nu.fgv.register.server.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import nu.fgv.register.server.util.search.outbox.SearchOutboxPoller;
+import nu.fgv.register.server.util.search.outbox.SearchOutboxRecorder;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.entity.SearchIndexedEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Keeps the local Lucene indexes of several nodes in step through an outbox table, see {@link SearchOutboxRecorder}
+ * and {@link SearchOutboxPoller}.
+ */
+@Configuration
+@ConditionalOnProperty(value = "spexregister.search.coordination.enabled", havingValue = "true")
+public class SearchCoordinationConfig {
+
+    // Resolved once, a random default differs on every resolution and the poller must know the recorder's id
+    private final String nodeId;
+
+    public SearchCoordinationConfig(@Value("${spexregister.search.coordination.node-id:${random.uuid}}") final String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    @Bean
+    public SearchOutboxRecorder searchOutboxRecorder(final EntityManagerFactory entityManagerFactory) {
+        final SearchOutboxRecorder recorder = new SearchOutboxRecorder(
+                Search.mapping(entityManagerFactory).allIndexedEntities().stream().<Class<?>>map(SearchIndexedEntity::javaClass).toList(),
+                nodeId
+        );
+        final EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_INSERT, recorder);
+        registry.appendListeners(EventType.POST_UPDATE, recorder);
+        registry.appendListeners(EventType.POST_DELETE, recorder);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, recorder);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, recorder);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, recorder);
+        return recorder;
+    }
+
+    @Bean
+    @SuppressWarnings("java:S107")
+    public SearchOutboxPoller searchOutboxPoller(final JdbcTemplate jdbcTemplate,
+                                                 final PlatformTransactionManager transactionManager,
+                                                 final EntityManager entityManager,
+                                                 final EntityManagerFactory entityManagerFactory,
+                                                 final MeterRegistry meterRegistry,
+                                                 final TaskScheduler taskScheduler,
+                                                 @Value("${spring.jpa.properties.hibernate.search.backend.directory.root:./.index}") final String indexRoot,
+                                                 @Value("${spexregister.search.coordination.batch-size:500}") final int batchSize,
+                                                 @Value("${spexregister.search.coordination.poll-interval:1s}") final Duration pollInterval,
+                                                 @Value("${spexregister.search.coordination.settle-delay:2s}") final Duration settleDelay,
+                                                 @Value("${spexregister.search.coordination.retention:1d}") final Duration retention) {
+        final SearchOutboxPoller poller = new SearchOutboxPoller(
+                jdbcTemplate,
+                new TransactionTemplate(transactionManager),
+                entityManager,
+                entityManagerFactory,
+                nodeId,
+                Path.of(indexRoot),
+                batchSize,
+                settleDelay,
+                retention,
+                meterRegistry
+        );
+
+        taskScheduler.scheduleWithFixedDelay(poller::poll, pollInterval);
+        return poller;
+    }
+
+}
@@ -1,11 +1,13 @@
 package nu.fgv.register.server.config;
 
+import nu.fgv.register.server.util.persistence.PersistenceEndpoint;
 import nu.fgv.register.server.util.security.KeycloakJwtRolesConverter;
 import org.keycloak.OAuth2Constants;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.KeycloakBuilder;
 import org.keycloak.representations.idm.ClientRepresentation;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -50,6 +52,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authorize ->
                         authorize
                                 .requestMatchers(HttpMethod.GET, "/api/v1/settings/**").permitAll()
+                                .requestMatchers(EndpointRequest.to(PersistenceEndpoint.class)).hasRole("spexregister_ADMIN")
                                 .anyRequest().authenticated()
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2.jwt(withDefaults()));
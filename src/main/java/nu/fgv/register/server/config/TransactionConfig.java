@@ -0,0 +1,30 @@
+package nu.fgv.register.server.config;
+
+import nu.fgv.register.server.SpexregisterApplication;
+import nu.fgv.register.server.util.datasource.ReadOnlyTransactionAttributeSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+
+import java.util.List;
+
+@Configuration
+public class TransactionConfig {
+
+    /**
+     * Takes precedence over the attribute source registered by {@code @EnableTransactionManagement}, which the
+     * transaction interceptor and advisor are created with.
+     */
+    @Bean
+    @Primary
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static TransactionAttributeSource readOnlyTransactionAttributeSource(@Value("${spexregister.datasource.read-only-methods:find*,search*,stream*}") final String[] readOnlyMethods) {
+        return new ReadOnlyTransactionAttributeSource(new AnnotationTransactionAttributeSource(false), SpexregisterApplication.class.getPackageName(), List.of(readOnlyMethods));
+    }
+
+}
@@ -0,0 +1,242 @@
+package nu.fgv.register.server.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import nu.fgv.register.server.util.AbstractAuditable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class BatchingEventWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO event
+                (event, source, created_by, created_at)
+            VALUES
+                (?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean async;
+    private final boolean recordOutsideTransaction;
+    private final int batchSize;
+    private final BlockingQueue<PendingEvent> queue;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService executor;
+    private final Timer flushTimer;
+    private final Counter writtenCounter;
+    private final Counter coalescedCounter;
+
+    public BatchingEventWriter(final JdbcTemplate jdbcTemplate,
+                               final PlatformTransactionManager transactionManager,
+                               final MeterRegistry meterRegistry,
+                               @Value("${spexregister.events.writer.async:true}") final boolean async,
+                               @Value("${spexregister.events.writer.record-outside-transaction:false}") final boolean recordOutsideTransaction,
+                               @Value("${spexregister.events.writer.batch-size:100}") final int batchSize,
+                               @Value("${spexregister.events.writer.queue-capacity:10000}") final int queueCapacity,
+                               @Value("${spexregister.events.writer.flush-interval:1s}") final Duration flushInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Batches may be written from afterCommit, where the connection of the completed transaction is still bound
+        // with auto-commit off, so they always get a transaction of their own
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.async = async;
+        this.recordOutsideTransaction = recordOutsideTransaction;
+        this.batchSize = batchSize;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.flushTimer = Timer.builder("spexregister.events.writer.flush")
+                .description("Time taken to write a batch of events")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("spexregister.events.writer.written")
+                .description("Number of event rows written")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("spexregister.events.writer.coalesced")
+                .description("Number of entity changes folded into an already pending event")
+                .register(meterRegistry);
+        Gauge.builder("spexregister.events.writer.queue.depth", queue, Collection::size)
+                .description("Number of events waiting to be written")
+                .register(meterRegistry);
+
+        if (async) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("event-writer-"));
+            this.executor.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.executor = null;
+        }
+    }
+
+    @EventListener
+    public void onEvent(final SpringEvent springEvent) {
+        if (springEvent.getSource() instanceof AbstractAuditable auditable) {
+            final PendingEvent pendingEvent = new PendingEvent(springEvent.getEvent(), springEvent.getSourceType(), auditable.getCreatedBy(), Instant.now());
+
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                currentBatch().add(pendingEvent);
+            } else if (recordOutsideTransaction) {
+                submit(List.of(pendingEvent));
+            } else if (log.isDebugEnabled()) {
+                // Events have only ever been recorded for committed transactions
+                log.debug("Not recording {} of {} outside a transaction", pendingEvent.event(), pendingEvent.source());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("Event writer did not terminate in time");
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    void flush() {
+        flushLock.lock();
+        try {
+            final List<PendingEvent> batch = new ArrayList<>(batchSize);
+
+            while (queue.drainTo(batch, batchSize) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private TransactionBatch currentBatch() {
+        TransactionBatch batch = (TransactionBatch) TransactionSynchronizationManager.getResource(this);
+
+        if (batch == null) {
+            batch = new TransactionBatch();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionBatchSynchronization(batch));
+        }
+        return batch;
+    }
+
+    private void submit(final Collection<PendingEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (!async) {
+            write(new ArrayList<>(events));
+            return;
+        }
+
+        final List<PendingEvent> overflow = new ArrayList<>();
+
+        events.forEach(e -> {
+            if (!queue.offer(e)) {
+                overflow.add(e);
+            }
+        });
+
+        if (!overflow.isEmpty()) {
+            log.warn("Event queue is full, writing {} event(s) on the calling thread", overflow.size());
+            write(overflow);
+        }
+        if (executor.isShutdown()) {
+            // Nothing drains the queue after the final flush on shutdown
+            flush();
+        } else if (queue.size() >= batchSize) {
+            try {
+                executor.execute(this::flush);
+            } catch (final RejectedExecutionException e) {
+                flush();
+            }
+        }
+    }
+
+    private void write(final List<PendingEvent> batch) {
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, e) -> {
+                ps.setString(1, e.event().name());
+                ps.setString(2, e.source().name());
+                ps.setString(3, e.createdBy());
+                ps.setTimestamp(4, Timestamp.from(e.createdAt()));
+            })));
+            writtenCounter.increment(batch.size());
+        } catch (final DataAccessException | TransactionException e) {
+            log.error("Could not write {} event(s)", batch.size(), e);
+        }
+    }
+
+    record PendingEvent(Event.EventType event, Event.SourceType source, String createdBy, Instant createdAt) {
+    }
+
+    private record BatchKey(Event.EventType event, Event.SourceType source, String createdBy) {
+    }
+
+    private class TransactionBatch {
+
+        private final Map<BatchKey, PendingEvent> events = new LinkedHashMap<>();
+
+        void add(final PendingEvent pendingEvent) {
+            if (events.putIfAbsent(new BatchKey(pendingEvent.event(), pendingEvent.source(), pendingEvent.createdBy()), pendingEvent) != null) {
+                coalescedCounter.increment();
+            }
+        }
+
+        Collection<PendingEvent> events() {
+            return events.values();
+        }
+    }
+
+    private class TransactionBatchSynchronization implements TransactionSynchronization {
+
+        private final TransactionBatch batch;
+
+        TransactionBatchSynchronization(final TransactionBatch batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void afterCommit() {
+            submit(batch.events());
+        }
+
+        @Override
+        public void afterCompletion(final int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(BatchingEventWriter.this);
+        }
+    }
+}
@@ -85,6 +85,7 @@ public class Event implements Serializable {
         USER,
         AUTHORITY,
         STATE,
-        SESSION
+        SESSION,
+        TYPE
     }
 }
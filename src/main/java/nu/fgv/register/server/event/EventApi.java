@@ -11,18 +11,22 @@ import nu.fgv.register.server.tag.TagApi;
 import nu.fgv.register.server.task.TaskApi;
 import nu.fgv.register.server.task.category.TaskCategoryApi;
 import nu.fgv.register.server.user.UserApi;
+import nu.fgv.register.server.util.LinkTemplate;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -36,7 +40,20 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/api/v1/events")
 public class EventApi {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(ids -> methodOn(EventApi.class).retrieveById(ids[0]));
+    private static final LinkTemplate NEWS_EVENTS_LINK = LinkTemplate.of(ids -> methodOn(NewsApi.class).retrieveEvents(null));
+    private static final LinkTemplate SESSION_EVENTS_LINK = LinkTemplate.of(ids -> methodOn(SessionApi.class).retrieveEvents(null));
+    private static final LinkTemplate SPEX_EVENTS_LINK = LinkTemplate.of(ids -> methodOn(SpexApi.class).retrieveEvents(null));
+    private static final LinkTemplate SPEX_CATEGORY_EVENTS_LINK = LinkTemplate.of(ids -> methodOn(SpexCategoryApi.class).retrieveEvents(null));
+    private static final LinkTemplate SPEXARE_EVENTS_LINK = LinkTemplate.of(ids -> methodOn(SpexareApi.class).retrieveEvents(null));
+    private static final LinkTemplate TAG_EVENTS_LINK = LinkTemplate.of(ids -> methodOn(TagApi.class).retrieveEvents(null));
+    private static final LinkTemplate TASK_EVENTS_LINK = LinkTemplate.of(ids -> methodOn(TaskApi.class).retrieveEvents(null));
+    private static final LinkTemplate TASK_CATEGORY_EVENTS_LINK = LinkTemplate.of(ids -> methodOn(TaskCategoryApi.class).retrieveEvents(null));
+    private static final LinkTemplate USER_EVENTS_LINK = LinkTemplate.of(ids -> methodOn(UserApi.class).retrieveEvents(null));
+
     private final EventService service;
+    private final EventRetentionService retentionService;
+    private final EventStreamService streamService;
 
     @GetMapping(produces = MediaTypes.HAL_JSON_VALUE)
     @PreAuthorize("hasRole('spexregister_ADMIN')")
@@ -50,6 +67,20 @@ public class EventApi {
                         linkTo(methodOn(EventApi.class).retrieve(null)).withSelfRel()));
     }
 
+    @GetMapping(value = "/summary", produces = MediaTypes.HAL_JSON_VALUE)
+    @PreAuthorize("hasRole('spexregister_ADMIN')")
+    public ResponseEntity<CollectionModel<EventSummaryDto>> retrieveSummary(@RequestParam(defaultValue = "90") final Integer sinceInDays) {
+        return ResponseEntity.ok(
+                CollectionModel.of(retentionService.summarize(sinceInDays),
+                        linkTo(methodOn(EventApi.class).retrieveSummary(null)).withSelfRel()));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('spexregister_ADMIN')")
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) final String lastEventId) {
+        return streamService.subscribe(lastEventId);
+    }
+
     @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
     @PreAuthorize("hasRole('spexregister_ADMIN')")
     public ResponseEntity<EntityModel<EventDto>> retrieveById(@PathVariable final Long id) {
@@ -63,16 +94,16 @@ public class EventApi {
     public List<Link> getLinks(final EventDto dto) {
         final List<Link> links = new ArrayList<>();
 
-        links.add(linkTo(methodOn(EventApi.class).retrieveById(dto.getId())).withSelfRel());
-        links.add(linkTo(methodOn(NewsApi.class).retrieveEvents(null)).withRel("news-events"));
-        links.add(linkTo(methodOn(SessionApi.class).retrieveEvents(null)).withRel("session-events"));
-        links.add(linkTo(methodOn(SpexApi.class).retrieveEvents(null)).withRel("spex-events"));
-        links.add(linkTo(methodOn(SpexCategoryApi.class).retrieveEvents(null)).withRel("spex-category-events"));
-        links.add(linkTo(methodOn(SpexareApi.class).retrieveEvents(null)).withRel("spexare-events"));
-        links.add(linkTo(methodOn(TagApi.class).retrieveEvents(null)).withRel("tag-events"));
-        links.add(linkTo(methodOn(TaskApi.class).retrieveEvents(null)).withRel("task-events"));
-        links.add(linkTo(methodOn(TaskCategoryApi.class).retrieveEvents(null)).withRel("task-category-events"));
-        links.add(linkTo(methodOn(UserApi.class).retrieveEvents(null)).withRel("user-events"));
+        links.add(SELF_LINK.expand(dto.getId()).withSelfRel());
+        links.add(NEWS_EVENTS_LINK.expand().withRel("news-events"));
+        links.add(SESSION_EVENTS_LINK.expand().withRel("session-events"));
+        links.add(SPEX_EVENTS_LINK.expand().withRel("spex-events"));
+        links.add(SPEX_CATEGORY_EVENTS_LINK.expand().withRel("spex-category-events"));
+        links.add(SPEXARE_EVENTS_LINK.expand().withRel("spexare-events"));
+        links.add(TAG_EVENTS_LINK.expand().withRel("tag-events"));
+        links.add(TASK_EVENTS_LINK.expand().withRel("task-events"));
+        links.add(TASK_CATEGORY_EVENTS_LINK.expand().withRel("task-category-events"));
+        links.add(USER_EVENTS_LINK.expand().withRel("user-events"));
 
         return links;
     }
@@ -1,5 +1,6 @@
 package nu.fgv.register.server.event;
 
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.MapperConfig;
 import org.mapstruct.Mapping;
@@ -20,6 +21,9 @@ public interface EventMapper {
 
     EventDto toDto(Event model);
 
+    @BeanMapping(ignoreUnmappedSourceProperties = {"id"})
+    EventSummaryDto toSummaryDto(EventRollup model);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     Event toModel(String createdBy, Event.EventType event, Event.SourceType source);
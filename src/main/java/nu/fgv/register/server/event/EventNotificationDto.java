@@ -0,0 +1,53 @@
+package nu.fgv.register.server.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class EventNotificationDto {
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("event")
+    private String event;
+
+    @JsonProperty("source")
+    private String source;
+
+    @JsonProperty("entity")
+    private String entity;
+
+    @JsonProperty("entityId")
+    private Object entityId;
+
+    @JsonProperty("createdAt")
+    private Instant createdAt;
+
+    @Builder
+    public EventNotificationDto(
+            final String id,
+            final String event,
+            final String source,
+            final String entity,
+            final Object entityId,
+            final Instant createdAt
+    ) {
+        this.id = id;
+        this.event = event;
+        this.source = source;
+        this.entity = entity;
+        this.entityId = entityId;
+        this.createdAt = createdAt;
+    }
+}
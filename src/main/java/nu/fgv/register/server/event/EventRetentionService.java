@@ -0,0 +1,148 @@
+package nu.fgv.register.server.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static nu.fgv.register.server.event.EventMapper.EVENT_MAPPER;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class EventRetentionService {
+
+    private static final String ROLL_UP_SQL = """
+            INSERT INTO event_rollup
+                (day, source, event, count)
+            SELECT * FROM (
+                SELECT DATE(e.created_at) AS day, e.source, e.event, COUNT(*) AS count
+                FROM event e
+                WHERE e.created_at >= ?
+                AND e.created_at < ?
+                GROUP BY DATE(e.created_at), e.source, e.event
+            ) AS new
+            ON DUPLICATE KEY UPDATE count = new.count
+            """;
+
+    private static final String COUNT_SQL = """
+            SELECT DATE(e.created_at) AS day, e.source, e.event, COUNT(*) AS count
+            FROM event e
+            WHERE e.created_at >= ?
+            GROUP BY DATE(e.created_at), e.source, e.event
+            ORDER BY day DESC
+            """;
+
+    private static final String OLDEST_EVENT_SQL = "SELECT DATE(MIN(created_at)) FROM event";
+
+    private static final String PURGE_EVENTS_SQL = """
+            DELETE FROM event
+            WHERE bucket < ?
+            LIMIT ?
+            """;
+
+    private static final String PURGE_ROLLUPS_SQL = """
+            DELETE FROM event_rollup
+            WHERE day < ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventRollupRepository rollupRepository;
+    @Value("${spexregister.events.retention.raw-months:13}")
+    private int rawMonths;
+    @Value("${spexregister.events.retention.rollup-years:10}")
+    private int rollupYears;
+    @Value("${spexregister.events.retention.rollup-threshold-days:90}")
+    private int rollupThresholdDays;
+    @Value("${spexregister.events.retention.purge-batch-size:5000}")
+    private int purgeBatchSize;
+
+    public List<EventSummaryDto> summarize(final Integer sinceInDays) {
+        final LocalDate today = LocalDate.now();
+        final LocalDate from = today.minusDays(sinceInDays != null ? sinceInDays : 90);
+
+        if (!from.isBefore(today.minusDays(rollupThresholdDays))) {
+            return countRaw(from);
+        }
+
+        // Wide windows are answered from the roll-ups, topped up with raw counts for days not rolled up yet
+        final LocalDate lastRolledUpDay = rollupRepository.findLastRolledUpDay().orElse(from.minusDays(1));
+        final LocalDate rawFrom = lastRolledUpDay.plusDays(1).isAfter(from) ? lastRolledUpDay.plusDays(1) : from;
+        final List<EventSummaryDto> summaries = new ArrayList<>(countRaw(rawFrom));
+
+        rollupRepository
+                .findByDayGreaterThanEqualAndDayLessThanEqualOrderByDayDesc(from, lastRolledUpDay)
+                .stream()
+                .map(EVENT_MAPPER::toSummaryDto)
+                .forEach(summaries::add);
+
+        return summaries;
+    }
+
+    @Scheduled(cron = "${spexregister.jobs.event-retention.cron-expression}")
+    public void rollUpAndPurge() {
+        final LocalDate today = LocalDate.now();
+        // The first run rolls up everything there is, later runs continue after the last rolled up day
+        final LocalDate rollUpFrom = rollupRepository.findLastRolledUpDay()
+                .map(day -> day.plusDays(1))
+                .orElseGet(() -> Optional.ofNullable(jdbcTemplate.queryForObject(OLDEST_EVENT_SQL, Date.class))
+                        .map(Date::toLocalDate)
+                        .orElse(today));
+
+        if (rollUpFrom.isBefore(today)) {
+            final int rows = jdbcTemplate.update(ROLL_UP_SQL, toTimestamp(rollUpFrom), toTimestamp(today));
+
+            if (log.isInfoEnabled()) {
+                log.info("Rolled up events from {} until {} into {} row(s)", rollUpFrom, today, rows);
+            }
+        }
+
+        final Optional<LocalDate> lastRolledUpDay = rollupRepository.findLastRolledUpDay();
+
+        if (lastRolledUpDay.isEmpty()) {
+            return;
+        }
+
+        // Raw events are purged by whole monthly buckets, and only buckets whose every day has been rolled up
+        final LocalDate retentionHorizon = today.minusMonths(rawMonths).withDayOfMonth(1);
+        final LocalDate rolledUpHorizon = lastRolledUpDay.get().plusDays(1).withDayOfMonth(1);
+        final LocalDate horizon = retentionHorizon.isBefore(rolledUpHorizon) ? retentionHorizon : rolledUpHorizon;
+        final int bucket = horizon.getYear() * 100 + horizon.getMonthValue();
+        int purged = 0;
+        int deleted;
+
+        do {
+            deleted = jdbcTemplate.update(PURGE_EVENTS_SQL, bucket, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+
+        final int purgedRollups = jdbcTemplate.update(PURGE_ROLLUPS_SQL, Date.valueOf(today.minusYears(rollupYears)));
+
+        if (log.isInfoEnabled()) {
+            log.info("Purged {} event(s) before {} and {} roll-up(s)", purged, horizon, purgedRollups);
+        }
+    }
+
+    private List<EventSummaryDto> countRaw(final LocalDate from) {
+        return jdbcTemplate.query(COUNT_SQL, (rs, rowNum) -> EventSummaryDto.builder()
+                .day(rs.getDate("day").toLocalDate())
+                .source(rs.getString("source"))
+                .event(rs.getString("event"))
+                .count(rs.getLong("count"))
+                .build(), toTimestamp(from));
+    }
+
+    private Timestamp toTimestamp(final LocalDate date) {
+        return Timestamp.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
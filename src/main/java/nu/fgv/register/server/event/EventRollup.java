@@ -0,0 +1,67 @@
+package nu.fgv.register.server.event;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "event_rollup")
+@RequiredArgsConstructor
+@Getter
+@Setter
+@ToString
+public class EventRollup implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "day", nullable = false, updatable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    private Event.EventType event;
+
+    @Enumerated(EnumType.STRING)
+    private Event.SourceType source;
+
+    @Column(name = "count", nullable = false)
+    private Long count;
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final EventRollup rollup = (EventRollup) o;
+        if (rollup.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), rollup.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(this.getClass().hashCode());
+    }
+}
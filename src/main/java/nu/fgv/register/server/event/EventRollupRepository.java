@@ -0,0 +1,19 @@
+package nu.fgv.register.server.event;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EventRollupRepository extends JpaRepository<EventRollup, Long> {
+
+    List<EventRollup> findByDayGreaterThanEqualAndDayLessThanEqualOrderByDayDesc(LocalDate from, LocalDate to);
+
+    @Query("SELECT MAX(r.day) FROM EventRollup r")
+    Optional<LocalDate> findLastRolledUpDay();
+
+}
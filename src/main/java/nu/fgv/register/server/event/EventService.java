@@ -3,11 +3,8 @@ package nu.fgv.register.server.event;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import nu.fgv.register.server.util.AbstractAuditable;
 import org.springframework.data.domain.Sort;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -64,14 +61,6 @@ public class EventService {
         return EVENT_MAPPER.toDto(repository.save(model));
     }
 
-    @TransactionalEventListener
-    @Async
-    public void onEvent(final SpringEvent springEvent) {
-        if (springEvent.getSource() instanceof AbstractAuditable auditable) {
-            create(auditable.getCreatedBy(), springEvent.getEvent(), springEvent.getSourceType());
-        }
-    }
-
     private Instant getInstantFromSinceInDays(final Integer sinceInDays) {
         return LocalDate.now().minusDays(sinceInDays != null ? sinceInDays : 90).atStartOfDay(ZoneId.systemDefault()).toInstant();
     }
@@ -0,0 +1,205 @@
+package nu.fgv.register.server.event;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.util.StringUtils.hasText;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class EventStreamService {
+
+    static final String CHANGE_EVENT = "change";
+    static final String RESET_EVENT = "reset";
+
+    private final EntityManagerFactory entityManagerFactory;
+    // Sequence numbers restart with the instance, so ids are qualified with when it started
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Deque<Entry> history = new ArrayDeque<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    @Value("${spexregister.events.stream.history-size:1000}")
+    private int historySize;
+    @Value("${spexregister.events.stream.buffer-size:100}")
+    private int bufferSize;
+    @Value("${spexregister.events.stream.timeout:30m}")
+    private Duration timeout;
+
+    public SseEmitter subscribe(final String lastEventId) {
+        final Subscriber subscriber = new Subscriber(createEmitter(), bufferSize);
+
+        // Replay and register under the same lock as publishing so nothing is lost or delivered twice
+        synchronized (history) {
+            if (hasText(lastEventId)) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.start();
+
+        return subscriber.emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEvent(final SpringEvent springEvent) {
+        final Object entity = springEvent.getSource();
+        final long eventSequence = sequence.incrementAndGet();
+        final EventNotificationDto notification = EventNotificationDto.builder()
+                .id(epoch + "-" + eventSequence)
+                .event(springEvent.getEvent().name())
+                .source(springEvent.getSourceType().name())
+                .entity(Hibernate.getClass(entity).getSimpleName())
+                .entityId(entityManagerFactory.getPersistenceUnitUtil().getIdentifier(entity))
+                .createdAt(Instant.now())
+                .build();
+        final Entry entry = new Entry(eventSequence, notification);
+
+        synchronized (history) {
+            history.addLast(entry);
+            while (history.size() > historySize) {
+                history.removeFirst();
+            }
+            subscribers.forEach(subscriber -> subscriber.offer(entry));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(Subscriber::complete);
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    private void replay(final Subscriber subscriber, final String lastEventIdWithEpoch) {
+        final Long lastEventId = sequenceOf(lastEventIdWithEpoch);
+
+        if (lastEventId == null) {
+            // Issued by another instance, or before a restart
+            subscriber.reset();
+            return;
+        }
+
+        final List<Entry> missed = history.stream().filter(entry -> entry.sequence() > lastEventId).toList();
+        final boolean gap = lastEventId > sequence.get() ||
+                (history.isEmpty() ? lastEventId < sequence.get() : history.getFirst().sequence() > lastEventId + 1);
+
+        if (gap || missed.size() > bufferSize) {
+            subscriber.reset();
+        } else {
+            missed.forEach(subscriber::offer);
+        }
+    }
+
+    private Long sequenceOf(final String eventId) {
+        final int separator = eventId.lastIndexOf('-');
+
+        if (separator < 0 || !epoch.equals(eventId.substring(0, separator))) {
+            return null;
+        }
+        try {
+            return Long.valueOf(eventId.substring(separator + 1));
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Entry(long sequence, EventNotificationDto notification) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Entry> buffer;
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile boolean reset;
+        private volatile Thread sender;
+
+        Subscriber(final SseEmitter emitter, final int capacity) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+            emitter.onCompletion(this::close);
+            emitter.onTimeout(this::close);
+            emitter.onError(e -> close());
+        }
+
+        void offer(final Entry entry) {
+            if (!buffer.offer(entry) && !completed.get()) {
+                // Too slow to keep up, let the client reconnect and catch up from its Last-Event-ID
+                if (log.isWarnEnabled()) {
+                    log.warn("Event stream subscriber buffer is full, closing stream");
+                }
+                complete();
+            }
+        }
+
+        void complete() {
+            if (completed.compareAndSet(false, true)) {
+                close();
+                emitter.complete();
+            }
+        }
+
+        void reset() {
+            reset = true;
+        }
+
+        void start() {
+            sender = Thread.ofVirtual().name("event-stream-", sequence.get()).start(this::send);
+        }
+
+        private void send() {
+            try {
+                if (reset) {
+                    emitter.send(SseEmitter.event().name(RESET_EVENT).data(""));
+                }
+                while (!Thread.currentThread().isInterrupted()) {
+                    final EventNotificationDto notification = buffer.take().notification();
+
+                    emitter.send(SseEmitter.event().id(notification.getId()).name(CHANGE_EVENT).data(notification));
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final IOException | IllegalStateException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Event stream subscriber went away", e);
+                }
+                close();
+            }
+        }
+
+        private void close() {
+            subscribers.remove(this);
+            final Thread thread = sender;
+
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        }
+    }
+}
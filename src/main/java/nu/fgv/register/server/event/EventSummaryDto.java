@@ -0,0 +1,45 @@
+package nu.fgv.register.server.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+@Relation(collectionRelation = "summaries", itemRelation = "summaries")
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class EventSummaryDto {
+    @JsonProperty("day")
+    private LocalDate day;
+
+    @JsonProperty("event")
+    private String event;
+
+    @JsonProperty("source")
+    private String source;
+
+    @JsonProperty("count")
+    private Long count;
+
+    @Builder
+    public EventSummaryDto(
+            final LocalDate day,
+            final String event,
+            final String source,
+            final Long count
+    ) {
+        this.day = day;
+        this.event = event;
+        this.source = source;
+        this.count = count;
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreRemove;
 import jakarta.persistence.PreUpdate;
 import nu.fgv.register.server.news.News;
+import nu.fgv.register.server.settings.Type;
 import nu.fgv.register.server.spex.Spex;
 import nu.fgv.register.server.spex.SpexDetails;
 import nu.fgv.register.server.spex.category.SpexCategory;
@@ -87,6 +88,8 @@ public class JpaEntityListener {
             source = Event.SourceType.AUTHORITY;
         } else if (sourceObject instanceof State) {
             source = Event.SourceType.STATE;
+        } else if (sourceObject instanceof Type) {
+            source = Event.SourceType.TYPE;
         } else {
             source = null;
         }
@@ -0,0 +1,31 @@
+package nu.fgv.register.server.export;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+record ExportJob(String id,
+                 String owner,
+                 String entity,
+                 List<Long> ids,
+                 String contentType,
+                 Locale locale,
+                 ExportJobStatus status,
+                 Instant createdAt,
+                 Instant completedAt,
+                 String fileName,
+                 Path file) {
+
+    ExportJob running() {
+        return new ExportJob(id, owner, entity, ids, contentType, locale, ExportJobStatus.RUNNING, createdAt, null, null, null);
+    }
+
+    ExportJob completed(final String fileName, final Path file) {
+        return new ExportJob(id, owner, entity, ids, contentType, locale, ExportJobStatus.COMPLETED, createdAt, Instant.now(), fileName, file);
+    }
+
+    ExportJob failed() {
+        return new ExportJob(id, owner, entity, ids, contentType, locale, ExportJobStatus.FAILED, createdAt, Instant.now(), null, null);
+    }
+}
@@ -0,0 +1,113 @@
+package nu.fgv.register.server.export;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/v1/exports")
+public class ExportJobApi {
+
+    private final ExportJobService service;
+
+    @PostMapping(produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity<EntityModel<ExportJobDto>> create(@Valid @RequestBody final ExportJobCreateDto dto, final Locale locale) {
+        try {
+            final ExportJobDto newDto = service.create(dto, locale);
+
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.LOCATION, linkTo(methodOn(ExportJobApi.class).retrieve(newDto.getId())).toString())
+                    .body(EntityModel.of(newDto, getLinks(newDto)));
+        } catch (final ResourceNotFoundException e) {
+            if (log.isErrorEnabled()) {
+                log.error("Could not create export", e);
+            }
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (final IllegalArgumentException e) {
+            if (log.isErrorEnabled()) {
+                log.error("Could not create export", e);
+            }
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (final AccessDeniedException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("Could not create export, {}", e.getMessage());
+            }
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        } catch (final TaskRejectedException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("Could not create export, too many exports in progress");
+            }
+            return new ResponseEntity<>(HttpStatus.TOO_MANY_REQUESTS);
+        }
+    }
+
+    @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity<EntityModel<ExportJobDto>> retrieve(@PathVariable final String id) {
+        return service
+                .findById(id)
+                .map(dto -> EntityModel.of(dto, getLinks(dto)))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @GetMapping(value = "/{id}/file")
+    public ResponseEntity<Resource> retrieveFile(@PathVariable final String id) {
+        return service
+                .findById(id)
+                .flatMap(dto -> service
+                        .findFileById(id)
+                        .map(file -> ResponseEntity.ok()
+                                .contentType(MediaType.valueOf(dto.getContentType()))
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFirst() + "\"")
+                                .<Resource>body(new FileSystemResource(file.getSecond()))))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @DeleteMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity<?> delete(@PathVariable final String id) {
+        return service.deleteById(id) ?
+                ResponseEntity.status(HttpStatus.NO_CONTENT).build() :
+                ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+
+    List<Link> getLinks(final ExportJobDto dto) {
+        final List<Link> links = new ArrayList<>();
+
+        links.add(linkTo(methodOn(ExportJobApi.class).retrieve(dto.getId())).withSelfRel());
+        if (dto.getStatus() == ExportJobStatus.COMPLETED) {
+            links.add(linkTo(methodOn(ExportJobApi.class).retrieveFile(dto.getId())).withRel("file"));
+        }
+
+        return links;
+    }
+
+}
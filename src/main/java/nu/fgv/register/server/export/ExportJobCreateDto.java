@@ -0,0 +1,31 @@
+package nu.fgv.register.server.export;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ExportJobCreateDto {
+    @NotEmpty(message = "{exportJob.entity.notEmpty}")
+    @JsonProperty("entity")
+    private String entity;
+
+    @JsonProperty("ids")
+    private List<Long> ids;
+
+    @NotEmpty(message = "{exportJob.contentType.notEmpty}")
+    @JsonProperty("contentType")
+    private String contentType;
+}
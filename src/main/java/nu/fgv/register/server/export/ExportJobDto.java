@@ -0,0 +1,42 @@
+package nu.fgv.register.server.export;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+@Builder
+@Relation(collectionRelation = "exports", itemRelation = "export")
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ExportJobDto {
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("entity")
+    private String entity;
+
+    @JsonProperty("contentType")
+    private String contentType;
+
+    @JsonProperty("status")
+    private ExportJobStatus status;
+
+    @JsonProperty("createdAt")
+    private Instant createdAt;
+
+    @JsonProperty("completedAt")
+    private Instant completedAt;
+
+    @JsonProperty("expiresAt")
+    private Instant expiresAt;
+}
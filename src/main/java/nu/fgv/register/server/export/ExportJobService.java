@@ -0,0 +1,258 @@
+package nu.fgv.register.server.export;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nu.fgv.register.server.util.Constants;
+import nu.fgv.register.server.util.impex.exporting.AbstractExportService;
+import nu.fgv.register.server.util.impex.exporting.AbstractStreamingExportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.data.util.Pair;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static nu.fgv.register.server.util.security.SecurityUtil.ROLE_ADMIN;
+import static nu.fgv.register.server.util.security.SecurityUtil.ROLE_EDITOR;
+import static nu.fgv.register.server.util.security.SecurityUtil.ROLES;
+
+/**
+ * Renders exports off the request thread into a temporary file store. The number of exports rendered at the same time
+ * is bounded, as is the number of exports waiting, since each one holds a complete workbook in memory while rendering.
+ * <p>
+ * Jobs are only kept in memory, so an export must be retrieved from the node that rendered it and does not survive a
+ * restart. Files left behind by a previous run are removed on startup.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ExportJobService {
+
+    private static final String EXPORT_SERVICE_SUFFIX = "ExportService";
+    private static final Set<String> CONTENT_TYPES = Set.of(
+            Constants.MediaTypes.APPLICATION_XLSX_VALUE,
+            Constants.MediaTypes.APPLICATION_XLS_VALUE
+    );
+    // Mirrors the roles required by the synchronous export endpoints, entities not listed only require authentication
+    private static final Map<String, Set<String>> EXPORT_ROLES = Map.of(
+            "spex", Set.copyOf(ROLES),
+            "spexCategory", Set.of(ROLE_ADMIN),
+            "task", Set.of(ROLE_ADMIN),
+            "taskCategory", Set.of(ROLE_ADMIN),
+            "tag", Set.of(ROLE_ADMIN, ROLE_EDITOR)
+    );
+    private static final Set<String> STREAMING_EXPORT_ROLES = Set.of(ROLE_ADMIN);
+
+    private final Map<String, AbstractExportService> exportServicesByBeanName;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${spexregister.export.directory:${java.io.tmpdir}/spexregister-exports}")
+    private Path directory;
+
+    @Value("${spexregister.export.concurrency:2}")
+    private int concurrency;
+
+    @Value("${spexregister.export.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${spexregister.export.ttl:1h}")
+    private Duration ttl;
+
+    private Map<String, AbstractExportService> exportServices;
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    public void init() throws IOException {
+        exportServices = exportServicesByBeanName.entrySet().stream()
+                .filter(e -> e.getKey().endsWith(EXPORT_SERVICE_SUFFIX))
+                .collect(Collectors.toUnmodifiableMap(e -> e.getKey().substring(0, e.getKey().length() - EXPORT_SERVICE_SUFFIX.length()), Map.Entry::getValue));
+
+        Files.createDirectories(directory);
+        try (final Stream<Path> files = Files.list(directory)) {
+            // Jobs do not survive a restart, so neither does anything they rendered
+            files.forEach(this::deleteFile);
+        }
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("export-");
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdown();
+        jobs.values().stream()
+                .map(ExportJob::file)
+                .forEach(this::deleteFile);
+    }
+
+    public ExportJobDto create(final ExportJobCreateDto dto, final Locale locale) {
+        if (!exportServices.containsKey(dto.getEntity())) {
+            throw new ResourceNotFoundException(String.format("Export of %s is not supported", dto.getEntity()));
+        }
+        if (!CONTENT_TYPES.contains(dto.getContentType()) &&
+                !(AbstractStreamingExportService.isStreamingType(dto.getContentType()) && exportServices.get(dto.getEntity()) instanceof AbstractStreamingExportService<?>)) {
+            throw new IllegalArgumentException(String.format("Unrecognized content type %s", dto.getContentType()));
+        }
+        if (!isPermitted(dto.getEntity(), dto.getContentType())) {
+            throw new AccessDeniedException(String.format("Export of %s is not permitted", dto.getEntity()));
+        }
+
+        final ExportJob job = new ExportJob(UUID.randomUUID().toString(), currentPrincipal(), dto.getEntity(),
+                dto.getIds() == null ? null : List.copyOf(dto.getIds()), dto.getContentType(), locale,
+                ExportJobStatus.QUEUED, Instant.now(), null, null, null);
+
+        jobs.put(job.id(), job);
+        try {
+            // The security context travels with the job since the export services read through ACL filtered repositories
+            executor.execute(DelegatingSecurityContextRunnable.create(() -> render(job.id()), SecurityContextHolder.getContext()));
+        } catch (final TaskRejectedException e) {
+            jobs.remove(job.id());
+            throw e;
+        }
+        return toDto(job);
+    }
+
+    public Optional<ExportJobDto> findById(final String id) {
+        return findJob(id).map(this::toDto);
+    }
+
+    public Optional<Pair<String, Path>> findFileById(final String id) {
+        return findJob(id)
+                .filter(job -> job.status() == ExportJobStatus.COMPLETED)
+                .map(job -> Pair.of(job.fileName(), job.file()));
+    }
+
+    public boolean deleteById(final String id) {
+        return findJob(id)
+                .map(job -> {
+                    jobs.remove(job.id());
+                    deleteFile(job.file());
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    @Scheduled(cron = "${spexregister.jobs.export-cleanup.cron-expression}")
+    public void removeExpired() {
+        final Instant now = Instant.now();
+
+        jobs.values().stream()
+                .filter(job -> job.completedAt() != null && job.completedAt().plus(ttl).isBefore(now))
+                .forEach(job -> {
+                    jobs.remove(job.id());
+                    deleteFile(job.file());
+                });
+    }
+
+    private void render(final String id) {
+        final ExportJob job = jobs.computeIfPresent(id, (k, v) -> v.running());
+
+        if (job == null) {
+            return;
+        }
+        try {
+            final AbstractExportService exportService = exportServices.get(job.entity());
+            final String extension;
+            final Path file;
+
+            if (exportService instanceof AbstractStreamingExportService<?> streamingExportService && AbstractStreamingExportService.isStreamingType(job.contentType())) {
+                extension = AbstractStreamingExportService.extensionOf(job.contentType());
+                file = directory.resolve(job.id() + extension);
+                try (final OutputStream outputStream = Files.newOutputStream(file)) {
+                    streamingExportService.doExport(job.ids(), job.contentType(), job.locale(), outputStream);
+                }
+            } else {
+                final Pair<String, byte[]> export = exportService.doExport(job.ids(), job.contentType(), job.locale());
+
+                extension = export.getFirst();
+                file = Files.write(directory.resolve(job.id() + extension), export.getSecond());
+            }
+
+            if (jobs.computeIfPresent(id, (k, v) -> v.completed(job.entity() + extension, file)) == null) {
+                // Deleted while rendering
+                Files.deleteIfExists(file);
+            }
+        } catch (final Exception e) {
+            if (log.isErrorEnabled()) {
+                log.error("Could not export {}", job.entity(), e);
+            }
+            jobs.computeIfPresent(id, (k, v) -> v.failed());
+        }
+    }
+
+    private Optional<ExportJob> findJob(final String id) {
+        return Optional.ofNullable(jobs.get(id))
+                .filter(job -> job.owner().equals(currentPrincipal()));
+    }
+
+    private void deleteFile(final Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (final IOException e) {
+                if (log.isWarnEnabled()) {
+                    log.warn("Could not delete export {}", file, e);
+                }
+            }
+        }
+    }
+
+    private ExportJobDto toDto(final ExportJob job) {
+        return ExportJobDto.builder()
+                .id(job.id())
+                .entity(job.entity())
+                .contentType(job.contentType())
+                .status(job.status())
+                .createdAt(job.createdAt())
+                .completedAt(job.completedAt())
+                .expiresAt(job.completedAt() == null ? null : job.completedAt().plus(ttl))
+                .build();
+    }
+
+    private static boolean isPermitted(final String entity, final String contentType) {
+        final Set<String> roles = AbstractStreamingExportService.isStreamingType(contentType) ? STREAMING_EXPORT_ROLES : EXPORT_ROLES.get(entity);
+
+        return roles == null || Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
+                .map(Authentication::getAuthorities)
+                .stream()
+                .flatMap(Collection::stream)
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(roles::contains);
+    }
+
+    private static String currentPrincipal() {
+        return Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
+                .map(Authentication::getName)
+                .orElse("");
+    }
+
+}
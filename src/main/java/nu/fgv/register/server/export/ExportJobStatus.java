@@ -0,0 +1,8 @@
+package nu.fgv.register.server.export;
+
+public enum ExportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
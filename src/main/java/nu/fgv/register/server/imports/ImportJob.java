@@ -0,0 +1,98 @@
+package nu.fgv.register.server.imports;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import nu.fgv.register.server.util.AbstractAuditable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Entity
+@Table(name = "import_job")
+@RequiredArgsConstructor
+@Getter
+@Setter
+@ToString
+public class ImportJob extends AbstractAuditable implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entity", nullable = false, updatable = false)
+    private String entity;
+
+    @Column(name = "file", nullable = false, updatable = false)
+    private String file;
+
+    @Column(name = "locale", nullable = false, updatable = false)
+    private String locale;
+
+    @Column(name = "node")
+    private String node;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ImportJobStatus status;
+
+    @Column(name = "chunk_size", nullable = false, updatable = false)
+    private int chunkSize;
+
+    @Column(name = "last_row", nullable = false)
+    private int lastRow;
+
+    @Column(name = "created_count", nullable = false)
+    private int createdCount;
+
+    @Column(name = "updated_count", nullable = false)
+    private int updatedCount;
+
+    @Column(name = "deleted_count", nullable = false)
+    private int deletedCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private int failedCount;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "messages")
+    @ToString.Exclude
+    private List<String> messages = new ArrayList<>();
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ImportJob job = (ImportJob) o;
+        if (job.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), job.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(this.getClass().hashCode());
+    }
+}
@@ -0,0 +1,110 @@
+package nu.fgv.register.server.imports;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/v1/imports")
+public class ImportJobApi {
+
+    private final ImportJobService service;
+
+    @PostMapping(consumes = {"multipart/form-data"}, produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity<EntityModel<ImportJobDto>> create(@RequestParam("entity") final String entity, @RequestParam("file") final MultipartFile file, final Locale locale) {
+        try {
+            final ImportJobDto newDto = service.create(entity, file, locale);
+
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.LOCATION, linkTo(methodOn(ImportJobApi.class).retrieve(newDto.getId())).toString())
+                    .body(EntityModel.of(newDto, getLinks(newDto)));
+        } catch (final ResourceNotFoundException e) {
+            if (log.isErrorEnabled()) {
+                log.error("Could not create import", e);
+            }
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (final IllegalArgumentException e) {
+            if (log.isErrorEnabled()) {
+                log.error("Could not create import", e);
+            }
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (final TaskRejectedException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("Could not create import, too many imports in progress");
+            }
+            return new ResponseEntity<>(HttpStatus.TOO_MANY_REQUESTS);
+        } catch (final IOException e) {
+            if (log.isErrorEnabled()) {
+                log.error("Could not store import", e);
+            }
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+        }
+    }
+
+    @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity<EntityModel<ImportJobDto>> retrieve(@PathVariable final Long id) {
+        return service
+                .findById(id)
+                .map(dto -> EntityModel.of(dto, getLinks(dto)))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @PostMapping(value = "/{id}/resume", produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity<EntityModel<ImportJobDto>> resume(@PathVariable final Long id) {
+        try {
+            return service
+                    .resume(id)
+                    .map(dto -> EntityModel.of(dto, getLinks(dto)))
+                    .map(entity -> ResponseEntity.status(HttpStatus.ACCEPTED).body(entity))
+                    .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        } catch (final IllegalStateException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("Could not resume import {}: {}", id, e.getMessage());
+            }
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        } catch (final TaskRejectedException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("Could not resume import {}, too many imports in progress", id);
+            }
+            return new ResponseEntity<>(HttpStatus.TOO_MANY_REQUESTS);
+        }
+    }
+
+    List<Link> getLinks(final ImportJobDto dto) {
+        final List<Link> links = new ArrayList<>();
+
+        links.add(linkTo(methodOn(ImportJobApi.class).retrieve(dto.getId())).withSelfRel());
+        if (dto.getStatus() == ImportJobStatus.FAILED) {
+            links.add(linkTo(methodOn(ImportJobApi.class).resume(dto.getId())).withRel("resume"));
+        }
+
+        return links;
+    }
+
+}
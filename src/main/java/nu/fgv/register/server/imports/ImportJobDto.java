@@ -0,0 +1,55 @@
+package nu.fgv.register.server.imports;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+@Builder
+@Relation(collectionRelation = "imports", itemRelation = "import")
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ImportJobDto {
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("entity")
+    private String entity;
+
+    @JsonProperty("status")
+    private ImportJobStatus status;
+
+    @JsonProperty("lastRow")
+    private int lastRow;
+
+    @JsonProperty("created")
+    private int created;
+
+    @JsonProperty("updated")
+    private int updated;
+
+    @JsonProperty("deleted")
+    private int deleted;
+
+    @JsonProperty("failed")
+    private int failed;
+
+    @JsonProperty("messages")
+    private List<String> messages;
+
+    @JsonProperty("createdAt")
+    private Instant createdAt;
+
+    @JsonProperty("lastModifiedAt")
+    private Instant lastModifiedAt;
+}
@@ -0,0 +1,20 @@
+package nu.fgv.register.server.imports;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    Optional<ImportJob> findByIdAndCreatedBy(Long id, String createdBy);
+
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = :to WHERE j.status = :from AND (j.node = :node OR j.node IS NULL)")
+    int updateStatus(@Param("node") String node, @Param("from") ImportJobStatus from, @Param("to") ImportJobStatus to);
+
+}
@@ -0,0 +1,256 @@
+package nu.fgv.register.server.imports;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nu.fgv.register.server.util.Constants;
+import nu.fgv.register.server.util.impex.importing.ChunkResult;
+import nu.fgv.register.server.util.impex.importing.ChunkedImport;
+import nu.fgv.register.server.util.impex.importing.ChunkedImportExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static nu.fgv.register.server.util.security.SecurityUtil.getCurrentUserEmailClaim;
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * Runs imports as jobs. The uploaded file is kept until the job completes, so that a failed or interrupted job can be
+ * resumed from the last committed row. A job belongs to the node that runs it, only that node marks it as interrupted
+ * when restarted and, unless the import directory is shared by all nodes, only that node can resume it.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ImportJobService {
+
+    private static final String IMPORT_SERVICE_SUFFIX = "ImportService";
+
+    private final ImportJobRepository repository;
+    private final ChunkedImportExecutor importExecutor;
+    private final Map<String, ChunkedImport<?, ?>> chunkedImportsByBeanName;
+
+    @Value("${spexregister.import.directory:${java.io.tmpdir}/spexregister-imports}")
+    private Path directory;
+
+    @Value("${spexregister.import.concurrency:1}")
+    private int concurrency;
+
+    @Value("${spexregister.import.queue-capacity:10}")
+    private int queueCapacity;
+
+    @Value("${spexregister.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${spexregister.import.max-messages:1000}")
+    private int maxMessages;
+
+    @Value("${spexregister.import.node-id:}")
+    private String nodeId;
+
+    private Map<String, ChunkedImport<?, ?>> chunkedImports;
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    public void init() throws IOException {
+        chunkedImports = chunkedImportsByBeanName.entrySet().stream()
+                .filter(e -> e.getKey().endsWith(IMPORT_SERVICE_SUFFIX))
+                .collect(Collectors.toUnmodifiableMap(e -> e.getKey().substring(0, e.getKey().length() - IMPORT_SERVICE_SUFFIX.length()), Map.Entry::getValue));
+
+        Files.createDirectories(directory);
+
+        if (!hasText(nodeId)) {
+            // Must stay the same across restarts, so that interrupted jobs are found again
+            nodeId = InetAddress.getLocalHost().getHostName();
+        }
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("import-");
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void markInterrupted() {
+        // Jobs that were queued or running when this node stopped can only be resumed manually, jobs of other nodes may still be running
+        final int interrupted = repository.updateStatus(nodeId, ImportJobStatus.RUNNING, ImportJobStatus.FAILED) +
+                repository.updateStatus(nodeId, ImportJobStatus.QUEUED, ImportJobStatus.FAILED);
+
+        if (interrupted > 0 && log.isInfoEnabled()) {
+            log.info("Marked {} interrupted import jobs as failed", interrupted);
+        }
+    }
+
+    public ImportJobDto create(final String entity, final MultipartFile file, final Locale locale) throws IOException {
+        if (!chunkedImports.containsKey(entity)) {
+            throw new ResourceNotFoundException(String.format("Import of %s is not supported", entity));
+        }
+        if (!Constants.MediaTypes.APPLICATION_XLSX_VALUE.equals(file.getContentType())) {
+            throw new IllegalArgumentException(String.format("Unsupported content type %s", file.getContentType()));
+        }
+
+        final Path target = directory.resolve(UUID.randomUUID() + ".xlsx");
+        file.transferTo(target);
+
+        final ImportJob job = new ImportJob();
+        job.setEntity(entity);
+        job.setFile(target.toString());
+        job.setLocale(locale.toLanguageTag());
+        job.setNode(nodeId);
+        job.setStatus(ImportJobStatus.QUEUED);
+        job.setChunkSize(chunkSize);
+
+        return toDto(submit(repository.save(job)));
+    }
+
+    public Optional<ImportJobDto> findById(final Long id) {
+        return repository
+                .findByIdAndCreatedBy(id, getCurrentUserEmailClaim())
+                .map(this::toDto);
+    }
+
+    /**
+     * @throws IllegalStateException if the uploaded file is only available on the node that ran the job
+     */
+    public Optional<ImportJobDto> resume(final Long id) {
+        return repository
+                .findByIdAndCreatedBy(id, getCurrentUserEmailClaim())
+                .filter(job -> job.getStatus() == ImportJobStatus.FAILED)
+                .filter(this::isFileAvailable)
+                .map(job -> {
+                    // Taken over by this node, since it is the one running it from now on
+                    job.setNode(nodeId);
+                    job.setStatus(ImportJobStatus.QUEUED);
+                    return submit(repository.save(job));
+                })
+                .map(this::toDto);
+    }
+
+    private boolean isFileAvailable(final ImportJob job) {
+        if (Files.exists(Path.of(job.getFile()))) {
+            return true;
+        }
+        if (job.getNode() != null && !nodeId.equals(job.getNode())) {
+            throw new IllegalStateException(String.format("Import job %s can only be resumed on node %s", job.getId(), job.getNode()));
+        }
+        return false;
+    }
+
+    private ImportJob submit(final ImportJob job) {
+        try {
+            // The security context travels with the job since the imported services are secured and audited
+            executor.execute(DelegatingSecurityContextRunnable.create(() -> run(job.getId()), SecurityContextHolder.getContext()));
+            return job;
+        } catch (final TaskRejectedException e) {
+            job.setStatus(ImportJobStatus.FAILED);
+            repository.save(job);
+            throw e;
+        }
+    }
+
+    private void run(final Long id) {
+        final ImportJob job = repository.findById(id).orElse(null);
+
+        if (job == null) {
+            return;
+        }
+        job.setStatus(ImportJobStatus.RUNNING);
+        repository.save(job);
+
+        try {
+            final boolean found = importExecutor.execute(Path.of(job.getFile()), chunkedImports.get(job.getEntity()),
+                    Locale.forLanguageTag(job.getLocale()), job.getChunkSize(), job.getLastRow(), result -> record(id, result));
+
+            finish(id, found ? ImportJobStatus.COMPLETED : ImportJobStatus.FAILED, found ? null : "Sheet not found");
+            if (found) {
+                Files.deleteIfExists(Path.of(job.getFile()));
+            }
+        } catch (final Exception e) {
+            if (log.isErrorEnabled()) {
+                log.error("Could not import {} (job {})", job.getEntity(), id, e);
+            }
+            finish(id, ImportJobStatus.FAILED, e.getMessage());
+        }
+    }
+
+    private void record(final Long id, final ChunkResult result) {
+        repository.findById(id).ifPresent(job -> {
+            job.setLastRow(Math.max(job.getLastRow(), result.lastRow()));
+            job.setCreatedCount(job.getCreatedCount() + result.created());
+            job.setUpdatedCount(job.getUpdatedCount() + result.updated());
+            job.setDeletedCount(job.getDeletedCount() + result.deleted());
+            job.setFailedCount(job.getFailedCount() + result.failed());
+            appendMessages(job, result.messages());
+            repository.save(job);
+        });
+    }
+
+    private void finish(final Long id, final ImportJobStatus status, final String message) {
+        repository.findById(id).ifPresent(job -> {
+            job.setStatus(status);
+            if (hasText(message)) {
+                appendMessages(job, List.of(message));
+            }
+            repository.save(job);
+        });
+    }
+
+    private void appendMessages(final ImportJob job, final List<String> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        final List<String> all = new ArrayList<>(Optional.ofNullable(job.getMessages()).orElse(List.of()));
+
+        messages.stream()
+                .limit(Math.max(0, maxMessages - all.size()))
+                .forEach(all::add);
+        job.setMessages(all);
+    }
+
+    private ImportJobDto toDto(final ImportJob job) {
+        return ImportJobDto.builder()
+                .id(job.getId())
+                .entity(job.getEntity())
+                .status(job.getStatus())
+                .lastRow(job.getLastRow())
+                .created(job.getCreatedCount())
+                .updated(job.getUpdatedCount())
+                .deleted(job.getDeletedCount())
+                .failed(job.getFailedCount())
+                .messages(Optional.ofNullable(job.getMessages()).orElse(List.of()))
+                .createdAt(job.getCreatedAt())
+                .lastModifiedAt(job.getLastModifiedAt())
+                .build();
+    }
+
+}
@@ -0,0 +1,8 @@
+package nu.fgv.register.server.imports;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -7,6 +7,8 @@ import nu.fgv.register.server.event.Event;
 import nu.fgv.register.server.event.EventApi;
 import nu.fgv.register.server.event.EventDto;
 import nu.fgv.register.server.event.EventService;
+import nu.fgv.register.server.util.EntityVersionService;
+import nu.fgv.register.server.util.LinkTemplate;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PagedResourcesAssembler;
@@ -34,9 +36,12 @@ import org.springframework.web.bind.annotation.RestController;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
+import static nu.fgv.register.server.util.ConditionalRequestUtil.evaluate;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import static org.springframework.util.StringUtils.hasText;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -44,18 +49,25 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/api/v1/news")
 public class NewsApi {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(ids -> methodOn(NewsApi.class).retrieve(ids[0]));
+    private static final LinkTemplate NEWS_LINK = LinkTemplate.of(ids -> methodOn(NewsApi.class).retrieve(Pageable.unpaged(), ""));
+    private static final LinkTemplate EVENTS_LINK = LinkTemplate.of(ids -> methodOn(NewsApi.class).retrieveEvents(null));
+
     private final NewsService service;
     private final EventService eventService;
     private final PagedResourcesAssembler<NewsDto> pagedResourcesAssembler;
     private final EventApi eventApi;
+    private final EntityVersionService entityVersionService;
 
     @GetMapping(produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<PagedModel<EntityModel<NewsDto>>> retrieve(@SortDefault(sort = News_.VISIBLE_FROM, direction = Sort.Direction.ASC) final Pageable pageable,
                                                                      @RequestParam(required = false, defaultValue = "") final String filter) {
-        final PagedModel<EntityModel<NewsDto>> paged = pagedResourcesAssembler.toModel(service.find(filter, pageable));
-        paged.getContent().forEach(this::addLinks);
+        return evaluate(hasText(filter) ? Optional.empty() : entityVersionService.findAll(News.class), () -> {
+            final PagedModel<EntityModel<NewsDto>> paged = pagedResourcesAssembler.toModel(service.find(filter, pageable));
+            paged.getContent().forEach(this::addLinks);
 
-        return ResponseEntity.ok(paged);
+            return ResponseEntity.ok(paged);
+        });
     }
 
     @PostMapping(produces = MediaTypes.HAL_JSON_VALUE)
@@ -72,11 +84,11 @@ public class NewsApi {
     @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
     @PreAuthorize("hasAnyRole('spexregister_ADMIN', 'spexregister_EDITOR', 'spexregister_USER')")
     public ResponseEntity<EntityModel<NewsDto>> retrieve(@PathVariable final Long id) {
-        return service
+        return evaluate(entityVersionService.findById(News.class, id), () -> service
                 .findById(id)
                 .map(dto -> EntityModel.of(dto, getLinks(dto)))
                 .map(ResponseEntity::ok)
-                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND)));
     }
 
     @PutMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
@@ -136,9 +148,9 @@ public class NewsApi {
     List<Link> getLinks(final NewsDto dto) {
         final List<Link> links = new ArrayList<>();
 
-        links.add(linkTo(methodOn(NewsApi.class).retrieve(dto.getId())).withSelfRel());
-        links.add(linkTo(methodOn(NewsApi.class).retrieve(Pageable.unpaged(), "")).withRel("news"));
-        links.add(linkTo(methodOn(NewsApi.class).retrieveEvents(null)).withRel("events"));
+        links.add(SELF_LINK.expand(dto.getId()).withSelfRel());
+        links.add(NEWS_LINK.expand().withRel("news"));
+        links.add(EVENTS_LINK.expand().withRel("events"));
 
         return links;
     }
@@ -49,7 +49,7 @@ public class NewsService {
     public Page<NewsDto> find(final String filter, final Pageable pageable) {
         return hasText(filter) ?
                 repository
-                        .findAll(SpecificationsBuilder.<News>builder().build(FilterParser.parse(filter), NewsSpecification::new), pageable, BasePermission.READ)
+                        .findAll(SpecificationsBuilder.<News>builder().build(FilterParser.parseTree(filter), NewsSpecification::new), pageable, BasePermission.READ)
                         .map(NEWS_MAPPER::toDto) :
                 repository
                         .findAll(pageable, BasePermission.READ)
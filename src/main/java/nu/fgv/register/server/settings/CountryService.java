@@ -8,7 +8,9 @@ import org.springframework.stereotype.Service;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 @Slf4j
@@ -16,26 +18,33 @@ import java.util.stream.Stream;
 @Service
 public class CountryService {
 
+    // Locales are bounded by the supported languages of the locale resolver
+    private final Map<Locale, List<CountryDto>> countriesByLocale = new ConcurrentHashMap<>();
+
     public List<CountryDto> findAll() {
-        return Stream.of(Locale.getISOCountries())
-                .map(this::mapDto)
-                .sorted(Comparator.comparing(CountryDto::getLabel))
-                .toList();
+        return countriesByLocale.computeIfAbsent(LocaleContextHolder.getLocale(), this::computeAll);
     }
 
     public Optional<CountryDto> findByIsoCode(final String isoCode) {
-        return Stream.of(Locale.getISOCountries())
-                .filter(c -> c.equalsIgnoreCase(isoCode))
-                .map(this::mapDto)
+        return findAll()
+                .stream()
+                .filter(c -> c.getIsoCode().equalsIgnoreCase(isoCode))
                 .findFirst();
     }
 
-    private CountryDto mapDto(final String isoCode) {
+    private List<CountryDto> computeAll(final Locale locale) {
+        return Stream.of(Locale.getISOCountries())
+                .map(isoCode -> mapDto(isoCode, locale))
+                .sorted(Comparator.comparing(CountryDto::getLabel))
+                .toList();
+    }
+
+    private CountryDto mapDto(final String isoCode, final Locale locale) {
         final Locale l = new Locale.Builder().setRegion(isoCode).build();
 
         return CountryDto.builder()
                 .isoCode(isoCode)
-                .label(l.getDisplayCountry(LocaleContextHolder.getLocale())).build();
+                .label(l.getDisplayCountry(locale)).build();
     }
 
 }
@@ -9,7 +9,10 @@ import org.springframework.stereotype.Service;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -20,27 +23,33 @@ public class LanguageService {
 
     private final MessageSource messageSource;
 
+    // Locales are bounded by the supported languages of the locale resolver
+    private final Map<Locale, List<LanguageDto>> languagesByLocale = new ConcurrentHashMap<>();
+
     public List<LanguageDto> findAll() {
-        return spexregisterConfig.getLanguages()
-                .stream()
-                .map(this::mapDto)
-                .sorted(Comparator.comparing(LanguageDto::getLabel))
-                .toList();
+        return languagesByLocale.computeIfAbsent(LocaleContextHolder.getLocale(), this::computeAll);
     }
 
     public Optional<LanguageDto> findByIsoCode(final String isoCode) {
-        return spexregisterConfig.getLanguages()
+        return findAll()
                 .stream()
-                .filter(l -> l.equals(isoCode))
-                .map(this::mapDto)
+                .filter(l -> l.getIsoCode().equals(isoCode))
                 .findFirst();
 
     }
 
-    private LanguageDto mapDto(final String isoCode) {
+    private List<LanguageDto> computeAll(final Locale locale) {
+        return spexregisterConfig.getLanguages()
+                .stream()
+                .map(isoCode -> mapDto(isoCode, locale))
+                .sorted(Comparator.comparing(LanguageDto::getLabel))
+                .toList();
+    }
+
+    private LanguageDto mapDto(final String isoCode, final Locale locale) {
         return LanguageDto.builder()
                 .isoCode(isoCode)
-                .label(messageSource.getMessage(String.format("language.%s.label", isoCode), new Object[]{}, LocaleContextHolder.getLocale())).build();
+                .label(messageSource.getMessage(String.format("language.%s.label", isoCode), new Object[]{}, locale)).build();
     }
 
 }
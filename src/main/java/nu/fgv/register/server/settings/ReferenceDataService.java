@@ -0,0 +1,123 @@
+package nu.fgv.register.server.settings;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import nu.fgv.register.server.event.Event;
+import nu.fgv.register.server.event.SpringEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps reference data in an immutable snapshot. A change only marks the snapshot stale, it is reloaded once by the
+ * next read however many changes were committed. Changes made on other nodes are picked up by polling the events
+ * recorded for the reference data.
+ */
+@Slf4j
+@Service
+public class ReferenceDataService {
+
+    private static final Set<Event.SourceType> REFERENCE_SOURCES = EnumSet.of(
+            Event.SourceType.TYPE,
+            Event.SourceType.STATE,
+            Event.SourceType.AUTHORITY,
+            Event.SourceType.TASK_CATEGORY,
+            Event.SourceType.SPEX_CATEGORY
+    );
+    static final String LATEST_EVENT_SQL = REFERENCE_SOURCES.stream()
+            .map(source -> "'" + source.name() + "'")
+            .collect(Collectors.joining(", ", "SELECT MAX(id) FROM event WHERE source IN (", ")"));
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile ReferenceDataSnapshot snapshot;
+    private volatile boolean stale = true;
+    private volatile Long loadedAtEventId;
+    private long version;
+
+    public ReferenceDataService(final EntityManager entityManager, final JdbcTemplate jdbcTemplate, final PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        // Not read-only, since that would route the reload to a replica that may not have the change yet
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public ReferenceDataSnapshot getSnapshot() {
+        final ReferenceDataSnapshot current = snapshot;
+
+        return current == null || stale ? reload() : current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        getSnapshot();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEvent(final SpringEvent springEvent) {
+        if (REFERENCE_SOURCES.contains(springEvent.getSourceType())) {
+            stale = true;
+        }
+    }
+
+    @Scheduled(cron = "${spexregister.jobs.reference-data-refresh.cron-expression}")
+    public void detectRemoteChanges() {
+        if (snapshot != null && !Objects.equals(latestEventId(), loadedAtEventId)) {
+            stale = true;
+        }
+    }
+
+    private synchronized ReferenceDataSnapshot reload() {
+        if (snapshot != null && !stale) {
+            // Reloaded by another thread while waiting
+            return snapshot;
+        }
+
+        // Cleared before loading, so that a change committed while loading triggers another reload
+        stale = false;
+        loadedAtEventId = latestEventId();
+        snapshot = transactionTemplate.execute(status -> load());
+
+        if (log.isDebugEnabled()) {
+            log.debug("Reference data snapshot is at version {}", snapshot.version());
+        }
+        return snapshot;
+    }
+
+    private Long latestEventId() {
+        return jdbcTemplate.queryForObject(LATEST_EVENT_SQL, Long.class);
+    }
+
+    private ReferenceDataSnapshot load() {
+        final Map<String, ReferenceDataSnapshot.TypeEntry> types = new LinkedHashMap<>();
+
+        entityManager.createQuery("SELECT t FROM Type t ORDER BY t.id", Type.class)
+                .getResultList()
+                .forEach(type -> types.put(type.getId(), ReferenceDataSnapshot.TypeEntry.of(type)));
+
+        return new ReferenceDataSnapshot(
+                ++version,
+                types,
+                new HashSet<>(entityManager.createQuery("SELECT s.id FROM State s", String.class).getResultList()),
+                new HashSet<>(entityManager.createQuery("SELECT a.id FROM Authority a", String.class).getResultList()),
+                new HashSet<>(entityManager.createQuery("SELECT c.id FROM TaskCategory c", Long.class).getResultList()),
+                new HashSet<>(entityManager.createQuery("SELECT c.id FROM SpexCategory c", Long.class).getResultList())
+        );
+    }
+}
@@ -0,0 +1,73 @@
+package nu.fgv.register.server.settings;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public record ReferenceDataSnapshot(
+        long version,
+        Map<String, TypeEntry> types,
+        Set<String> stateIds,
+        Set<String> authorityIds,
+        Set<Long> taskCategoryIds,
+        Set<Long> spexCategoryIds
+) {
+
+    public ReferenceDataSnapshot {
+        types = Collections.unmodifiableMap(new LinkedHashMap<>(types));
+        stateIds = Set.copyOf(stateIds);
+        authorityIds = Set.copyOf(authorityIds);
+        taskCategoryIds = Set.copyOf(taskCategoryIds);
+        spexCategoryIds = Set.copyOf(spexCategoryIds);
+    }
+
+    public Optional<TypeEntry> findType(final String id) {
+        return Optional.ofNullable(id).map(types::get);
+    }
+
+    public boolean hasType(final String id, final TypeType type) {
+        return findType(id).filter(t -> t.type() == type).isPresent();
+    }
+
+    public boolean hasState(final String id) {
+        return id != null && stateIds.contains(id);
+    }
+
+    public boolean hasAuthority(final String id) {
+        return id != null && authorityIds.contains(id);
+    }
+
+    public boolean hasTaskCategory(final Long id) {
+        return id != null && taskCategoryIds.contains(id);
+    }
+
+    public boolean hasSpexCategory(final Long id) {
+        return id != null && spexCategoryIds.contains(id);
+    }
+
+    /**
+     * An immutable copy of a {@link Type}, since the snapshot is shared between threads.
+     */
+    public record TypeEntry(
+            String id,
+            TypeType type,
+            Map<String, String> labels,
+            String createdBy,
+            Instant createdAt,
+            String lastModifiedBy,
+            Instant lastModifiedAt
+    ) {
+
+        public TypeEntry {
+            labels = labels == null ? Map.of() : Collections.unmodifiableMap(new LinkedHashMap<>(labels));
+        }
+
+        static TypeEntry of(final Type type) {
+            return new TypeEntry(type.getId(), type.getType(), type.getLabels(), type.getCreatedBy(), type.getCreatedAt(),
+                    type.getLastModifiedBy(), type.getLastModifiedAt());
+        }
+    }
+}
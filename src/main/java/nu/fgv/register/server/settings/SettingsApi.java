@@ -25,18 +25,20 @@ public class SettingsApi {
     private final LanguageService languageService;
     private final CountryService countryService;
     private final TypeService typeService;
+    private final SettingsResponseCache responseCache;
 
     @GetMapping(value = "/languages", produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity<CollectionModel<EntityModel<LanguageDto>>> retrieveLanguages() {
-        final List<EntityModel<LanguageDto>> languages = languageService.findAll().stream()
-                .map(language -> EntityModel.of(language,
-                        linkTo(methodOn(SettingsApi.class).retrieveLanguage(language.getIsoCode())).withSelfRel(),
-                        linkTo(methodOn(SettingsApi.class).retrieveLanguages()).withRel("languages")))
-                .toList();
-
-        return ResponseEntity.ok(
-                CollectionModel.of(languages,
-                        linkTo(methodOn(SettingsApi.class).retrieveLanguages()).withSelfRel()));
+    public ResponseEntity<byte[]> retrieveLanguages() {
+        return responseCache.respond("languages", () -> {
+            final List<EntityModel<LanguageDto>> languages = languageService.findAll().stream()
+                    .map(language -> EntityModel.of(language,
+                            linkTo(methodOn(SettingsApi.class).retrieveLanguage(language.getIsoCode())).withSelfRel(),
+                            linkTo(methodOn(SettingsApi.class).retrieveLanguages()).withRel("languages")))
+                    .toList();
+
+            return CollectionModel.of(languages,
+                    linkTo(methodOn(SettingsApi.class).retrieveLanguages()).withSelfRel());
+        });
     }
 
     @GetMapping(value = "/languages/{isoCode}", produces = MediaTypes.HAL_JSON_VALUE)
@@ -50,16 +52,17 @@ public class SettingsApi {
     }
 
     @GetMapping(value = "/countries", produces = MediaTypes.HAL_JSON_VALUE)
-    public ResponseEntity<CollectionModel<EntityModel<CountryDto>>> retrieveCountries() {
-        final List<EntityModel<CountryDto>> countries = countryService.findAll().stream()
-                .map(country -> EntityModel.of(country,
-                        linkTo(methodOn(SettingsApi.class).retrieveCountry(country.getIsoCode())).withSelfRel(),
-                        linkTo(methodOn(SettingsApi.class).retrieveCountries()).withRel("countries")))
-                .toList();
-
-        return ResponseEntity.ok(
-                CollectionModel.of(countries,
-                        linkTo(methodOn(SettingsApi.class).retrieveCountries()).withSelfRel()));
+    public ResponseEntity<byte[]> retrieveCountries() {
+        return responseCache.respond("countries", () -> {
+            final List<EntityModel<CountryDto>> countries = countryService.findAll().stream()
+                    .map(country -> EntityModel.of(country,
+                            linkTo(methodOn(SettingsApi.class).retrieveCountry(country.getIsoCode())).withSelfRel(),
+                            linkTo(methodOn(SettingsApi.class).retrieveCountries()).withRel("countries")))
+                    .toList();
+
+            return CollectionModel.of(countries,
+                    linkTo(methodOn(SettingsApi.class).retrieveCountries()).withSelfRel());
+        });
     }
 
     @GetMapping(value = "/countries/{isoCode}", produces = MediaTypes.HAL_JSON_VALUE)
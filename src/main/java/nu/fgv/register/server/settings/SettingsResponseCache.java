@@ -0,0 +1,139 @@
+package nu.fgv.register.server.settings;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class SettingsResponseCache {
+
+    private final ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+
+    @Value("${spexregister.settings.cache.max-age:1d}")
+    private Duration maxAge;
+
+    @Value("${spexregister.settings.cache.maximum-size:100}")
+    private long maximumSize;
+
+    private Cache<Key, CachedResponse> cache;
+
+    @PostConstruct
+    public void init() {
+        // Bounded since the base URI follows the (forwarded) host of the request
+        cache = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    public ResponseEntity<byte[]> respond(final String name, final Supplier<? extends RepresentationModel<?>> supplier) {
+        final CachedResponse response = get(new Key(name, LocaleContextHolder.getLocale(), currentBaseUri()), supplier);
+        final CacheControl cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+
+        if (isNotModified(response.eTag())) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_MODIFIED)
+                    .eTag(response.eTag())
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_LANGUAGE)
+                    .build();
+        }
+        return ResponseEntity
+                .ok()
+                .contentType(MediaTypes.HAL_JSON)
+                .eTag(response.eTag())
+                .cacheControl(cacheControl)
+                // The body is localized, so shared caches must not serve it for another language
+                .varyBy(HttpHeaders.ACCEPT_LANGUAGE)
+                .body(response.body());
+    }
+
+    private CachedResponse get(final Key key, final Supplier<? extends RepresentationModel<?>> supplier) {
+        try {
+            return cache.get(key, () -> serialize(supplier.get()));
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException(String.format("Could not serialize %s", key.name()), e.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CachedResponse serialize(final RepresentationModel<?> model) throws IOException {
+        final HttpMessageConverter<Object> converter = (HttpMessageConverter<Object>) handlerAdapter.getObject()
+                .getMessageConverters()
+                .stream()
+                .filter(c -> c.canWrite(model.getClass(), MediaTypes.HAL_JSON))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No HAL message converter available"));
+        final BufferingOutputMessage outputMessage = new BufferingOutputMessage();
+
+        converter.write(model, MediaTypes.HAL_JSON, outputMessage);
+
+        final byte[] body = outputMessage.body.toByteArray();
+        return new CachedResponse(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+    }
+
+    private static String currentBaseUri() {
+        return ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
+    }
+
+    private static boolean isNotModified(final String eTag) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        final String ifNoneMatch = attributes.getRequest().getHeader(HttpHeaders.IF_NONE_MATCH);
+
+        return ifNoneMatch != null && Stream.of(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(eTag));
+    }
+
+    private record Key(String name, Locale locale, String baseUri) {
+    }
+
+    private record CachedResponse(byte[] body, String eTag) {
+    }
+
+    private static class BufferingOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
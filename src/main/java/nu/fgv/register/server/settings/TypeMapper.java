@@ -24,9 +24,17 @@ public interface TypeMapper {
     @Mapping(target = "label", ignore = true)
     TypeDto toDto(Type model);
 
+    @Mapping(target = "label", ignore = true)
+    TypeDto toDto(ReferenceDataSnapshot.TypeEntry model);
+
     @AfterMapping
     default void setLabel(final Type model, final @MappingTarget TypeDto.TypeDtoBuilder dto) {
         dto.label(model.getLabels().get(LocaleContextHolder.getLocale().getLanguage()));
     }
 
+    @AfterMapping
+    default void setLabel(final ReferenceDataSnapshot.TypeEntry model, final @MappingTarget TypeDto.TypeDtoBuilder dto) {
+        dto.label(model.labels().get(LocaleContextHolder.getLocale().getLanguage()));
+    }
+
 }
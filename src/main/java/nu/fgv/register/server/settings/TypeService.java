@@ -4,47 +4,64 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static nu.fgv.register.server.settings.TypeMapper.TYPE_MAPPER;
-import static nu.fgv.register.server.settings.TypeSpecification.hasType;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class TypeService {
 
-    private final TypeRepository repository;
+    private final ReferenceDataService referenceDataService;
 
     public List<TypeDto> findAll() {
-        return repository
-                .findAll()
+        return referenceDataService
+                .getSnapshot()
+                .types()
+                .values()
                 .stream()
                 .map(TYPE_MAPPER::toDto)
                 .toList();
     }
 
     public List<TypeDto> findByType(final TypeType type) {
-        return repository
-                .findAll(hasType(type))
+        return referenceDataService
+                .getSnapshot()
+                .types()
+                .values()
                 .stream()
+                .filter(t -> t.type() == type)
                 .map(TYPE_MAPPER::toDto)
                 .toList();
     }
 
     public Optional<TypeDto> findById(final String id) {
-        return repository
-                .findById(id)
+        return referenceDataService
+                .getSnapshot()
+                .findType(id)
                 .map(TYPE_MAPPER::toDto);
     }
 
     public boolean existsByIdAndType(final String id, final TypeType type) {
-        return repository
-                .findOne(TypeSpecification.hasId(id).and(TypeSpecification.hasType(type)))
-                .map(t -> Boolean.TRUE)
-                .orElse(Boolean.FALSE);
+        return referenceDataService
+                .getSnapshot()
+                .hasType(id, type);
+    }
+
+    /**
+     * The given ids that are types of the given type, looked up in a single snapshot, e.g. for all items of a batch.
+     */
+    public Set<String> findExistingIds(final Collection<String> ids, final TypeType type) {
+        final ReferenceDataSnapshot snapshot = referenceDataService.getSnapshot();
 
+        return ids.stream()
+                .filter(id -> snapshot.hasType(id, type))
+                .collect(Collectors.toSet());
     }
 
 }
@@ -10,6 +10,7 @@ import nu.fgv.register.server.event.EventService;
 import nu.fgv.register.server.spex.category.SpexCategoryApi;
 import nu.fgv.register.server.spex.category.SpexCategoryDto;
 import nu.fgv.register.server.util.Constants;
+import nu.fgv.register.server.util.LinkTemplate;
 import nu.fgv.register.server.util.filter.FilterOperation;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
@@ -58,6 +59,15 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/api/v1/spex")
 public class SpexApi {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(ids -> methodOn(SpexApi.class).retrieve(ids[0]));
+    private static final LinkTemplate SPEX_LINK = LinkTemplate.of(ids -> methodOn(SpexApi.class).retrieve(Pageable.unpaged(), Spex_.PARENT + ":NULL"));
+    private static final LinkTemplate SPEX_INCLUDING_REVIVALS_LINK = LinkTemplate.of(ids -> methodOn(SpexApi.class).retrieve(Pageable.unpaged(), Spex_.PARENT + "!NULL"));
+    private static final LinkTemplate POSTER_LINK = LinkTemplate.of(ids -> methodOn(SpexApi.class).downloadPoster(ids[0]));
+    private static final LinkTemplate CATEGORY_LINK = LinkTemplate.of(ids -> methodOn(SpexApi.class).retrieveCategory(ids[0]));
+    private static final LinkTemplate PARENT_LINK = LinkTemplate.of(ids -> methodOn(SpexApi.class).retrieveParent(ids[0]));
+    private static final LinkTemplate REVIVALS_LINK = LinkTemplate.of(ids -> methodOn(SpexApi.class).retrieveRevivalsByParent(ids[0], Pageable.unpaged()));
+    private static final LinkTemplate EVENTS_LINK = LinkTemplate.of(ids -> methodOn(SpexApi.class).retrieveEvents(null));
+
     private final SpexService service;
     private final SpexExportService exportService;
     private final EventService eventService;
@@ -359,18 +369,18 @@ public class SpexApi {
     public List<Link> getLinks(final SpexDto dto, final boolean includeEvents) {
         final List<Link> links = new ArrayList<>();
 
-        links.add(linkTo(methodOn(SpexApi.class).retrieve(dto.getId())).withSelfRel());
-        links.add(linkTo(methodOn(SpexApi.class).retrieve(Pageable.unpaged(), Spex_.PARENT + ":NULL")).withRel("spex"));
-        links.add(linkTo(methodOn(SpexApi.class).retrieve(Pageable.unpaged(), Spex_.PARENT + "!NULL")).withRel("spex-including-revivals"));
-        links.add(linkTo(methodOn(SpexApi.class).downloadPoster(dto.getId())).withRel("poster"));
-        links.add(linkTo(methodOn(SpexApi.class).retrieveCategory(dto.getId())).withRel("category"));
+        links.add(SELF_LINK.expand(dto.getId()).withSelfRel());
+        links.add(SPEX_LINK.expand().withRel("spex"));
+        links.add(SPEX_INCLUDING_REVIVALS_LINK.expand().withRel("spex-including-revivals"));
+        links.add(POSTER_LINK.expand(dto.getId()).withRel("poster"));
+        links.add(CATEGORY_LINK.expand(dto.getId()).withRel("category"));
         if (dto.isRevival()) {
-            links.add(linkTo(methodOn(SpexApi.class).retrieveParent(dto.getId())).withRel("parent"));
+            links.add(PARENT_LINK.expand(dto.getId()).withRel("parent"));
         } else {
-            links.add(linkTo(methodOn(SpexApi.class).retrieveRevivalsByParent(dto.getId(), Pageable.unpaged())).withRel("revivals"));
+            links.add(REVIVALS_LINK.expand(dto.getId()).withRel("revivals"));
         }
         if (includeEvents) {
-            links.add(linkTo(methodOn(SpexApi.class).retrieveEvents(null)).withRel("events"));
+            links.add(EVENTS_LINK.expand().withRel("events"));
         }
 
         return links;
@@ -5,7 +5,9 @@ import lombok.extern.slf4j.Slf4j;
 import nu.fgv.register.server.spex.category.SpexCategoryDto;
 import nu.fgv.register.server.spex.category.SpexCategoryService;
 import nu.fgv.register.server.util.impex.importing.AbstractImportService;
+import nu.fgv.register.server.util.impex.importing.ChunkedImport;
 import nu.fgv.register.server.util.impex.importing.ExcelValidator;
+import nu.fgv.register.server.util.impex.importing.ImportRow;
 import nu.fgv.register.server.util.impex.model.ImportResultDto;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.springframework.context.MessageSource;
@@ -18,7 +20,7 @@ import java.util.stream.Stream;
 @Slf4j
 @RequiredArgsConstructor
 @Service
-public class SpexImportService extends AbstractImportService {
+public class SpexImportService extends AbstractImportService implements ChunkedImport<SpexCreateDto, SpexUpdateDto> {
 
     private final SpexService service;
     private final SpexCategoryService categoryService;
@@ -45,4 +47,50 @@ public class SpexImportService extends AbstractImportService {
         return ImportResultDto.builder().success(messages.isEmpty()).messages(messages).build();
     }
 
+    /**
+     * Only the spex sheet is imported in chunks, revivals are added to their spex through the API.
+     */
+    @Override
+    public Class<?> getSheetClass() {
+        return SpexDto.class;
+    }
+
+    @Override
+    public SpexCreateDto toCreateDto(final ImportRow row) {
+        return SpexCreateDto.builder()
+                .year(row.cell(1))
+                .title(row.cell(2))
+                .build();
+    }
+
+    @Override
+    public SpexUpdateDto toUpdateDto(final Long id, final ImportRow row) {
+        return SpexUpdateDto.builder()
+                .id(id)
+                .year(row.cell(1))
+                .title(row.cell(2))
+                .build();
+    }
+
+    @Override
+    public void create(final SpexCreateDto dto) {
+        service.create(dto);
+    }
+
+    @Override
+    public boolean update(final SpexUpdateDto dto) {
+        return service.update(dto).isPresent();
+    }
+
+    @Override
+    public boolean deleteById(final Long id) {
+        return service
+                .findById(id)
+                .map(dto -> {
+                    service.deleteById(id);
+                    return true;
+                })
+                .orElse(false);
+    }
+
 }
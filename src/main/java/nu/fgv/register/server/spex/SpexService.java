@@ -4,6 +4,7 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nu.fgv.register.server.acl.PermissionService;
+import nu.fgv.register.server.settings.ReferenceDataService;
 import nu.fgv.register.server.spex.category.SpexCategoryDto;
 import nu.fgv.register.server.spex.category.SpexCategoryRepository;
 import nu.fgv.register.server.util.FileUtil;
@@ -46,6 +47,7 @@ public class SpexService {
     private final SpexDetailsRepository detailsRepository;
     private final SpexCategoryRepository categoryRepository;
     private final PermissionService permissionService;
+    private final ReferenceDataService referenceDataService;
 
     @PreAuthorize("hasAnyRole('spexregister_ADMIN', 'spexregister_EDITOR', 'spexregister_USER')")
     public List<SpexDto> findAll(final Sort sort) {
@@ -59,7 +61,7 @@ public class SpexService {
     public Page<SpexDto> find(final String filter, final Pageable pageable) {
         return hasText(filter) ?
                 repository
-                        .findAll(SpecificationsBuilder.<Spex>builder().build(FilterParser.parse(filter), SpexSpecification::new), pageable, BasePermission.READ)
+                        .findAll(SpecificationsBuilder.<Spex>builder().build(FilterParser.parseTree(filter), SpexSpecification::new), pageable, BasePermission.READ)
                         .map(SPEX_MAPPER::toDto) :
                 repository
                         .findAll(pageable, BasePermission.READ)
@@ -310,6 +312,6 @@ public class SpexService {
     }
 
     private boolean doSpexAndCategoryExist(final Long spexId, final Long categoryId) {
-        return doesSpexExist(spexId) && categoryRepository.existsById(categoryId);
+        return doesSpexExist(spexId) && referenceDataService.getSnapshot().hasSpexCategory(categoryId);
     }
 }
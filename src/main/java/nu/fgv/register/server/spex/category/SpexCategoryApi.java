@@ -8,6 +8,8 @@ import nu.fgv.register.server.event.EventApi;
 import nu.fgv.register.server.event.EventDto;
 import nu.fgv.register.server.event.EventService;
 import nu.fgv.register.server.util.Constants;
+import nu.fgv.register.server.util.EntityVersionService;
+import nu.fgv.register.server.util.LinkTemplate;
 import nu.fgv.register.server.util.impex.model.ImportResultDto;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
@@ -46,9 +48,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Optional;
 
+import static nu.fgv.register.server.util.ConditionalRequestUtil.evaluate;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import static org.springframework.util.StringUtils.hasText;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -56,21 +61,29 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/api/v1/spex/categories")
 public class SpexCategoryApi {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(ids -> methodOn(SpexCategoryApi.class).retrieve(ids[0]));
+    private static final LinkTemplate SPEX_CATEGORIES_LINK = LinkTemplate.of(ids -> methodOn(SpexCategoryApi.class).retrieve(Pageable.unpaged(), ""));
+    private static final LinkTemplate LOGO_LINK = LinkTemplate.of(ids -> methodOn(SpexCategoryApi.class).downloadLogo(ids[0]));
+    private static final LinkTemplate EVENTS_LINK = LinkTemplate.of(ids -> methodOn(SpexCategoryApi.class).retrieveEvents(null));
+
     private final SpexCategoryService service;
     private final SpexCategoryExportService exportService;
     private final SpexCategoryImportService importService;
     private final EventService eventService;
     private final PagedResourcesAssembler<SpexCategoryDto> pagedResourcesAssembler;
     private final EventApi eventApi;
+    private final EntityVersionService entityVersionService;
 
     @GetMapping(produces = MediaTypes.HAL_JSON_VALUE)
     @PreAuthorize("hasAnyRole('spexregister_ADMIN', 'spexregister_EDITOR', 'spexregister_USER')")
     public ResponseEntity<PagedModel<EntityModel<SpexCategoryDto>>> retrieve(@SortDefault(sort = SpexCategory_.NAME, direction = Sort.Direction.ASC) final Pageable pageable,
                                                                              @RequestParam(required = false, defaultValue = "") final String filter) {
-        final PagedModel<EntityModel<SpexCategoryDto>> paged = pagedResourcesAssembler.toModel(service.find(filter, pageable));
-        paged.getContent().forEach(this::addLinks);
+        return evaluate(hasText(filter) ? Optional.empty() : entityVersionService.findAll(SpexCategory.class), () -> {
+            final PagedModel<EntityModel<SpexCategoryDto>> paged = pagedResourcesAssembler.toModel(service.find(filter, pageable));
+            paged.getContent().forEach(this::addLinks);
 
-        return ResponseEntity.ok(paged);
+            return ResponseEntity.ok(paged);
+        });
     }
 
     @GetMapping(headers = {
@@ -110,11 +123,11 @@ public class SpexCategoryApi {
     @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
     @PreAuthorize("hasAnyRole('spexregister_ADMIN', 'spexregister_EDITOR', 'spexregister_USER')")
     public ResponseEntity<EntityModel<SpexCategoryDto>> retrieve(@PathVariable final Long id) {
-        return service
+        return evaluate(entityVersionService.findById(SpexCategory.class, id), () -> service
                 .findById(id)
                 .map(dto -> EntityModel.of(dto, getLinks(dto)))
                 .map(ResponseEntity::ok)
-                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND)));
     }
 
     @RequestMapping(method = {RequestMethod.POST, RequestMethod.PUT},
@@ -253,10 +266,10 @@ public class SpexCategoryApi {
     public List<Link> getLinks(final SpexCategoryDto dto) {
         final List<Link> links = new ArrayList<>();
 
-        links.add(linkTo(methodOn(SpexCategoryApi.class).retrieve(dto.getId())).withSelfRel());
-        links.add(linkTo(methodOn(SpexCategoryApi.class).retrieve(Pageable.unpaged(), "")).withRel("spex-categories"));
-        links.add(linkTo(methodOn(SpexCategoryApi.class).downloadLogo(dto.getId())).withRel("logo"));
-        links.add(linkTo(methodOn(SpexCategoryApi.class).retrieveEvents(null)).withRel("events"));
+        links.add(SELF_LINK.expand(dto.getId()).withSelfRel());
+        links.add(SPEX_CATEGORIES_LINK.expand().withRel("spex-categories"));
+        links.add(LOGO_LINK.expand(dto.getId()).withRel("logo"));
+        links.add(EVENTS_LINK.expand().withRel("events"));
 
         return links;
     }
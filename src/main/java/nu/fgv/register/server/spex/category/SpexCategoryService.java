@@ -49,7 +49,7 @@ public class SpexCategoryService {
     public Page<SpexCategoryDto> find(final String filter, final Pageable pageable) {
         return hasText(filter) ?
                 repository
-                        .findAll(SpecificationsBuilder.<SpexCategory>builder().build(FilterParser.parse(filter), SpexCategorySpecification::new), pageable, BasePermission.READ)
+                        .findAll(SpecificationsBuilder.<SpexCategory>builder().build(FilterParser.parseTree(filter), SpexCategorySpecification::new), pageable, BasePermission.READ)
                         .map(SPEX_CATEGORY_MAPPER::toDto) :
                 repository
                         .findAll(pageable, BasePermission.READ)
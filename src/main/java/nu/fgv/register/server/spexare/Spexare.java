@@ -16,6 +16,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -32,10 +33,13 @@ import nu.fgv.register.server.spexare.toggle.Toggle;
 import nu.fgv.register.server.tag.Tag;
 import nu.fgv.register.server.user.User;
 import nu.fgv.register.server.util.AbstractAuditable;
+import nu.fgv.register.server.util.Constants.IdGenerator;
+import nu.fgv.register.server.util.search.SearchAnalysisConfigurer;
 import nu.fgv.register.server.util.security.CryptoConverter;
 import nu.fgv.register.server.util.Luhn;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.search.engine.backend.types.Projectable;
 import org.hibernate.search.engine.backend.types.Searchable;
 import org.hibernate.search.engine.backend.types.Sortable;
 import org.hibernate.search.mapper.pojo.automaticindexing.ReindexOnUpdate;
@@ -71,24 +75,31 @@ public class Spexare extends AbstractAuditable implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "spexare_id")
+    @TableGenerator(name = "spexare_id", table = IdGenerator.TABLE, pkColumnName = IdGenerator.NAME_COLUMN, valueColumnName = IdGenerator.VALUE_COLUMN, pkColumnValue = "spexare", allocationSize = IdGenerator.ALLOCATION_SIZE)
     private Long id;
 
     @NotEmpty(message = "{spexare.firstName.notEmpty}")
     @Size(max = 255, message = "{spexare.firstName.size}")
     @Column(name = "first_name", nullable = false)
-    @KeywordField(searchable = Searchable.YES, sortable = Sortable.YES)
+    @KeywordField(searchable = Searchable.YES, sortable = Sortable.YES, projectable = Projectable.YES)
+    @KeywordField(name = "firstName" + SearchAnalysisConfigurer.NORMALIZED_FIELD_SUFFIX, normalizer = SearchAnalysisConfigurer.LOWERCASE_NORMALIZER, searchable = Searchable.YES)
+    @FullTextField(name = "firstName" + SearchAnalysisConfigurer.AUTOCOMPLETE_FIELD_SUFFIX, analyzer = SearchAnalysisConfigurer.AUTOCOMPLETE_INDEXING_ANALYZER, searchAnalyzer = SearchAnalysisConfigurer.AUTOCOMPLETE_SEARCH_ANALYZER)
     private String firstName;
 
     @NotEmpty(message = "{spexare.lastName.notEmpty}")
     @Size(max = 255, message = "{spexare.lastName.size}")
     @Column(name = "last_name", nullable = false)
-    @KeywordField(searchable = Searchable.YES, sortable = Sortable.YES)
+    @KeywordField(searchable = Searchable.YES, sortable = Sortable.YES, projectable = Projectable.YES)
+    @KeywordField(name = "lastName" + SearchAnalysisConfigurer.NORMALIZED_FIELD_SUFFIX, normalizer = SearchAnalysisConfigurer.LOWERCASE_NORMALIZER, searchable = Searchable.YES)
+    @FullTextField(name = "lastName" + SearchAnalysisConfigurer.AUTOCOMPLETE_FIELD_SUFFIX, analyzer = SearchAnalysisConfigurer.AUTOCOMPLETE_INDEXING_ANALYZER, searchAnalyzer = SearchAnalysisConfigurer.AUTOCOMPLETE_SEARCH_ANALYZER)
     private String lastName;
 
     @Size(max = 255, message = "{spexare.nickName.size}")
     @Column(name = "nick_name")
-    @KeywordField(searchable = Searchable.YES, sortable = Sortable.YES)
+    @KeywordField(searchable = Searchable.YES, sortable = Sortable.YES, projectable = Projectable.YES)
+    @KeywordField(name = "nickName" + SearchAnalysisConfigurer.NORMALIZED_FIELD_SUFFIX, normalizer = SearchAnalysisConfigurer.LOWERCASE_NORMALIZER, searchable = Searchable.YES)
+    @FullTextField(name = "nickName" + SearchAnalysisConfigurer.AUTOCOMPLETE_FIELD_SUFFIX, analyzer = SearchAnalysisConfigurer.AUTOCOMPLETE_INDEXING_ANALYZER, searchAnalyzer = SearchAnalysisConfigurer.AUTOCOMPLETE_SEARCH_ANALYZER)
     private String nickName;
 
     @Pattern(regexp = SOCIAL_SECURITY_NUMBER_PATTERN, message = "{spexare.socialSecurityNumber.regexp}")
@@ -14,6 +14,9 @@ import nu.fgv.register.server.spexare.membership.MembershipApi;
 import nu.fgv.register.server.spexare.tag.TaggingApi;
 import nu.fgv.register.server.spexare.toggle.ToggleApi;
 import nu.fgv.register.server.util.Constants;
+import nu.fgv.register.server.util.EntityVersionService;
+import nu.fgv.register.server.util.LinkTemplate;
+import nu.fgv.register.server.util.impex.exporting.AbstractStreamingExportService;
 import nu.fgv.register.server.util.search.PagedWithFacetsModel;
 import nu.fgv.register.server.util.search.PagedWithFacetsResourcesAssembler;
 import org.springframework.core.io.ByteArrayResource;
@@ -47,13 +50,16 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Optional;
 
+import static nu.fgv.register.server.util.ConditionalRequestUtil.evaluate;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 import static org.springframework.util.StringUtils.hasText;
@@ -64,20 +70,34 @@ import static org.springframework.util.StringUtils.hasText;
 @RequestMapping("/api/v1/spexare")
 public class SpexareApi {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(ids -> methodOn(SpexareApi.class).retrieve(ids[0]));
+    private static final LinkTemplate IMAGE_LINK = LinkTemplate.of(ids -> methodOn(SpexareApi.class).downloadImage(ids[0]));
+    private static final LinkTemplate ACTIVITIES_LINK = LinkTemplate.of(ids -> methodOn(ActivityApi.class).retrieve(ids[0], Pageable.unpaged()));
+    private static final LinkTemplate MEMBERSHIPS_LINK = LinkTemplate.of(ids -> methodOn(MembershipApi.class).retrieve(ids[0], Pageable.unpaged(), ""));
+    private static final LinkTemplate CONSENTS_LINK = LinkTemplate.of(ids -> methodOn(ConsentApi.class).retrieve(ids[0], Pageable.unpaged()));
+    private static final LinkTemplate TOGGLES_LINK = LinkTemplate.of(ids -> methodOn(ToggleApi.class).retrieve(ids[0], Pageable.unpaged()));
+    private static final LinkTemplate ADDRESSES_LINK = LinkTemplate.of(ids -> methodOn(AddressApi.class).retrieve(ids[0], Pageable.unpaged(), ""));
+    private static final LinkTemplate TAGS_LINK = LinkTemplate.of(ids -> methodOn(TaggingApi.class).retrieve(ids[0], Pageable.unpaged()));
+    private static final LinkTemplate PARTNER_LINK = LinkTemplate.of(ids -> methodOn(SpexareApi.class).retrievePartner(ids[0]));
+    private static final LinkTemplate EVENTS_LINK = LinkTemplate.of(ids -> methodOn(SpexareApi.class).retrieveEvents(null));
+
     private final SpexareService service;
     private final SpexareExportService exportService;
     private final EventService eventService;
     private final PagedResourcesAssembler<SpexareDto> pagedResourcesAssembler;
     private final PagedWithFacetsResourcesAssembler<SpexareDto> pagedWithFacetsResourcesAssembler;
     private final EventApi eventApi;
+    private final EntityVersionService entityVersionService;
 
     @GetMapping(produces = MediaTypes.HAL_JSON_VALUE, params = {"!q"})
     public ResponseEntity<PagedModel<EntityModel<SpexareDto>>> retrieve(@SortDefault(sort = Spexare_.FIRST_NAME, direction = Sort.Direction.ASC) final Pageable pageable,
                                                                         @RequestParam(required = false, defaultValue = "") final String filter) {
-        final PagedModel<EntityModel<SpexareDto>> paged = pagedResourcesAssembler.toModel(service.find(filter, pageable));
-        paged.getContent().forEach(this::addLinks);
+        return evaluate(hasText(filter) ? Optional.empty() : entityVersionService.findAll(Spexare.class), () -> {
+            final PagedModel<EntityModel<SpexareDto>> paged = pagedResourcesAssembler.toModel(service.find(filter, pageable));
+            paged.getContent().forEach(this::addLinks);
 
-        return ResponseEntity.ok(paged);
+            return ResponseEntity.ok(paged);
+        });
     }
 
     @GetMapping(produces = MediaTypes.HAL_JSON_VALUE, params = {"q"})
@@ -89,6 +109,17 @@ public class SpexareApi {
         return ResponseEntity.ok(paged);
     }
 
+    @GetMapping(value = "/suggest", produces = MediaTypes.HAL_JSON_VALUE)
+    public ResponseEntity<CollectionModel<SpexareSuggestionDto>> suggest(@RequestParam final String prefix,
+                                                                         @RequestParam(defaultValue = "10") final Integer limit) {
+        final List<SpexareSuggestionDto> suggestions = service.suggest(prefix, limit);
+        suggestions.forEach(dto -> dto.add(SELF_LINK.expand(dto.getId()).withSelfRel()));
+
+        return ResponseEntity.ok(
+                CollectionModel.of(suggestions,
+                        linkTo(methodOn(SpexareApi.class).suggest(prefix, limit)).withSelfRel()));
+    }
+
     @GetMapping(headers = {
             HttpHeaders.ACCEPT + "=" + Constants.MediaTypes.APPLICATION_XLSX_VALUE,
             HttpHeaders.ACCEPT + "=" + Constants.MediaTypes.APPLICATION_XLS_VALUE
@@ -111,6 +142,21 @@ public class SpexareApi {
         }
     }
 
+    @GetMapping(headers = {
+            HttpHeaders.ACCEPT + "=" + Constants.MediaTypes.TEXT_CSV_VALUE,
+            HttpHeaders.ACCEPT + "=" + Constants.MediaTypes.APPLICATION_NDJSON_VALUE
+    }, produces = {
+            Constants.MediaTypes.TEXT_CSV_VALUE,
+            Constants.MediaTypes.APPLICATION_NDJSON_VALUE
+    })
+    @PreAuthorize("hasRole('spexregister_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam(required = false) final List<Long> ids, @RequestHeader(HttpHeaders.ACCEPT) final String contentType, final Locale locale) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.valueOf(contentType))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"spexare" + AbstractStreamingExportService.extensionOf(contentType) + "\"")
+                .body(outputStream -> exportService.doExport(ids, contentType, locale, outputStream));
+    }
+
     @PostMapping(produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<EntityModel<SpexareDto>> create(@Valid @RequestBody final SpexareCreateDto dto) {
         final SpexareDto newDto = service.create(dto);
@@ -123,11 +169,11 @@ public class SpexareApi {
 
     @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
     public ResponseEntity<EntityModel<SpexareDto>> retrieve(@PathVariable final Long id) {
-        return service
+        return evaluate(entityVersionService.findById(Spexare.class, id), () -> service
                 .findById(id)
                 .map(dto -> EntityModel.of(dto, getLinks(dto)))
                 .map(ResponseEntity::ok)
-                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND)));
     }
 
     @PutMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
@@ -267,20 +313,20 @@ public class SpexareApi {
 
     public List<Link> getLinks(final SpexareDto dto) {
         final List<Link> links = new ArrayList<>();
-        links.add(linkTo(methodOn(SpexareApi.class).retrieve(dto.getId())).withSelfRel());
+        links.add(SELF_LINK.expand(dto.getId()).withSelfRel());
         if (hasText(dto.getImage())) {
             links.add(Link.of(dto.getImage()).withRel("image"));
         } else {
-            links.add(linkTo(methodOn(SpexareApi.class).downloadImage(dto.getId())).withRel("image"));
+            links.add(IMAGE_LINK.expand(dto.getId()).withRel("image"));
         }
-        links.add(linkTo(methodOn(ActivityApi.class).retrieve(dto.getId(), Pageable.unpaged())).withRel("activities"));
-        links.add(linkTo(methodOn(MembershipApi.class).retrieve(dto.getId(), Pageable.unpaged(), "")).withRel("memberships"));
-        links.add(linkTo(methodOn(ConsentApi.class).retrieve(dto.getId(), Pageable.unpaged())).withRel("consents"));
-        links.add(linkTo(methodOn(ToggleApi.class).retrieve(dto.getId(), Pageable.unpaged())).withRel("toggles"));
-        links.add(linkTo(methodOn(AddressApi.class).retrieve(dto.getId(), Pageable.unpaged(), "")).withRel("addresses"));
-        links.add(linkTo(methodOn(TaggingApi.class).retrieve(dto.getId(), Pageable.unpaged())).withRel("tags"));
-        links.add(linkTo(methodOn(SpexareApi.class).retrievePartner(dto.getId())).withRel("partner"));
-        links.add(linkTo(methodOn(SpexareApi.class).retrieveEvents(null)).withRel("events"));
+        links.add(ACTIVITIES_LINK.expand(dto.getId()).withRel("activities"));
+        links.add(MEMBERSHIPS_LINK.expand(dto.getId()).withRel("memberships"));
+        links.add(CONSENTS_LINK.expand(dto.getId()).withRel("consents"));
+        links.add(TOGGLES_LINK.expand(dto.getId()).withRel("toggles"));
+        links.add(ADDRESSES_LINK.expand(dto.getId()).withRel("addresses"));
+        links.add(TAGS_LINK.expand(dto.getId()).withRel("tags"));
+        links.add(PARTNER_LINK.expand(dto.getId()).withRel("partner"));
+        links.add(EVENTS_LINK.expand().withRel("events"));
 
         return links;
     }
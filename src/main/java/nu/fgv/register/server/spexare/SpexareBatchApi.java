@@ -0,0 +1,124 @@
+package nu.fgv.register.server.spexare;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nu.fgv.register.server.spexare.address.AddressBatchItemDto;
+import nu.fgv.register.server.spexare.address.AddressService;
+import nu.fgv.register.server.spexare.consent.ConsentBatchItemDto;
+import nu.fgv.register.server.spexare.consent.ConsentService;
+import nu.fgv.register.server.spexare.membership.MembershipBatchItemDto;
+import nu.fgv.register.server.spexare.membership.MembershipService;
+import nu.fgv.register.server.spexare.tag.TaggingService;
+import nu.fgv.register.server.spexare.toggle.ToggleBatchItemDto;
+import nu.fgv.register.server.spexare.toggle.ToggleService;
+import nu.fgv.register.server.util.BatchResultDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Bulk writes, each executed in a single transaction. Items are validated up front and reported individually, so that
+ * one bad item does not fail the whole batch.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/v1")
+public class SpexareBatchApi {
+
+    private final SpexareService service;
+    private final TaggingService taggingService;
+    private final AddressService addressService;
+    private final MembershipService membershipService;
+    private final ConsentService consentService;
+    private final ToggleService toggleService;
+
+    @Value("${spexregister.batch.max-size:500}")
+    private int maxSize;
+
+    @PostMapping(value = "/spexare:batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResultDto> batch(@RequestBody final SpexareBatchDto dto) {
+        final int size = Optional.ofNullable(dto.getCreate()).map(List::size).orElse(0) + Optional.ofNullable(dto.getUpdate()).map(List::size).orElse(0);
+
+        if (size > maxSize) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        return ResponseEntity.ok(service.batch(dto));
+    }
+
+    @PostMapping(value = "/spexare/{spexareId}/tags:batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResultDto> tagSpexare(@PathVariable final Long spexareId, @RequestBody final List<Long> ids) {
+        if (ids.size() > maxSize) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        try {
+            return ResponseEntity.ok(taggingService.createAll(spexareId, ids));
+        } catch (final ResourceNotFoundException e) {
+            if (log.isErrorEnabled()) {
+                log.error("Could not create tags for spexare {}", spexareId, e);
+            }
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @PostMapping(value = "/tags/{tagId}/spexare:batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResultDto> tagAll(@PathVariable final Long tagId, @RequestBody final List<Long> spexareIds) {
+        if (spexareIds.size() > maxSize) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        try {
+            return ResponseEntity.ok(taggingService.tagAll(tagId, spexareIds));
+        } catch (final ResourceNotFoundException e) {
+            if (log.isErrorEnabled()) {
+                log.error("Could not tag spexare with tag {}", tagId, e);
+            }
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @PostMapping(value = "/spexare/{spexareId}/addresses:batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResultDto> batchAddresses(@PathVariable final Long spexareId, @RequestBody final List<AddressBatchItemDto> items) {
+        return batchChildren(spexareId, items, "addresses", addressService::batch);
+    }
+
+    @PostMapping(value = "/spexare/{spexareId}/memberships:batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResultDto> batchMemberships(@PathVariable final Long spexareId, @RequestBody final List<MembershipBatchItemDto> items) {
+        return batchChildren(spexareId, items, "memberships", membershipService::batch);
+    }
+
+    @PostMapping(value = "/spexare/{spexareId}/consents:batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResultDto> batchConsents(@PathVariable final Long spexareId, @RequestBody final List<ConsentBatchItemDto> items) {
+        return batchChildren(spexareId, items, "consents", consentService::batch);
+    }
+
+    @PostMapping(value = "/spexare/{spexareId}/toggles:batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResultDto> batchToggles(@PathVariable final Long spexareId, @RequestBody final List<ToggleBatchItemDto> items) {
+        return batchChildren(spexareId, items, "toggles", toggleService::batch);
+    }
+
+    private <T> ResponseEntity<BatchResultDto> batchChildren(final Long spexareId, final List<T> items, final String collection, final BiFunction<Long, List<T>, BatchResultDto> batch) {
+        if (items.size() > maxSize) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        try {
+            return ResponseEntity.ok(batch.apply(spexareId, items));
+        } catch (final ResourceNotFoundException e) {
+            if (log.isErrorEnabled()) {
+                log.error("Could not write {} for spexare {}", collection, spexareId, e);
+            }
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package nu.fgv.register.server.spexare;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SpexareBatchDto {
+
+    @JsonProperty("create")
+    private List<SpexareCreateDto> create;
+
+    @JsonProperty("update")
+    private List<SpexareUpdateDto> update;
+
+}
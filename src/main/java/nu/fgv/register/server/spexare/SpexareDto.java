@@ -27,21 +27,27 @@ public class SpexareDto extends AbstractAuditableDto<SpexareDto> {
     private Long id;
 
     @JsonProperty("firstName")
+    @ExcelCell(header = "First name", position = 1)
     private String firstName;
 
     @JsonProperty("lastName")
+    @ExcelCell(header = "Last name", position = 2)
     private String lastName;
 
     @JsonProperty("nickName")
+    @ExcelCell(header = "Nick name", position = 3)
     private String nickName;
 
     @JsonProperty("socialSecurityNumber")
+    @ExcelCell(header = "Social security number", position = 4)
     private String socialSecurityNumber;
 
     @JsonProperty("graduation")
+    @ExcelCell(header = "Graduation", position = 5)
     private String graduation;
 
     @JsonProperty("comment")
+    @ExcelCell(header = "Comment", position = 6)
     private String comment;
 
     @JsonProperty("image")
@@ -1,8 +1,10 @@
 package nu.fgv.register.server.spexare;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import nu.fgv.register.server.util.impex.exporting.AbstractExportService;
+import nu.fgv.register.server.util.impex.exporting.AbstractStreamingExportService;
 import nu.fgv.register.server.util.impex.exporting.ExcelWriter;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.springframework.context.MessageSource;
@@ -11,14 +13,18 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Consumer;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
-public class SpexareExportService extends AbstractExportService {
+public class SpexareExportService extends AbstractStreamingExportService<SpexareDto> {
 
     private final SpexareService service;
+    @Getter
     private final MessageSource messageSource;
+    @Getter
+    private final ObjectMapper objectMapper;
     private final ExcelWriter writer = new ExcelWriter();
 
     @Override
@@ -26,4 +32,14 @@ public class SpexareExportService extends AbstractExportService {
         return new byte[0];
     }
 
+    @Override
+    protected Class<SpexareDto> getDtoClass() {
+        return SpexareDto.class;
+    }
+
+    @Override
+    protected void stream(final List<Long> ids, final Consumer<SpexareDto> consumer) {
+        service.stream(ids, consumer);
+    }
+
 }
@@ -3,7 +3,9 @@ package nu.fgv.register.server.spexare;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nu.fgv.register.server.util.impex.importing.AbstractImportService;
+import nu.fgv.register.server.util.impex.importing.ChunkedImport;
 import nu.fgv.register.server.util.impex.importing.ExcelValidator;
+import nu.fgv.register.server.util.impex.importing.ImportRow;
 import nu.fgv.register.server.util.impex.model.ImportResultDto;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.springframework.context.MessageSource;
@@ -14,7 +16,7 @@ import java.util.Locale;
 @Slf4j
 @RequiredArgsConstructor
 @Service
-public class SpexareImportService extends AbstractImportService {
+public class SpexareImportService extends AbstractImportService implements ChunkedImport<SpexareCreateDto, SpexareUpdateDto> {
 
     private final SpexareService service;
     private final MessageSource messageSource;
@@ -27,7 +29,55 @@ public class SpexareImportService extends AbstractImportService {
 
     @Override
     protected ImportResultDto doValidate(final Workbook workbook, final Locale locale) {
-        return null;
+        return validator.validateSheet(messageSource, locale, workbook, SpexareDto.class, SpexareCreateDto.class, SpexareUpdateDto.class, id -> service.findById(id).isPresent());
+    }
+
+    @Override
+    public Class<?> getSheetClass() {
+        return SpexareDto.class;
+    }
+
+    @Override
+    public SpexareCreateDto toCreateDto(final ImportRow row) {
+        return SpexareCreateDto.builder()
+                .firstName(row.cell(1))
+                .lastName(row.cell(2))
+                .nickName(row.cell(3))
+                .build();
+    }
+
+    @Override
+    public SpexareUpdateDto toUpdateDto(final Long id, final ImportRow row) {
+        return SpexareUpdateDto.builder()
+                .id(id)
+                .firstName(row.cell(1))
+                .lastName(row.cell(2))
+                .nickName(row.cell(3))
+                .socialSecurityNumber(row.cell(4))
+                .graduation(row.cell(5))
+                .comment(row.cell(6))
+                .build();
+    }
+
+    @Override
+    public void create(final SpexareCreateDto dto) {
+        service.create(dto);
+    }
+
+    @Override
+    public boolean update(final SpexareUpdateDto dto) {
+        return service.update(dto).isPresent();
+    }
+
+    @Override
+    public boolean deleteById(final Long id) {
+        return service
+                .findById(id)
+                .map(dto -> {
+                    service.deleteById(id);
+                    return true;
+                })
+                .orElse(false);
     }
 
 }
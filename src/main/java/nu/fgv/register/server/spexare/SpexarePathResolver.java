@@ -0,0 +1,154 @@
+package nu.fgv.register.server.spexare;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.IntStream;
+
+@RequiredArgsConstructor
+@Component
+public class SpexarePathResolver {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Path spexare(final Long spexareId) {
+        return new Path(Segment.SPEXARE, spexareId);
+    }
+
+    ResolvedPath resolve(final List<Segment> segments, final List<Long> ids) {
+        final StringJoiner columns = new StringJoiner(", ", "SELECT ", "");
+        final List<Object> args = new ArrayList<>();
+
+        for (int i = 0; i < segments.size(); i++) {
+            final Segment segment = segments.get(i);
+
+            columns.add("EXISTS(SELECT 1 FROM " + segment.table + " WHERE id = ?)");
+            args.add(ids.get(i));
+
+            if (i > 0) {
+                columns.add("EXISTS(SELECT 1 FROM " + segment.table + " WHERE id = ? AND " + segment.parentColumn + " = ?)");
+                args.add(ids.get(i));
+                args.add(ids.get(i - 1));
+            }
+        }
+
+        return jdbcTemplate.queryForObject(columns.toString(), (rs, rowNum) -> {
+            final boolean[] exists = new boolean[segments.size()];
+            final boolean[] linked = new boolean[segments.size()];
+            int column = 1;
+
+            for (int i = 0; i < segments.size(); i++) {
+                exists[i] = rs.getBoolean(column++);
+                linked[i] = i == 0 ? exists[i] : rs.getBoolean(column++);
+            }
+            return new ResolvedPath(exists, linked);
+        }, args.toArray());
+    }
+
+    enum Segment {
+        SPEXARE("spexare", null),
+        ACTIVITY("activity", "spexare_id"),
+        SPEX_ACTIVITY("spex_activity", "activity_id"),
+        TASK_ACTIVITY("task_activity", "activity_id"),
+        ACTOR("actor", "task_activity_id"),
+        ADDRESS("address", "spexare_id"),
+        CONSENT("consent", "spexare_id"),
+        MEMBERSHIP("membership", "spexare_id"),
+        TOGGLE("toggle", "spexare_id");
+
+        private final String table;
+        private final String parentColumn;
+
+        Segment(final String table, final String parentColumn) {
+            this.table = table;
+            this.parentColumn = parentColumn;
+        }
+    }
+
+    public final class Path {
+
+        private final List<Segment> segments = new ArrayList<>();
+        private final List<Long> ids = new ArrayList<>();
+
+        private Path(final Segment segment, final Long id) {
+            add(segment, id);
+        }
+
+        public Path activity(final Long id) {
+            return add(Segment.ACTIVITY, id);
+        }
+
+        public Path spexActivity(final Long id) {
+            return add(Segment.SPEX_ACTIVITY, id);
+        }
+
+        public Path taskActivity(final Long id) {
+            return add(Segment.TASK_ACTIVITY, id);
+        }
+
+        public Path actor(final Long id) {
+            return add(Segment.ACTOR, id);
+        }
+
+        public Path address(final Long id) {
+            return add(Segment.ADDRESS, id);
+        }
+
+        public Path consent(final Long id) {
+            return add(Segment.CONSENT, id);
+        }
+
+        public Path membership(final Long id) {
+            return add(Segment.MEMBERSHIP, id);
+        }
+
+        public Path toggle(final Long id) {
+            return add(Segment.TOGGLE, id);
+        }
+
+        public ResolvedPath resolve() {
+            return SpexarePathResolver.this.resolve(segments, ids);
+        }
+
+        private Path add(final Segment segment, final Long id) {
+            segments.add(segment);
+            ids.add(id);
+            return this;
+        }
+    }
+
+    public record ResolvedPath(boolean[] exists, boolean[] linked) {
+
+        public boolean allExist() {
+            return IntStream.range(0, exists.length).allMatch(i -> exists[i]);
+        }
+
+        public boolean ancestorsExist() {
+            return IntStream.range(0, exists.length - 1).allMatch(i -> exists[i]);
+        }
+
+        public boolean isLinked() {
+            return IntStream.range(0, linked.length).allMatch(i -> linked[i]);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof ResolvedPath other && Arrays.equals(exists, other.exists) && Arrays.equals(linked, other.linked);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(exists) + Arrays.hashCode(linked);
+        }
+
+        @Override
+        public String toString() {
+            return "ResolvedPath[exists=" + Arrays.toString(exists) + ", linked=" + Arrays.toString(linked) + "]";
+        }
+    }
+}
@@ -1,9 +1,32 @@
 package nu.fgv.register.server.spexare;
 
+import jakarta.persistence.QueryHint;
 import nu.fgv.register.server.util.search.SearchEnabledJpaRepository;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface SpexareRepository extends SearchEnabledJpaRepository<Spexare, Long>, JpaSpecificationExecutor<Spexare> {
+
+    @Query("SELECT DISTINCT s FROM Spexare s LEFT JOIN FETCH s.tags WHERE s.id IN :ids")
+    List<Spexare> findAllWithTagsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT s FROM Spexare s ORDER BY s.id")
+    Stream<Spexare> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT s FROM Spexare s WHERE s.id IN :ids ORDER BY s.id")
+    Stream<Spexare> streamAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    List<SpexareSuggestionDto> suggest(String prefix, int limit);
+
 }
@@ -3,12 +3,14 @@ package nu.fgv.register.server.spexare;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import nu.fgv.register.server.util.search.AbstractSearchEnabledJpaRepository;
+import nu.fgv.register.server.util.search.SearchAnalysisConfigurer;
 import org.hibernate.search.engine.search.aggregation.AggregationKey;
 import org.hibernate.search.engine.search.query.SearchResult;
 import org.hibernate.search.mapper.orm.session.SearchSession;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 
+import java.util.Arrays;
 import java.util.List;
 
 @Transactional
@@ -34,6 +36,12 @@ public class SpexareSearchEnabledJpaRepository extends AbstractSearchEnabledJpaR
     private static final String AGGREGATION_TOGGLES_VALUE = "toggles.value";
     private static final String AGGREGATION_TOGGLES_TYPE_ID = "toggles.type.id";
 
+    private static final String[] AUTOCOMPLETE_FIELDS = new String[]{
+            "firstName" + SearchAnalysisConfigurer.AUTOCOMPLETE_FIELD_SUFFIX,
+            "lastName" + SearchAnalysisConfigurer.AUTOCOMPLETE_FIELD_SUFFIX,
+            "nickName" + SearchAnalysisConfigurer.AUTOCOMPLETE_FIELD_SUFFIX
+    };
+
     static final List<String> AGGREGATIONS = List.of(
             AGGREGATION_ACTIVITIES_SPEX_ACTIVITY_SPEX_YEAR,
             AGGREGATION_ACTIVITIES_SPEX_ACTIVITY_SPEX_DETAILS_TITLE,
@@ -84,4 +92,22 @@ public class SpexareSearchEnabledJpaRepository extends AbstractSearchEnabledJpaR
                 .sort(f -> determineSort(Spexare.class, f, pageable.getSort()))
                 .fetch((int) pageable.getOffset(), pageable.getPageSize());
     }
+
+    /**
+     * Matches every word typed so far against the prefixes indexed for the names and projects straight from the index,
+     * without loading any entities, aggregating or counting more hits than returned.
+     */
+    public List<SpexareSuggestionDto> suggest(final String prefix, final int limit) {
+        final String[] words = prefix.strip().split("\\s+");
+
+        return getSearchSession()
+                .search(Spexare.class)
+                .select(f -> f.composite()
+                        .from(f.id(Long.class), f.field("firstName", String.class), f.field("lastName", String.class), f.field("nickName", String.class))
+                        .asList(values -> SpexareSuggestionDto.of((Long) values.get(0), (String) values.get(1), (String) values.get(2), (String) values.get(3))))
+                .where(f -> f.bool().with(b -> Arrays.stream(words).forEach(w -> b.must(f.match().fields(AUTOCOMPLETE_FIELDS).matching(w)))))
+                .sort(f -> f.score().then().field("firstName").then().field("lastName"))
+                .totalHitCountThreshold(limit)
+                .fetchHits(limit);
+    }
 }
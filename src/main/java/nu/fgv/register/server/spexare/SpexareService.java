@@ -1,30 +1,50 @@
 package nu.fgv.register.server.spexare;
 
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import nu.fgv.register.server.admin.IndexingService;
+import nu.fgv.register.server.util.BatchItemResultDto;
+import nu.fgv.register.server.util.BatchResultDto;
 import nu.fgv.register.server.util.FileUtil;
 import nu.fgv.register.server.util.filter.FilterParser;
-import nu.fgv.register.server.util.filter.SpecificationsBuilder;
 import nu.fgv.register.server.util.search.Facet;
+import nu.fgv.register.server.util.search.FilterExecutionPlanner;
 import nu.fgv.register.server.util.search.PageWithFacets;
 import nu.fgv.register.server.util.search.PageWithFacetsImpl;
 import org.hibernate.search.engine.search.aggregation.AggregationKey;
 import org.hibernate.search.engine.search.query.SearchResult;
 import org.hibernate.search.util.common.SearchException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.data.util.Pair;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static nu.fgv.register.server.spexare.SpexareMapper.SPEXARE_MAPPER;
 import static nu.fgv.register.server.spexare.SpexareSearchEnabledJpaRepository.AGGREGATIONS;
 import static nu.fgv.register.server.spexare.SpexareSpecification.hasIds;
+import static nu.fgv.register.server.util.ValidationUtil.violations;
 import static org.springframework.util.StringUtils.hasText;
 
 @Slf4j
@@ -33,7 +53,15 @@ import static org.springframework.util.StringUtils.hasText;
 @Transactional
 public class SpexareService {
 
+    private static final String BATCH_CREATE = "create";
+    private static final String BATCH_UPDATE = "update";
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final SpexareRepository repository;
+    private final FilterExecutionPlanner filterExecutionPlanner;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final IndexingService indexingService;
 
     public PageWithFacets<SpexareDto> search(final String query, final Pageable pageable) {
         final SearchResult<Spexare> searchResult = repository.search(query, pageable);
@@ -55,6 +83,25 @@ public class SpexareService {
         return new PageWithFacetsImpl<>(SPEXARE_MAPPER.toDtos(searchResult.hits()), pageable, searchResult.total(), facets);
     }
 
+    public List<SpexareSuggestionDto> suggest(final String prefix, final int limit) {
+        if (!hasText(prefix)) {
+            return List.of();
+        }
+        if (indexingService.isIndexCurrent()) {
+            return repository.suggest(prefix, Math.clamp(limit, 1, MAX_SUGGESTIONS));
+        }
+
+        // The index lacks the autocomplete fields until it has been rebuilt with the current mapping
+        final Specification<Spexare> specification = Arrays.stream(prefix.strip().split("\\s+"))
+                .map(SpexareSpecification::hasNameStartingWith)
+                .reduce(Specification.where(null), Specification::and);
+
+        return repository
+                .findAll(specification, PageRequest.of(0, Math.clamp(limit, 1, MAX_SUGGESTIONS), Sort.by(Spexare_.FIRST_NAME, Spexare_.LAST_NAME)))
+                .map(s -> SpexareSuggestionDto.of(s.getId(), s.getFirstName(), s.getLastName(), s.getNickName()))
+                .toList();
+    }
+
     public List<SpexareDto> findAll(final Sort sort) {
         return repository
                 .findAll(sort)
@@ -63,10 +110,23 @@ public class SpexareService {
                 .toList();
     }
 
+    /**
+     * Streams the spexare straight from the database to the consumer, detaching each one once mapped so that the
+     * persistence context does not grow with the size of the register.
+     */
+    public void stream(final List<Long> ids, final Consumer<SpexareDto> consumer) {
+        try (final Stream<Spexare> spexare = ids == null || ids.isEmpty() ? repository.streamAll() : repository.streamAllByIdIn(ids)) {
+            spexare.forEach(s -> {
+                consumer.accept(SPEXARE_MAPPER.toDto(s));
+                entityManager.detach(s);
+            });
+        }
+    }
+
     public Page<SpexareDto> find(final String filter, final Pageable pageable) {
         return hasText(filter) ?
                 repository
-                        .findAll(SpecificationsBuilder.<Spexare>builder().build(FilterParser.parse(filter), SpexareSpecification::new), pageable)
+                        .findAll(filterExecutionPlanner.plan(Spexare.class, FilterParser.parseTree(filter), SpexareSpecification::new), pageable)
                         .map(SPEXARE_MAPPER::toDto) :
                 repository
                         .findAll(pageable)
@@ -110,6 +170,60 @@ public class SpexareService {
         repository.deleteById(id);
     }
 
+    public BatchResultDto batch(final SpexareBatchDto dto) {
+        final List<SpexareCreateDto> creates = Optional.ofNullable(dto.getCreate()).orElse(List.of());
+        final List<SpexareUpdateDto> updates = Optional.ofNullable(dto.getUpdate()).orElse(List.of());
+        final List<BatchItemResultDto> results = new ArrayList<>();
+        final Map<Integer, Spexare> toCreate = new LinkedHashMap<>();
+        final Map<Integer, Spexare> toUpdate = new LinkedHashMap<>();
+
+        // Everything is validated and resolved before anything is written
+        for (int i = 0; i < creates.size(); i++) {
+            final List<String> violations = violations(validator, creates.get(i));
+
+            if (violations.isEmpty()) {
+                toCreate.put(i, SPEXARE_MAPPER.toModel(creates.get(i)));
+            } else {
+                results.add(BatchItemResultDto.of(BATCH_CREATE, i, null, HttpStatus.BAD_REQUEST, violations));
+            }
+        }
+
+        final Map<Long, Spexare> existing = repository
+                .findAllById(updates.stream().map(SpexareUpdateDto::getId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Spexare::getId, Function.identity()));
+        final Set<Long> seen = new HashSet<>();
+
+        for (int i = 0; i < updates.size(); i++) {
+            final SpexareUpdateDto update = updates.get(i);
+            final List<String> violations = violations(validator, update);
+
+            if (update.getId() == null || !violations.isEmpty()) {
+                results.add(BatchItemResultDto.of(BATCH_UPDATE, i, update.getId(), HttpStatus.BAD_REQUEST, violations));
+            } else if (!existing.containsKey(update.getId())) {
+                results.add(BatchItemResultDto.of(BATCH_UPDATE, i, update.getId(), HttpStatus.NOT_FOUND, List.of()));
+            } else if (!seen.add(update.getId())) {
+                results.add(BatchItemResultDto.of(BATCH_UPDATE, i, update.getId(), HttpStatus.CONFLICT, List.of()));
+            } else {
+                final Spexare spexare = existing.get(update.getId());
+
+                SPEXARE_MAPPER.toPartialModel(update, spexare);
+                toUpdate.put(i, spexare);
+            }
+        }
+
+        final List<Spexare> created = repository.saveAll(toCreate.values());
+        final List<Integer> createdIndexes = List.copyOf(toCreate.keySet());
+
+        for (int i = 0; i < created.size(); i++) {
+            results.add(BatchItemResultDto.of(BATCH_CREATE, createdIndexes.get(i), created.get(i).getId(), HttpStatus.CREATED, List.of()));
+        }
+        repository.saveAll(toUpdate.values());
+        toUpdate.forEach((index, spexare) -> results.add(BatchItemResultDto.of(BATCH_UPDATE, index, spexare.getId(), HttpStatus.OK, List.of())));
+
+        return new BatchResultDto(results);
+    }
+
     public Optional<SpexareDto> saveImage(final Long id, final byte[] image, final String contentType) {
         return repository
                 .findById(id)
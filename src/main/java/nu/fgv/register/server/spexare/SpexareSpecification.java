@@ -18,4 +18,14 @@ public class SpexareSpecification extends BaseSpecification<Spexare> {
         return (root, query, criteriaBuilder) -> root.get(Spexare_.id).in(ids);
     }
 
+    public static Specification<Spexare> hasNameStartingWith(final String word) {
+        final String pattern = word.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+                criteriaBuilder.like(root.get(Spexare_.firstName), pattern, '\\'),
+                criteriaBuilder.like(root.get(Spexare_.lastName), pattern, '\\'),
+                criteriaBuilder.like(root.get(Spexare_.nickName), pattern, '\\')
+        );
+    }
+
 }
@@ -0,0 +1,40 @@
+package nu.fgv.register.server.spexare;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.core.Relation;
+
+import static org.springframework.util.StringUtils.hasText;
+
+@Getter
+@Setter
+@EqualsAndHashCode(callSuper = true)
+@ToString
+@Relation(collectionRelation = "suggestions", itemRelation = "suggestion")
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SpexareSuggestionDto extends RepresentationModel<SpexareSuggestionDto> {
+
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("displayName")
+    private String displayName;
+
+    @Builder
+    public SpexareSuggestionDto(final Long id, final String displayName) {
+        this.id = id;
+        this.displayName = displayName;
+    }
+
+    public static SpexareSuggestionDto of(final Long id, final String firstName, final String lastName, final String nickName) {
+        return new SpexareSuggestionDto(id, hasText(nickName) ?
+                firstName + " \"" + nickName + "\" " + lastName :
+                firstName + " " + lastName);
+    }
+}
@@ -10,6 +10,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -19,6 +20,7 @@ import nu.fgv.register.server.spexare.Spexare;
 import nu.fgv.register.server.spexare.activity.spex.SpexActivity;
 import nu.fgv.register.server.spexare.activity.task.TaskActivity;
 import nu.fgv.register.server.util.AbstractAuditable;
+import nu.fgv.register.server.util.Constants.IdGenerator;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.search.mapper.pojo.extractor.builtin.BuiltinContainerExtractors;
@@ -48,7 +50,8 @@ public class Activity extends AbstractAuditable implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "activity_id")
+    @TableGenerator(name = "activity_id", table = IdGenerator.TABLE, pkColumnName = IdGenerator.NAME_COLUMN, valueColumnName = IdGenerator.VALUE_COLUMN, pkColumnValue = "activity", allocationSize = IdGenerator.ALLOCATION_SIZE)
     private Long id;
 
     @OneToOne(mappedBy = "activity", cascade = {CascadeType.REMOVE}, orphanRemoval = true)
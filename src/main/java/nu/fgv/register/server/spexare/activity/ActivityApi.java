@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import nu.fgv.register.server.spexare.SpexareApi;
 import nu.fgv.register.server.spexare.activity.spex.SpexActivityApi;
 import nu.fgv.register.server.spexare.activity.task.TaskActivityApi;
+import nu.fgv.register.server.util.LinkTemplate;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
@@ -36,6 +37,12 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/api/v1/spexare/{spexareId}/activities")
 public class ActivityApi {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(ids -> methodOn(ActivityApi.class).retrieve(ids[0], ids[1]));
+    private static final LinkTemplate ACTIVITIES_LINK = LinkTemplate.of(ids -> methodOn(ActivityApi.class).retrieve(ids[0], Pageable.unpaged()));
+    private static final LinkTemplate SPEX_ACTIVITIES_LINK = LinkTemplate.of(ids -> methodOn(SpexActivityApi.class).retrieve(ids[0], ids[1], Pageable.unpaged()));
+    private static final LinkTemplate TASK_ACTIVITIES_LINK = LinkTemplate.of(ids -> methodOn(TaskActivityApi.class).retrieve(ids[0], ids[1], Pageable.unpaged()));
+    private static final LinkTemplate SPEXARE_LINK = LinkTemplate.of(ids -> methodOn(SpexareApi.class).retrieve(ids[0]));
+
     private final ActivityService service;
     private final PagedResourcesAssembler<ActivityDto> pagedResourcesAssembler;
 
@@ -115,11 +122,11 @@ public class ActivityApi {
     List<Link> getLinks(final ActivityDto dto, final Long spexareId) {
         final List<Link> links = new ArrayList<>();
 
-        links.add(linkTo(methodOn(ActivityApi.class).retrieve(spexareId, dto.getId())).withSelfRel());
-        links.add(linkTo(methodOn(ActivityApi.class).retrieve(spexareId, Pageable.unpaged())).withRel("activities"));
-        links.add(linkTo(methodOn(SpexActivityApi.class).retrieve(spexareId, dto.getId(), Pageable.unpaged())).withRel("spex-activities"));
-        links.add(linkTo(methodOn(TaskActivityApi.class).retrieve(spexareId, dto.getId(), Pageable.unpaged())).withRel("task-activities"));
-        links.add(linkTo(methodOn(SpexareApi.class).retrieve(spexareId)).withRel("spexare"));
+        links.add(SELF_LINK.expand(spexareId, dto.getId()).withSelfRel());
+        links.add(ACTIVITIES_LINK.expand(spexareId).withRel("activities"));
+        links.add(SPEX_ACTIVITIES_LINK.expand(spexareId, dto.getId()).withRel("spex-activities"));
+        links.add(TASK_ACTIVITIES_LINK.expand(spexareId, dto.getId()).withRel("task-activities"));
+        links.add(SPEXARE_LINK.expand(spexareId).withRel("spexare"));
 
         return links;
     }
@@ -9,6 +9,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,7 @@ import nu.fgv.register.server.event.JpaEntityListener;
 import nu.fgv.register.server.spex.Spex;
 import nu.fgv.register.server.spexare.activity.Activity;
 import nu.fgv.register.server.util.AbstractAuditable;
+import nu.fgv.register.server.util.Constants.IdGenerator;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.search.mapper.pojo.automaticindexing.ReindexOnUpdate;
@@ -47,7 +49,8 @@ public class SpexActivity extends AbstractAuditable implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "spex_activity_id")
+    @TableGenerator(name = "spex_activity_id", table = IdGenerator.TABLE, pkColumnName = IdGenerator.NAME_COLUMN, valueColumnName = IdGenerator.VALUE_COLUMN, pkColumnValue = "spex_activity", allocationSize = IdGenerator.ALLOCATION_SIZE)
     private Long id;
 
     @OneToOne(optional = false)
@@ -6,6 +6,7 @@ import nu.fgv.register.server.spex.SpexApi;
 import nu.fgv.register.server.spex.SpexDto;
 import nu.fgv.register.server.spexare.SpexareApi;
 import nu.fgv.register.server.spexare.activity.ActivityApi;
+import nu.fgv.register.server.util.LinkTemplate;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
@@ -38,6 +39,12 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/api/v1/spexare/{spexareId}/activities/{activityId}/spex-activities")
 public class SpexActivityApi {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(ids -> methodOn(SpexActivityApi.class).retrieve(ids[0], ids[1], ids[2]));
+    private static final LinkTemplate SPEX_LINK = LinkTemplate.of(ids -> methodOn(SpexActivityApi.class).retrieveSpex(ids[0], ids[1], ids[2]));
+    private static final LinkTemplate SPEX_ACTIVITIES_LINK = LinkTemplate.of(ids -> methodOn(SpexActivityApi.class).retrieve(ids[0], ids[1], Pageable.unpaged()));
+    private static final LinkTemplate ACTIVITIES_LINK = LinkTemplate.of(ids -> methodOn(ActivityApi.class).retrieve(ids[0], Pageable.unpaged()));
+    private static final LinkTemplate SPEXARE_LINK = LinkTemplate.of(ids -> methodOn(SpexareApi.class).retrieve(ids[0]));
+
     private final SpexActivityService service;
     private final PagedResourcesAssembler<SpexActivityDto> pagedResourcesAssembler;
     private final SpexApi spexApi;
@@ -146,11 +153,11 @@ public class SpexActivityApi {
     List<Link> getLinks(final SpexActivityDto dto, final Long spexareId, final Long activityId) {
         final List<Link> links = new ArrayList<>();
 
-        links.add(linkTo(methodOn(SpexActivityApi.class).retrieve(spexareId, activityId, dto.getId())).withSelfRel());
-        links.add(linkTo(methodOn(SpexActivityApi.class).retrieveSpex(spexareId, activityId, dto.getId())).withRel("spex"));
-        links.add(linkTo(methodOn(SpexActivityApi.class).retrieve(spexareId, activityId, Pageable.unpaged())).withRel("spex-activities"));
-        links.add(linkTo(methodOn(ActivityApi.class).retrieve(spexareId, Pageable.unpaged())).withRel("activities"));
-        links.add(linkTo(methodOn(SpexareApi.class).retrieve(spexareId)).withRel("spexare"));
+        links.add(SELF_LINK.expand(spexareId, activityId, dto.getId()).withSelfRel());
+        links.add(SPEX_LINK.expand(spexareId, activityId, dto.getId()).withRel("spex"));
+        links.add(SPEX_ACTIVITIES_LINK.expand(spexareId, activityId).withRel("spex-activities"));
+        links.add(ACTIVITIES_LINK.expand(spexareId).withRel("activities"));
+        links.add(SPEXARE_LINK.expand(spexareId).withRel("spexare"));
 
         return links;
     }
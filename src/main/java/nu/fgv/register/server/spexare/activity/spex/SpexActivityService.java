@@ -3,9 +3,11 @@ package nu.fgv.register.server.spexare.activity.spex;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import nu.fgv.register.server.spex.Spex;
 import nu.fgv.register.server.spex.SpexDto;
 import nu.fgv.register.server.spex.SpexRepository;
-import nu.fgv.register.server.spexare.SpexareRepository;
+import nu.fgv.register.server.spexare.SpexarePathResolver;
+import nu.fgv.register.server.spexare.activity.Activity;
 import nu.fgv.register.server.spexare.activity.ActivityRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -17,7 +19,6 @@ import java.util.Optional;
 import static nu.fgv.register.server.spex.SpexMapper.SPEX_MAPPER;
 import static nu.fgv.register.server.spexare.activity.spex.SpexActivityMapper.SPEX_ACTIVITY_MAPPER;
 import static nu.fgv.register.server.spexare.activity.spex.SpexActivitySpecification.hasActivity;
-import static nu.fgv.register.server.spexare.activity.spex.SpexActivitySpecification.hasId;
 import static nu.fgv.register.server.spexare.activity.spex.SpexActivitySpecification.hasSpex;
 
 @Slf4j
@@ -32,133 +33,106 @@ public class SpexActivityService {
 
     private final SpexRepository spexRepository;
 
-    private final SpexareRepository spexareRepository;
+    private final SpexarePathResolver pathResolver;
 
     public Page<SpexActivityDto> findByActivity(final Long spexareId, final Long activityId, final Pageable pageable) {
-        if (doSpexareAndActivityExist(spexareId, activityId)) {
-            return activityRepository
-                    .findById(activityId)
-                    .filter(activity -> activity.getSpexare().getId().equals(spexareId))
-                    .map(activity -> repository
-                            .findAll(hasActivity(activity), pageable)
-                            .map(SPEX_ACTIVITY_MAPPER::toDto)
-                    )
-                    .orElseGet(Page::empty);
+        final SpexarePathResolver.ResolvedPath path = pathResolver.spexare(spexareId).activity(activityId).resolve();
+
+        if (path.allExist()) {
+            return path.isLinked() ?
+                    repository
+                            .findAll(hasActivity(activityRepository.getReferenceById(activityId)), pageable)
+                            .map(SPEX_ACTIVITY_MAPPER::toDto) :
+                    Page.empty();
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s and/or activity %s do not exist", spexareId, activityId));
         }
     }
 
     public Optional<SpexActivityDto> findById(final Long spexareId, final Long activityId, final Long id) {
-        if (doSpexareAndActivityExist(spexareId, activityId)) {
-            return repository
-                    .findById(id)
-                    .filter(spexActivity -> spexActivity.getActivity().getId().equals(activityId))
-                    .filter(spexActivity -> spexActivity.getActivity().getSpexare().getId().equals(spexareId))
-                    .map(SPEX_ACTIVITY_MAPPER::toDto);
+        final SpexarePathResolver.ResolvedPath path = pathResolver.spexare(spexareId).activity(activityId).spexActivity(id).resolve();
+
+        if (path.ancestorsExist()) {
+            return path.isLinked() ?
+                    repository
+                            .findById(id)
+                            .map(SPEX_ACTIVITY_MAPPER::toDto) :
+                    Optional.empty();
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s and/or activity %s do not exist", spexareId, activityId));
         }
     }
 
     public Optional<SpexActivityDto> create(final Long spexareId, final Long activityId, final Long spexId) {
-        if (doSpexareAndActivityAndSpexExist(spexareId, activityId, spexId)) {
-            return activityRepository
-                    .findById(activityId)
-                    .filter(activity -> activity.getSpexare().getId().equals(spexareId))
-                    .flatMap(activity -> spexRepository
-                            .findById(spexId)
-                            .filter(spex -> !repository.exists(hasActivity(activity).and(hasSpex(spex))))
-                            .map(spex -> {
-                                final SpexActivity spexActivity = new SpexActivity();
-                                spexActivity.setActivity(activity);
-                                spexActivity.setSpex(spex);
-                                return repository.save(spexActivity);
-                            })
-                            .map(SPEX_ACTIVITY_MAPPER::toDto)
-                    );
+        final SpexarePathResolver.ResolvedPath path = pathResolver.spexare(spexareId).activity(activityId).resolve();
+
+        if (path.allExist() && spexRepository.existsById(spexId)) {
+            if (!path.isLinked()) {
+                return Optional.empty();
+            }
+
+            final Activity activity = activityRepository.getReferenceById(activityId);
+            final Spex spex = spexRepository.getReferenceById(spexId);
+
+            if (repository.exists(hasActivity(activity).and(hasSpex(spex)))) {
+                return Optional.empty();
+            }
+
+            final SpexActivity spexActivity = new SpexActivity();
+            spexActivity.setActivity(activity);
+            spexActivity.setSpex(spex);
+
+            return Optional.of(repository.save(spexActivity))
+                    .map(SPEX_ACTIVITY_MAPPER::toDto);
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s, activity %s and/or spex %s do not exist", spexareId, activityId, spexId));
         }
     }
 
     public boolean update(final Long spexareId, final Long activityId, final Long spexId, final Long id) {
-        if (doSpexareAndActivityAndSpexExist(spexareId, activityId, spexId) && doesSpexActivityExist(id)) {
-            return activityRepository
-                    .findById(activityId)
-                    .filter(activity -> activity.getSpexare().getId().equals(spexareId))
-                    .map(activity -> spexRepository
-                            .findById(spexId)
-                            .filter(spex -> repository.exists(hasActivity(activity).and(hasId(id))))
-                            .map(spex -> repository
-                                    .findById(id)
-                                    .filter(spexActivity -> spexActivity.getActivity().equals(activity))
-                                    .map(spexActivity -> {
-                                        spexActivity.setSpex(spex);
-                                        repository.save(spexActivity);
-                                        return true;
-                                    })
-                                    .orElse(false)
-                            )
-                            .orElse(false)
-                    )
-                    .orElse(false);
-        } else {
-            throw new ResourceNotFoundException(String.format("Spexare %s, activity %s, spex activity %s and/or spex %s do not exist", spexareId, activityId, id, spexId));
-        }
-    }
+        final SpexarePathResolver.ResolvedPath path = pathResolver.spexare(spexareId).activity(activityId).spexActivity(id).resolve();
 
-    public boolean deleteById(final Long spexareId, final Long activityId, final Long id) {
-        if (doSpexareAndActivityExist(spexareId, activityId) && doesSpexActivityExist(id)) {
-            return activityRepository
-                    .findById(activityId)
-                    .filter(activity -> activity.getSpexare().getId().equals(spexareId))
-                    .filter(activity -> repository.exists(hasActivity(activity).and(hasId(id))))
-                    .map(activity -> repository
+        if (path.allExist() && spexRepository.existsById(spexId)) {
+            return path.isLinked() &&
+                    repository
                             .findById(id)
-                            .filter(spexActivity -> spexActivity.getActivity().equals(activity))
                             .map(spexActivity -> {
-                                repository.deleteById(spexActivity.getId());
+                                spexActivity.setSpex(spexRepository.getReferenceById(spexId));
+                                repository.save(spexActivity);
                                 return true;
                             })
-                            .orElse(false)
-                    )
-                    .orElse(false);
+                            .orElse(false);
         } else {
-            throw new ResourceNotFoundException(String.format("Spexare %s, activity %s and/or spex activity %s do not exist", spexareId, activityId, id));
+            throw new ResourceNotFoundException(String.format("Spexare %s, activity %s, spex activity %s and/or spex %s do not exist", spexareId, activityId, id, spexId));
         }
     }
 
-    public Optional<SpexDto> findSpexBySpexActivity(final Long spexareId, final Long activityId, final Long id) {
-        if (doSpexareAndActivityExist(spexareId, activityId) && doesSpexActivityExist(id)) {
-            return repository
-                    .findById(id)
-                    .filter(spexActivity -> spexActivity.getActivity().getId().equals(activityId))
-                    .filter(spexActivity -> spexActivity.getActivity().getSpexare().getId().equals(spexareId))
-                    .map(SpexActivity::getSpex)
-                    .map(SPEX_MAPPER::toDto);
+    public boolean deleteById(final Long spexareId, final Long activityId, final Long id) {
+        final SpexarePathResolver.ResolvedPath path = pathResolver.spexare(spexareId).activity(activityId).spexActivity(id).resolve();
+
+        if (path.allExist()) {
+            if (path.isLinked()) {
+                repository.deleteById(id);
+                return true;
+            }
+            return false;
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s, activity %s and/or spex activity %s do not exist", spexareId, activityId, id));
         }
     }
 
-    private boolean doesSpexareExist(final Long id) {
-        return spexareRepository.existsById(id);
-    }
-
-    private boolean doesSpexActivityExist(final Long id) {
-        return repository.existsById(id);
-    }
-
-    private boolean doesActivityExist(final Long id) {
-        return activityRepository.existsById(id);
-    }
-
-    private boolean doSpexareAndActivityExist(final Long spexareId, final Long activityId) {
-        return doesSpexareExist(spexareId) && doesActivityExist(activityId);
-    }
+    public Optional<SpexDto> findSpexBySpexActivity(final Long spexareId, final Long activityId, final Long id) {
+        final SpexarePathResolver.ResolvedPath path = pathResolver.spexare(spexareId).activity(activityId).spexActivity(id).resolve();
 
-    private boolean doSpexareAndActivityAndSpexExist(final Long spexareId, final Long activityId, final Long spexId) {
-        return doesSpexareExist(spexareId) && doesActivityExist(activityId) && spexRepository.existsById(spexId);
+        if (path.allExist()) {
+            return path.isLinked() ?
+                    repository
+                            .findById(id)
+                            .map(SpexActivity::getSpex)
+                            .map(SPEX_MAPPER::toDto) :
+                    Optional.empty();
+        } else {
+            throw new ResourceNotFoundException(String.format("Spexare %s, activity %s and/or spex activity %s do not exist", spexareId, activityId, id));
+        }
     }
 }
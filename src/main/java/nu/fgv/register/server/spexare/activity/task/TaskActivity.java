@@ -9,6 +9,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +20,7 @@ import nu.fgv.register.server.spexare.activity.Activity;
 import nu.fgv.register.server.spexare.activity.task.actor.Actor;
 import nu.fgv.register.server.task.Task;
 import nu.fgv.register.server.util.AbstractAuditable;
+import nu.fgv.register.server.util.Constants.IdGenerator;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.search.mapper.pojo.automaticindexing.ReindexOnUpdate;
@@ -50,7 +52,8 @@ public class TaskActivity extends AbstractAuditable implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_activity_id")
+    @TableGenerator(name = "task_activity_id", table = IdGenerator.TABLE, pkColumnName = IdGenerator.NAME_COLUMN, valueColumnName = IdGenerator.VALUE_COLUMN, pkColumnValue = "task_activity", allocationSize = IdGenerator.ALLOCATION_SIZE)
     private Long id;
 
     @OneToMany(mappedBy = "taskActivity", cascade = {CascadeType.REMOVE}, orphanRemoval = true)
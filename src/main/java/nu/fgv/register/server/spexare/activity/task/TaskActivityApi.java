@@ -7,6 +7,7 @@ import nu.fgv.register.server.spexare.activity.ActivityApi;
 import nu.fgv.register.server.spexare.activity.task.actor.ActorApi;
 import nu.fgv.register.server.task.TaskApi;
 import nu.fgv.register.server.task.TaskDto;
+import nu.fgv.register.server.util.LinkTemplate;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
@@ -39,6 +40,13 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/api/v1/spexare/{spexareId}/activities/{activityId}/task-activities")
 public class TaskActivityApi {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(ids -> methodOn(TaskActivityApi.class).retrieve(ids[0], ids[1], ids[2]));
+    private static final LinkTemplate TASK_LINK = LinkTemplate.of(ids -> methodOn(TaskActivityApi.class).retrieveTask(ids[0], ids[1], ids[2]));
+    private static final LinkTemplate TASK_ACTIVITIES_LINK = LinkTemplate.of(ids -> methodOn(TaskActivityApi.class).retrieve(ids[0], ids[1], Pageable.unpaged()));
+    private static final LinkTemplate ACTORS_LINK = LinkTemplate.of(ids -> methodOn(ActorApi.class).retrieve(ids[0], ids[1], ids[2], Pageable.unpaged(), ""));
+    private static final LinkTemplate ACTIVITIES_LINK = LinkTemplate.of(ids -> methodOn(ActivityApi.class).retrieve(ids[0], Pageable.unpaged()));
+    private static final LinkTemplate SPEXARE_LINK = LinkTemplate.of(ids -> methodOn(SpexareApi.class).retrieve(ids[0]));
+
     private final TaskActivityService service;
     private final PagedResourcesAssembler<TaskActivityDto> pagedResourcesAssembler;
     private final TaskApi taskApi;
@@ -147,12 +155,12 @@ public class TaskActivityApi {
     List<Link> getLinks(final TaskActivityDto dto, final Long spexareId, final Long activityId) {
         final List<Link> links = new ArrayList<>();
 
-        links.add(linkTo(methodOn(TaskActivityApi.class).retrieve(spexareId, activityId, dto.getId())).withSelfRel());
-        links.add(linkTo(methodOn(TaskActivityApi.class).retrieveTask(spexareId, activityId, dto.getId())).withRel("task"));
-        links.add(linkTo(methodOn(TaskActivityApi.class).retrieve(spexareId, activityId, Pageable.unpaged())).withRel("task-activities"));
-        links.add(linkTo(methodOn(ActorApi.class).retrieve(spexareId, activityId, dto.getId(), Pageable.unpaged(), "")).withRel("actors"));
-        links.add(linkTo(methodOn(ActivityApi.class).retrieve(spexareId, Pageable.unpaged())).withRel("activities"));
-        links.add(linkTo(methodOn(SpexareApi.class).retrieve(spexareId)).withRel("spexare"));
+        links.add(SELF_LINK.expand(spexareId, activityId, dto.getId()).withSelfRel());
+        links.add(TASK_LINK.expand(spexareId, activityId, dto.getId()).withRel("task"));
+        links.add(TASK_ACTIVITIES_LINK.expand(spexareId, activityId).withRel("task-activities"));
+        links.add(ACTORS_LINK.expand(spexareId, activityId, dto.getId()).withRel("actors"));
+        links.add(ACTIVITIES_LINK.expand(spexareId).withRel("activities"));
+        links.add(SPEXARE_LINK.expand(spexareId).withRel("spexare"));
 
         return links;
     }
@@ -7,6 +7,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +17,7 @@ import nu.fgv.register.server.event.JpaEntityListener;
 import nu.fgv.register.server.settings.Type;
 import nu.fgv.register.server.spexare.activity.task.TaskActivity;
 import nu.fgv.register.server.util.AbstractAuditable;
+import nu.fgv.register.server.util.Constants.IdGenerator;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.search.engine.backend.types.Searchable;
@@ -47,7 +49,8 @@ public class Actor extends AbstractAuditable implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "actor_id")
+    @TableGenerator(name = "actor_id", table = IdGenerator.TABLE, pkColumnName = IdGenerator.NAME_COLUMN, valueColumnName = IdGenerator.VALUE_COLUMN, pkColumnValue = "actor", allocationSize = IdGenerator.ALLOCATION_SIZE)
     private Long id;
 
     @Size(max = 255, message = "{actor.role.size}")
@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import nu.fgv.register.server.spexare.SpexareApi;
 import nu.fgv.register.server.spexare.activity.ActivityApi;
 import nu.fgv.register.server.spexare.activity.task.TaskActivityApi;
+import nu.fgv.register.server.util.LinkTemplate;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
@@ -42,6 +43,12 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/api/v1/spexare/{spexareId}/activities/{activityId}/task-activities/{taskActivityId}/actors")
 public class ActorApi {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(ids -> methodOn(ActorApi.class).retrieve(ids[0], ids[1], ids[2], ids[3]));
+    private static final LinkTemplate ACTORS_LINK = LinkTemplate.of(ids -> methodOn(ActorApi.class).retrieve(ids[0], ids[1], ids[2], Pageable.unpaged(), ""));
+    private static final LinkTemplate TASK_ACTIVITIES_LINK = LinkTemplate.of(ids -> methodOn(TaskActivityApi.class).retrieve(ids[0], ids[1], Pageable.unpaged()));
+    private static final LinkTemplate ACTIVITIES_LINK = LinkTemplate.of(ids -> methodOn(ActivityApi.class).retrieve(ids[0], Pageable.unpaged()));
+    private static final LinkTemplate SPEXARE_LINK = LinkTemplate.of(ids -> methodOn(SpexareApi.class).retrieve(ids[0]));
+
     private final ActorService service;
     private final PagedResourcesAssembler<ActorDto> pagedResourcesAssembler;
 
@@ -160,11 +167,11 @@ public class ActorApi {
     List<Link> getLinks(final ActorDto dto, final Long spexareId, final Long activityId, final Long taskActivityId) {
         final List<Link> links = new ArrayList<>();
 
-        links.add(linkTo(methodOn(ActorApi.class).retrieve(spexareId, activityId, taskActivityId, dto.getId())).withSelfRel());
-        links.add(linkTo(methodOn(ActorApi.class).retrieve(spexareId, activityId, taskActivityId, Pageable.unpaged(), "")).withRel("actors"));
-        links.add(linkTo(methodOn(TaskActivityApi.class).retrieve(spexareId, activityId, Pageable.unpaged())).withRel("task-activities"));
-        links.add(linkTo(methodOn(ActivityApi.class).retrieve(spexareId, Pageable.unpaged())).withRel("activities"));
-        links.add(linkTo(methodOn(SpexareApi.class).retrieve(spexareId)).withRel("spexare"));
+        links.add(SELF_LINK.expand(spexareId, activityId, taskActivityId, dto.getId()).withSelfRel());
+        links.add(ACTORS_LINK.expand(spexareId, activityId, taskActivityId).withRel("actors"));
+        links.add(TASK_ACTIVITIES_LINK.expand(spexareId, activityId).withRel("task-activities"));
+        links.add(ACTIVITIES_LINK.expand(spexareId).withRel("activities"));
+        links.add(SPEXARE_LINK.expand(spexareId).withRel("spexare"));
 
         return links;
     }
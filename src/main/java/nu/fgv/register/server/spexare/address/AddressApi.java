@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nu.fgv.register.server.spexare.SpexareApi;
+import nu.fgv.register.server.util.LinkTemplate;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
@@ -40,6 +41,10 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/api/v1/spexare/{spexareId}/addresses")
 public class AddressApi {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(ids -> methodOn(AddressApi.class).retrieve(ids[0], ids[1]));
+    private static final LinkTemplate ADDRESSES_LINK = LinkTemplate.of(ids -> methodOn(AddressApi.class).retrieve(ids[0], Pageable.unpaged(), ""));
+    private static final LinkTemplate SPEXARE_LINK = LinkTemplate.of(ids -> methodOn(SpexareApi.class).retrieve(ids[0]));
+
     private final AddressService service;
     private final PagedResourcesAssembler<AddressDto> pagedResourcesAssembler;
 
@@ -156,9 +161,9 @@ public class AddressApi {
     List<Link> getLinks(final AddressDto dto, final Long spexareId) {
         final List<Link> links = new ArrayList<>();
 
-        links.add(linkTo(methodOn(AddressApi.class).retrieve(spexareId, dto.getId())).withSelfRel());
-        links.add(linkTo(methodOn(AddressApi.class).retrieve(spexareId, Pageable.unpaged(), "")).withRel("addresses"));
-        links.add(linkTo(methodOn(SpexareApi.class).retrieve(spexareId)).withRel("spexare"));
+        links.add(SELF_LINK.expand(spexareId, dto.getId()).withSelfRel());
+        links.add(ADDRESSES_LINK.expand(spexareId).withRel("addresses"));
+        links.add(SPEXARE_LINK.expand(spexareId).withRel("spexare"));
 
         return links;
     }
@@ -0,0 +1,30 @@
+package nu.fgv.register.server.spexare.address;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AddressBatchItemDto {
+    @NotBlank(message = "{address.type.notEmpty}")
+    @JsonProperty("typeId")
+    private String typeId;
+
+    @Valid
+    @NotNull(message = "{address.notEmpty}")
+    @JsonProperty("address")
+    private AddressCreateDto address;
+
+}
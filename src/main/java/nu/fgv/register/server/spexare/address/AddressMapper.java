@@ -44,4 +44,7 @@ public interface AddressMapper {
     @InheritConfiguration(name = "toModel")
     void toPartialModel(AddressUpdateDto dto, @MappingTarget Address model);
 
+    @InheritConfiguration(name = "toModel")
+    void toPartialModel(AddressCreateDto dto, @MappingTarget Address model);
+
 }
@@ -1,25 +1,40 @@
 package nu.fgv.register.server.spexare.address;
 
 import jakarta.transaction.Transactional;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import nu.fgv.register.server.settings.Type;
 import nu.fgv.register.server.settings.TypeRepository;
 import nu.fgv.register.server.settings.TypeService;
 import nu.fgv.register.server.settings.TypeType;
+import nu.fgv.register.server.spexare.Spexare;
+import nu.fgv.register.server.spexare.SpexarePathResolver;
 import nu.fgv.register.server.spexare.SpexareRepository;
+import nu.fgv.register.server.util.BatchItemResultDto;
+import nu.fgv.register.server.util.BatchResultDto;
 import nu.fgv.register.server.util.filter.FilterParser;
 import nu.fgv.register.server.util.filter.SpecificationsBuilder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static nu.fgv.register.server.spexare.address.AddressMapper.ADDRESS_MAPPER;
-import static nu.fgv.register.server.spexare.address.AddressSpecification.hasId;
 import static nu.fgv.register.server.spexare.address.AddressSpecification.hasSpexare;
 import static nu.fgv.register.server.spexare.address.AddressSpecification.hasType;
+import static nu.fgv.register.server.util.ValidationUtil.violations;
 import static org.springframework.util.StringUtils.hasText;
 
 @Slf4j
@@ -30,33 +45,36 @@ public class AddressService {
 
     private final AddressRepository repository;
     private final SpexareRepository spexareRepository;
+    private final SpexarePathResolver pathResolver;
     private final TypeRepository typeRepository;
     private final TypeService typeService;
+    private final Validator validator;
 
     public Page<AddressDto> findBySpexare(final Long spexareId, final String filter, final Pageable pageable) {
-        if (doesSpexareExist(spexareId)) {
-            return spexareRepository
-                    .findById(spexareId)
-                    .map(spexare -> hasText(filter) ?
-                            repository
-                                    .findAll(SpecificationsBuilder.<Address>builder().build(FilterParser.parse(filter), AddressSpecification::new).and(hasSpexare(spexare)), pageable)
-                                    .map(ADDRESS_MAPPER::toDto) :
-                            repository
-                                    .findAll(hasSpexare(spexare), pageable)
-                                    .map(ADDRESS_MAPPER::toDto)
-                    )
-                    .orElseGet(Page::empty);
+        if (pathResolver.spexare(spexareId).resolve().allExist()) {
+            final Spexare spexare = spexareRepository.getReferenceById(spexareId);
+
+            return hasText(filter) ?
+                    repository
+                            .findAll(SpecificationsBuilder.<Address>builder().build(FilterParser.parseTree(filter), AddressSpecification::new).and(hasSpexare(spexare)), pageable)
+                            .map(ADDRESS_MAPPER::toDto) :
+                    repository
+                            .findAll(hasSpexare(spexare), pageable)
+                            .map(ADDRESS_MAPPER::toDto);
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s does not exist", spexareId));
         }
     }
 
     public Optional<AddressDto> findById(final Long spexareId, final Long id) {
-        if (doesSpexareExist(spexareId)) {
-            return repository
-                    .findById(id)
-                    .filter(address -> address.getSpexare().getId().equals(spexareId))
-                    .map(ADDRESS_MAPPER::toDto);
+        final SpexarePathResolver.ResolvedPath path = pathResolver.spexare(spexareId).address(id).resolve();
+
+        if (path.ancestorsExist()) {
+            return path.isLinked() ?
+                    repository
+                            .findById(id)
+                            .map(ADDRESS_MAPPER::toDto) :
+                    Optional.empty();
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s does not exist", spexareId));
         }
@@ -64,19 +82,19 @@ public class AddressService {
 
     public Optional<AddressDto> create(final Long spexareId, final String typeId, final AddressCreateDto dto) {
         if (doSpexareAndTypeExist(spexareId, typeId)) {
-            return typeRepository
-                    .findById(typeId)
-                    .flatMap(type -> spexareRepository
-                            .findById(spexareId)
-                            .filter(spexare -> !repository.exists(hasSpexare(spexare).and(hasType(type))))
-                            .map(spexare -> {
-                                final Address address = ADDRESS_MAPPER.toModel(dto);
-                                address.setSpexare(spexare);
-                                address.setType(type);
-                                return repository.save(address);
-                            })
-                            .map(ADDRESS_MAPPER::toDto)
-                    );
+            final Spexare spexare = spexareRepository.getReferenceById(spexareId);
+            final Type type = typeRepository.getReferenceById(typeId);
+
+            if (repository.exists(hasSpexare(spexare).and(hasType(type)))) {
+                return Optional.empty();
+            }
+
+            final Address address = ADDRESS_MAPPER.toModel(dto);
+            address.setSpexare(spexare);
+            address.setType(type);
+
+            return Optional.of(repository.save(address))
+                    .map(ADDRESS_MAPPER::toDto);
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s and/or type %s do not exist", spexareId, typeId));
         }
@@ -87,56 +105,98 @@ public class AddressService {
     }
 
     public Optional<AddressDto> partialUpdate(final Long spexareId, final String typeId, final Long id, final AddressUpdateDto dto) {
-        if (doSpexareAndTypeExist(spexareId, typeId) && doesAddressExist(id)) {
-            return typeRepository
-                    .findById(typeId)
-                    .flatMap(type -> spexareRepository
-                            .findById(spexareId)
-                            .filter(spexare -> repository.exists(hasSpexare(spexare).and(hasType(type)).and(hasId(id))))
-                            .flatMap(spexare -> repository.findById(id))
-                            .filter(address -> address.getSpexare().getId().equals(spexareId))
+        final SpexarePathResolver.ResolvedPath path = pathResolver.spexare(spexareId).address(id).resolve();
+
+        if (path.allExist() && typeService.existsByIdAndType(typeId, TypeType.ADDRESS)) {
+            return path.isLinked() ?
+                    repository
+                            .findById(id)
+                            .filter(address -> address.getType().getId().equals(typeId))
                             .map(address -> {
                                 ADDRESS_MAPPER.toPartialModel(dto, address);
                                 return address;
                             })
                             .map(repository::save)
-                            .map(ADDRESS_MAPPER::toDto)
-                    );
+                            .map(ADDRESS_MAPPER::toDto) :
+                    Optional.empty();
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s, type %s and/or address %s do not exist", spexareId, typeId, id));
         }
     }
 
+    /**
+     * Creates or updates the address of each type, validating every item before anything is written.
+     */
+    public BatchResultDto batch(final Long spexareId, final List<AddressBatchItemDto> items) {
+        if (!pathResolver.spexare(spexareId).resolve().allExist()) {
+            throw new ResourceNotFoundException(String.format("Spexare %s does not exist", spexareId));
+        }
+
+        final Spexare spexare = spexareRepository.getReferenceById(spexareId);
+        final Set<String> typeIds = typeService.findExistingIds(items.stream().map(AddressBatchItemDto::getTypeId).collect(Collectors.toSet()), TypeType.ADDRESS);
+        final Map<String, Address> existing = repository
+                .findAll(hasSpexare(spexare))
+                .stream()
+                .collect(Collectors.toMap(address -> address.getType().getId(), Function.identity()));
+        final Set<String> seen = new HashSet<>();
+        final List<BatchItemResultDto> results = new ArrayList<>();
+        final Map<Integer, Address> toSave = new LinkedHashMap<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            final AddressBatchItemDto item = items.get(i);
+            final List<String> violations = violations(validator, item);
+
+            if (!violations.isEmpty()) {
+                results.add(BatchItemResultDto.of(i, null, HttpStatus.BAD_REQUEST, violations));
+            } else if (!typeIds.contains(item.getTypeId())) {
+                results.add(BatchItemResultDto.of(i, null, HttpStatus.NOT_FOUND));
+            } else if (!seen.add(item.getTypeId())) {
+                results.add(BatchItemResultDto.of(i, null, HttpStatus.CONFLICT));
+            } else if (existing.containsKey(item.getTypeId())) {
+                final Address address = existing.get(item.getTypeId());
+
+                ADDRESS_MAPPER.toPartialModel(item.getAddress(), address);
+                toSave.put(i, address);
+            } else {
+                final Address address = ADDRESS_MAPPER.toModel(item.getAddress());
+
+                address.setSpexare(spexare);
+                address.setType(typeRepository.getReferenceById(item.getTypeId()));
+                toSave.put(i, address);
+            }
+        }
+
+        final List<Integer> indexes = List.copyOf(toSave.keySet());
+        final List<Boolean> creating = toSave.values().stream().map(address -> address.getId() == null).toList();
+        final List<Address> saved = repository.saveAll(toSave.values());
+
+        for (int i = 0; i < saved.size(); i++) {
+            results.add(BatchItemResultDto.of(indexes.get(i), saved.get(i).getId(), creating.get(i) ? HttpStatus.CREATED : HttpStatus.OK));
+        }
+
+        return new BatchResultDto(results);
+    }
+
     public boolean deleteById(final Long spexareId, final String typeId, final Long id) {
-        if (doSpexareAndTypeExist(spexareId, typeId) && doesAddressExist(id)) {
-            return typeRepository
-                    .findById(typeId)
-                    .map(type -> spexareRepository
-                            .findById(spexareId)
-                            .filter(spexare -> repository.exists(hasSpexare(spexare).and(hasType(type)).and(hasId(id))))
-                            .flatMap(spexare -> repository.findById(id))
-                            .filter(address -> address.getSpexare().getId().equals(spexareId))
+        final SpexarePathResolver.ResolvedPath path = pathResolver.spexare(spexareId).address(id).resolve();
+
+        if (path.allExist() && typeService.existsByIdAndType(typeId, TypeType.ADDRESS)) {
+            return path.isLinked() &&
+                    repository
+                            .findById(id)
+                            .filter(address -> address.getType().getId().equals(typeId))
                             .map(address -> {
-                                repository.deleteById(address.getId());
+                                repository.delete(address);
                                 return true;
                             })
-                            .orElse(false))
-                    .orElse(false);
+                            .orElse(false);
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s, type %s and/or address %s do not exist", spexareId, typeId, id));
         }
     }
 
-    private boolean doesSpexareExist(final Long id) {
-        return spexareRepository.existsById(id);
-    }
-
-    private boolean doesAddressExist(final Long id) {
-        return repository.existsById(id);
-    }
-
     private boolean doSpexareAndTypeExist(final Long spexareId, final String typeId) {
-        return doesSpexareExist(spexareId) && typeService.existsByIdAndType(typeId, TypeType.ADDRESS);
+        return pathResolver.spexare(spexareId).resolve().allExist() && typeService.existsByIdAndType(typeId, TypeType.ADDRESS);
     }
 
 }
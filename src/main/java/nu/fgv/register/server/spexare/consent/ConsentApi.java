@@ -3,6 +3,7 @@ package nu.fgv.register.server.spexare.consent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nu.fgv.register.server.spexare.SpexareApi;
+import nu.fgv.register.server.util.LinkTemplate;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
@@ -35,6 +36,10 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/api/v1/spexare/{spexareId}/consents")
 public class ConsentApi {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(ids -> methodOn(ConsentApi.class).retrieve(ids[0], ids[1]));
+    private static final LinkTemplate CONSENTS_LINK = LinkTemplate.of(ids -> methodOn(ConsentApi.class).retrieve(ids[0], Pageable.unpaged()));
+    private static final LinkTemplate SPEXARE_LINK = LinkTemplate.of(ids -> methodOn(SpexareApi.class).retrieve(ids[0]));
+
     private final ConsentService service;
     private final PagedResourcesAssembler<ConsentDto> pagedResourcesAssembler;
 
@@ -129,9 +134,9 @@ public class ConsentApi {
     List<Link> getLinks(final ConsentDto dto, final Long spexareId) {
         final List<Link> links = new ArrayList<>();
 
-        links.add(linkTo(methodOn(ConsentApi.class).retrieve(spexareId, dto.getId())).withSelfRel());
-        links.add(linkTo(methodOn(ConsentApi.class).retrieve(spexareId, Pageable.unpaged())).withRel("consents"));
-        links.add(linkTo(methodOn(SpexareApi.class).retrieve(spexareId)).withRel("spexare"));
+        links.add(SELF_LINK.expand(spexareId, dto.getId()).withSelfRel());
+        links.add(CONSENTS_LINK.expand(spexareId).withRel("consents"));
+        links.add(SPEXARE_LINK.expand(spexareId).withRel("spexare"));
 
         return links;
     }
@@ -1,23 +1,38 @@
 package nu.fgv.register.server.spexare.consent;
 
 import jakarta.transaction.Transactional;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import nu.fgv.register.server.settings.Type;
 import nu.fgv.register.server.settings.TypeRepository;
 import nu.fgv.register.server.settings.TypeService;
 import nu.fgv.register.server.settings.TypeType;
+import nu.fgv.register.server.spexare.Spexare;
+import nu.fgv.register.server.spexare.SpexarePathResolver;
 import nu.fgv.register.server.spexare.SpexareRepository;
+import nu.fgv.register.server.util.BatchItemResultDto;
+import nu.fgv.register.server.util.BatchResultDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static nu.fgv.register.server.spexare.consent.ConsentMapper.CONSENT_MAPPER;
-import static nu.fgv.register.server.spexare.consent.ConsentSpecification.hasId;
 import static nu.fgv.register.server.spexare.consent.ConsentSpecification.hasSpexare;
 import static nu.fgv.register.server.spexare.consent.ConsentSpecification.hasType;
+import static nu.fgv.register.server.util.ValidationUtil.violations;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -27,29 +42,30 @@ public class ConsentService {
 
     private final ConsentRepository repository;
     private final SpexareRepository spexareRepository;
+    private final SpexarePathResolver pathResolver;
     private final TypeRepository typeRepository;
     private final TypeService typeService;
+    private final Validator validator;
 
     public Page<ConsentDto> findBySpexare(final Long spexareId, final Pageable pageable) {
-        if (doesSpexareExist(spexareId)) {
-            return spexareRepository
-                    .findById(spexareId)
-                    .map(spexare -> repository
-                            .findAll(hasSpexare(spexare), pageable)
-                            .map(CONSENT_MAPPER::toDto)
-                    )
-                    .orElseGet(Page::empty);
+        if (pathResolver.spexare(spexareId).resolve().allExist()) {
+            return repository
+                    .findAll(hasSpexare(spexareRepository.getReferenceById(spexareId)), pageable)
+                    .map(CONSENT_MAPPER::toDto);
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s does not exist", spexareId));
         }
     }
 
     public Optional<ConsentDto> findById(final Long spexareId, final Long id) {
-        if (doesSpexareExist(spexareId)) {
-            return repository
-                    .findById(id)
-                    .filter(consent -> consent.getSpexare().getId().equals(spexareId))
-                    .map(CONSENT_MAPPER::toDto);
+        final SpexarePathResolver.ResolvedPath path = pathResolver.spexare(spexareId).consent(id).resolve();
+
+        if (path.ancestorsExist()) {
+            return path.isLinked() ?
+                    repository
+                            .findById(id)
+                            .map(CONSENT_MAPPER::toDto) :
+                    Optional.empty();
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s does not exist", spexareId));
         }
@@ -57,75 +73,116 @@ public class ConsentService {
 
     public Optional<ConsentDto> create(final Long spexareId, final String typeId, final Boolean value) {
         if (doSpexareAndTypeExist(spexareId, typeId)) {
-            return typeRepository
-                    .findById(typeId)
-                    .flatMap(type -> spexareRepository
-                            .findById(spexareId)
-                            .filter(spexare -> !repository.exists(hasSpexare(spexare).and(hasType(type))))
-                            .map(spexare -> {
-                                final Consent consent = new Consent();
-                                consent.setSpexare(spexare);
-                                consent.setType(type);
-                                consent.setValue(value);
-                                return repository.save(consent);
-                            })
-                            .map(CONSENT_MAPPER::toDto)
-                    );
+            final Spexare spexare = spexareRepository.getReferenceById(spexareId);
+            final Type type = typeRepository.getReferenceById(typeId);
+
+            if (repository.exists(hasSpexare(spexare).and(hasType(type)))) {
+                return Optional.empty();
+            }
+
+            final Consent consent = new Consent();
+            consent.setSpexare(spexare);
+            consent.setType(type);
+            consent.setValue(value);
+
+            return Optional.of(repository.save(consent))
+                    .map(CONSENT_MAPPER::toDto);
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s and/or type %s do not exist", spexareId, typeId));
         }
     }
 
     public Optional<ConsentDto> update(final Long spexareId, final String typeId, final Long id, final Boolean value) {
-        if (doSpexareAndTypeExist(spexareId, typeId) && doesConsentExist(id)) {
-            return typeRepository
-                    .findById(typeId)
-                    .flatMap(type -> spexareRepository
-                            .findById(spexareId)
-                            .filter(spexare -> repository.exists(hasSpexare(spexare).and(hasType(type)).and(hasId(id))))
-                            .flatMap(spexare -> repository.findById(id))
-                            .filter(consent -> consent.getSpexare().getId().equals(spexareId))
+        final SpexarePathResolver.ResolvedPath path = pathResolver.spexare(spexareId).consent(id).resolve();
+
+        if (path.allExist() && typeService.existsByIdAndType(typeId, TypeType.CONSENT)) {
+            return path.isLinked() ?
+                    repository
+                            .findById(id)
+                            .filter(consent -> consent.getType().getId().equals(typeId))
                             .map(consent -> {
                                 consent.setValue(value);
                                 return repository.save(consent);
                             })
-                            .map(CONSENT_MAPPER::toDto)
-                    );
+                            .map(CONSENT_MAPPER::toDto) :
+                    Optional.empty();
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s, type %s and/or consent %s do not exist", spexareId, typeId, id));
         }
     }
 
+    /**
+     * Creates or updates the consent of each type, validating every item before anything is written.
+     */
+    public BatchResultDto batch(final Long spexareId, final List<ConsentBatchItemDto> items) {
+        if (!pathResolver.spexare(spexareId).resolve().allExist()) {
+            throw new ResourceNotFoundException(String.format("Spexare %s does not exist", spexareId));
+        }
+
+        final Spexare spexare = spexareRepository.getReferenceById(spexareId);
+        final Set<String> typeIds = typeService.findExistingIds(items.stream().map(ConsentBatchItemDto::getTypeId).collect(Collectors.toSet()), TypeType.CONSENT);
+        final Map<String, Consent> existing = repository
+                .findAll(hasSpexare(spexare))
+                .stream()
+                .collect(Collectors.toMap(consent -> consent.getType().getId(), Function.identity()));
+        final Set<String> seen = new HashSet<>();
+        final List<BatchItemResultDto> results = new ArrayList<>();
+        final Map<Integer, Consent> toSave = new LinkedHashMap<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            final ConsentBatchItemDto item = items.get(i);
+            final List<String> violations = violations(validator, item);
+
+            if (!violations.isEmpty()) {
+                results.add(BatchItemResultDto.of(i, null, HttpStatus.BAD_REQUEST, violations));
+            } else if (!typeIds.contains(item.getTypeId())) {
+                results.add(BatchItemResultDto.of(i, null, HttpStatus.NOT_FOUND));
+            } else if (!seen.add(item.getTypeId())) {
+                results.add(BatchItemResultDto.of(i, null, HttpStatus.CONFLICT));
+            } else {
+                final Consent consent = Optional.ofNullable(existing.get(item.getTypeId())).orElseGet(() -> {
+                    final Consent created = new Consent();
+                    created.setSpexare(spexare);
+                    created.setType(typeRepository.getReferenceById(item.getTypeId()));
+                    return created;
+                });
+
+                consent.setValue(item.getValue());
+                toSave.put(i, consent);
+            }
+        }
+
+        final List<Integer> indexes = List.copyOf(toSave.keySet());
+        final List<Boolean> creating = toSave.values().stream().map(consent -> consent.getId() == null).toList();
+        final List<Consent> saved = repository.saveAll(toSave.values());
+
+        for (int i = 0; i < saved.size(); i++) {
+            results.add(BatchItemResultDto.of(indexes.get(i), saved.get(i).getId(), creating.get(i) ? HttpStatus.CREATED : HttpStatus.OK));
+        }
+
+        return new BatchResultDto(results);
+    }
+
     public boolean deleteById(final Long spexareId, final String typeId, final Long id) {
-        if (doSpexareAndTypeExist(spexareId, typeId) && doesConsentExist(id)) {
-            return typeRepository
-                    .findById(typeId)
-                    .map(type -> spexareRepository
-                            .findById(spexareId)
-                            .filter(spexare -> repository.exists(hasSpexare(spexare).and(hasType(type)).and(hasId(id))))
-                            .flatMap(spexare -> repository.findById(id))
-                            .filter(consent -> consent.getSpexare().getId().equals(spexareId))
+        final SpexarePathResolver.ResolvedPath path = pathResolver.spexare(spexareId).consent(id).resolve();
+
+        if (path.allExist() && typeService.existsByIdAndType(typeId, TypeType.CONSENT)) {
+            return path.isLinked() &&
+                    repository
+                            .findById(id)
+                            .filter(consent -> consent.getType().getId().equals(typeId))
                             .map(consent -> {
-                                repository.deleteById(consent.getId());
+                                repository.delete(consent);
                                 return true;
                             })
-                            .orElse(false))
-                    .orElse(false);
+                            .orElse(false);
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s, type %s and/or consent %s do not exist", spexareId, typeId, id));
         }
     }
 
-    private boolean doesSpexareExist(final Long id) {
-        return spexareRepository.existsById(id);
-    }
-
-    private boolean doesConsentExist(final Long id) {
-        return repository.existsById(id);
-    }
-
     private boolean doSpexareAndTypeExist(final Long spexareId, final String typeId) {
-        return doesSpexareExist(spexareId) && typeService.existsByIdAndType(typeId, TypeType.CONSENT);
+        return pathResolver.spexare(spexareId).resolve().allExist() && typeService.existsByIdAndType(typeId, TypeType.CONSENT);
     }
 
 }
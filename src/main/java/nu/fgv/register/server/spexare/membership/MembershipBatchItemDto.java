@@ -0,0 +1,29 @@
+package nu.fgv.register.server.spexare.membership;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MembershipBatchItemDto {
+    @NotBlank(message = "{membership.type.notEmpty}")
+    @JsonProperty("typeId")
+    private String typeId;
+
+    @NotBlank(message = "{membership.year.notEmpty}")
+    @Pattern(regexp = "^(19|20|21)\\d{2}$", message = "{membership.year.regexp}")
+    @JsonProperty("year")
+    private String year;
+
+}
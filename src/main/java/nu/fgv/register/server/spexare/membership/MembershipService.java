@@ -1,26 +1,40 @@
 package nu.fgv.register.server.spexare.membership;
 
 import jakarta.transaction.Transactional;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import nu.fgv.register.server.settings.Type;
 import nu.fgv.register.server.settings.TypeRepository;
 import nu.fgv.register.server.settings.TypeService;
 import nu.fgv.register.server.settings.TypeType;
+import nu.fgv.register.server.spexare.Spexare;
+import nu.fgv.register.server.spexare.SpexarePathResolver;
 import nu.fgv.register.server.spexare.SpexareRepository;
+import nu.fgv.register.server.util.BatchItemResultDto;
+import nu.fgv.register.server.util.BatchResultDto;
 import nu.fgv.register.server.util.filter.FilterParser;
 import nu.fgv.register.server.util.filter.SpecificationsBuilder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static nu.fgv.register.server.spexare.membership.MembershipMapper.MEMBERSHIP_MAPPER;
-import static nu.fgv.register.server.spexare.membership.MembershipSpecification.hasId;
 import static nu.fgv.register.server.spexare.membership.MembershipSpecification.hasSpexare;
 import static nu.fgv.register.server.spexare.membership.MembershipSpecification.hasType;
 import static nu.fgv.register.server.spexare.membership.MembershipSpecification.hasYear;
+import static nu.fgv.register.server.util.ValidationUtil.violations;
 import static org.springframework.util.StringUtils.hasText;
 
 @Slf4j
@@ -31,33 +45,36 @@ public class MembershipService {
 
     private final MembershipRepository repository;
     private final SpexareRepository spexareRepository;
+    private final SpexarePathResolver pathResolver;
     private final TypeRepository typeRepository;
     private final TypeService typeService;
+    private final Validator validator;
 
     public Page<MembershipDto> findBySpexare(final Long spexareId, final String filter, final Pageable pageable) {
-        if (doesSpexareExist(spexareId)) {
-            return spexareRepository
-                    .findById(spexareId)
-                    .map(spexare -> hasText(filter) ?
-                            repository
-                                    .findAll(SpecificationsBuilder.<Membership>builder().build(FilterParser.parse(filter), MembershipSpecification::new).and(hasSpexare(spexare)), pageable)
-                                    .map(MEMBERSHIP_MAPPER::toDto) :
-                            repository
-                                    .findAll(hasSpexare(spexare), pageable)
-                                    .map(MEMBERSHIP_MAPPER::toDto)
-                    )
-                    .orElseGet(Page::empty);
+        if (pathResolver.spexare(spexareId).resolve().allExist()) {
+            final Spexare spexare = spexareRepository.getReferenceById(spexareId);
+
+            return hasText(filter) ?
+                    repository
+                            .findAll(SpecificationsBuilder.<Membership>builder().build(FilterParser.parseTree(filter), MembershipSpecification::new).and(hasSpexare(spexare)), pageable)
+                            .map(MEMBERSHIP_MAPPER::toDto) :
+                    repository
+                            .findAll(hasSpexare(spexare), pageable)
+                            .map(MEMBERSHIP_MAPPER::toDto);
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s does not exist", spexareId));
         }
     }
 
     public Optional<MembershipDto> findById(final Long spexareId, final Long id) {
-        if (doesSpexareExist(spexareId)) {
-            return repository
-                    .findById(id)
-                    .filter(membership -> membership.getSpexare().getId().equals(spexareId))
-                    .map(MEMBERSHIP_MAPPER::toDto);
+        final SpexarePathResolver.ResolvedPath path = pathResolver.spexare(spexareId).membership(id).resolve();
+
+        if (path.ancestorsExist()) {
+            return path.isLinked() ?
+                    repository
+                            .findById(id)
+                            .map(MEMBERSHIP_MAPPER::toDto) :
+                    Optional.empty();
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s does not exist", spexareId));
         }
@@ -65,55 +82,92 @@ public class MembershipService {
 
     public Optional<MembershipDto> create(final Long spexareId, final String typeId, final String year) {
         if (doSpexareAndTypeExist(spexareId, typeId)) {
-            return typeRepository
-                    .findById(typeId)
-                    .flatMap(type -> spexareRepository
-                            .findById(spexareId)
-                            .filter(spexare -> !repository.exists(hasSpexare(spexare).and(hasType(type)).and(hasYear(year))))
-                            .map(spexare -> {
-                                final Membership membership = new Membership();
-                                membership.setSpexare(spexare);
-                                membership.setType(type);
-                                membership.setYear(year);
-                                return repository.save(membership);
-                            })
-                            .map(MEMBERSHIP_MAPPER::toDto)
-                    );
+            final Spexare spexare = spexareRepository.getReferenceById(spexareId);
+            final Type type = typeRepository.getReferenceById(typeId);
+
+            if (repository.exists(hasSpexare(spexare).and(hasType(type)).and(hasYear(year)))) {
+                return Optional.empty();
+            }
+
+            final Membership membership = new Membership();
+            membership.setSpexare(spexare);
+            membership.setType(type);
+            membership.setYear(year);
+
+            return Optional.of(repository.save(membership))
+                    .map(MEMBERSHIP_MAPPER::toDto);
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s and/or type %s do not exist", spexareId, typeId));
         }
     }
 
+    /**
+     * Creates a membership for each type and year, validating every item before anything is written.
+     */
+    public BatchResultDto batch(final Long spexareId, final List<MembershipBatchItemDto> items) {
+        if (!pathResolver.spexare(spexareId).resolve().allExist()) {
+            throw new ResourceNotFoundException(String.format("Spexare %s does not exist", spexareId));
+        }
+
+        final Spexare spexare = spexareRepository.getReferenceById(spexareId);
+        final Set<String> typeIds = typeService.findExistingIds(items.stream().map(MembershipBatchItemDto::getTypeId).collect(Collectors.toSet()), TypeType.MEMBERSHIP);
+        final Set<String> seen = repository
+                .findAll(hasSpexare(spexare))
+                .stream()
+                .map(membership -> membership.getType().getId() + ":" + membership.getYear())
+                .collect(Collectors.toCollection(HashSet::new));
+        final List<BatchItemResultDto> results = new ArrayList<>();
+        final Map<Integer, Membership> toCreate = new LinkedHashMap<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            final MembershipBatchItemDto item = items.get(i);
+            final List<String> violations = violations(validator, item);
+
+            if (!violations.isEmpty()) {
+                results.add(BatchItemResultDto.of(i, null, HttpStatus.BAD_REQUEST, violations));
+            } else if (!typeIds.contains(item.getTypeId())) {
+                results.add(BatchItemResultDto.of(i, null, HttpStatus.NOT_FOUND));
+            } else if (!seen.add(item.getTypeId() + ":" + item.getYear())) {
+                results.add(BatchItemResultDto.of(i, null, HttpStatus.CONFLICT));
+            } else {
+                final Membership membership = new Membership();
+                membership.setSpexare(spexare);
+                membership.setType(typeRepository.getReferenceById(item.getTypeId()));
+                membership.setYear(item.getYear());
+                toCreate.put(i, membership);
+            }
+        }
+
+        final List<Integer> indexes = List.copyOf(toCreate.keySet());
+        final List<Membership> created = repository.saveAll(toCreate.values());
+
+        for (int i = 0; i < created.size(); i++) {
+            results.add(BatchItemResultDto.of(indexes.get(i), created.get(i).getId(), HttpStatus.CREATED));
+        }
+
+        return new BatchResultDto(results);
+    }
+
     public boolean deleteById(final Long spexareId, final String typeId, final Long id) {
-        if (doSpexareAndTypeExist(spexareId, typeId) && doesMembershipExist(id)) {
-            return typeRepository
-                    .findById(typeId)
-                    .map(type -> spexareRepository
-                            .findById(spexareId)
-                            .filter(spexare -> repository.exists(hasSpexare(spexare).and(hasType(type)).and(hasId(id))))
-                            .flatMap(spexare -> repository.findById(id))
-                            .filter(membership -> membership.getSpexare().getId().equals(spexareId))
+        final SpexarePathResolver.ResolvedPath path = pathResolver.spexare(spexareId).membership(id).resolve();
+
+        if (path.allExist() && typeService.existsByIdAndType(typeId, TypeType.MEMBERSHIP)) {
+            return path.isLinked() &&
+                    repository
+                            .findById(id)
+                            .filter(membership -> membership.getType().getId().equals(typeId))
                             .map(membership -> {
-                                repository.deleteById(membership.getId());
+                                repository.delete(membership);
                                 return true;
                             })
-                            .orElse(false))
-                    .orElse(false);
+                            .orElse(false);
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s, type %s and/or membership %s do not exist", spexareId, typeId, id));
         }
     }
 
-    private boolean doesSpexareExist(final Long id) {
-        return spexareRepository.existsById(id);
-    }
-
-    private boolean doesMembershipExist(final Long id) {
-        return repository.existsById(id);
-    }
-
     private boolean doSpexareAndTypeExist(final Long spexareId, final String typeId) {
-        return doesSpexareExist(spexareId) && typeService.existsByIdAndType(typeId, TypeType.MEMBERSHIP);
+        return pathResolver.spexare(spexareId).resolve().allExist() && typeService.existsByIdAndType(typeId, TypeType.MEMBERSHIP);
     }
 
 }
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import nu.fgv.register.server.spexare.SpexareApi;
 import nu.fgv.register.server.tag.TagDto;
 import nu.fgv.register.server.tag.Tag_;
+import nu.fgv.register.server.util.LinkTemplate;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
@@ -36,6 +37,9 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/api/v1/spexare/{spexareId}/tags")
 public class TaggingApi {
 
+    private static final LinkTemplate TAGS_LINK = LinkTemplate.of(ids -> methodOn(TaggingApi.class).retrieve(ids[0], Pageable.unpaged()));
+    private static final LinkTemplate SPEXARE_LINK = LinkTemplate.of(ids -> methodOn(SpexareApi.class).retrieve(ids[0]));
+
     private final TaggingService service;
     private final PagedResourcesAssembler<TagDto> pagedResourcesAssembler;
 
@@ -97,8 +101,8 @@ public class TaggingApi {
     List<Link> getLinks(final TagDto dto, final Long spexareId) {
         final List<Link> links = new ArrayList<>();
 
-        links.add(linkTo(methodOn(TaggingApi.class).retrieve(spexareId, Pageable.unpaged())).withRel("tags"));
-        links.add(linkTo(methodOn(SpexareApi.class).retrieve(spexareId)).withRel("spexare"));
+        links.add(TAGS_LINK.expand(spexareId).withRel("tags"));
+        links.add(SPEXARE_LINK.expand(spexareId).withRel("spexare"));
 
         return links;
     }
@@ -3,13 +3,27 @@ package nu.fgv.register.server.spexare.tag;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import nu.fgv.register.server.spexare.Spexare;
 import nu.fgv.register.server.spexare.SpexareRepository;
+import nu.fgv.register.server.tag.Tag;
 import nu.fgv.register.server.tag.TagDto;
+import nu.fgv.register.server.util.BatchItemResultDto;
+import nu.fgv.register.server.util.BatchResultDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import static nu.fgv.register.server.tag.TagMapper.TAG_MAPPER;
 
 @Slf4j
@@ -52,6 +66,67 @@ public class TaggingService {
         }
     }
 
+    public BatchResultDto createAll(final Long spexareId, final List<Long> ids) {
+        final Spexare spexare = spexareRepository
+                .findById(spexareId)
+                .orElseThrow(() -> new ResourceNotFoundException(String.format("Spexare %s does not exist", spexareId)));
+        final Map<Long, Tag> tags = repository
+                .findAllById(ids.stream().filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Tag::getId, Function.identity()));
+        final Set<Long> tagged = spexare.getTags().stream().map(Tag::getId).collect(Collectors.toCollection(HashSet::new));
+        final List<BatchItemResultDto> results = new ArrayList<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            final Long id = ids.get(i);
+
+            if (id == null) {
+                results.add(BatchItemResultDto.of(i, null, HttpStatus.BAD_REQUEST));
+            } else if (!tags.containsKey(id)) {
+                results.add(BatchItemResultDto.of(i, id, HttpStatus.NOT_FOUND));
+            } else if (!tagged.add(id)) {
+                results.add(BatchItemResultDto.of(i, id, HttpStatus.CONFLICT));
+            } else {
+                spexare.getTags().add(tags.get(id));
+                results.add(BatchItemResultDto.of(i, id, HttpStatus.CREATED));
+            }
+        }
+        spexareRepository.save(spexare);
+
+        return new BatchResultDto(results);
+    }
+
+    public BatchResultDto tagAll(final Long id, final List<Long> spexareIds) {
+        final Tag tag = repository
+                .findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(String.format("Tag %s does not exist", id)));
+        final Map<Long, Spexare> spexare = spexareRepository
+                .findAllWithTagsByIdIn(spexareIds.stream().filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Spexare::getId, Function.identity()));
+        final List<BatchItemResultDto> results = new ArrayList<>();
+        final List<Spexare> toSave = new ArrayList<>();
+
+        for (int i = 0; i < spexareIds.size(); i++) {
+            final Long spexareId = spexareIds.get(i);
+
+            if (spexareId == null) {
+                results.add(BatchItemResultDto.of(i, null, HttpStatus.BAD_REQUEST));
+            } else if (!spexare.containsKey(spexareId)) {
+                results.add(BatchItemResultDto.of(i, spexareId, HttpStatus.NOT_FOUND));
+            } else if (spexare.get(spexareId).getTags().stream().anyMatch(t -> t.getId().equals(id))) {
+                results.add(BatchItemResultDto.of(i, spexareId, HttpStatus.CONFLICT));
+            } else {
+                spexare.get(spexareId).getTags().add(tag);
+                toSave.add(spexare.get(spexareId));
+                results.add(BatchItemResultDto.of(i, spexareId, HttpStatus.CREATED));
+            }
+        }
+        spexareRepository.saveAll(toSave);
+
+        return new BatchResultDto(results);
+    }
+
     public boolean deleteById(final Long spexareId, final Long id) {
         if (doesSpexareExist(spexareId)) {
             return repository
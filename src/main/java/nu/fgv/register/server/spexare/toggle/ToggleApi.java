@@ -3,6 +3,7 @@ package nu.fgv.register.server.spexare.toggle;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nu.fgv.register.server.spexare.SpexareApi;
+import nu.fgv.register.server.util.LinkTemplate;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
@@ -35,6 +36,10 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/api/v1/spexare/{spexareId}/toggles")
 public class ToggleApi {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(ids -> methodOn(ToggleApi.class).retrieve(ids[0], ids[1]));
+    private static final LinkTemplate TOGGLES_LINK = LinkTemplate.of(ids -> methodOn(ToggleApi.class).retrieve(ids[0], Pageable.unpaged()));
+    private static final LinkTemplate SPEXARE_LINK = LinkTemplate.of(ids -> methodOn(SpexareApi.class).retrieve(ids[0]));
+
     private final ToggleService service;
     private final PagedResourcesAssembler<ToggleDto> pagedResourcesAssembler;
 
@@ -129,9 +134,9 @@ public class ToggleApi {
     List<Link> getLinks(final ToggleDto dto, final Long spexareId) {
         final List<Link> links = new ArrayList<>();
 
-        links.add(linkTo(methodOn(ToggleApi.class).retrieve(spexareId, dto.getId())).withSelfRel());
-        links.add(linkTo(methodOn(ToggleApi.class).retrieve(spexareId, Pageable.unpaged())).withRel("toggles"));
-        links.add(linkTo(methodOn(SpexareApi.class).retrieve(spexareId)).withRel("spexare"));
+        links.add(SELF_LINK.expand(spexareId, dto.getId()).withSelfRel());
+        links.add(TOGGLES_LINK.expand(spexareId).withRel("toggles"));
+        links.add(SPEXARE_LINK.expand(spexareId).withRel("spexare"));
 
         return links;
     }
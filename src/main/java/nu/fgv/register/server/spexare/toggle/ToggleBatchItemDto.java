@@ -0,0 +1,28 @@
+package nu.fgv.register.server.spexare.toggle;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ToggleBatchItemDto {
+    @NotBlank(message = "{toggle.type.notEmpty}")
+    @JsonProperty("typeId")
+    private String typeId;
+
+    @NotNull(message = "{toggle.value.notEmpty}")
+    @JsonProperty("value")
+    private Boolean value;
+
+}
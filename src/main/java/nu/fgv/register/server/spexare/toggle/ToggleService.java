@@ -1,23 +1,38 @@
 package nu.fgv.register.server.spexare.toggle;
 
 import jakarta.transaction.Transactional;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import nu.fgv.register.server.settings.Type;
 import nu.fgv.register.server.settings.TypeRepository;
 import nu.fgv.register.server.settings.TypeService;
 import nu.fgv.register.server.settings.TypeType;
+import nu.fgv.register.server.spexare.Spexare;
+import nu.fgv.register.server.spexare.SpexarePathResolver;
 import nu.fgv.register.server.spexare.SpexareRepository;
+import nu.fgv.register.server.util.BatchItemResultDto;
+import nu.fgv.register.server.util.BatchResultDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static nu.fgv.register.server.spexare.toggle.ToggleMapper.TOGGLE_MAPPER;
-import static nu.fgv.register.server.spexare.toggle.ToggleSpecification.hasId;
 import static nu.fgv.register.server.spexare.toggle.ToggleSpecification.hasSpexare;
 import static nu.fgv.register.server.spexare.toggle.ToggleSpecification.hasType;
+import static nu.fgv.register.server.util.ValidationUtil.violations;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -28,29 +43,30 @@ public class ToggleService {
     private final ToggleRepository repository;
 
     private final SpexareRepository spexareRepository;
+    private final SpexarePathResolver pathResolver;
     private final TypeRepository typeRepository;
     private final TypeService typeService;
+    private final Validator validator;
 
     public Page<ToggleDto> findBySpexare(final Long spexareId, final Pageable pageable) {
-        if (doesSpexareExist(spexareId)) {
-            return spexareRepository
-                    .findById(spexareId)
-                    .map(spexare -> repository
-                            .findAll(hasSpexare(spexare), pageable)
-                            .map(TOGGLE_MAPPER::toDto)
-                    )
-                    .orElseGet(Page::empty);
+        if (pathResolver.spexare(spexareId).resolve().allExist()) {
+            return repository
+                    .findAll(hasSpexare(spexareRepository.getReferenceById(spexareId)), pageable)
+                    .map(TOGGLE_MAPPER::toDto);
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s does not exist", spexareId));
         }
     }
 
     public Optional<ToggleDto> findById(final Long spexareId, final Long id) {
-        if (doesSpexareExist(spexareId)) {
-            return repository
-                    .findById(id)
-                    .filter(toggle -> toggle.getSpexare().getId().equals(spexareId))
-                    .map(TOGGLE_MAPPER::toDto);
+        final SpexarePathResolver.ResolvedPath path = pathResolver.spexare(spexareId).toggle(id).resolve();
+
+        if (path.ancestorsExist()) {
+            return path.isLinked() ?
+                    repository
+                            .findById(id)
+                            .map(TOGGLE_MAPPER::toDto) :
+                    Optional.empty();
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s does not exist", spexareId));
         }
@@ -58,75 +74,116 @@ public class ToggleService {
 
     public Optional<ToggleDto> create(final Long spexareId, final String typeId, final Boolean value) {
         if (doSpexareAndTypeExist(spexareId, typeId)) {
-            return typeRepository
-                    .findById(typeId)
-                    .flatMap(type -> spexareRepository
-                            .findById(spexareId)
-                            .filter(spexare -> !repository.exists(hasSpexare(spexare).and(hasType(type))))
-                            .map(spexare -> {
-                                final Toggle toggle = new Toggle();
-                                toggle.setSpexare(spexare);
-                                toggle.setType(type);
-                                toggle.setValue(value);
-                                return repository.save(toggle);
-                            })
-                            .map(TOGGLE_MAPPER::toDto)
-                    );
+            final Spexare spexare = spexareRepository.getReferenceById(spexareId);
+            final Type type = typeRepository.getReferenceById(typeId);
+
+            if (repository.exists(hasSpexare(spexare).and(hasType(type)))) {
+                return Optional.empty();
+            }
+
+            final Toggle toggle = new Toggle();
+            toggle.setSpexare(spexare);
+            toggle.setType(type);
+            toggle.setValue(value);
+
+            return Optional.of(repository.save(toggle))
+                    .map(TOGGLE_MAPPER::toDto);
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s and/or type %s do not exist", spexareId, typeId));
         }
     }
 
     public Optional<ToggleDto> update(final Long spexareId, final String typeId, final Long id, final Boolean value) {
-        if (doSpexareAndTypeExist(spexareId, typeId) && doesToggleExist(id)) {
-            return typeRepository
-                    .findById(typeId)
-                    .flatMap(type -> spexareRepository
-                            .findById(spexareId)
-                            .filter(spexare -> repository.exists(hasSpexare(spexare).and(hasType(type)).and(hasId(id))))
-                            .flatMap(spexare -> repository.findById(id))
-                            .filter(toggle -> toggle.getSpexare().getId().equals(spexareId))
+        final SpexarePathResolver.ResolvedPath path = pathResolver.spexare(spexareId).toggle(id).resolve();
+
+        if (path.allExist() && typeService.existsByIdAndType(typeId, TypeType.TOGGLE)) {
+            return path.isLinked() ?
+                    repository
+                            .findById(id)
+                            .filter(toggle -> toggle.getType().getId().equals(typeId))
                             .map(toggle -> {
                                 toggle.setValue(value);
                                 return repository.save(toggle);
                             })
-                            .map(TOGGLE_MAPPER::toDto)
-                    );
+                            .map(TOGGLE_MAPPER::toDto) :
+                    Optional.empty();
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s, type %s and/or toggle %s do not exist", spexareId, typeId, id));
         }
     }
 
+    /**
+     * Creates or updates the toggle of each type, validating every item before anything is written.
+     */
+    public BatchResultDto batch(final Long spexareId, final List<ToggleBatchItemDto> items) {
+        if (!pathResolver.spexare(spexareId).resolve().allExist()) {
+            throw new ResourceNotFoundException(String.format("Spexare %s does not exist", spexareId));
+        }
+
+        final Spexare spexare = spexareRepository.getReferenceById(spexareId);
+        final Set<String> typeIds = typeService.findExistingIds(items.stream().map(ToggleBatchItemDto::getTypeId).collect(Collectors.toSet()), TypeType.TOGGLE);
+        final Map<String, Toggle> existing = repository
+                .findAll(hasSpexare(spexare))
+                .stream()
+                .collect(Collectors.toMap(toggle -> toggle.getType().getId(), Function.identity()));
+        final Set<String> seen = new HashSet<>();
+        final List<BatchItemResultDto> results = new ArrayList<>();
+        final Map<Integer, Toggle> toSave = new LinkedHashMap<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            final ToggleBatchItemDto item = items.get(i);
+            final List<String> violations = violations(validator, item);
+
+            if (!violations.isEmpty()) {
+                results.add(BatchItemResultDto.of(i, null, HttpStatus.BAD_REQUEST, violations));
+            } else if (!typeIds.contains(item.getTypeId())) {
+                results.add(BatchItemResultDto.of(i, null, HttpStatus.NOT_FOUND));
+            } else if (!seen.add(item.getTypeId())) {
+                results.add(BatchItemResultDto.of(i, null, HttpStatus.CONFLICT));
+            } else {
+                final Toggle toggle = Optional.ofNullable(existing.get(item.getTypeId())).orElseGet(() -> {
+                    final Toggle created = new Toggle();
+                    created.setSpexare(spexare);
+                    created.setType(typeRepository.getReferenceById(item.getTypeId()));
+                    return created;
+                });
+
+                toggle.setValue(item.getValue());
+                toSave.put(i, toggle);
+            }
+        }
+
+        final List<Integer> indexes = List.copyOf(toSave.keySet());
+        final List<Boolean> creating = toSave.values().stream().map(toggle -> toggle.getId() == null).toList();
+        final List<Toggle> saved = repository.saveAll(toSave.values());
+
+        for (int i = 0; i < saved.size(); i++) {
+            results.add(BatchItemResultDto.of(indexes.get(i), saved.get(i).getId(), creating.get(i) ? HttpStatus.CREATED : HttpStatus.OK));
+        }
+
+        return new BatchResultDto(results);
+    }
+
     public boolean deleteById(final Long spexareId, final String typeId, final Long id) {
-        if (doSpexareAndTypeExist(spexareId, typeId) && doesToggleExist(id)) {
-            return typeRepository
-                    .findById(typeId)
-                    .map(type -> spexareRepository
-                            .findById(spexareId)
-                            .filter(spexare -> repository.exists(hasSpexare(spexare).and(hasType(type)).and(hasId(id))))
-                            .flatMap(spexare -> repository.findById(id))
-                            .filter(toggle -> toggle.getSpexare().getId().equals(spexareId))
+        final SpexarePathResolver.ResolvedPath path = pathResolver.spexare(spexareId).toggle(id).resolve();
+
+        if (path.allExist() && typeService.existsByIdAndType(typeId, TypeType.TOGGLE)) {
+            return path.isLinked() &&
+                    repository
+                            .findById(id)
+                            .filter(toggle -> toggle.getType().getId().equals(typeId))
                             .map(toggle -> {
-                                repository.deleteById(toggle.getId());
+                                repository.delete(toggle);
                                 return true;
                             })
-                            .orElse(false))
-                    .orElse(false);
+                            .orElse(false);
         } else {
             throw new ResourceNotFoundException(String.format("Spexare %s, type %s and/or toggle %s do not exist", spexareId, typeId, id));
         }
     }
 
-    private boolean doesSpexareExist(final Long id) {
-        return spexareRepository.existsById(id);
-    }
-
-    private boolean doesToggleExist(final Long id) {
-        return repository.existsById(id);
-    }
-
     private boolean doSpexareAndTypeExist(final Long spexareId, final String typeId) {
-        return doesSpexareExist(spexareId) && typeService.existsByIdAndType(typeId, TypeType.TOGGLE);
+        return pathResolver.spexare(spexareId).resolve().allExist() && typeService.existsByIdAndType(typeId, TypeType.TOGGLE);
     }
 
 }
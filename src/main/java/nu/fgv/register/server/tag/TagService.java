@@ -47,7 +47,7 @@ public class TagService {
     public Page<TagDto> find(final String filter, final Pageable pageable) {
         return hasText(filter) ?
                 repository
-                        .findAll(SpecificationsBuilder.<Tag>builder().build(FilterParser.parse(filter), TagSpecification::new), pageable, BasePermission.READ)
+                        .findAll(SpecificationsBuilder.<Tag>builder().build(FilterParser.parseTree(filter), TagSpecification::new), pageable, BasePermission.READ)
                         .map(TAG_MAPPER::toDto) :
                 repository
                         .findAll(pageable, BasePermission.READ)
@@ -10,6 +10,8 @@ import nu.fgv.register.server.event.EventService;
 import nu.fgv.register.server.task.category.TaskCategoryApi;
 import nu.fgv.register.server.task.category.TaskCategoryDto;
 import nu.fgv.register.server.util.Constants;
+import nu.fgv.register.server.util.EntityVersionService;
+import nu.fgv.register.server.util.LinkTemplate;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Pageable;
@@ -44,9 +46,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Optional;
 
+import static nu.fgv.register.server.util.ConditionalRequestUtil.evaluate;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import static org.springframework.util.StringUtils.hasText;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -54,21 +59,29 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/api/v1/tasks")
 public class TaskApi {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(ids -> methodOn(TaskApi.class).retrieve(ids[0]));
+    private static final LinkTemplate TASKS_LINK = LinkTemplate.of(ids -> methodOn(TaskApi.class).retrieve(Pageable.unpaged(), ""));
+    private static final LinkTemplate CATEGORY_LINK = LinkTemplate.of(ids -> methodOn(TaskApi.class).retrieveCategory(ids[0]));
+    private static final LinkTemplate EVENTS_LINK = LinkTemplate.of(ids -> methodOn(TaskApi.class).retrieveEvents(null));
+
     private final TaskService service;
     private final TaskExportService exportService;
     private final EventService eventService;
     private final PagedResourcesAssembler<TaskDto> pagedResourcesAssembler;
     private final TaskCategoryApi taskCategoryApi;
     private final EventApi eventApi;
+    private final EntityVersionService entityVersionService;
 
     @GetMapping(produces = MediaTypes.HAL_JSON_VALUE)
     @PreAuthorize("hasAnyRole('spexregister_ADMIN', 'spexregister_EDITOR', 'spexregister_USER')")
     public ResponseEntity<PagedModel<EntityModel<TaskDto>>> retrieve(@SortDefault(sort = Task_.NAME, direction = Sort.Direction.ASC) final Pageable pageable,
                                                                      @RequestParam(required = false, defaultValue = "") final String filter) {
-        final PagedModel<EntityModel<TaskDto>> paged = pagedResourcesAssembler.toModel(service.find(filter, pageable));
-        paged.getContent().forEach(this::addLinks);
+        return evaluate(hasText(filter) ? Optional.empty() : entityVersionService.findAll(Task.class), () -> {
+            final PagedModel<EntityModel<TaskDto>> paged = pagedResourcesAssembler.toModel(service.find(filter, pageable));
+            paged.getContent().forEach(this::addLinks);
 
-        return ResponseEntity.ok(paged);
+            return ResponseEntity.ok(paged);
+        });
     }
 
     @GetMapping(headers = {
@@ -108,11 +121,11 @@ public class TaskApi {
     @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
     @PreAuthorize("hasAnyRole('spexregister_ADMIN', 'spexregister_EDITOR', 'spexregister_USER')")
     public ResponseEntity<EntityModel<TaskDto>> retrieve(@PathVariable final Long id) {
-        return service
+        return evaluate(entityVersionService.findById(Task.class, id), () -> service
                 .findById(id)
                 .map(dto -> EntityModel.of(dto, getLinks(dto)))
                 .map(ResponseEntity::ok)
-                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND)));
     }
 
     @PutMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
@@ -221,11 +234,11 @@ public class TaskApi {
     public List<Link> getLinks(final TaskDto dto, final boolean includeEvents) {
         final List<Link> links = new ArrayList<>();
 
-        links.add(linkTo(methodOn(TaskApi.class).retrieve(dto.getId())).withSelfRel());
-        links.add(linkTo(methodOn(TaskApi.class).retrieve(Pageable.unpaged(), "")).withRel("tasks"));
-        links.add(linkTo(methodOn(TaskApi.class).retrieveCategory(dto.getId())).withRel("category"));
+        links.add(SELF_LINK.expand(dto.getId()).withSelfRel());
+        links.add(TASKS_LINK.expand().withRel("tasks"));
+        links.add(CATEGORY_LINK.expand(dto.getId()).withRel("category"));
         if (includeEvents) {
-            links.add(linkTo(methodOn(TaskApi.class).retrieveEvents(null)).withRel("events"));
+            links.add(EVENTS_LINK.expand().withRel("events"));
         }
 
         return links;
@@ -6,7 +6,9 @@ import nu.fgv.register.server.spex.category.SpexCategoryDto;
 import nu.fgv.register.server.spex.SpexCreateDto;
 import nu.fgv.register.server.task.category.TaskCategoryService;
 import nu.fgv.register.server.util.impex.importing.AbstractImportService;
+import nu.fgv.register.server.util.impex.importing.ChunkedImport;
 import nu.fgv.register.server.util.impex.importing.ExcelValidator;
+import nu.fgv.register.server.util.impex.importing.ImportRow;
 import nu.fgv.register.server.util.impex.model.ImportResultDto;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.springframework.context.MessageSource;
@@ -19,7 +21,7 @@ import java.util.stream.Stream;
 @Slf4j
 @RequiredArgsConstructor
 @Service
-public class TaskImportService extends AbstractImportService {
+public class TaskImportService extends AbstractImportService implements ChunkedImport<TaskCreateDto, TaskUpdateDto> {
 
     private final TaskService service;
     private final TaskCategoryService categoryService;
@@ -43,4 +45,45 @@ public class TaskImportService extends AbstractImportService {
         return ImportResultDto.builder().success(messages.isEmpty()).messages(messages).build();
     }
 
+    @Override
+    public Class<?> getSheetClass() {
+        return TaskDto.class;
+    }
+
+    @Override
+    public TaskCreateDto toCreateDto(final ImportRow row) {
+        return TaskCreateDto.builder()
+                .name(row.cell(1))
+                .build();
+    }
+
+    @Override
+    public TaskUpdateDto toUpdateDto(final Long id, final ImportRow row) {
+        return TaskUpdateDto.builder()
+                .id(id)
+                .name(row.cell(1))
+                .build();
+    }
+
+    @Override
+    public void create(final TaskCreateDto dto) {
+        service.create(dto);
+    }
+
+    @Override
+    public boolean update(final TaskUpdateDto dto) {
+        return service.update(dto).isPresent();
+    }
+
+    @Override
+    public boolean deleteById(final Long id) {
+        return service
+                .findById(id)
+                .map(dto -> {
+                    service.deleteById(id);
+                    return true;
+                })
+                .orElse(false);
+    }
+
 }
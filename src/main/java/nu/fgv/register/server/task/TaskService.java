@@ -4,6 +4,7 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nu.fgv.register.server.acl.PermissionService;
+import nu.fgv.register.server.settings.ReferenceDataService;
 import nu.fgv.register.server.task.category.TaskCategoryDto;
 import nu.fgv.register.server.task.category.TaskCategoryRepository;
 import nu.fgv.register.server.util.filter.FilterParser;
@@ -38,6 +39,7 @@ public class TaskService {
     private final TaskRepository repository;
     private final TaskCategoryRepository categoryRepository;
     private final PermissionService permissionService;
+    private final ReferenceDataService referenceDataService;
 
     @PreAuthorize("hasAnyRole('spexregister_ADMIN', 'spexregister_EDITOR', 'spexregister_USER')")
     public List<TaskDto> findAll(final Sort sort) {
@@ -52,7 +54,7 @@ public class TaskService {
     public Page<TaskDto> find(final String filter, final Pageable pageable) {
         return hasText(filter) ?
                 repository
-                        .findAll(SpecificationsBuilder.<Task>builder().build(FilterParser.parse(filter), TaskSpecification::new), pageable, BasePermission.READ)
+                        .findAll(SpecificationsBuilder.<Task>builder().build(FilterParser.parseTree(filter), TaskSpecification::new), pageable, BasePermission.READ)
                         .map(TASK_MAPPER::toDto) :
                 repository
                         .findAll(pageable, BasePermission.READ)
@@ -167,7 +169,7 @@ public class TaskService {
     }
 
     private boolean doTaskAndCategoryExist(final Long taskId, final Long categoryId) {
-        return doesTaskExist(taskId) && categoryRepository.existsById(categoryId);
+        return doesTaskExist(taskId) && referenceDataService.getSnapshot().hasTaskCategory(categoryId);
     }
 
 }
@@ -8,6 +8,8 @@ import nu.fgv.register.server.event.EventApi;
 import nu.fgv.register.server.event.EventDto;
 import nu.fgv.register.server.event.EventService;
 import nu.fgv.register.server.util.Constants;
+import nu.fgv.register.server.util.EntityVersionService;
+import nu.fgv.register.server.util.LinkTemplate;
 import nu.fgv.register.server.util.impex.model.ImportResultDto;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
@@ -46,9 +48,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Optional;
 
+import static nu.fgv.register.server.util.ConditionalRequestUtil.evaluate;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import static org.springframework.util.StringUtils.hasText;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -56,21 +61,28 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/api/v1/tasks/categories")
 public class TaskCategoryApi {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(ids -> methodOn(TaskCategoryApi.class).retrieve(ids[0]));
+    private static final LinkTemplate TASK_CATEGORIES_LINK = LinkTemplate.of(ids -> methodOn(TaskCategoryApi.class).retrieve(Pageable.unpaged(), null));
+    private static final LinkTemplate EVENTS_LINK = LinkTemplate.of(ids -> methodOn(TaskCategoryApi.class).retrieveEvents(null));
+
     private final TaskCategoryService service;
     private final TaskCategoryExportService exportService;
     private final TaskCategoryImportService importService;
     private final EventService eventService;
     private final PagedResourcesAssembler<TaskCategoryDto> pagedResourcesAssembler;
     private final EventApi eventApi;
+    private final EntityVersionService entityVersionService;
 
     @GetMapping(produces = MediaTypes.HAL_JSON_VALUE)
     @PreAuthorize("hasAnyRole('spexregister_ADMIN', 'spexregister_EDITOR', 'spexregister_USER')")
     public ResponseEntity<PagedModel<EntityModel<TaskCategoryDto>>> retrieve(@SortDefault(sort = TaskCategory_.NAME, direction = Sort.Direction.ASC) final Pageable pageable,
                                                                              @RequestParam(required = false, defaultValue = "") final String filter) {
-        final PagedModel<EntityModel<TaskCategoryDto>> paged = pagedResourcesAssembler.toModel(service.find(filter, pageable));
-        paged.getContent().forEach(this::addLinks);
+        return evaluate(hasText(filter) ? Optional.empty() : entityVersionService.findAll(TaskCategory.class), () -> {
+            final PagedModel<EntityModel<TaskCategoryDto>> paged = pagedResourcesAssembler.toModel(service.find(filter, pageable));
+            paged.getContent().forEach(this::addLinks);
 
-        return ResponseEntity.ok(paged);
+            return ResponseEntity.ok(paged);
+        });
     }
 
     @GetMapping(headers = {
@@ -110,11 +122,11 @@ public class TaskCategoryApi {
     @GetMapping(value = "/{id}", produces = MediaTypes.HAL_JSON_VALUE)
     @PreAuthorize("hasAnyRole('spexregister_ADMIN', 'spexregister_EDITOR', 'spexregister_USER')")
     public ResponseEntity<EntityModel<TaskCategoryDto>> retrieve(@PathVariable final Long id) {
-        return service
+        return evaluate(entityVersionService.findById(TaskCategory.class, id), () -> service
                 .findById(id)
                 .map(dto -> EntityModel.of(dto, getLinks(dto)))
                 .map(ResponseEntity::ok)
-                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND)));
     }
 
     @RequestMapping(method = {RequestMethod.POST, RequestMethod.PUT},
@@ -211,9 +223,9 @@ public class TaskCategoryApi {
     public List<Link> getLinks(final TaskCategoryDto dto) {
         final List<Link> links = new ArrayList<>();
 
-        links.add(linkTo(methodOn(TaskCategoryApi.class).retrieve(dto.getId())).withSelfRel());
-        links.add(linkTo(methodOn(TaskCategoryApi.class).retrieve(Pageable.unpaged(), null)).withRel("task-categories"));
-        links.add(linkTo(methodOn(TaskCategoryApi.class).retrieveEvents(null)).withRel("events"));
+        links.add(SELF_LINK.expand(dto.getId()).withSelfRel());
+        links.add(TASK_CATEGORIES_LINK.expand().withRel("task-categories"));
+        links.add(EVENTS_LINK.expand().withRel("events"));
 
         return links;
     }
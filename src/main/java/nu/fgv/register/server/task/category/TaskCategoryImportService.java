@@ -3,7 +3,9 @@ package nu.fgv.register.server.task.category;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nu.fgv.register.server.util.impex.importing.AbstractImportService;
+import nu.fgv.register.server.util.impex.importing.ChunkedImport;
 import nu.fgv.register.server.util.impex.importing.ExcelValidator;
+import nu.fgv.register.server.util.impex.importing.ImportRow;
 import nu.fgv.register.server.util.impex.model.ImportResultDto;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.springframework.context.MessageSource;
@@ -14,7 +16,7 @@ import java.util.Locale;
 @Slf4j
 @RequiredArgsConstructor
 @Service
-public class TaskCategoryImportService extends AbstractImportService {
+public class TaskCategoryImportService extends AbstractImportService implements ChunkedImport<TaskCategoryCreateDto, TaskCategoryUpdateDto> {
 
     private final TaskCategoryService service;
     private final MessageSource messageSource;
@@ -30,4 +32,47 @@ public class TaskCategoryImportService extends AbstractImportService {
         return validator.validateSheet(messageSource, locale, workbook, TaskCategoryDto.class, TaskCategoryCreateDto.class, TaskCategoryUpdateDto.class, id -> service.findById(id).isPresent());
     }
 
+    @Override
+    public Class<?> getSheetClass() {
+        return TaskCategoryDto.class;
+    }
+
+    @Override
+    public TaskCategoryCreateDto toCreateDto(final ImportRow row) {
+        return TaskCategoryCreateDto.builder()
+                .name(row.cell(1))
+                .hasActor(row.booleanCell(2))
+                .build();
+    }
+
+    @Override
+    public TaskCategoryUpdateDto toUpdateDto(final Long id, final ImportRow row) {
+        return TaskCategoryUpdateDto.builder()
+                .id(id)
+                .name(row.cell(1))
+                .hasActor(row.booleanCell(2))
+                .build();
+    }
+
+    @Override
+    public void create(final TaskCategoryCreateDto dto) {
+        service.create(dto);
+    }
+
+    @Override
+    public boolean update(final TaskCategoryUpdateDto dto) {
+        return service.update(dto).isPresent();
+    }
+
+    @Override
+    public boolean deleteById(final Long id) {
+        return service
+                .findById(id)
+                .map(dto -> {
+                    service.deleteById(id);
+                    return true;
+                })
+                .orElse(false);
+    }
+
 }
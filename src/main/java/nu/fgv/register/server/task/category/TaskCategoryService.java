@@ -47,7 +47,7 @@ public class TaskCategoryService {
     public Page<TaskCategoryDto> find(final String filter, final Pageable pageable) {
         return hasText(filter) ?
                 repository
-                        .findAll(SpecificationsBuilder.<TaskCategory>builder().build(FilterParser.parse(filter), TaskCategorySpecification::new), pageable, BasePermission.READ)
+                        .findAll(SpecificationsBuilder.<TaskCategory>builder().build(FilterParser.parseTree(filter), TaskCategorySpecification::new), pageable, BasePermission.READ)
                         .map(TASK_CATEGORY_MAPPER::toDto) :
                 repository
                         .findAll(pageable, BasePermission.READ)
@@ -13,6 +13,7 @@ import nu.fgv.register.server.user.authority.AuthorityApi;
 import nu.fgv.register.server.user.authority.AuthorityDto;
 import nu.fgv.register.server.user.state.StateApi;
 import nu.fgv.register.server.user.state.StateDto;
+import nu.fgv.register.server.util.LinkTemplate;
 import nu.fgv.register.server.util.ResourceAlreadyExistsException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -56,6 +57,13 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 @RequestMapping("/api/v1/users")
 public class UserApi {
 
+    private static final LinkTemplate SELF_LINK = LinkTemplate.of(ids -> methodOn(UserApi.class).retrieve(ids[0]));
+    private static final LinkTemplate USERS_LINK = LinkTemplate.of(ids -> methodOn(UserApi.class).retrieve(Pageable.unpaged(), ""));
+    private static final LinkTemplate SPEXARE_LINK = LinkTemplate.of(ids -> methodOn(UserApi.class).retrieveSpexare(ids[0]));
+    private static final LinkTemplate STATE_LINK = LinkTemplate.of(ids -> methodOn(UserApi.class).retrieveState(ids[0]));
+    private static final LinkTemplate AUTHORITIES_LINK = LinkTemplate.of(ids -> methodOn(UserApi.class).retrieveAuthorities(ids[0]));
+    private static final LinkTemplate EVENTS_LINK = LinkTemplate.of(ids -> methodOn(UserApi.class).retrieveEvents(null));
+
     private final UserService service;
     private final EventService eventService;
     private final PagedResourcesAssembler<UserDto> pagedResourcesAssembler;
@@ -302,12 +310,12 @@ public class UserApi {
     public List<Link> getLinks(final UserDto dto) {
         final List<Link> links = new ArrayList<>();
 
-        links.add(linkTo(methodOn(UserApi.class).retrieve(dto.getId())).withSelfRel());
-        links.add(linkTo(methodOn(UserApi.class).retrieve(Pageable.unpaged(), "")).withRel("users"));
-        links.add(linkTo(methodOn(UserApi.class).retrieveSpexare(dto.getId())).withRel("spexare"));
-        links.add(linkTo(methodOn(UserApi.class).retrieveState(dto.getId())).withRel("state"));
-        links.add(linkTo(methodOn(UserApi.class).retrieveAuthorities(dto.getId())).withRel("authorities"));
-        links.add(linkTo(methodOn(UserApi.class).retrieveEvents(null)).withRel("events"));
+        links.add(SELF_LINK.expand(dto.getId()).withSelfRel());
+        links.add(USERS_LINK.expand().withRel("users"));
+        links.add(SPEXARE_LINK.expand(dto.getId()).withRel("spexare"));
+        links.add(STATE_LINK.expand(dto.getId()).withRel("state"));
+        links.add(AUTHORITIES_LINK.expand(dto.getId()).withRel("authorities"));
+        links.add(EVENTS_LINK.expand().withRel("events"));
 
         return links;
     }
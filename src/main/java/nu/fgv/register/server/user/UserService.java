@@ -5,6 +5,7 @@ import jakarta.ws.rs.core.Response;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nu.fgv.register.server.acl.PermissionService;
+import nu.fgv.register.server.settings.ReferenceDataService;
 import nu.fgv.register.server.spexare.SpexareDto;
 import nu.fgv.register.server.spexare.SpexareRepository;
 import nu.fgv.register.server.user.authority.AuthorityDto;
@@ -58,6 +59,7 @@ public class UserService {
     private final UserRepository repository;
     private final AuthorityRepository authorityRepository;
     private final StateRepository stateRepository;
+    private final ReferenceDataService referenceDataService;
     private final SpexareRepository spexareRepository;
     private final PermissionService permissionService;
     private final AuthorityService authorityService;
@@ -70,7 +72,7 @@ public class UserService {
     public Page<UserDto> find(final String filter, final Pageable pageable) {
         return hasText(filter) ?
                 repository
-                        .findAll(SpecificationsBuilder.<User>builder().build(FilterParser.parse(filter), UserSpecification::new), pageable, BasePermission.READ)
+                        .findAll(SpecificationsBuilder.<User>builder().build(FilterParser.parseTree(filter), UserSpecification::new), pageable, BasePermission.READ)
                         .map(this::joinModelWithRepresentation) :
                 repository
                         .findAll(pageable, BasePermission.READ)
@@ -398,11 +400,11 @@ public class UserService {
     }
 
     private boolean doUserAndAuthoritiesExist(final Long userId, final List<String> authorityIds) {
-        return doesUserExist(userId) && authorityIds.stream().allMatch(authorityRepository::existsById);
+        return doesUserExist(userId) && authorityIds.stream().allMatch(referenceDataService.getSnapshot()::hasAuthority);
     }
 
     private boolean doUserAndStateExist(final Long userId, final String stateId) {
-        return doesUserExist(userId) && stateRepository.existsById(stateId);
+        return doesUserExist(userId) && referenceDataService.getSnapshot().hasState(stateId);
     }
 
     private boolean doUserAndSpexareExist(final Long userId, final Long spexareId) {
@@ -0,0 +1,51 @@
+package nu.fgv.register.server.util;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+@Getter
+@Builder
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResultDto {
+
+    @JsonProperty("operation")
+    private String operation;
+
+    @JsonProperty("index")
+    private int index;
+
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("status")
+    private int status;
+
+    @JsonProperty("messages")
+    private List<String> messages;
+
+    public static BatchItemResultDto of(final String operation, final int index, final Long id, final HttpStatus status, final List<String> messages) {
+        return BatchItemResultDto.builder()
+                .operation(operation)
+                .index(index)
+                .id(id)
+                .status(status.value())
+                .messages(messages.isEmpty() ? null : messages)
+                .build();
+    }
+
+    public static BatchItemResultDto of(final int index, final Long id, final HttpStatus status, final List<String> messages) {
+        return of(null, index, id, status, messages);
+    }
+
+    public static BatchItemResultDto of(final int index, final Long id, final HttpStatus status) {
+        return of(null, index, id, status, List.of());
+    }
+
+}
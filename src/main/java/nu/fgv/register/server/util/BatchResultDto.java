@@ -0,0 +1,32 @@
+package nu.fgv.register.server.util;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.http.HttpStatus;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Getter
+@ToString
+public class BatchResultDto {
+
+    @JsonProperty("succeeded")
+    private final int succeeded;
+
+    @JsonProperty("failed")
+    private final int failed;
+
+    @JsonProperty("results")
+    private final List<BatchItemResultDto> results;
+
+    public BatchResultDto(final List<BatchItemResultDto> results) {
+        this.results = results.stream()
+                .sorted(Comparator.comparing(BatchItemResultDto::getOperation, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparingInt(BatchItemResultDto::getIndex))
+                .toList();
+        this.succeeded = (int) results.stream().filter(r -> HttpStatus.valueOf(r.getStatus()).is2xxSuccessful()).count();
+        this.failed = results.size() - succeeded;
+    }
+}
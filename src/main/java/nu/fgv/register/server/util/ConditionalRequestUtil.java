@@ -0,0 +1,71 @@
+package nu.fgv.register.server.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public class ConditionalRequestUtil {
+
+    private ConditionalRequestUtil() {
+    }
+
+    /**
+     * Answers 304 when the request's If-None-Match/If-Modified-Since matches the given version, without invoking
+     * the supplier. Otherwise, the supplied response is decorated with the ETag and Last-Modified of the version.
+     * If-Modified-Since is only answered for versions with a modification time. Without a version the supplied
+     * response is returned as is, leaving the shallow ETag filter as a fallback.
+     */
+    public static <T> ResponseEntity<T> evaluate(final Optional<EntityVersion> version, final Supplier<ResponseEntity<T>> supplier) {
+        if (version.isEmpty() || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return supplier.get();
+        }
+        final HttpServletRequest request = attributes.getRequest();
+        final String eTag = toETag(version.get(), request);
+        final long lastModified = version.get().lastModified() != null ? version.get().lastModified().toEpochMilli() : -1;
+
+        if (new ServletWebRequest(request).checkNotModified(eTag, lastModified)) {
+            return decorate(ResponseEntity.status(HttpStatus.NOT_MODIFIED), eTag, lastModified).build();
+        }
+
+        final ResponseEntity<T> response = supplier.get();
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+        return decorate(ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders()), eTag, lastModified)
+                .body(response.getBody());
+    }
+
+    private static String toETag(final EntityVersion version, final HttpServletRequest request) {
+        // The caller, its roles and the full request URL (host, paging and sorting) shape the representation as well
+        final String principal = Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
+                .map(authentication -> authentication.getName() + authentication.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .sorted()
+                        .toList())
+                .orElse("");
+        final String url = ServletUriComponentsBuilder.fromRequest(request).toUriString();
+        final String fingerprint = String.join("|", version.fingerprint(), principal, url);
+
+        return "W/\"" + DigestUtils.md5DigestAsHex(fingerprint.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static ResponseEntity.BodyBuilder decorate(final ResponseEntity.BodyBuilder builder, final String eTag, final long lastModified) {
+        builder.eTag(eTag);
+        if (lastModified >= 0) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+}
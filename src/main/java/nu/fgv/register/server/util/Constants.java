@@ -1,6 +1,9 @@
 package nu.fgv.register.server.util;
 
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.util.List;
 
 public class Constants {
 
@@ -20,5 +23,64 @@ public class Constants {
 
         public static final MediaType APPLICATION_XLS = MediaType.parseMediaType(APPLICATION_XLS_VALUE);
 
+        public static final String TEXT_CSV_VALUE = "text/csv";
+
+        public static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
+        public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+        public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+
+    }
+
+    /**
+     * Pooled id generation backed by the {@code id_generator} table, used instead of identity columns where rows are
+     * inserted in bulk since identity generation prevents JDBC insert batching.
+     */
+    public static class IdGenerator {
+
+        private IdGenerator() {
+        }
+
+        public static final String TABLE = "id_generator";
+
+        public static final String NAME_COLUMN = "name";
+
+        public static final String VALUE_COLUMN = "next_val";
+
+        public static final int ALLOCATION_SIZE = 50;
+
+        /**
+         * The tables using the pooled generator, each with a generator of the same name.
+         */
+        public static final List<String> TABLES = List.of(
+                "spexare",
+                "activity",
+                "spex_activity",
+                "task_activity",
+                "actor",
+                "address",
+                "consent",
+                "membership",
+                "toggle",
+                "task_category",
+                "task"
+        );
+
+        /**
+         * Moves the pooled generators past rows inserted with explicit ids or through the identity columns, e.g. sample
+         * data or a generated dataset.
+         */
+        public static void reset(final JdbcClient jdbcClient) {
+            TABLES.forEach(table ->
+                    jdbcClient
+                            .sql("UPDATE %s SET %s = (SELECT COALESCE(MAX(id), 0) + :allocationSize FROM %s) WHERE %s = :name"
+                                    .formatted(TABLE, VALUE_COLUMN, table, NAME_COLUMN))
+                            .param("allocationSize", ALLOCATION_SIZE)
+                            .param("name", table)
+                            .update()
+            );
+        }
+
     }
 }
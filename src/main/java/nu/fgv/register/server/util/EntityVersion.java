@@ -0,0 +1,6 @@
+package nu.fgv.register.server.util;
+
+import java.time.Instant;
+
+public record EntityVersion(String fingerprint, Instant lastModified) {
+}
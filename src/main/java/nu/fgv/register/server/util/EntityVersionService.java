@@ -0,0 +1,95 @@
+package nu.fgv.register.server.util;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nu.fgv.register.server.acl.AclJpaRepository;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+@Transactional
+public class EntityVersionService {
+
+    private static final String ACL_VERSION_SQL = """
+            SELECT COUNT(e.id), COALESCE(MAX(e.id), 0)
+            FROM acl_entry e
+            JOIN acl_object_identity o ON o.id = e.acl_object_identity
+            JOIN acl_class c ON c.id = o.object_id_class
+            WHERE c.class = :class""";
+
+    private final EntityManager entityManager;
+    private final PermissionEvaluator permissionEvaluator;
+    private final ListableBeanFactory beanFactory;
+    private volatile Set<Class<?>> aclProtectedTypes;
+
+    /**
+     * The version of an entity, which is only disclosed to callers permitted to read it. Otherwise, nothing is returned
+     * and the request falls through to the secured lookup, which answers it as for any other request.
+     */
+    public Optional<EntityVersion> findById(final Class<? extends AbstractAuditable> type, final Serializable id) {
+        if (isAclProtected(type) && !permissionEvaluator.hasPermission(SecurityContextHolder.getContext().getAuthentication(), id, type.getName(), BasePermission.READ)) {
+            return Optional.empty();
+        }
+
+        final String entityName = entityManager.getMetamodel().entity(type).getName();
+
+        return entityManager
+                .createQuery(String.format("SELECT COALESCE(e.lastModifiedAt, e.createdAt) FROM %s e WHERE e.id = :id", entityName), Instant.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst()
+                .map(lastModified -> new EntityVersion(String.format("%s:%s:%s", entityName, id, lastModified.toEpochMilli()), lastModified));
+    }
+
+    /**
+     * The version of a collection, which changes with the rows as well as with the permissions deciding which of them
+     * are visible. It has no modification time since a revoked permission leaves none behind, so only If-None-Match is
+     * answered for collections.
+     */
+    public Optional<EntityVersion> findAll(final Class<? extends AbstractAuditable> type) {
+        final String entityName = entityManager.getMetamodel().entity(type).getName();
+        final Object[] result = entityManager
+                .createQuery(String.format("SELECT COUNT(e), MAX(COALESCE(e.lastModifiedAt, e.createdAt)) FROM %s e", entityName), Object[].class)
+                .getSingleResult();
+        final Object[] acl = (Object[]) entityManager
+                .createNativeQuery(ACL_VERSION_SQL)
+                .setParameter("class", type.getName())
+                .getSingleResult();
+        final Instant lastModified = (Instant) result[1];
+
+        // The counts make deletes and revokes, which leave no modification timestamp behind, change the version too
+        return Optional.of(new EntityVersion(
+                String.format("%s:%s:%s:%s:%s", entityName, result[0], lastModified != null ? lastModified.toEpochMilli() : 0, acl[0], acl[1]),
+                null
+        ));
+    }
+
+    private boolean isAclProtected(final Class<?> type) {
+        if (aclProtectedTypes == null) {
+            // Resolved on first use, since the repositories are not all created yet while this service is
+            final Repositories repositories = new Repositories(beanFactory);
+
+            aclProtectedTypes = StreamSupport.stream(repositories.spliterator(), false)
+                    .filter(domainType -> repositories.getRepositoryInformationFor(domainType)
+                            .map(information -> AclJpaRepository.class.isAssignableFrom(information.getRepositoryInterface()))
+                            .orElse(false))
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+        return aclProtectedTypes.contains(type);
+    }
+}
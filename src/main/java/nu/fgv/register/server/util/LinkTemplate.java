@@ -0,0 +1,137 @@
+package nu.fgv.register.server.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.hateoas.Link;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/**
+ * A link to a controller method, resolved through {@code linkTo(methodOn(...))} once and then expanded by plain string
+ * concatenation. The invocation is recorded with sentinel ids, which are located in the resulting href and turned into
+ * parameter slots, while the base URI is resolved once per request.
+ */
+public final class LinkTemplate {
+
+    private static final int MAX_PARAMETERS = 4;
+    static final String BASE_URI_ATTRIBUTE = LinkTemplate.class.getName() + ".BASE_URI";
+    private static final Long[] SENTINELS = new Long[MAX_PARAMETERS];
+
+    static {
+        for (int i = 0; i < MAX_PARAMETERS; i++) {
+            SENTINELS[i] = Long.MAX_VALUE - i;
+        }
+    }
+
+    private final Function<Long[], Object> invocation;
+    private volatile Compiled compiled;
+    private volatile String uncacheableBaseUri;
+
+    private LinkTemplate(final Function<Long[], Object> invocation) {
+        this.invocation = invocation;
+    }
+
+    /**
+     * @param invocation records the controller method call, e.g. {@code ids -> methodOn(Api.class).retrieve(ids[0])},
+     *                   using at most four ids
+     */
+    public static LinkTemplate of(final Function<Long[], Object> invocation) {
+        return new LinkTemplate(invocation);
+    }
+
+    public Link expand(final Long... ids) {
+        final HttpServletRequest request = currentRequest();
+
+        if (request == null) {
+            return linkTo(invocation.apply(ids)).withSelfRel();
+        }
+
+        final String baseUri = baseUri(request);
+        Compiled current = compiled;
+
+        if (current == null) {
+            // Only the base URI that could not be compiled is remembered, so that other requests still get to compile
+            current = baseUri.equals(uncacheableBaseUri) ? null : compile(baseUri);
+
+            if (current == null) {
+                uncacheableBaseUri = baseUri;
+                return linkTo(invocation.apply(ids)).withSelfRel();
+            }
+            compiled = current;
+        }
+        return Link.of(current.expand(baseUri, ids));
+    }
+
+    /**
+     * @return the compiled template, or {@code null} if the link is not resolved below the base URI
+     */
+    private Compiled compile(final String baseUri) {
+        final String href = linkTo(invocation.apply(SENTINELS.clone())).withSelfRel().getHref();
+
+        if (!href.startsWith(baseUri)) {
+            return null;
+        }
+
+        final String relative = href.substring(baseUri.length());
+        final List<String> literals = new ArrayList<>();
+        final List<Integer> slots = new ArrayList<>();
+        int position = 0;
+
+        while (true) {
+            int next = -1;
+            int slot = -1;
+
+            for (int i = 0; i < MAX_PARAMETERS; i++) {
+                final int index = relative.indexOf(SENTINELS[i].toString(), position);
+
+                if (index >= 0 && (next < 0 || index < next)) {
+                    next = index;
+                    slot = i;
+                }
+            }
+            if (next < 0) {
+                literals.add(relative.substring(position));
+                break;
+            }
+            literals.add(relative.substring(position, next));
+            slots.add(slot);
+            position = next + SENTINELS[slot].toString().length();
+        }
+
+        return new Compiled(literals.toArray(String[]::new), slots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static HttpServletRequest currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes ?
+                attributes.getRequest() :
+                null;
+    }
+
+    private static String baseUri(final HttpServletRequest request) {
+        String baseUri = (String) request.getAttribute(BASE_URI_ATTRIBUTE);
+
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+            request.setAttribute(BASE_URI_ATTRIBUTE, baseUri);
+        }
+        return baseUri;
+    }
+
+    private record Compiled(String[] literals, int[] slots) {
+
+        String expand(final String baseUri, final Long[] ids) {
+            final StringBuilder sb = new StringBuilder(baseUri);
+
+            for (int i = 0; i < slots.length; i++) {
+                sb.append(literals[i]).append(ids[slots[i]]);
+            }
+            return sb.append(literals[slots.length]).toString();
+        }
+    }
+}
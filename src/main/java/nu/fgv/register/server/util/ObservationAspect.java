@@ -0,0 +1,162 @@
+package nu.fgv.register.server.util;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import java.lang.reflect.Array;
+import java.time.Duration;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Observes every service and api method, which gives a latency timer per method tagged with the outcome. Calls slower
+ * than the threshold are logged. Arguments are only rendered when logged, and then without calling {@code toString()}
+ * on anything but simple values since that may walk a large object graph.
+ */
+@Aspect
+public class ObservationAspect {
+
+    public static final String OBSERVATION_NAME = "spexregister.method";
+
+    static final int MAX_ARGUMENT_LENGTH = 100;
+
+    private final ObservationRegistry observationRegistry;
+    private final Environment env;
+    private final long slowCallThresholdNanos;
+
+    public ObservationAspect(final ObservationRegistry observationRegistry, final Environment env, final Duration slowCallThreshold) {
+        this.observationRegistry = observationRegistry;
+        this.env = env;
+        this.slowCallThresholdNanos = slowCallThreshold.toNanos();
+    }
+
+    @Pointcut(
+        "within(@org.springframework.stereotype.Repository *)" +
+        " || within(@org.springframework.stereotype.Service *)" +
+        " || within(@org.springframework.web.bind.annotation.RestController *)"
+    )
+    public void springBeanPointcut() {
+    }
+
+    @Pointcut(
+        "within(nu.fgv.register..*Service)" + " || within(nu.fgv.register..*Api)"
+    )
+    public void applicationPackagePointcut() {
+    }
+
+    private Logger logger(final JoinPoint joinPoint) {
+        return LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringTypeName());
+    }
+
+    @Around("applicationPackagePointcut() && springBeanPointcut()")
+    public Object observe(final ProceedingJoinPoint joinPoint) throws Throwable {
+        final Logger log = logger(joinPoint);
+        final Observation observation = Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+                .lowCardinalityKeyValue("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                .lowCardinalityKeyValue("method", joinPoint.getSignature().getName())
+                .start();
+        final long start = System.nanoTime();
+
+        if (log.isDebugEnabled()) {
+            log.debug("Enter: {}() with argument[s] = {}", joinPoint.getSignature().getName(), new Arguments(joinPoint.getArgs()));
+        }
+        try (final Observation.Scope ignored = observation.openScope()) {
+            final Object result = joinPoint.proceed();
+
+            if (log.isDebugEnabled()) {
+                log.debug("Exit: {}() with result = {}", joinPoint.getSignature().getName(), new Arguments(new Object[]{result}));
+            }
+            return result;
+        } catch (final Throwable e) {
+            observation.error(e);
+            logThrowing(log, joinPoint, e);
+            throw e;
+        } finally {
+            observation.stop();
+
+            final long elapsed = System.nanoTime() - start;
+
+            if (elapsed > slowCallThresholdNanos && log.isWarnEnabled()) {
+                log.warn("Slow call: {}() took {} ms with argument[s] = {}", joinPoint.getSignature().getName(), elapsed / 1_000_000, new Arguments(joinPoint.getArgs()));
+            }
+        }
+    }
+
+    private void logThrowing(final Logger log, final JoinPoint joinPoint, final Throwable e) {
+        if (!log.isErrorEnabled()) {
+            return;
+        }
+        if (e instanceof IllegalArgumentException) {
+            log.error("Illegal argument: {} in {}()", new Arguments(joinPoint.getArgs()), joinPoint.getSignature().getName());
+        } else if (env.acceptsProfiles(Profiles.of("local"))) {
+            log.error(
+                "Exception in {}() with cause = '{}' and exception = '{}'",
+                joinPoint.getSignature().getName(),
+                e.getCause() != null ? e.getCause() : "NULL",
+                e.getMessage(),
+                e
+            );
+        } else {
+            log.error(
+                "Exception in {}() with cause = {}",
+                joinPoint.getSignature().getName(),
+                e.getCause() != null ? e.getCause() : "NULL"
+            );
+        }
+    }
+
+    /**
+     * Renders the arguments when logged. Simple values are rendered truncated, collections by their size and anything
+     * else by its type only.
+     */
+    record Arguments(Object[] args) {
+
+        @Override
+        public String toString() {
+            if (args == null) {
+                return "[]";
+            }
+
+            final StringBuilder builder = new StringBuilder("[");
+
+            for (int i = 0; i < args.length; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(render(args[i]));
+            }
+            return builder.append(']').toString();
+        }
+
+        private static String render(final Object arg) {
+            if (arg == null) {
+                return "null";
+            }
+            if (arg instanceof CharSequence || arg instanceof Number || arg instanceof Boolean || arg instanceof Enum<?> || arg instanceof TemporalAccessor) {
+                final String value = arg.toString();
+
+                return value.length() > MAX_ARGUMENT_LENGTH ? value.substring(0, MAX_ARGUMENT_LENGTH) + "..." : value;
+            }
+            if (arg instanceof Collection<?> collection) {
+                return arg.getClass().getSimpleName() + "[size=" + collection.size() + "]";
+            }
+            if (arg instanceof Map<?, ?> map) {
+                return arg.getClass().getSimpleName() + "[size=" + map.size() + "]";
+            }
+            if (arg.getClass().isArray()) {
+                return arg.getClass().getComponentType().getSimpleName() + "[length=" + Array.getLength(arg) + "]";
+            }
+            return arg.getClass().getSimpleName();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package nu.fgv.register.server.util;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.List;
+
+public class ValidationUtil {
+
+    private ValidationUtil() {
+    }
+
+    /**
+     * Validates an object outside of a request, e.g. an item of a batch, and returns its violation messages in a stable
+     * order.
+     */
+    public static List<String> violations(final Validator validator, final Object object) {
+        return validator.validate(object).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+    }
+}
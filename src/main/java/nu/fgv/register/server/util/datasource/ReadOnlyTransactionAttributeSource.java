@@ -0,0 +1,57 @@
+package nu.fgv.register.server.util.datasource;
+
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.interceptor.DelegatingTransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.util.PatternMatchUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Services are annotated with {@link jakarta.transaction.Transactional}, which cannot express read-only, so methods
+ * whose names match any of the given patterns (e.g. {@code find*}) are given read-only transactions instead. This
+ * lets Hibernate skip dirty checking and flushing, and lets the routing data source send them to the replica. Only
+ * transactions that are started by such a method are read-only, one joining an existing transaction is not.
+ */
+public class ReadOnlyTransactionAttributeSource implements TransactionAttributeSource {
+
+    private final TransactionAttributeSource delegate;
+    private final String basePackage;
+    private final String[] readOnlyMethods;
+
+    public ReadOnlyTransactionAttributeSource(final TransactionAttributeSource delegate, final String basePackage, final List<String> readOnlyMethods) {
+        this.delegate = delegate;
+        this.basePackage = basePackage;
+        this.readOnlyMethods = readOnlyMethods.toArray(String[]::new);
+    }
+
+    @Override
+    public boolean isCandidateClass(final Class<?> targetClass) {
+        return delegate.isCandidateClass(targetClass);
+    }
+
+    @Override
+    @Nullable
+    public TransactionAttribute getTransactionAttribute(final Method method, @Nullable final Class<?> targetClass) {
+        final TransactionAttribute attribute = delegate.getTransactionAttribute(method, targetClass);
+
+        if (attribute == null || attribute.isReadOnly() || !isReadOnly(method, targetClass)) {
+            return attribute;
+        }
+
+        return new DelegatingTransactionAttribute(attribute) {
+            @Override
+            public boolean isReadOnly() {
+                return true;
+            }
+        };
+    }
+
+    private boolean isReadOnly(final Method method, @Nullable final Class<?> targetClass) {
+        final Class<?> clazz = targetClass != null ? targetClass : method.getDeclaringClass();
+
+        return clazz.getName().startsWith(basePackage) && PatternMatchUtils.simpleMatch(readOnlyMethods, method.getName());
+    }
+}
@@ -0,0 +1,35 @@
+package nu.fgv.register.server.util.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Routes read-only transactions to the replica as long as it is not lagging behind, everything else to the primary.
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so that the
+ * connection is not fetched until the transaction has been marked read-only.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicationLagGuard replicationLagGuard;
+
+    public ReadWriteRoutingDataSource(final DataSource primary, final DataSource replica, final ReplicationLagGuard replicationLagGuard) {
+        this.replicationLagGuard = replicationLagGuard;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicationLagGuard.isReplicaUsable() ?
+                Route.REPLICA :
+                Route.PRIMARY;
+    }
+}
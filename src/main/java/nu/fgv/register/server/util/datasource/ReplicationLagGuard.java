@@ -0,0 +1,88 @@
+package nu.fgv.register.server.util.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Periodically asks the replica how far behind the primary it is. The replica is only used while the lag is within
+ * bounds, if it is too far behind, has stopped replicating or cannot be reached, reads fall back to the primary until
+ * it has caught up. A replica that reports no replication status at all (e.g. a standalone instance in tests) is
+ * considered up to date.
+ */
+@Slf4j
+public class ReplicationLagGuard {
+
+    public static final String LAG_METRIC = "spexregister.datasource.replica.lag";
+    public static final String USABLE_METRIC = "spexregister.datasource.replica.usable";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final long maxLagSeconds;
+    private volatile boolean usable;
+    private volatile long lagSeconds = -1;
+
+    public ReplicationLagGuard(final DataSource replica,
+                               final String lagQuery,
+                               final String lagColumn,
+                               final Duration maxLag,
+                               final MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        this.maxLagSeconds = maxLag.toSeconds();
+
+        Gauge.builder(LAG_METRIC, this, guard -> guard.lagSeconds)
+                .description("Seconds the replica is behind the primary, -1 if unknown")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder(USABLE_METRIC, this, guard -> guard.usable ? 1 : 0)
+                .description("Whether read-only transactions are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    public void check() {
+        final boolean wasUsable = usable;
+
+        try {
+            final List<Long> lags = jdbcTemplate.query(lagQuery, (rs, rowNum) -> {
+                final long lag = rs.getLong(lagColumn);
+
+                return rs.wasNull() ? null : lag;
+            });
+
+            if (lags.stream().anyMatch(Objects::isNull)) {
+                // Replication is configured but not running
+                lagSeconds = -1;
+                usable = false;
+            } else {
+                lagSeconds = lags.stream().mapToLong(Long::longValue).max().orElse(0);
+                usable = lagSeconds <= maxLagSeconds;
+            }
+        } catch (final DataAccessException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Could not determine replication lag", e);
+            }
+            lagSeconds = -1;
+            usable = false;
+        }
+
+        if (wasUsable && !usable && log.isWarnEnabled()) {
+            log.warn("Replica not usable (lag: {} s, max: {} s), routing reads to the primary", lagSeconds, maxLagSeconds);
+        } else if (!wasUsable && usable && log.isInfoEnabled()) {
+            log.info("Replica usable (lag: {} s), routing reads to the replica", lagSeconds);
+        }
+    }
+}
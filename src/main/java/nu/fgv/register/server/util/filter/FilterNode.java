@@ -0,0 +1,54 @@
+package nu.fgv.register.server.util.filter;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public sealed interface FilterNode permits FilterNode.Criterion, FilterNode.And, FilterNode.Or {
+
+    <T> Specification<T> toSpecification(Function<FilterCriteria, Specification<T>> converter);
+
+    void forEachCriteria(Consumer<FilterCriteria> consumer);
+
+    record Criterion(FilterCriteria criteria) implements FilterNode {
+
+        @Override
+        public <T> Specification<T> toSpecification(final Function<FilterCriteria, Specification<T>> converter) {
+            return converter.apply(criteria);
+        }
+
+        @Override
+        public void forEachCriteria(final Consumer<FilterCriteria> consumer) {
+            consumer.accept(criteria);
+        }
+    }
+
+    record And(FilterNode left, FilterNode right) implements FilterNode {
+
+        @Override
+        public <T> Specification<T> toSpecification(final Function<FilterCriteria, Specification<T>> converter) {
+            return Specification.where(left.toSpecification(converter)).and(right.toSpecification(converter));
+        }
+
+        @Override
+        public void forEachCriteria(final Consumer<FilterCriteria> consumer) {
+            left.forEachCriteria(consumer);
+            right.forEachCriteria(consumer);
+        }
+    }
+
+    record Or(FilterNode left, FilterNode right) implements FilterNode {
+
+        @Override
+        public <T> Specification<T> toSpecification(final Function<FilterCriteria, Specification<T>> converter) {
+            return Specification.where(left.toSpecification(converter)).or(right.toSpecification(converter));
+        }
+
+        @Override
+        public void forEachCriteria(final Consumer<FilterCriteria> consumer) {
+            left.forEachCriteria(consumer);
+            right.forEachCriteria(consumer);
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package nu.fgv.register.server.util.filter;
 
 import com.google.common.base.Joiner;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Deque;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -14,6 +19,12 @@ import static org.springframework.util.StringUtils.hasText;
 public class FilterParser {
     private static final Map<String, Operator> OPERATIONS;
 
+    private static final int PARSED_FILTER_CACHE_SIZE = 1000;
+
+    private static final Cache<String, Optional<FilterNode>> PARSED_FILTERS = CacheBuilder.newBuilder()
+            .maximumSize(PARSED_FILTER_CACHE_SIZE)
+            .build();
+
     private static final Pattern SPECIFICATION_CRITERIA_PATTERN = Pattern.compile("^(\\w+?)(" + Joiner.on("|").join(FilterOperation.SIMPLE_OPERATION_SET) + ")(\\p{Punct}?)(\\w+?)(\\p{Punct}?)$");
 
     static {
@@ -64,6 +75,32 @@ public class FilterParser {
         }
     }
 
+    public static FilterNode parseTree(final String filter) {
+        if (!hasText(filter)) {
+            return null;
+        }
+        return PARSED_FILTERS.asMap().computeIfAbsent(filter, f -> toTree(parse(f))).orElse(null);
+    }
+
+    private static Optional<FilterNode> toTree(final Deque<?> postFixedExpressionStack) {
+        final Deque<FilterNode> nodes = new ArrayDeque<>();
+        final Iterator<?> iterator = postFixedExpressionStack.descendingIterator();
+
+        while (iterator.hasNext()) {
+            final Object mayBeOperand = iterator.next();
+
+            if (mayBeOperand instanceof FilterCriteria criteria) {
+                nodes.push(new FilterNode.Criterion(criteria));
+            } else if (FilterOperation.AND_OPERATOR.equals(mayBeOperand) || FilterOperation.OR_OPERATOR.equals(mayBeOperand)) {
+                final FilterNode right = nodes.pop();
+                final FilterNode left = nodes.pop();
+
+                nodes.push(FilterOperation.AND_OPERATOR.equals(mayBeOperand) ? new FilterNode.And(left, right) : new FilterNode.Or(left, right));
+            }
+        }
+        return Optional.ofNullable(nodes.peek());
+    }
+
     private enum Operator {
         OR(1),
         AND(2);
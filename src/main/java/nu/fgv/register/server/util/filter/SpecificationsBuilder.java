@@ -93,4 +93,8 @@ public class SpecificationsBuilder<T> {
         return !specificationStack.isEmpty() ? specificationStack.pop() : null;
     }
 
+    public Specification<T> build(final FilterNode filter, final Function<FilterCriteria, Specification<T>> converter) {
+        return filter != null ? filter.toSpecification(converter) : null;
+    }
+
 }
@@ -0,0 +1,89 @@
+package nu.fgv.register.server.util.impex.exporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nu.fgv.register.server.util.Constants;
+import org.springframework.context.MessageSource;
+import org.springframework.data.util.Pair;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Adds CSV and JSON Lines to the Excel formats. These are written row by row as the rows are read from the database,
+ * so an export never holds more than a single row in memory.
+ */
+public abstract class AbstractStreamingExportService<T> extends AbstractExportService {
+
+    public static boolean isStreamingType(final String type) {
+        return Constants.MediaTypes.TEXT_CSV_VALUE.equals(type) || Constants.MediaTypes.APPLICATION_NDJSON_VALUE.equals(type);
+    }
+
+    public static String extensionOf(final String type) {
+        return switch (type) {
+            case Constants.MediaTypes.TEXT_CSV_VALUE -> ".csv";
+            case Constants.MediaTypes.APPLICATION_NDJSON_VALUE -> ".ndjson";
+            default -> throw new IllegalArgumentException("Unrecognized type");
+        };
+    }
+
+    @Override
+    public Pair<String, byte[]> doExport(final List<Long> ids, final String type, final Locale locale) throws IOException {
+        if (!isStreamingType(type)) {
+            return super.doExport(ids, type, locale);
+        }
+
+        final var outputStream = new ByteArrayOutputStream();
+        doExport(ids, type, locale, outputStream);
+        return Pair.of(extensionOf(type), outputStream.toByteArray());
+    }
+
+    public void doExport(final List<Long> ids, final String type, final Locale locale, final OutputStream outputStream) throws IOException {
+        if (!isStreamingType(type)) {
+            throw new IllegalArgumentException("Unrecognized type");
+        }
+
+        final boolean csv = Constants.MediaTypes.TEXT_CSV_VALUE.equals(type);
+        final FlatExportWriter writer = new FlatExportWriter(getDtoClass(), getMessageSource(), locale, getObjectMapper());
+        final Writer out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        try {
+            if (csv) {
+                writer.writeCsvHeader(out);
+            }
+            stream(ids, dto -> {
+                try {
+                    if (csv) {
+                        writer.writeCsvRow(out, dto);
+                    } else {
+                        writer.writeJsonLine(out, dto);
+                    }
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    protected abstract Class<T> getDtoClass();
+
+    protected abstract MessageSource getMessageSource();
+
+    protected abstract ObjectMapper getObjectMapper();
+
+    /**
+     * Passes the rows to the consumer as they are read, all rows if no ids are given.
+     */
+    protected abstract void stream(final List<Long> ids, final Consumer<T> consumer);
+}
@@ -0,0 +1,119 @@
+package nu.fgv.register.server.util.impex.exporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import nu.fgv.register.server.util.impex.model.ExcelCell;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.springframework.context.MessageSource;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static nu.fgv.register.server.util.StringUtil.parseCamelCase;
+import static nu.fgv.register.server.util.impex.util.ImpexUtil.determinePosition;
+import static nu.fgv.register.server.util.impex.util.ImpexUtil.determinePositionBeforeAuditableFields;
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * Writes rows as CSV or JSON Lines, using the same {@link ExcelCell} columns and order as {@link ExcelWriter} but
+ * without building a workbook, so that rows can be written as they are read.
+ */
+@Slf4j
+public class FlatExportWriter {
+
+    private static final SpelExpressionParser PARSER = new SpelExpressionParser();
+    private static final String CSV_LINE_SEPARATOR = "\r\n";
+
+    private final List<Column> columns;
+    private final ObjectMapper objectMapper;
+
+    public FlatExportWriter(final Class<?> clazz, final MessageSource messageSource, final Locale locale, final ObjectMapper objectMapper) {
+        final List<Field> annotatedFields = Arrays.stream(FieldUtils.getAllFields(clazz))
+                .filter(field -> {
+                    field.setAccessible(true); // NOSONAR
+                    return field.isAnnotationPresent(ExcelCell.class);
+                }).toList();
+        final int maxPosition = determinePositionBeforeAuditableFields(annotatedFields);
+
+        this.columns = annotatedFields.stream()
+                .map(field -> {
+                    final ExcelCell excelCell = field.getAnnotation(ExcelCell.class);
+                    final String header = excelCell.header();
+
+                    return new Column(
+                            field,
+                            determinePosition(field, maxPosition),
+                            hasText(header) ? messageSource.getMessage(header, null, header, locale) : parseCamelCase(field.getName()),
+                            hasText(excelCell.transform()) ? PARSER.parseRaw(excelCell.transform()) : null
+                    );
+                })
+                .sorted(Comparator.comparingInt(Column::position))
+                .toList();
+        this.objectMapper = objectMapper;
+    }
+
+    public void writeCsvHeader(final Writer writer) throws IOException {
+        writeCsvLine(writer, columns.stream().map(Column::header).toList());
+    }
+
+    public void writeCsvRow(final Writer writer, final Object value) throws IOException {
+        writeCsvLine(writer, columns.stream()
+                .map(column -> column.read(value))
+                .map(v -> v == null ? "" : v.toString())
+                .toList());
+    }
+
+    public void writeJsonLine(final Writer writer, final Object value) throws IOException {
+        final Map<String, Object> line = new LinkedHashMap<>();
+
+        columns.forEach(column -> line.put(column.field().getName(), column.read(value)));
+        writer.write(objectMapper.writeValueAsString(line));
+        writer.write('\n');
+    }
+
+    private static void writeCsvLine(final Writer writer, final List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write(CSV_LINE_SEPARATOR);
+    }
+
+    static String escapeCsv(final String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * @param transform the parsed {@link ExcelCell#transform()}, parsed once rather than for every row
+     */
+    private record Column(Field field, int position, String header, Expression transform) {
+
+        Object read(final Object value) {
+            try {
+                final Object fieldValue = field.get(value);
+
+                return transform != null && fieldValue != null ? transform.getValue(fieldValue) : fieldValue;
+            } catch (final Exception e) {
+                if (log.isWarnEnabled()) {
+                    log.warn("Could not read field {}", field.getName(), e);
+                }
+                return null;
+            }
+        }
+    }
+
+}
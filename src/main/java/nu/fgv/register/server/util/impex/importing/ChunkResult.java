@@ -0,0 +1,26 @@
+package nu.fgv.register.server.util.impex.importing;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public record ChunkResult(int lastRow, int created, int updated, int deleted, int failed, List<String> messages) {
+
+    static ChunkResult empty(final int lastRow) {
+        return new ChunkResult(lastRow, 0, 0, 0, 0, List.of());
+    }
+
+    static ChunkResult failed(final int lastRow, final String message) {
+        return new ChunkResult(lastRow, 0, 0, 0, 1, List.of(message));
+    }
+
+    ChunkResult plus(final ChunkResult other) {
+        return new ChunkResult(
+                Math.max(lastRow, other.lastRow),
+                created + other.created,
+                updated + other.updated,
+                deleted + other.deleted,
+                failed + other.failed,
+                Stream.concat(messages.stream(), other.messages.stream()).toList()
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package nu.fgv.register.server.util.impex.importing;
+
+/**
+ * An entity that can be imported by the {@link ChunkedImportExecutor}. The primary key cell of each row decides what
+ * is done with it: a value ending with N creates, a value ending with D deletes and any other value updates.
+ *
+ * @param <C> the create DTO
+ * @param <U> the update DTO
+ */
+public interface ChunkedImport<C, U> {
+
+    /**
+     * @return the DTO class the sheet was exported from, used to resolve the sheet name
+     */
+    Class<?> getSheetClass();
+
+    default int getPrimaryKeyPosition() {
+        return 0;
+    }
+
+    C toCreateDto(ImportRow row);
+
+    U toUpdateDto(Long id, ImportRow row);
+
+    void create(C dto);
+
+    /**
+     * @return whether the entry existed
+     */
+    boolean update(U dto);
+
+    /**
+     * @return whether the entry existed
+     */
+    boolean deleteById(Long id);
+}
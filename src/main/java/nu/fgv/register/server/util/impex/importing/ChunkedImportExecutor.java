@@ -0,0 +1,146 @@
+package nu.fgv.register.server.util.impex.importing;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import static nu.fgv.register.server.util.impex.util.ImpexUtil.determineSheetName;
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * Streams a sheet and applies its rows in chunks, each chunk in a transaction of its own. The listener is invoked
+ * within the same transaction as the rows it reports, so recorded progress always matches what has been committed and
+ * an import can be resumed from the last reported row. A chunk that fails is retried row by row, so that a single bad
+ * row only fails itself.
+ * <p>
+ * The statements of a chunk are batched by Hibernate when flushed on commit, see {@code hibernate.jdbc.batch_size}.
+ * Inserts are only batched for entities taking their keys from the pooled id generator, such as spexare and tasks, since
+ * an insert into an identity column has to return its key. Updates and deletes are batched regardless.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ChunkedImportExecutor {
+
+    private final PlatformTransactionManager transactionManager;
+    private final Validator validator;
+    private final MessageSource messageSource;
+
+    /**
+     * @param fromRow the last row already imported, rows up to and including it are skipped
+     * @return whether the sheet was found
+     */
+    public <C, U> boolean execute(final Path file,
+                                  final ChunkedImport<C, U> chunkedImport,
+                                  final Locale locale,
+                                  final int chunkSize,
+                                  final int fromRow,
+                                  final Consumer<ChunkResult> listener) throws IOException {
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        final List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Row 0 holds the headers
+        final boolean found = StreamingSheetReader.read(file, determineSheetName(messageSource, locale, chunkedImport.getSheetClass()), row -> {
+            if (row.rowNum() > Math.max(fromRow, 0)) {
+                chunk.add(row);
+
+                if (chunk.size() == chunkSize) {
+                    applyChunk(transactionTemplate, chunkedImport, locale, chunk, listener);
+                    chunk.clear();
+                }
+            }
+        });
+
+        if (!chunk.isEmpty()) {
+            applyChunk(transactionTemplate, chunkedImport, locale, chunk, listener);
+        }
+        return found;
+    }
+
+    private <C, U> void applyChunk(final TransactionTemplate transactionTemplate,
+                                   final ChunkedImport<C, U> chunkedImport,
+                                   final Locale locale,
+                                   final List<ImportRow> rows,
+                                   final Consumer<ChunkResult> listener) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> listener.accept(rows.stream()
+                    .map(row -> applyRow(chunkedImport, locale, row))
+                    .reduce(ChunkResult.empty(0), ChunkResult::plus)));
+        } catch (final RuntimeException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("Could not import rows {} to {}, retrying row by row", rows.getFirst().rowNum(), rows.getLast().rowNum(), e);
+            }
+            rows.forEach(row -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> listener.accept(applyRow(chunkedImport, locale, row)));
+                } catch (final RuntimeException rowException) {
+                    transactionTemplate.executeWithoutResult(status -> listener.accept(ChunkResult.failed(row.rowNum(), message(locale, row, rowException.getMessage()))));
+                }
+            });
+        }
+    }
+
+    private <C, U> ChunkResult applyRow(final ChunkedImport<C, U> chunkedImport, final Locale locale, final ImportRow row) {
+        final String primaryKey = row.cell(chunkedImport.getPrimaryKeyPosition());
+        final String normalized = hasText(primaryKey) ? primaryKey.trim().toLowerCase(Locale.ROOT) : "";
+
+        try {
+            if (normalized.isEmpty() || normalized.endsWith("n")) {
+                final C dto = chunkedImport.toCreateDto(row);
+                final List<String> violations = validate(locale, row, dto);
+
+                if (!violations.isEmpty()) {
+                    return new ChunkResult(row.rowNum(), 0, 0, 0, 1, violations);
+                }
+                chunkedImport.create(dto);
+                return new ChunkResult(row.rowNum(), 1, 0, 0, 0, List.of());
+            } else if (normalized.endsWith("d")) {
+                return chunkedImport.deleteById(Long.valueOf(normalized.substring(0, normalized.length() - 1))) ?
+                        new ChunkResult(row.rowNum(), 0, 0, 1, 0, List.of()) :
+                        doesNotExist(locale, row);
+            } else {
+                final U dto = chunkedImport.toUpdateDto(Long.valueOf(normalized), row);
+                final List<String> violations = validate(locale, row, dto);
+
+                if (!violations.isEmpty()) {
+                    return new ChunkResult(row.rowNum(), 0, 0, 0, 1, violations);
+                }
+                return chunkedImport.update(dto) ?
+                        new ChunkResult(row.rowNum(), 0, 1, 0, 0, List.of()) :
+                        doesNotExist(locale, row);
+            }
+        } catch (final NumberFormatException e) {
+            return ChunkResult.failed(row.rowNum(), message(locale, row, e.getMessage()));
+        }
+    }
+
+    private ChunkResult doesNotExist(final Locale locale, final ImportRow row) {
+        return ChunkResult.failed(row.rowNum(), messageSource.getMessage("import.validation.entryDoesNotExist", new Object[]{row.rowNum()}, locale));
+    }
+
+    private List<String> validate(final Locale locale, final ImportRow row, final Object dto) {
+        return validator.validate(dto).stream()
+                .map(ConstraintViolation::getMessage)
+                .map(violation -> message(locale, row, violation))
+                .toList();
+    }
+
+    private String message(final Locale locale, final ImportRow row, final String message) {
+        return messageSource.getMessage("import.row.failed", new Object[]{row.rowNum(), message}, locale);
+    }
+}
@@ -3,7 +3,6 @@ package nu.fgv.register.server.util.impex.importing;
 
 import nu.fgv.register.server.util.impex.model.ExcelCell;
 import nu.fgv.register.server.util.impex.model.ExcelImportCell;
-import nu.fgv.register.server.util.impex.model.ExcelSheet;
 import nu.fgv.register.server.util.impex.model.ImportResultDto;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.apache.poi.ss.usermodel.Cell;
@@ -25,6 +24,7 @@ import java.util.function.UnaryOperator;
 import static nu.fgv.register.server.util.StringUtil.parseCamelCase;
 import static nu.fgv.register.server.util.impex.util.ImpexUtil.determinePosition;
 import static nu.fgv.register.server.util.impex.util.ImpexUtil.determinePositionBeforeAuditableFields;
+import static nu.fgv.register.server.util.impex.util.ImpexUtil.determineSheetName;
 import static nu.fgv.register.server.util.impex.util.ImpexUtil.isMarkedForCreation;
 import static nu.fgv.register.server.util.impex.util.ImpexUtil.isMarkedForUpdate;
 import static org.springframework.util.StringUtils.hasText;
@@ -94,12 +94,8 @@ public class ExcelValidator {
 
         if (hasText(sheetContainer.getOverrideSheetName())) {
             sheetName = sheetContainer.getOverrideSheetName();
-        } else if (clazz.isAnnotationPresent(ExcelSheet.class)) {
-            final String name = clazz.getAnnotation(ExcelSheet.class).name();
-
-            sheetName = workbookContainer.getMessageSource().getMessage(name, null, name, workbookContainer.getLocale());
         } else {
-            sheetName = parseCamelCase(clazz.getSimpleName());
+            sheetName = determineSheetName(workbookContainer.getMessageSource(), workbookContainer.getLocale(), clazz);
         }
 
         final int sheetIndex = workbookContainer.getWorkbook().getSheetIndex(sheetName);
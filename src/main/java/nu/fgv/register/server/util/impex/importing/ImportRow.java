@@ -0,0 +1,27 @@
+package nu.fgv.register.server.util.impex.importing;
+
+import java.util.List;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * A row read from a sheet, with the formatted value of each cell by column index.
+ */
+public record ImportRow(int rowNum, List<String> cells) {
+
+    public String cell(final int position) {
+        return position < cells.size() ? cells.get(position) : null;
+    }
+
+    public Long longCell(final int position) {
+        final String value = cell(position);
+
+        return hasText(value) ? Long.valueOf(value.trim()) : null;
+    }
+
+    public boolean booleanCell(final int position) {
+        final String value = cell(position);
+
+        return hasText(value) && (Boolean.parseBoolean(value.trim()) || "1".equals(value.trim()));
+    }
+}
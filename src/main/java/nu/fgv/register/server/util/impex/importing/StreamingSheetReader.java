@@ -0,0 +1,94 @@
+package nu.fgv.register.server.util.impex.importing;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads a sheet of an XLSX file row by row through the SAX event API, so that only the shared strings table and the
+ * current row are held in memory regardless of the size of the sheet.
+ */
+public class StreamingSheetReader {
+
+    private StreamingSheetReader() {
+    }
+
+    /**
+     * @return whether the sheet was found
+     */
+    public static boolean read(final Path file, final String sheetName, final Consumer<ImportRow> consumer) throws IOException {
+        try (final OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            final ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            final XSSFReader reader = new XSSFReader(pkg);
+            final XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+
+            while (sheets.hasNext()) {
+                try (final InputStream stream = sheets.next()) {
+                    if (sheets.getSheetName().equals(sheetName)) {
+                        final XMLReader parser = XMLHelper.newXMLReader();
+
+                        parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null, strings, new RowCollector(consumer), new DataFormatter(), false));
+                        parser.parse(new InputSource(stream));
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } catch (final OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException(String.format("Could not read sheet %s", sheetName), e);
+        }
+    }
+
+    private static class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final Consumer<ImportRow> consumer;
+        private List<String> cells;
+        private int column;
+
+        RowCollector(final Consumer<ImportRow> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void startRow(final int rowNum) {
+            cells = new ArrayList<>();
+            column = -1;
+        }
+
+        @Override
+        public void endRow(final int rowNum) {
+            consumer.accept(new ImportRow(rowNum, Collections.unmodifiableList(cells)));
+        }
+
+        @Override
+        public void cell(final String cellReference, final String formattedValue, final XSSFComment comment) {
+            // Empty cells are not reported, so pad up to the referenced column
+            final int current = cellReference == null ? column + 1 : new CellReference(cellReference).getCol();
+
+            while (cells.size() < current) {
+                cells.add(null);
+            }
+            cells.add(formattedValue);
+            column = current;
+        }
+    }
+}
@@ -2,14 +2,19 @@ package nu.fgv.register.server.util.impex.util;
 
 import nu.fgv.register.server.util.AbstractAuditableDto;
 import nu.fgv.register.server.util.impex.model.ExcelCell;
+import nu.fgv.register.server.util.impex.model.ExcelSheet;
 import org.apache.poi.ss.usermodel.BorderStyle;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.IndexedColors;
+import org.springframework.context.MessageSource;
 
 import java.lang.reflect.Field;
 import java.util.List;
+import java.util.Locale;
+
+import static nu.fgv.register.server.util.StringUtil.parseCamelCase;
 
 public class ImpexUtil {
 
@@ -31,6 +36,15 @@ public class ImpexUtil {
         return excelCell.position() + (field.getDeclaringClass().equals(AbstractAuditableDto.class) ? maxPosition : 0);
     }
 
+    public static String determineSheetName(final MessageSource messageSource, final Locale locale, final Class<?> clazz) {
+        if (clazz.isAnnotationPresent(ExcelSheet.class)) {
+            final String name = clazz.getAnnotation(ExcelSheet.class).name();
+
+            return messageSource.getMessage(name, null, name, locale);
+        }
+        return parseCamelCase(clazz.getSimpleName());
+    }
+
     public static boolean isMarkedForDeletion(final Cell cell) {
         return cell.getCellType() == CellType.STRING && cell.getStringCellValue().toLowerCase().endsWith("d");
     }
@@ -4,6 +4,7 @@ import net.datafaker.Faker;
 import nu.fgv.register.server.settings.Type;
 import nu.fgv.register.server.spex.category.SpexCategory;
 import nu.fgv.register.server.task.category.TaskCategory;
+import nu.fgv.register.server.util.Constants.IdGenerator;
 import org.apache.commons.lang3.tuple.Pair;
 import org.flywaydb.core.api.migration.BaseJavaMigration;
 import org.flywaydb.core.api.migration.Context;
@@ -65,6 +66,8 @@ public class R__InsertSampleData extends BaseJavaMigration {
             createSampleNews(jdbcClient);
             createSampleTags(jdbcClient);
             createSampleSpexare(jdbcClient);
+            // Sample data is inserted through the identity columns, so move the pooled generators past it
+            IdGenerator.reset(jdbcClient);
         }
     }
 
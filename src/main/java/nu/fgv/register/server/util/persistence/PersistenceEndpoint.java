@@ -0,0 +1,105 @@
+package nu.fgv.register.server.util.persistence;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exposes Hibernate and Lucene index statistics on {@code /actuator/persistence}. Statistics are enabled by posting
+ * {@code {"enabled": true}}, disabled by posting {@code {"enabled": false}} and reset by a delete.
+ */
+@RequiredArgsConstructor
+@Component
+@Endpoint(id = "persistence")
+public class PersistenceEndpoint {
+
+    private final PersistenceStatistics statistics;
+
+    @ReadOperation
+    public Map<String, Object> persistence() {
+        final Map<String, Object> persistence = new LinkedHashMap<>();
+
+        persistence.put("enabled", statistics.isEnabled());
+        if (statistics.isEnabled()) {
+            persistence.put("hibernate", hibernate(statistics.getHibernateStatistics()));
+            persistence.put("indexes", statistics.getIndexStatistics());
+        }
+        return persistence;
+    }
+
+    @WriteOperation
+    public Map<String, Object> toggle(final boolean enabled) {
+        statistics.setEnabled(enabled);
+        return persistence();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        statistics.clear();
+    }
+
+    private static Map<String, Object> hibernate(final Statistics hibernate) {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        final long queryPlanCacheHits = hibernate.getQueryPlanCacheHitCount();
+        final long queryPlanCacheMisses = hibernate.getQueryPlanCacheMissCount();
+
+        result.put("since", hibernate.getStartTime());
+        result.put("sessionsOpened", hibernate.getSessionOpenCount());
+        result.put("transactions", hibernate.getTransactionCount());
+        result.put("statementsPrepared", hibernate.getPrepareStatementCount());
+        result.put("queryPlanCache", Map.of(
+                "hits", queryPlanCacheHits,
+                "misses", queryPlanCacheMisses,
+                "hitRatio", queryPlanCacheHits + queryPlanCacheMisses == 0 ? 0d : (double) queryPlanCacheHits / (queryPlanCacheHits + queryPlanCacheMisses)
+        ));
+        result.put("queries", Map.of(
+                "executions", hibernate.getQueryExecutionCount(),
+                "maxTimeMs", hibernate.getQueryExecutionMaxTime(),
+                "slowest", String.valueOf(hibernate.getQueryExecutionMaxTimeQueryString())
+        ));
+        result.put("entities", Map.of(
+                "loads", hibernate.getEntityLoadCount(),
+                "fetches", hibernate.getEntityFetchCount(),
+                "inserts", hibernate.getEntityInsertCount(),
+                "updates", hibernate.getEntityUpdateCount(),
+                "deletes", hibernate.getEntityDeleteCount()
+        ));
+        result.put("collections", Map.of(
+                "loads", hibernate.getCollectionLoadCount(),
+                "fetches", hibernate.getCollectionFetchCount()
+        ));
+        result.put("secondLevelCache", Map.of(
+                "hits", hibernate.getSecondLevelCacheHitCount(),
+                "misses", hibernate.getSecondLevelCacheMissCount(),
+                "puts", hibernate.getSecondLevelCachePutCount(),
+                "regions", regions(hibernate)
+        ));
+        return result;
+    }
+
+    private static List<Map<String, Object>> regions(final Statistics hibernate) {
+        return Arrays.stream(hibernate.getSecondLevelCacheRegionNames())
+                .map(name -> {
+                    final CacheRegionStatistics region = hibernate.getDomainDataRegionStatistics(name);
+                    final Map<String, Object> result = new LinkedHashMap<>();
+
+                    result.put("name", name);
+                    result.put("hits", region.getHitCount());
+                    result.put("misses", region.getMissCount());
+                    result.put("puts", region.getPutCount());
+                    result.put("elements", region.getElementCountInMemory());
+                    return result;
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,132 @@
+package nu.fgv.register.server.util.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.index.SegmentCommitInfo;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.hibernate.SessionFactory;
+import org.hibernate.search.backend.lucene.index.LuceneIndexManager;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.entity.SearchIndexedEntity;
+import org.hibernate.stat.HibernateMetrics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Hibernate session factory statistics and Lucene index statistics. Both are only collected while statistics are
+ * enabled, which can be toggled at runtime since collecting them adds overhead to every session.
+ */
+@Slf4j
+@Component
+public class PersistenceStatistics {
+
+    private static final String ENTITY_MANAGER_FACTORY_NAME = "entityManagerFactory";
+    private static final String HIBERNATE_METER = "hibernate.sessions.open";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Path indexRoot;
+
+    public PersistenceStatistics(final EntityManagerFactory entityManagerFactory,
+                                 final ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${spring.jpa.properties.hibernate.search.backend.directory.root:./.index}") final String indexRoot) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+        this.indexRoot = Path.of(indexRoot);
+    }
+
+    public Statistics getHibernateStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public boolean isEnabled() {
+        return getHibernateStatistics().isStatisticsEnabled();
+    }
+
+    public void setEnabled(final boolean enabled) {
+        getHibernateStatistics().setStatisticsEnabled(enabled);
+        if (enabled) {
+            bindHibernateMetrics();
+        }
+        if (log.isInfoEnabled()) {
+            log.info("Persistence statistics {}", enabled ? "enabled" : "disabled");
+        }
+    }
+
+    public void clear() {
+        getHibernateStatistics().clear();
+    }
+
+    public List<IndexStatistics> getIndexStatistics() {
+        return Search.mapping(entityManagerFactory)
+                .allIndexedEntities()
+                .stream()
+                .map(this::toIndexStatistics)
+                .toList();
+    }
+
+    public List<String> getIndexNames() {
+        return Search.mapping(entityManagerFactory)
+                .allIndexedEntities()
+                .stream()
+                .map(indexedEntity -> indexedEntity.indexManager().descriptor().hibernateSearchName())
+                .toList();
+    }
+
+    public Optional<IndexStatistics> getIndexStatistics(final String indexName) {
+        return Search.mapping(entityManagerFactory)
+                .allIndexedEntities()
+                .stream()
+                .filter(indexedEntity -> indexedEntity.indexManager().descriptor().hibernateSearchName().equals(indexName))
+                .findFirst()
+                .map(this::toIndexStatistics);
+    }
+
+    private void bindHibernateMetrics() {
+        // Spring Boot only binds the hibernate.* meters when statistics are enabled on startup
+        meterRegistry.ifAvailable(registry -> {
+            if (registry.find(HIBERNATE_METER).meter() == null) {
+                new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), ENTITY_MANAGER_FACTORY_NAME, Tags.empty()).bindTo(registry);
+            }
+        });
+    }
+
+    private IndexStatistics toIndexStatistics(final SearchIndexedEntity<?> indexedEntity) {
+        final String indexName = indexedEntity.indexManager().descriptor().hibernateSearchName();
+        final long sizeInBytes = indexedEntity.indexManager().unwrap(LuceneIndexManager.class).computeSizeInBytes();
+        final Path path = indexRoot.resolve(indexName);
+
+        // Only the last commit is read, so documents not yet committed are not counted
+        if (Files.isDirectory(path)) {
+            try (final Directory directory = FSDirectory.open(path)) {
+                final SegmentInfos segmentInfos = SegmentInfos.readLatestCommit(directory);
+                int documents = 0;
+
+                for (final SegmentCommitInfo segment : segmentInfos) {
+                    documents += segment.info.maxDoc() - segment.getDelCount();
+                }
+                return new IndexStatistics(indexedEntity.name(), indexName, sizeInBytes, segmentInfos.size(), documents);
+            } catch (final IOException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Could not read segments of index {}", indexName, e);
+                }
+            }
+        }
+        return new IndexStatistics(indexedEntity.name(), indexName, sizeInBytes, null, null);
+    }
+
+    public record IndexStatistics(String entity, String index, long sizeInBytes, Integer segments, Integer documents) {
+    }
+}
@@ -0,0 +1,43 @@
+package nu.fgv.register.server.util.persistence;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Lucene index size, segment and document gauges per index. They read nothing while statistics are disabled. Hibernate
+ * session factory metrics are bound through hibernate-micrometer, by Spring Boot if statistics are enabled on startup and
+ * otherwise by {@link PersistenceStatistics} once they are enabled.
+ */
+@RequiredArgsConstructor
+@Component
+public class SearchIndexMetrics implements MeterBinder {
+
+    private final PersistenceStatistics statistics;
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        statistics.getIndexNames().forEach(index -> {
+            gauge(registry, "spexregister.search.index.size", "bytes", index, PersistenceStatistics.IndexStatistics::sizeInBytes);
+            gauge(registry, "spexregister.search.index.segments", null, index, s -> s.segments() != null ? s.segments() : Double.NaN);
+            gauge(registry, "spexregister.search.index.documents", null, index, s -> s.documents() != null ? s.documents() : Double.NaN);
+        });
+    }
+
+    private void gauge(final MeterRegistry registry,
+                       final String name,
+                       final String baseUnit,
+                       final String index,
+                       final ToDoubleFunction<PersistenceStatistics.IndexStatistics> value) {
+        Gauge.builder(name, statistics, s -> s.isEnabled() ? s.getIndexStatistics(index)
+                        .map(value::applyAsDouble)
+                        .orElse(Double.NaN) : Double.NaN)
+                .tag("index", index)
+                .baseUnit(baseUnit)
+                .register(registry);
+    }
+}
@@ -7,6 +7,7 @@ import org.hibernate.search.engine.search.sort.dsl.CompositeSortComponentsStep;
 import org.hibernate.search.engine.search.sort.dsl.SearchSortFactory;
 import org.hibernate.search.engine.search.sort.dsl.SortOrder;
 import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.session.SearchSession;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
 import org.springframework.data.domain.Pageable;
@@ -20,6 +21,7 @@ import java.lang.reflect.Field;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -42,7 +44,11 @@ public abstract class AbstractSearchEnabledJpaRepository<T, ID extends Serializa
 
     @Override
     public SearchResult<T> search(final String query, final Pageable pageable) {
-        return getSearchResult(Search.session(entityManager), parseQuery(query), pageable);
+        return getSearchResult(getSearchSession(), parseQuery(query), pageable);
+    }
+
+    protected SearchSession getSearchSession() {
+        return Search.session(entityManager);
     }
 
     protected SearchQuery parseQuery(final String query) {
@@ -88,8 +94,9 @@ public abstract class AbstractSearchEnabledJpaRepository<T, ID extends Serializa
                         if (field.isAnnotationPresent(GenericField.class)) {
                             return field.getAnnotation(GenericField.class).sortable().equals(Sortable.YES);
                         }
-                        if (field.isAnnotationPresent(KeywordField.class)) {
-                            return field.getAnnotation(KeywordField.class).sortable().equals(Sortable.YES);
+                        if (field.getAnnotationsByType(KeywordField.class).length > 0) {
+                            return Arrays.stream(field.getAnnotationsByType(KeywordField.class))
+                                    .anyMatch(keywordField -> keywordField.sortable().equals(Sortable.YES));
                         }
                         return false;
                     } catch (final IllegalStateException e) {
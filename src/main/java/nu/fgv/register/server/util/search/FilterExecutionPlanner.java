@@ -0,0 +1,89 @@
+package nu.fgv.register.server.util.search;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import nu.fgv.register.server.admin.IndexingService;
+import nu.fgv.register.server.util.filter.FilterCriteria;
+import nu.fgv.register.server.util.filter.FilterNode;
+import nu.fgv.register.server.util.filter.FilterOperation;
+import org.hibernate.search.engine.search.query.SearchResult;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class FilterExecutionPlanner {
+
+    private static final Set<FilterOperation> INDEXED_OPERATIONS = Set.of(FilterOperation.CONTAINS, FilterOperation.ENDS_WITH);
+
+    private final EntityManager entityManager;
+    private final IndexingService indexingService;
+    private final Map<Class<?>, Set<String>> normalizedFields = new ConcurrentHashMap<>();
+    @Value("${spexregister.search.filter-planner.max-ids:2000}")
+    private int maxIds;
+
+    public <T> Specification<T> plan(final Class<T> clazz, final FilterNode filter, final Function<FilterCriteria, Specification<T>> converter) {
+        if (filter == null) {
+            return null;
+        }
+
+        final Set<String> fields = normalizedFields.computeIfAbsent(clazz, FilterExecutionPlanner::findNormalizedFields);
+
+        // An index built with an older mapping lacks the normalized fields until it has been rebuilt
+        if (fields.isEmpty() || !indexingService.isIndexCurrent()) {
+            return filter.toSpecification(converter);
+        }
+        return filter.toSpecification(criteria -> {
+            if (INDEXED_OPERATIONS.contains(criteria.getOperation()) && fields.contains(criteria.getKey())) {
+                final List<Object> ids = searchIds(clazz, criteria);
+
+                if (ids != null) {
+                    return (root, query, builder) -> ids.isEmpty() ? builder.disjunction() : root.get("id").in(ids);
+                }
+            }
+            return converter.apply(criteria);
+        });
+    }
+
+    private List<Object> searchIds(final Class<?> clazz, final FilterCriteria criteria) {
+        final String value = criteria.getValue().toString().toLowerCase(Locale.ROOT);
+        final String pattern = criteria.getOperation() == FilterOperation.CONTAINS ? "*" + value + "*" : "*" + value;
+        final SearchResult<Object> result = Search.session(entityManager)
+                .search(clazz)
+                .select(f -> f.id())
+                .where(f -> f.wildcard().field(criteria.getKey() + SearchAnalysisConfigurer.NORMALIZED_FIELD_SUFFIX).matching(pattern))
+                .fetch(maxIds + 1);
+
+        if (result.total().hitCountLowerBound() > maxIds) {
+            // Too unselective to be worth an IN list, let the database scan instead
+            if (log.isDebugEnabled()) {
+                log.debug("Filter on {} matches more than {} entities, falling back to database", criteria.getKey(), maxIds);
+            }
+            return null;
+        }
+        return result.hits();
+    }
+
+    private static Set<String> findNormalizedFields(final Class<?> clazz) {
+        return Arrays.stream(clazz.getDeclaredFields())
+                .filter(field -> Arrays.stream(field.getAnnotationsByType(KeywordField.class))
+                        .anyMatch(keywordField -> (field.getName() + SearchAnalysisConfigurer.NORMALIZED_FIELD_SUFFIX).equals(keywordField.name())))
+                .map(Field::getName)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
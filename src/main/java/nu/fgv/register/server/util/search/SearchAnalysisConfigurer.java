@@ -0,0 +1,34 @@
+package nu.fgv.register.server.util.search;
+
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.ngram.EdgeNGramFilterFactory;
+import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurationContext;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurer;
+
+public class SearchAnalysisConfigurer implements LuceneAnalysisConfigurer {
+
+    public static final String LOWERCASE_NORMALIZER = "lowercase";
+    public static final String NORMALIZED_FIELD_SUFFIX = "_normalized";
+    public static final String AUTOCOMPLETE_INDEXING_ANALYZER = "autocomplete_indexing";
+    public static final String AUTOCOMPLETE_SEARCH_ANALYZER = "autocomplete_search";
+    public static final String AUTOCOMPLETE_FIELD_SUFFIX = "_autocomplete";
+
+    @Override
+    public void configure(final LuceneAnalysisConfigurationContext context) {
+        context.normalizer(LOWERCASE_NORMALIZER).custom()
+                .tokenFilter(LowerCaseFilterFactory.class);
+
+        // Every prefix of every word is indexed, so that searching for what has been typed so far is a plain term match
+        context.analyzer(AUTOCOMPLETE_INDEXING_ANALYZER).custom()
+                .tokenizer(StandardTokenizerFactory.class)
+                .tokenFilter(LowerCaseFilterFactory.class)
+                .tokenFilter(EdgeNGramFilterFactory.class)
+                .param("minGramSize", "1")
+                .param("maxGramSize", "20")
+                .param("preserveOriginal", "true");
+        context.analyzer(AUTOCOMPLETE_SEARCH_ANALYZER).custom()
+                .tokenizer(StandardTokenizerFactory.class)
+                .tokenFilter(LowerCaseFilterFactory.class);
+    }
+}
@@ -0,0 +1,230 @@
+package nu.fgv.register.server.util.search.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.entity.SearchIndexedEntity;
+import org.hibernate.search.mapper.orm.work.SearchIndexingPlan;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Brings the local index up to date with the changes recorded in the outbox by any node. Each node keeps its own
+ * offset next to its index, so a node with a new or wiped index, or one that has been down for longer than the outbox
+ * is retained, rebuilds its index with the mass indexer before consuming. Changes made on this node have already been
+ * indexed by the listeners and are only skipped over.
+ */
+@Slf4j
+public class SearchOutboxPoller {
+
+    public static final String LAG_METRIC = "spexregister.search.outbox.lag";
+    public static final String PENDING_METRIC = "spexregister.search.outbox.pending";
+    public static final String PROCESSED_METRIC = "spexregister.search.outbox.processed";
+
+    private static final String SELECT_SQL = """
+            SELECT id, entity_name, entity_id, deleted, origin
+            FROM search_outbox_event
+            WHERE id > ? AND created_at <= ?
+            ORDER BY id
+            LIMIT ?
+            """;
+    private static final String PENDING_SQL = "SELECT COUNT(*) AS pending, MIN(created_at) AS oldest FROM search_outbox_event WHERE id > ?";
+    private static final String OFFSET_FILE = "outbox-offset";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final String origin;
+    private final Path offsetFile;
+    private final int batchSize;
+    private final Duration settleDelay;
+    private final Duration retention;
+    private final Set<Class<?>> indexedTypes;
+    private final Counter processed;
+    private final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+    private volatile long offset = -1;
+    private volatile long pending;
+    private volatile double lagSeconds;
+
+    @SuppressWarnings("java:S107")
+    public SearchOutboxPoller(final JdbcTemplate jdbcTemplate,
+                              final TransactionTemplate transactionTemplate,
+                              final EntityManager entityManager,
+                              final EntityManagerFactory entityManagerFactory,
+                              final String origin,
+                              final Path indexRoot,
+                              final int batchSize,
+                              final Duration settleDelay,
+                              final Duration retention,
+                              final MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.origin = origin;
+        this.offsetFile = indexRoot.resolve(OFFSET_FILE);
+        this.batchSize = batchSize;
+        this.settleDelay = settleDelay;
+        this.retention = retention;
+        this.indexedTypes = Search.mapping(entityManagerFactory).allIndexedEntities().stream()
+                .map(SearchIndexedEntity::javaClass)
+                .collect(Collectors.toSet());
+        this.processed = Counter.builder(PROCESSED_METRIC)
+                .description("Outbox events applied to the local index")
+                .register(meterRegistry);
+
+        Gauge.builder(LAG_METRIC, this, poller -> poller.lagSeconds)
+                .description("Age of the oldest outbox event not yet applied to the local index")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder(PENDING_METRIC, this, poller -> poller.pending)
+                .description("Outbox events not yet applied to the local index")
+                .register(meterRegistry);
+    }
+
+    public void poll() {
+        try {
+            if (offset < 0) {
+                bootstrap();
+            }
+
+            final List<OutboxEvent> events = jdbcTemplate.query(SELECT_SQL,
+                    (rs, rowNum) -> new OutboxEvent(rs.getLong("id"), rs.getString("entity_name"), rs.getString("entity_id"), rs.getBoolean("deleted"), rs.getString("origin")),
+                    offset,
+                    // Events are only consumed once they have settled, so that transactions committing out of id order are not skipped
+                    Timestamp.valueOf(LocalDateTime.now().minus(settleDelay)),
+                    batchSize);
+
+            if (!events.isEmpty()) {
+                final List<OutboxEvent> remote = events.stream().filter(e -> !origin.equals(e.origin())).toList();
+
+                if (!remote.isEmpty()) {
+                    transactionTemplate.executeWithoutResult(status -> apply(remote));
+                    processed.increment(remote.size());
+                }
+                writeOffset(events.getLast().id());
+            }
+
+            updateLag();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final Exception e) {
+            if (log.isErrorEnabled()) {
+                log.error("Could not apply outbox events to the local index", e);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${spexregister.jobs.search-outbox-cleanup.cron-expression}")
+    public void cleanUp() {
+        // The newest event is always kept so that a node can tell whether events after its offset have been deleted
+        final Long newest = jdbcTemplate.queryForObject("SELECT MAX(id) FROM search_outbox_event", Long.class);
+
+        if (newest != null) {
+            final int deleted = jdbcTemplate.update("DELETE FROM search_outbox_event WHERE created_at < ? AND id < ?",
+                    Timestamp.valueOf(LocalDateTime.now().minus(retention)),
+                    newest);
+
+            if (log.isInfoEnabled()) {
+                log.info("Deleted {} outbox event(s)", deleted);
+            }
+        }
+    }
+
+    private void bootstrap() throws InterruptedException {
+        final Long stored = readOffset();
+        final Long oldest = jdbcTemplate.queryForObject("SELECT MIN(id) FROM search_outbox_event", Long.class);
+
+        if (stored != null && (oldest == null || oldest <= stored + 1)) {
+            offset = stored;
+            return;
+        }
+
+        // Events after this point are replayed once the index has been rebuilt, which is harmless
+        final Long newest = jdbcTemplate.queryForObject("SELECT MAX(id) FROM search_outbox_event", Long.class);
+
+        if (log.isInfoEnabled()) {
+            log.info("Rebuilding the local index (offset: {}, oldest outbox event: {})", stored, oldest);
+        }
+        Search.mapping(entityManagerFactory).scope(Object.class).massIndexer().startAndWait();
+        writeOffset(newest != null ? newest : 0);
+    }
+
+    private void apply(final List<OutboxEvent> events) {
+        final SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        final SearchIndexingPlan indexingPlan = Search.session(entityManager).indexingPlan();
+        final Map<String, OutboxEvent> latest = new LinkedHashMap<>();
+
+        events.forEach(e -> latest.put(e.entityName() + "#" + e.entityId(), e));
+        latest.values().forEach(e -> {
+            final EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(e.entityName());
+            final Class<?> type = persister.getMappedClass();
+            final Object id = conversionService.convert(e.entityId(), persister.getIdentifierType().getReturnedClass());
+            final Object entity = e.deleted() ? null : entityManager.find(type, id);
+
+            if (entity != null) {
+                // Also reindexes the documents embedding it
+                indexingPlan.addOrUpdate(entity);
+            } else if (indexedTypes.contains(type)) {
+                indexingPlan.purge(type, id, null);
+            }
+        });
+    }
+
+    private void updateLag() {
+        jdbcTemplate.query(PENDING_SQL, rs -> {
+            final Timestamp oldest = rs.getTimestamp("oldest");
+
+            pending = rs.getLong("pending");
+            lagSeconds = oldest != null ? Math.max(0, Duration.between(oldest.toLocalDateTime(), LocalDateTime.now()).toMillis() / 1000d) : 0;
+        }, offset);
+    }
+
+    private Long readOffset() {
+        try {
+            return Files.exists(offsetFile) ? Long.valueOf(Files.readString(offsetFile, StandardCharsets.UTF_8).trim()) : null;
+        } catch (final IOException | NumberFormatException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("Could not read outbox offset from {}", offsetFile, e);
+            }
+            return null;
+        }
+    }
+
+    private void writeOffset(final long value) {
+        try {
+            Files.createDirectories(offsetFile.getParent());
+            Files.writeString(offsetFile, String.valueOf(value), StandardCharsets.UTF_8);
+            offset = value;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record OutboxEvent(long id, String entityName, String entityId, boolean deleted, String origin) {
+    }
+}
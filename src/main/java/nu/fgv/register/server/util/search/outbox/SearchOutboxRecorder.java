@@ -0,0 +1,229 @@
+package nu.fgv.register.server.util.search.outbox;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import org.hibernate.Hibernate;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.IndexedEmbedded;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.Serial;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records changes to indexed entities, and to the entities embedded in their documents, in the outbox table as part of
+ * the transaction making them, so that every node can bring its local index up to date. The changes of a transaction
+ * are collected and written in one batch just before it commits, nothing is written if it rolls back.
+ */
+public class SearchOutboxRecorder implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    static final String INSERT_SQL = "INSERT INTO search_outbox_event (entity_name, entity_id, deleted, origin, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final Set<Class<?>> indexedTypes;
+    private final Set<Class<?>> recordedTypes;
+    private final transient Map<Class<?>, List<Field>> ownerFields;
+    private final String origin;
+    private final transient Map<EventSource, Map<Change, Boolean>> pending = new ConcurrentHashMap<>();
+
+    public SearchOutboxRecorder(final Collection<Class<?>> indexedTypes, final String origin) {
+        this.indexedTypes = Set.copyOf(indexedTypes);
+        this.recordedTypes = searchRelevantTypes(indexedTypes);
+        this.ownerFields = ownerFields(indexedTypes);
+        this.origin = origin;
+    }
+
+    /**
+     * @return the indexed types and every entity type reachable from them through {@link IndexedEmbedded}
+     */
+    static Set<Class<?>> searchRelevantTypes(final Collection<Class<?>> indexedTypes) {
+        final Set<Class<?>> types = new HashSet<>();
+
+        indexedTypes.forEach(type -> collect(type, types, new HashMap<>()));
+        return types;
+    }
+
+    /**
+     * @return for each embedded type, its fields referring back to the entity embedding it (the mappedBy side of the
+     * association), which is how the documents to reindex are found once an embedded entity has been deleted
+     */
+    static Map<Class<?>, List<Field>> ownerFields(final Collection<Class<?>> indexedTypes) {
+        final Map<Class<?>, List<Field>> owners = new HashMap<>();
+
+        indexedTypes.forEach(type -> collect(type, new HashSet<>(), owners));
+        return owners;
+    }
+
+    private static void collect(final Class<?> type, final Set<Class<?>> types, final Map<Class<?>, List<Field>> owners) {
+        if (!types.add(type)) {
+            return;
+        }
+        for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (final Field field : clazz.getDeclaredFields()) {
+                if (field.isAnnotationPresent(IndexedEmbedded.class)) {
+                    final Class<?> embedded = field.getGenericType() instanceof ParameterizedType parameterizedType &&
+                            parameterizedType.getActualTypeArguments()[0] instanceof Class<?> elementType ?
+                            elementType :
+                            field.getType();
+
+                    if (embedded.isAnnotationPresent(Entity.class)) {
+                        final Field owner = mappedBy(field).map(name -> ReflectionUtils.findField(embedded, name)).orElse(null);
+
+                        if (owner != null) {
+                            ReflectionUtils.makeAccessible(owner);
+                            owners.computeIfAbsent(embedded, e -> new ArrayList<>()).add(owner);
+                        }
+                        collect(embedded, types, owners);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Optional<String> mappedBy(final Field field) {
+        return Optional.ofNullable(field.getAnnotation(OneToMany.class)).map(OneToMany::mappedBy)
+                .or(() -> Optional.ofNullable(field.getAnnotation(OneToOne.class)).map(OneToOne::mappedBy))
+                .filter(name -> !name.isEmpty());
+    }
+
+    @Override
+    public void onPostInsert(final PostInsertEvent event) {
+        record(event.getSession(), event.getPersister(), event.getId(), false);
+    }
+
+    @Override
+    public void onPostUpdate(final PostUpdateEvent event) {
+        record(event.getSession(), event.getPersister(), event.getId(), false);
+    }
+
+    @Override
+    public void onPostDelete(final PostDeleteEvent event) {
+        record(event.getSession(), event.getPersister(), event.getId(), true);
+        // Once deleted, an embedded entity can no longer be followed to the documents embedding it by the other nodes
+        recordOwners(event.getSession(), event.getEntity());
+    }
+
+    @Override
+    public void onPostRecreateCollection(final PostCollectionRecreateEvent event) {
+        recordOwner(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(final PostCollectionUpdateEvent event) {
+        recordOwner(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(final PostCollectionRemoveEvent event) {
+        recordOwner(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(final EntityPersister persister) {
+        return false;
+    }
+
+    private void recordOwner(final AbstractCollectionEvent event) {
+        if (event.getAffectedOwnerIdOrNull() != null) {
+            record(event.getSession(),
+                    event.getSession().getFactory().getMappingMetamodel().getEntityDescriptor(event.getAffectedOwnerEntityName()),
+                    event.getAffectedOwnerIdOrNull(),
+                    false);
+        }
+    }
+
+    private void recordOwners(final EventSource session, final Object entity) {
+        ownerFields.getOrDefault(Hibernate.getClass(entity), List.of()).forEach(field -> {
+            final Object owner = ReflectionUtils.getField(field, entity);
+
+            if (owner == null) {
+                return;
+            }
+
+            final Class<?> ownerType = Hibernate.getClass(owner);
+
+            if (indexedTypes.contains(ownerType)) {
+                record(session,
+                        session.getFactory().getMappingMetamodel().getEntityDescriptor(ownerType),
+                        session.getFactory().getPersistenceUnitUtil().getIdentifier(owner),
+                        false);
+            } else {
+                recordOwners(session, Hibernate.unproxy(owner));
+            }
+        });
+    }
+
+    private void record(final EventSource session, final EntityPersister persister, final Object id, final boolean deleted) {
+        if (!recordedTypes.contains(persister.getMappedClass())) {
+            return;
+        }
+
+        pending.computeIfAbsent(session, s -> {
+            s.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::write);
+            s.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, ignored) -> pending.remove(s));
+            return new LinkedHashMap<>();
+        }).merge(new Change(persister.getEntityName(), String.valueOf(id)), deleted, Boolean::logicalOr);
+    }
+
+    private void write(final SessionImplementor session) {
+        final Map<Change, Boolean> changes = pending.remove(session);
+
+        if (changes == null || changes.isEmpty()) {
+            return;
+        }
+
+        final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                for (final Map.Entry<Change, Boolean> change : changes.entrySet()) {
+                    statement.setString(1, change.getKey().entityName());
+                    statement.setString(2, change.getKey().entityId());
+                    statement.setBoolean(3, change.getValue());
+                    statement.setString(4, origin);
+                    statement.setTimestamp(5, now);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    private record Change(String entityName, String entityId) {
+    }
+}
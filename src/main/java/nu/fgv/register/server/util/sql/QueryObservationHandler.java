@@ -0,0 +1,117 @@
+package nu.fgv.register.server.util.sql;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import lombok.extern.slf4j.Slf4j;
+import nu.fgv.register.server.util.ObservationAspect;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attributes the statements executed while an observation is open to it, which gives statement count, rows and time
+ * per HTTP route (from the server request observations) and per service or api method (from the
+ * {@link ObservationAspect} observations). Statements executed repeatedly within a single request are reported as a
+ * possible N+1.
+ */
+@Slf4j
+public class QueryObservationHandler implements ObservationHandler<Observation.Context> {
+
+    public static final String REQUEST_METRIC_PREFIX = "spexregister.sql.request";
+    public static final String METHOD_METRIC_PREFIX = "spexregister.sql.method";
+    public static final String N_PLUS_ONE_METRIC = "spexregister.sql.n-plus-one";
+
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+
+    public QueryObservationHandler(final MeterRegistry meterRegistry, final int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public boolean supportsContext(final Observation.Context context) {
+        return isRequest(context) || ObservationAspect.OBSERVATION_NAME.equals(context.getName());
+    }
+
+    @Override
+    public void onStart(final Observation.Context context) {
+        final QueryStatistics statistics = QueryStatistics.current();
+
+        context.put(QueryStatistics.Snapshot.class, statistics.snapshot());
+        if (isRequest(context)) {
+            statistics.startTracking();
+        }
+    }
+
+    @Override
+    public void onStop(final Observation.Context context) {
+        final QueryStatistics statistics = QueryStatistics.current();
+        final QueryStatistics.Snapshot start = context.get(QueryStatistics.Snapshot.class);
+
+        if (start == null) {
+            return;
+        }
+
+        final QueryStatistics.Snapshot delta = statistics.snapshot().minus(start);
+
+        if (isRequest(context)) {
+            final Tags tags = Tags.of("method", value(context, "method"), "uri", value(context, "uri"));
+
+            record(REQUEST_METRIC_PREFIX, tags, delta);
+            detectNPlusOne(tags, statistics.stopTracking());
+        } else {
+            record(METHOD_METRIC_PREFIX, Tags.of("class", value(context, "class"), "method", value(context, "method")), delta);
+        }
+    }
+
+    private void record(final String prefix, final Tags tags, final QueryStatistics.Snapshot delta) {
+        DistributionSummary.builder(prefix + ".statements")
+                .description("Statements executed")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(delta.statements());
+        DistributionSummary.builder(prefix + ".rows")
+                .description("Rows read or written")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(delta.rows());
+        Timer.builder(prefix + ".time")
+                .description("Time spent executing statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(delta.nanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void detectNPlusOne(final Tags tags, final Map<String, Integer> executions) {
+        executions.forEach((sql, count) -> {
+            if (count >= nPlusOneThreshold) {
+                Counter.builder(N_PLUS_ONE_METRIC)
+                        .description("Statements executed repeatedly within a single request")
+                        .tags(tags)
+                        .register(meterRegistry)
+                        .increment();
+                if (log.isWarnEnabled()) {
+                    log.warn("Possible N+1 in {}: executed {} times: {}", tags, count, sql);
+                }
+            }
+        });
+    }
+
+    private static boolean isRequest(final Observation.Context context) {
+        return context instanceof ServerRequestObservationContext;
+    }
+
+    private static String value(final Observation.Context context, final String key) {
+        final KeyValue keyValue = context.getLowCardinalityKeyValue(key);
+
+        return keyValue != null ? keyValue.getValue() : "none";
+    }
+}
@@ -0,0 +1,73 @@
+package nu.fgv.register.server.util.sql;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The statements executed on the current thread. Running totals are kept so that the statements of a request or a
+ * method are the difference between two snapshots, and while a request is tracked the number of times each statement
+ * was executed is kept as well.
+ */
+public final class QueryStatistics {
+
+    private static final ThreadLocal<QueryStatistics> CURRENT = ThreadLocal.withInitial(QueryStatistics::new);
+
+    private long statements;
+    private long rows;
+    private long nanos;
+    private int trackingDepth;
+    private Map<String, Integer> executions = new HashMap<>();
+
+    private QueryStatistics() {
+    }
+
+    public static QueryStatistics current() {
+        return CURRENT.get();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(statements, rows, nanos);
+    }
+
+    void recordStatement(final String sql, final long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        if (trackingDepth > 0) {
+            executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void recordRows(final long count) {
+        rows += count;
+    }
+
+    /**
+     * Starts counting the executions of each statement, nested calls (e.g. error dispatches) share the outermost count.
+     */
+    void startTracking() {
+        if (trackingDepth++ == 0) {
+            executions = new HashMap<>();
+        }
+    }
+
+    /**
+     * @return the number of executions of each statement once the outermost tracking stops, otherwise empty
+     */
+    Map<String, Integer> stopTracking() {
+        if (trackingDepth == 0 || --trackingDepth > 0) {
+            return Map.of();
+        }
+
+        final Map<String, Integer> tracked = executions;
+
+        executions = new HashMap<>();
+        return tracked;
+    }
+
+    public record Snapshot(long statements, long rows, long nanos) {
+
+        public Snapshot minus(final Snapshot other) {
+            return new Snapshot(statements - other.statements, rows - other.rows, nanos - other.nanos);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package nu.fgv.register.server.util.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every statement executed through the proxied data source on the thread executing it, and logs slow ones.
+ * Bind parameters are never logged since they hold personal data, only how many there were. Rows read are only counted
+ * when the listener is also registered as method listener on proxied result sets.
+ */
+@Slf4j
+public class QueryStatisticsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private final long slowQueryThresholdMillis;
+
+    public QueryStatisticsListener(final Duration slowQueryThreshold) {
+        this.slowQueryThresholdMillis = slowQueryThreshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+        // Nothing to do before
+    }
+
+    @Override
+    public void afterQuery(final ExecutionInfo execInfo, final List<QueryInfo> queryInfoList) {
+        final QueryStatistics statistics = QueryStatistics.current();
+        final long elapsedNanos = TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        final String sql = queryInfoList.size() == 1 ? queryInfoList.getFirst().getQuery() : String.join("; ", queryInfoList.stream().map(QueryInfo::getQuery).toList());
+
+        statistics.recordStatement(sql, elapsedNanos);
+
+        switch (execInfo.getResult()) {
+            case Integer count -> statistics.recordRows(Math.max(count, 0));
+            case int[] counts -> statistics.recordRows(Arrays.stream(counts).filter(c -> c > 0).sum());
+            case null, default -> {
+                // Rows read are counted as the result set is iterated
+            }
+        }
+
+        if (execInfo.getElapsedTime() >= slowQueryThresholdMillis && log.isWarnEnabled()) {
+            log.warn("Slow query ({} ms, {} parameter set[s] redacted): {}",
+                    execInfo.getElapsedTime(),
+                    queryInfoList.stream().mapToInt(q -> q.getParametersList().size()).sum(),
+                    sql);
+        }
+    }
+
+    @Override
+    public void beforeMethod(final MethodExecutionContext executionContext) {
+        // Nothing to do before
+    }
+
+    @Override
+    public void afterMethod(final MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet &&
+                "next".equals(executionContext.getMethod().getName()) &&
+                Boolean.TRUE.equals(executionContext.getResult())) {
+            QueryStatistics.current().recordRows(1);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+ALTER TABLE event
+    ADD COLUMN bucket INT AS (YEAR(created_at) * 100 + MONTH(created_at)) STORED;
+
+CREATE INDEX IX_EVENT_ON_BUCKET ON event (bucket);
+CREATE INDEX IX_EVENT_ON_CREATED_AT ON event (created_at);
+
+CREATE TABLE IF NOT EXISTS event_rollup
+(
+    id               BIGINT AUTO_INCREMENT NOT NULL,
+    day              DATE                  NOT NULL,
+    event            VARCHAR(255)          NOT NULL,
+    source           VARCHAR(255)          NOT NULL,
+    count            BIGINT                NOT NULL,
+    CONSTRAINT PK_EVENT_ROLLUP PRIMARY KEY (id),
+    CONSTRAINT UC_EVENT_ROLLUP_ON_DAY_AND_SOURCE_AND_EVENT UNIQUE (day, source, event)
+);
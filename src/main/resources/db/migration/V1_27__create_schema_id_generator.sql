@@ -0,0 +1,17 @@
+CREATE TABLE IF NOT EXISTS id_generator
+(
+    name             VARCHAR(255)          NOT NULL,
+    next_val         BIGINT                NOT NULL,
+    CONSTRAINT PK_ID_GENERATOR PRIMARY KEY (name)
+);
+
+-- The pooled optimizer hands out the block ending at the stored value, so each row starts one allocation (50) past the current max id
+INSERT INTO id_generator (name, next_val) SELECT 'spexare', COALESCE(MAX(id), 0) + 50 FROM spexare;
+INSERT INTO id_generator (name, next_val) SELECT 'activity', COALESCE(MAX(id), 0) + 50 FROM activity;
+INSERT INTO id_generator (name, next_val) SELECT 'spex_activity', COALESCE(MAX(id), 0) + 50 FROM spex_activity;
+INSERT INTO id_generator (name, next_val) SELECT 'task_activity', COALESCE(MAX(id), 0) + 50 FROM task_activity;
+INSERT INTO id_generator (name, next_val) SELECT 'actor', COALESCE(MAX(id), 0) + 50 FROM actor;
+INSERT INTO id_generator (name, next_val) SELECT 'address', COALESCE(MAX(id), 0) + 50 FROM address;
+INSERT INTO id_generator (name, next_val) SELECT 'consent', COALESCE(MAX(id), 0) + 50 FROM consent;
+INSERT INTO id_generator (name, next_val) SELECT 'membership', COALESCE(MAX(id), 0) + 50 FROM membership;
+INSERT INTO id_generator (name, next_val) SELECT 'toggle', COALESCE(MAX(id), 0) + 50 FROM toggle;
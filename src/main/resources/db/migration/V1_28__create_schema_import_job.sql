@@ -0,0 +1,22 @@
+CREATE TABLE IF NOT EXISTS import_job
+(
+    id               BIGINT AUTO_INCREMENT NOT NULL,
+    entity           VARCHAR(255)          NOT NULL,
+    file             VARCHAR(1024)         NOT NULL,
+    locale           VARCHAR(255)          NOT NULL,
+    status           VARCHAR(255)          NOT NULL,
+    chunk_size       INT                   NOT NULL,
+    last_row         INT                   NOT NULL,
+    created_count    INT                   NOT NULL,
+    updated_count    INT                   NOT NULL,
+    deleted_count    INT                   NOT NULL,
+    failed_count     INT                   NOT NULL,
+    messages         LONGTEXT              NULL,
+    created_by       VARCHAR(255)          NOT NULL,
+    created_at       DATETIME              NOT NULL,
+    last_modified_by VARCHAR(255)          NULL,
+    last_modified_at DATETIME              NULL,
+    CONSTRAINT PK_IMPORT_JOB PRIMARY KEY (id)
+);
+
+CREATE INDEX IX_IMPORT_JOB_ON_CREATED_BY ON import_job (created_by);
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS search_outbox_event
+(
+    id          BIGINT AUTO_INCREMENT NOT NULL,
+    entity_name VARCHAR(255)          NOT NULL,
+    entity_id   VARCHAR(255)          NOT NULL,
+    deleted     BIT                   NOT NULL,
+    origin      VARCHAR(64)           NOT NULL,
+    created_at  DATETIME(3)           NOT NULL,
+    CONSTRAINT PK_SEARCH_OUTBOX_EVENT PRIMARY KEY (id)
+);
+
+CREATE INDEX IX_SEARCH_OUTBOX_EVENT_ON_CREATED_AT ON search_outbox_event (created_at);
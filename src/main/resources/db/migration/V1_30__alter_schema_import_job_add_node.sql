@@ -0,0 +1,3 @@
+ALTER TABLE import_job ADD COLUMN node VARCHAR(255) NULL;
+
+CREATE INDEX IX_IMPORT_JOB_ON_NODE_AND_STATUS ON import_job (node, status);
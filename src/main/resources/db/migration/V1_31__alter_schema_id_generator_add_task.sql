@@ -0,0 +1,3 @@
+-- Tasks and task categories move to the pooled generator, so that chunked imports can batch their inserts
+INSERT INTO id_generator (name, next_val) SELECT 'task_category', COALESCE(MAX(id), 0) + 50 FROM task_category;
+INSERT INTO id_generator (name, next_val) SELECT 'task', COALESCE(MAX(id), 0) + 50 FROM task;
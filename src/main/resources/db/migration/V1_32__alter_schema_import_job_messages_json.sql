@@ -0,0 +1,10 @@
+-- Messages were stored joined by newlines, which broke messages spanning several lines
+UPDATE import_job
+SET messages = CONCAT('["',
+                      REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(messages, '\\', '\\\\'), '"', '\\"'), '\t', '\\t'), '\r', ''), '\n', '","'),
+                      '"]')
+WHERE messages IS NOT NULL AND messages <> '';
+
+UPDATE import_job SET messages = NULL WHERE messages = '';
+
+ALTER TABLE import_job MODIFY messages JSON NULL;
@@ -0,0 +1,76 @@
+package nu.fgv.register.server.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nu.fgv.register.server.news.News;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BatchingEventWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SpringEvent event = new SpringEvent(new News(), Event.EventType.CREATE, Event.SourceType.NEWS);
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+    }
+
+    @Test
+    void should_not_record_event_outside_transaction_by_default() {
+        final BatchingEventWriter writer = writer(false, false);
+
+        writer.onEvent(event);
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void should_record_event_outside_transaction_when_enabled() {
+        final BatchingEventWriter writer = writer(false, true);
+
+        writer.onEvent(event);
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void should_write_on_calling_thread_after_shutdown() {
+        final BatchingEventWriter writer = writer(true, true);
+
+        writer.shutdown();
+        writer.onEvent(event);
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    private BatchingEventWriter writer(final boolean async, final boolean recordOutsideTransaction) {
+        return new BatchingEventWriter(jdbcTemplate, transactionManager, new SimpleMeterRegistry(), async, recordOutsideTransaction, 100, 10, Duration.ofHours(1));
+    }
+}
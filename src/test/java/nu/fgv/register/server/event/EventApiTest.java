@@ -7,7 +7,9 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpHeaders;
 import org.springframework.restdocs.hypermedia.LinksSnippet;
 import org.springframework.restdocs.payload.ResponseFieldsSnippet;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +17,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
@@ -31,6 +34,7 @@ import static org.springframework.restdocs.request.RequestDocumentation.pathPara
 import static org.springframework.restdocs.request.RequestDocumentation.queryParameters;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(value = EventApi.class)
@@ -39,6 +43,12 @@ class EventApiTest extends AbstractApiTest {
     @MockBean
     private EventService service;
 
+    @MockBean
+    private EventRetentionService retentionService;
+
+    @MockBean
+    private EventStreamService streamService;
+
     private final ResponseFieldsSnippet responseFields = responseFields(
             fieldWithPath("id").description("The id of the event"),
             fieldWithPath("event").description("The type of the event"),
@@ -129,4 +139,55 @@ class EventApiTest extends AbstractApiTest {
                 );
     }
 
+    @Test
+    void should_get_summary() throws Exception {
+        var summary1 = EventSummaryDto.builder().day(LocalDate.now()).event(Event.EventType.CREATE.name()).source(Event.SourceType.SPEX.name()).count(3L).build();
+        var summary2 = EventSummaryDto.builder().day(LocalDate.now().minusDays(200)).event(Event.EventType.UPDATE.name()).source(Event.SourceType.TASK.name()).count(42L).build();
+
+        when(retentionService.summarize(any(Integer.class))).thenReturn(List.of(summary1, summary2));
+
+        mockMvc
+                .perform(
+                        get("/api/v1/events/summary?sinceInDays=365")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.summaries", hasSize(2)))
+                .andDo(print())
+                .andDo(
+                        document(
+                                "events/get-summary",
+                                preprocessRequest(prettyPrint()),
+                                preprocessResponse(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH)),
+                                responseFields(
+                                        subsectionWithPath("_embedded").description("The embedded section"),
+                                        subsectionWithPath("_embedded.summaries[]").description("The elements"),
+                                        fieldWithPath("_embedded.summaries[].day").description("The day"),
+                                        fieldWithPath("_embedded.summaries[].event").description("The type of the events"),
+                                        fieldWithPath("_embedded.summaries[].source").description("The source of the events"),
+                                        fieldWithPath("_embedded.summaries[].count").description("The number of events"),
+                                        linksSubsection
+                                ),
+                                queryParameters(parameterWithName("sinceInDays").description("How many days back to summarize events")),
+                                secureRequestHeaders,
+                                responseHeaders
+                        )
+                );
+    }
+
+    @Test
+    void should_subscribe_to_stream() throws Exception {
+        when(streamService.subscribe(eq("m1abcd-42"))).thenReturn(new SseEmitter());
+
+        mockMvc
+                .perform(
+                        get("/api/v1/events/stream")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .header("Last-Event-ID", "m1abcd-42")
+                )
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted())
+                .andDo(print());
+    }
+
 }
@@ -0,0 +1,90 @@
+package nu.fgv.register.server.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventRetentionServiceTest {
+
+    private static final int RAW_MONTHS = 13;
+    private static final int PURGE_BATCH_SIZE = 5000;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EventRollupRepository rollupRepository;
+
+    @InjectMocks
+    private EventRetentionService service;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "rawMonths", RAW_MONTHS);
+        ReflectionTestUtils.setField(service, "rollupYears", 10);
+        ReflectionTestUtils.setField(service, "purgeBatchSize", PURGE_BATCH_SIZE);
+    }
+
+    @Test
+    void should_roll_up_from_oldest_event_on_first_run() {
+        final LocalDate oldest = today.minusYears(2);
+
+        when(jdbcTemplate.queryForObject(contains("MIN(created_at)"), eq(Date.class))).thenReturn(Date.valueOf(oldest));
+        when(rollupRepository.findLastRolledUpDay()).thenReturn(Optional.empty(), Optional.of(today.minusDays(1)));
+
+        service.rollUpAndPurge();
+
+        verify(jdbcTemplate).update(contains("INSERT INTO event_rollup"), eq(toTimestamp(oldest)), eq(toTimestamp(today)));
+        verify(jdbcTemplate).update(contains("WHERE bucket"), eq(bucket(today.minusMonths(RAW_MONTHS))), eq(PURGE_BATCH_SIZE));
+    }
+
+    @Test
+    void should_not_purge_past_last_rolled_up_day() {
+        final LocalDate lastRolledUpDay = today.minusYears(2).withDayOfMonth(15);
+
+        when(rollupRepository.findLastRolledUpDay()).thenReturn(Optional.of(lastRolledUpDay));
+
+        service.rollUpAndPurge();
+
+        // The month of the last rolled up day has not been rolled up in full
+        verify(jdbcTemplate).update(contains("WHERE bucket"), eq(bucket(lastRolledUpDay)), eq(PURGE_BATCH_SIZE));
+    }
+
+    @Test
+    void should_not_purge_without_roll_ups() {
+        when(rollupRepository.findLastRolledUpDay()).thenReturn(Optional.empty());
+
+        service.rollUpAndPurge();
+
+        verify(jdbcTemplate, never()).update(contains("WHERE bucket"), anyInt(), anyInt());
+    }
+
+    private static int bucket(final LocalDate date) {
+        return date.getYear() * 100 + date.getMonthValue();
+    }
+
+    private static Timestamp toTimestamp(final LocalDate date) {
+        return Timestamp.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,203 @@
+package nu.fgv.register.server.event;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EventStreamServiceTest {
+
+    private static final int HISTORY_SIZE = 10;
+    private static final int BUFFER_SIZE = 5;
+    private static final Pattern ID = Pattern.compile("^id:(.*)$", Pattern.MULTILINE);
+    private static final Pattern NAME = Pattern.compile("^event:(.*)$", Pattern.MULTILINE);
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private PersistenceUnitUtil persistenceUnitUtil;
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    private EventStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.getPersistenceUnitUtil()).thenReturn(persistenceUnitUtil);
+        when(persistenceUnitUtil.getIdentifier(any())).thenReturn(1L);
+
+        service = new EventStreamService(entityManagerFactory) {
+            @Override
+            SseEmitter createEmitter() {
+                final RecordingEmitter emitter = new RecordingEmitter();
+
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        ReflectionTestUtils.setField(service, "historySize", HISTORY_SIZE);
+        ReflectionTestUtils.setField(service, "bufferSize", BUFFER_SIZE);
+        ReflectionTestUtils.setField(service, "timeout", Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(emitter -> emitter.release.countDown());
+        service.shutdown();
+    }
+
+    @Test
+    void should_use_same_id_for_event_and_notification() throws Exception {
+        service.subscribe(null);
+        publish(1);
+
+        final String event = emitters.getFirst().next();
+
+        assertThat(name(event), is(EventStreamService.CHANGE_EVENT));
+        assertThat(event, containsString("id=" + id(event) + ","));
+        assertThat(id(event), startsWith(epoch() + "-"));
+    }
+
+    @Test
+    void should_replay_events_after_last_event_id() throws Exception {
+        service.subscribe(null);
+        publish(3);
+
+        final String first = emitters.getFirst().next();
+
+        service.subscribe(id(first));
+
+        final RecordingEmitter replayed = emitters.get(1);
+
+        assertThat(id(replayed.next()), is(epoch() + "-2"));
+        assertThat(id(replayed.next()), is(epoch() + "-3"));
+        assertThat(replayed.poll(), is(nullValue()));
+    }
+
+    @Test
+    void should_reset_when_last_event_id_is_from_other_epoch() throws Exception {
+        publish(1);
+
+        service.subscribe("other-1");
+
+        assertThat(name(emitters.getFirst().next()), is(EventStreamService.RESET_EVENT));
+    }
+
+    @Test
+    void should_reset_when_missed_events_are_no_longer_in_history() throws Exception {
+        publish(HISTORY_SIZE + 2);
+
+        service.subscribe(epoch() + "-1");
+
+        assertThat(name(emitters.getFirst().next()), is(EventStreamService.RESET_EVENT));
+        assertThat(emitters.getFirst().poll(), is(nullValue()));
+    }
+
+    @Test
+    void should_complete_overflowing_subscriber_once() {
+        service.subscribe(null);
+        emitters.getFirst().blocking = true;
+
+        publish(BUFFER_SIZE + 5);
+
+        assertThat(emitters.getFirst().completions.get(), is(1));
+        assertThat(service.getSubscriberCount(), is(0));
+    }
+
+    private void publish(final int count) {
+        IntStream.range(0, count).forEach(i -> service.onEvent(new SpringEvent(new Object(), Event.EventType.UPDATE, Event.SourceType.SPEXARE)));
+    }
+
+    private String epoch() {
+        return (String) ReflectionTestUtils.getField(service, "epoch");
+    }
+
+    private static String id(final String event) {
+        return group(ID, event);
+    }
+
+    private static String name(final String event) {
+        return group(NAME, event);
+    }
+
+    private static String group(final Pattern pattern, final String event) {
+        final Matcher matcher = pattern.matcher(event);
+
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        private final AtomicInteger completions = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean blocking;
+
+        @Override
+        public void send(final SseEventBuilder builder) throws IOException {
+            if (blocking) {
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            events.add(builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .map(String::valueOf)
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completions.incrementAndGet();
+            super.complete();
+        }
+
+        String next() throws InterruptedException {
+            final String event = events.poll(5, TimeUnit.SECONDS);
+
+            assertThat("No event sent", event != null, is(true));
+            return event;
+        }
+
+        String poll() throws InterruptedException {
+            return events.poll(100, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package nu.fgv.register.server.export;
+
+import nu.fgv.register.server.util.AbstractApiTest;
+import nu.fgv.register.server.util.Constants;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.util.Pair;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.restdocs.payload.ResponseFieldsSnippet;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.halLinks;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.delete;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.modifyHeaders;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessRequest;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessResponse;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.prettyPrint;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.requestFields;
+import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(value = ExportJobApi.class)
+class ExportJobApiTest extends AbstractApiTest {
+
+    @MockBean
+    private ExportJobService service;
+
+    @TempDir
+    private Path tempDir;
+
+    private static final ResponseFieldsSnippet responseFields = responseFields(
+            fieldWithPath("id").description("The id of the export"),
+            fieldWithPath("entity").description("The entity being exported"),
+            fieldWithPath("contentType").description("The content type of the export"),
+            fieldWithPath("status").description("The status of the export (QUEUED, RUNNING, COMPLETED or FAILED)"),
+            fieldWithPath("createdAt").description("When was the export created"),
+            fieldWithPath("completedAt").description("When was the export completed").optional(),
+            fieldWithPath("expiresAt").description("When will the export be removed").optional(),
+            linksSubsection
+    );
+
+    @Test
+    void should_create() throws Exception {
+        var dto = ExportJobCreateDto.builder().entity("spexare").ids(List.of(1L, 2L)).contentType(Constants.MediaTypes.APPLICATION_XLSX_VALUE).build();
+
+        when(service.create(any(ExportJobCreateDto.class), any(Locale.class))).thenReturn(ExportJobDto.builder()
+                .id("1")
+                .entity(dto.getEntity())
+                .contentType(dto.getContentType())
+                .status(ExportJobStatus.QUEUED)
+                .createdAt(Instant.now())
+                .build());
+
+        mockMvc
+                .perform(
+                        post("/api/v1/exports")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(dto))
+                )
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("status", is("QUEUED")))
+                .andDo(document(
+                                "exports/create",
+                                preprocessRequest(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH).removeMatching(HttpHeaders.HOST)),
+                                preprocessResponse(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH)),
+                                requestFields(
+                                        fieldWithPath("entity").description("The entity to export, e.g. spexare, spex, spexCategory, task, taskCategory or tag"),
+                                        fieldWithPath("ids").description("The ids to export, all if empty"),
+                                        fieldWithPath("contentType").description("The content type of the export")
+                                ),
+                                responseFields,
+                                links(
+                                        halLinks(),
+                                        linkWithRel("self").description("Link to the current export")
+                                ),
+                                secureRequestHeaders,
+                                createResponseHeaders
+                        )
+                );
+    }
+
+    @Test
+    void should_not_create_when_too_many_in_progress() throws Exception {
+        var dto = ExportJobCreateDto.builder().entity("spexare").contentType(Constants.MediaTypes.APPLICATION_XLSX_VALUE).build();
+
+        when(service.create(any(ExportJobCreateDto.class), any(Locale.class))).thenThrow(new TaskRejectedException(""));
+
+        mockMvc
+                .perform(
+                        post("/api/v1/exports")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(dto))
+                )
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void should_not_create_when_not_permitted() throws Exception {
+        var dto = ExportJobCreateDto.builder().entity("task").contentType(Constants.MediaTypes.APPLICATION_XLSX_VALUE).build();
+
+        when(service.create(any(ExportJobCreateDto.class), any(Locale.class))).thenThrow(new AccessDeniedException(""));
+
+        mockMvc
+                .perform(
+                        post("/api/v1/exports")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(dto))
+                )
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void should_get() throws Exception {
+        var now = Instant.now();
+
+        when(service.findById(any(String.class))).thenReturn(Optional.of(ExportJobDto.builder()
+                .id("1")
+                .entity("spexare")
+                .contentType(Constants.MediaTypes.APPLICATION_XLSX_VALUE)
+                .status(ExportJobStatus.COMPLETED)
+                .createdAt(now)
+                .completedAt(now)
+                .expiresAt(now)
+                .build()));
+
+        mockMvc
+                .perform(
+                        get("/api/v1/exports/{id}", "1")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("status", is("COMPLETED")))
+                .andDo(document(
+                                "exports/get",
+                                preprocessRequest(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH).removeMatching(HttpHeaders.HOST)),
+                                preprocessResponse(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH)),
+                                pathParameters(
+                                        parameterWithName("id").description("The id of the export")
+                                ),
+                                responseFields,
+                                links(
+                                        halLinks(),
+                                        linkWithRel("self").description("Link to the current export"),
+                                        linkWithRel("file").description("Link to the exported file, once completed")
+                                ),
+                                secureRequestHeaders,
+                                responseHeaders
+                        )
+                );
+    }
+
+    @Test
+    void should_get_file() throws Exception {
+        var file = Files.write(tempDir.resolve("1.xlsx"), new byte[]{1, 2, 3});
+
+        when(service.findById(any(String.class))).thenReturn(Optional.of(ExportJobDto.builder()
+                .id("1")
+                .entity("spexare")
+                .contentType(Constants.MediaTypes.APPLICATION_XLSX_VALUE)
+                .status(ExportJobStatus.COMPLETED)
+                .build()));
+        when(service.findFileById(any(String.class))).thenReturn(Optional.of(Pair.of("spexare.xlsx", file)));
+
+        mockMvc
+                .perform(
+                        get("/api/v1/exports/{id}/file", "1")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(Constants.MediaTypes.APPLICATION_XLSX))
+                .andExpect(content().bytes(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    void should_not_get_file_when_not_completed() throws Exception {
+        when(service.findById(any(String.class))).thenReturn(Optional.of(ExportJobDto.builder()
+                .id("1")
+                .entity("spexare")
+                .contentType(Constants.MediaTypes.APPLICATION_XLSX_VALUE)
+                .status(ExportJobStatus.RUNNING)
+                .build()));
+        when(service.findFileById(any(String.class))).thenReturn(Optional.empty());
+
+        mockMvc
+                .perform(
+                        get("/api/v1/exports/{id}/file", "1")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                )
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_delete() throws Exception {
+        when(service.deleteById(any(String.class))).thenReturn(true);
+
+        mockMvc
+                .perform(
+                        delete("/api/v1/exports/{id}", "1")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                )
+                .andExpect(status().isNoContent())
+                .andDo(document(
+                                "exports/delete",
+                                preprocessRequest(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH).removeMatching(HttpHeaders.HOST)),
+                                preprocessResponse(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH)),
+                                pathParameters(
+                                        parameterWithName("id").description("The id of the export")
+                                ),
+                                secureRequestHeaders
+                        )
+                );
+    }
+
+}
@@ -0,0 +1,202 @@
+package nu.fgv.register.server.imports;
+
+import nu.fgv.register.server.util.AbstractApiTest;
+import nu.fgv.register.server.util.Constants;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.restdocs.payload.ResponseFieldsSnippet;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.halLinks;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
+import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.multipart;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.modifyHeaders;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessRequest;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessResponse;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.prettyPrint;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.partWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
+import static org.springframework.restdocs.request.RequestDocumentation.requestParts;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(value = ImportJobApi.class)
+class ImportJobApiTest extends AbstractApiTest {
+
+    @MockBean
+    private ImportJobService service;
+
+    private static final ResponseFieldsSnippet responseFields = responseFields(
+            fieldWithPath("id").description("The id of the import"),
+            fieldWithPath("entity").description("The entity being imported"),
+            fieldWithPath("status").description("The status of the import (QUEUED, RUNNING, COMPLETED or FAILED)"),
+            fieldWithPath("lastRow").description("The last row committed"),
+            fieldWithPath("created").description("The number of created entries"),
+            fieldWithPath("updated").description("The number of updated entries"),
+            fieldWithPath("deleted").description("The number of deleted entries"),
+            fieldWithPath("failed").description("The number of rows that failed"),
+            fieldWithPath("messages").description("The messages of the failed rows"),
+            fieldWithPath("createdAt").description("When was the import created"),
+            fieldWithPath("lastModifiedAt").description("When was the import last modified").optional(),
+            linksSubsection
+    );
+
+    @Test
+    void should_create() throws Exception {
+        var file = new MockMultipartFile("file", "task-categories.xlsx", Constants.MediaTypes.APPLICATION_XLSX_VALUE, new byte[]{10, 12});
+
+        when(service.create(eq("taskCategory"), any(), any(Locale.class))).thenReturn(ImportJobDto.builder()
+                .id(1L)
+                .entity("taskCategory")
+                .status(ImportJobStatus.QUEUED)
+                .messages(List.of())
+                .createdAt(Instant.now())
+                .build());
+
+        mockMvc
+                .perform(
+                        multipart("/api/v1/imports")
+                                .file(file)
+                                .param("entity", "taskCategory")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                )
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("status", is("QUEUED")))
+                .andDo(document(
+                                "imports/create",
+                                preprocessRequest(prettyPrint()),
+                                preprocessResponse(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH)),
+                                requestParts(
+                                        partWithName("file").description("The XLSX file to import")
+                                ),
+                                responseFields,
+                                links(
+                                        halLinks(),
+                                        linkWithRel("self").description("Link to the current import")
+                                ),
+                                secureRequestHeaders,
+                                createResponseHeaders
+                        )
+                );
+    }
+
+    @Test
+    void should_not_create_when_entity_is_not_supported() throws Exception {
+        var file = new MockMultipartFile("file", "news.xlsx", Constants.MediaTypes.APPLICATION_XLSX_VALUE, new byte[]{10, 12});
+
+        when(service.create(eq("news"), any(), any(Locale.class))).thenThrow(new ResourceNotFoundException(""));
+
+        mockMvc
+                .perform(
+                        multipart("/api/v1/imports")
+                                .file(file)
+                                .param("entity", "news")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                )
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_get() throws Exception {
+        when(service.findById(any(Long.class))).thenReturn(Optional.of(ImportJobDto.builder()
+                .id(1L)
+                .entity("taskCategory")
+                .status(ImportJobStatus.FAILED)
+                .lastRow(500)
+                .created(498)
+                .failed(2)
+                .messages(List.of("Row 17: Name must not be empty", "Row 312: Name must not be empty"))
+                .createdAt(Instant.now())
+                .lastModifiedAt(Instant.now())
+                .build()));
+
+        mockMvc
+                .perform(
+                        get("/api/v1/imports/{id}", 1L)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("lastRow", is(500)))
+                .andDo(document(
+                                "imports/get",
+                                preprocessRequest(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH).removeMatching(HttpHeaders.HOST)),
+                                preprocessResponse(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH)),
+                                pathParameters(
+                                        parameterWithName("id").description("The id of the import")
+                                ),
+                                responseFields,
+                                links(
+                                        halLinks(),
+                                        linkWithRel("self").description("Link to the current import"),
+                                        linkWithRel("resume").description("Link to resume the import, if failed")
+                                ),
+                                secureRequestHeaders,
+                                responseHeaders
+                        )
+                );
+    }
+
+    @Test
+    void should_resume() throws Exception {
+        when(service.resume(any(Long.class))).thenReturn(Optional.of(ImportJobDto.builder()
+                .id(1L)
+                .entity("taskCategory")
+                .status(ImportJobStatus.QUEUED)
+                .lastRow(500)
+                .messages(List.of())
+                .createdAt(Instant.now())
+                .build()));
+
+        mockMvc
+                .perform(
+                        post("/api/v1/imports/{id}/resume", 1L)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                )
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("status", is("QUEUED")));
+    }
+
+    @Test
+    void should_not_resume_when_not_failed() throws Exception {
+        when(service.resume(any(Long.class))).thenReturn(Optional.empty());
+
+        mockMvc
+                .perform(
+                        post("/api/v1/imports/{id}/resume", 1L)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                )
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_not_resume_when_file_is_on_other_node() throws Exception {
+        when(service.resume(any(Long.class))).thenThrow(new IllegalStateException("Import job 1 can only be resumed on node node-2"));
+
+        mockMvc
+                .perform(
+                        post("/api/v1/imports/{id}/resume", 1L)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                )
+                .andExpect(status().isConflict());
+    }
+
+}
@@ -0,0 +1,130 @@
+package nu.fgv.register.server.imports;
+
+import nu.fgv.register.server.util.Constants;
+import nu.fgv.register.server.util.impex.importing.ChunkedImport;
+import nu.fgv.register.server.util.impex.importing.ChunkedImportExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ImportJobServiceTest {
+
+    private static final String NODE_ID = "node-1";
+
+    @Mock
+    private ImportJobRepository repository;
+
+    @Mock
+    private ChunkedImportExecutor importExecutor;
+
+    @Mock
+    private ChunkedImport<?, ?> chunkedImport;
+
+    @TempDir
+    private Path directory;
+
+    private ImportJobService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new ImportJobService(repository, importExecutor, Map.of("taskImportService", chunkedImport));
+        ReflectionTestUtils.setField(service, "directory", directory);
+        ReflectionTestUtils.setField(service, "concurrency", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 1);
+        ReflectionTestUtils.setField(service, "nodeId", NODE_ID);
+        service.init();
+
+        when(repository.save(any(ImportJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void should_only_mark_jobs_of_this_node_as_interrupted() {
+        service.markInterrupted();
+
+        verify(repository).updateStatus(NODE_ID, ImportJobStatus.RUNNING, ImportJobStatus.FAILED);
+        verify(repository).updateStatus(NODE_ID, ImportJobStatus.QUEUED, ImportJobStatus.FAILED);
+    }
+
+    @Test
+    void should_not_resume_job_of_other_node_without_file() {
+        final ImportJob job = job(directory.resolve("missing.xlsx"), "node-2");
+
+        when(repository.findByIdAndCreatedBy(eq(1L), any())).thenReturn(Optional.of(job));
+
+        assertThrows(IllegalStateException.class, () -> service.resume(1L));
+        verify(repository, never()).save(any(ImportJob.class));
+    }
+
+    @Test
+    void should_not_resume_job_of_this_node_without_file() {
+        final ImportJob job = job(directory.resolve("missing.xlsx"), NODE_ID);
+
+        when(repository.findByIdAndCreatedBy(eq(1L), any())).thenReturn(Optional.of(job));
+
+        assertThat(service.resume(1L).isPresent(), is(false));
+    }
+
+    @Test
+    void should_take_over_job_of_other_node_with_shared_file() throws Exception {
+        final ImportJob job = job(Files.createFile(directory.resolve("shared.xlsx")), "node-2");
+
+        when(repository.findByIdAndCreatedBy(eq(1L), any())).thenReturn(Optional.of(job));
+
+        assertThat(service.resume(1L).map(ImportJobDto::getStatus).orElse(null), is(ImportJobStatus.QUEUED));
+        assertThat(job.getNode(), is(NODE_ID));
+    }
+
+    @Test
+    void should_mark_new_job_with_this_node() throws Exception {
+        final MockMultipartFile file = new MockMultipartFile("file", "tasks.xlsx", Constants.MediaTypes.APPLICATION_XLSX_VALUE, new byte[0]);
+        final ArgumentCaptor<ImportJob> job = ArgumentCaptor.forClass(ImportJob.class);
+
+        service.create("task", file, Locale.ENGLISH);
+
+        verify(repository).save(job.capture());
+        assertThat(job.getValue().getNode(), is(NODE_ID));
+    }
+
+    private static ImportJob job(final Path file, final String node) {
+        final ImportJob job = new ImportJob();
+
+        job.setId(1L);
+        job.setEntity("task");
+        job.setFile(file.toString());
+        job.setLocale("en");
+        job.setNode(node);
+        job.setStatus(ImportJobStatus.FAILED);
+        return job;
+    }
+}
@@ -5,6 +5,8 @@ import nu.fgv.register.server.event.EventApi;
 import nu.fgv.register.server.event.EventDto;
 import nu.fgv.register.server.event.EventService;
 import nu.fgv.register.server.util.AbstractApiTest;
+import nu.fgv.register.server.util.EntityVersion;
+import nu.fgv.register.server.util.EntityVersionService;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -17,6 +19,7 @@ import org.springframework.http.MediaType;
 import org.springframework.restdocs.hypermedia.LinksSnippet;
 import org.springframework.restdocs.payload.ResponseFieldsSnippet;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,7 +27,10 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
@@ -45,6 +51,7 @@ import static org.springframework.restdocs.request.RequestDocumentation.paramete
 import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
 import static org.springframework.restdocs.request.RequestDocumentation.queryParameters;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -60,6 +67,9 @@ class NewsApiTest extends AbstractApiTest {
     @MockBean
     private EventApi eventApi;
 
+    @MockBean
+    private EntityVersionService entityVersionService;
+
     private final ResponseFieldsSnippet responseFields = auditResponseFields.and(
             fieldWithPath("id").description("The id of the news"),
             fieldWithPath("subject").description("The subject of the news"),
@@ -183,6 +193,74 @@ class NewsApiTest extends AbstractApiTest {
                 );
     }
 
+    @Test
+    void should_not_get_when_not_modified() throws Exception {
+        var news = NewsDto.builder().id(1L).subject("News subject").text("News text").build();
+
+        when(service.findById(any(Long.class))).thenReturn(Optional.of(news));
+        when(entityVersionService.findById(eq(News.class), any(Long.class))).thenReturn(Optional.of(new EntityVersion("News:1:1000", Instant.ofEpochMilli(1000))));
+
+        var eTag = mockMvc
+                .perform(
+                        get("/api/v1/news/{id}", 1)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc
+                .perform(
+                        get("/api/v1/news/{id}", 1)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                )
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, is(eTag)));
+
+        verify(service, times(1)).findById(any(Long.class));
+    }
+
+    @Test
+    void should_only_answer_if_none_match_when_paged_not_modified() throws Exception {
+        var news = NewsDto.builder().id(1L).subject("News subject").text("News text").build();
+
+        when(service.find(any(String.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(news), PageRequest.of(0, 1), 1));
+        when(entityVersionService.findAll(News.class)).thenReturn(Optional.of(new EntityVersion("News:1:1000:1:1", null)));
+
+        var eTag = mockMvc
+                .perform(
+                        get("/api/v1/news")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // Permissions may have changed since, which leaves no modification time behind
+        mockMvc
+                .perform(
+                        get("/api/v1/news")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .header(HttpHeaders.IF_MODIFIED_SINCE, "Thu, 01 Jan 2099 00:00:00 GMT")
+                )
+                .andExpect(status().isOk());
+
+        mockMvc
+                .perform(
+                        get("/api/v1/news")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                )
+                .andExpect(status().isNotModified());
+
+        verify(service, times(2)).find(any(String.class), any(Pageable.class));
+    }
+
     @Test
     void should_update() throws Exception {
         var fields = new ConstrainedFields(NewsUpdateDto.class);
@@ -0,0 +1,111 @@
+package nu.fgv.register.server.settings;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import nu.fgv.register.server.event.Event;
+import nu.fgv.register.server.event.SpringEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReferenceDataServiceTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TypedQuery<Type> typeQuery;
+
+    @Mock
+    private TypedQuery<Object> idQuery;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReferenceDataService service;
+
+    @BeforeEach
+    void setUp() {
+        final Type type = new Type();
+
+        type.setId("HOME");
+        type.setType(TypeType.ADDRESS);
+        type.setLabels(Map.of("sv", "Hem"));
+        when(typeQuery.getResultList()).thenReturn(List.of(type));
+        when(idQuery.getResultList()).thenReturn(List.of());
+        doReturn(idQuery).when(entityManager).createQuery(anyString(), any(Class.class));
+        doReturn(typeQuery).when(entityManager).createQuery("SELECT t FROM Type t ORDER BY t.id", Type.class);
+        when(jdbcTemplate.queryForObject(ReferenceDataService.LATEST_EVENT_SQL, Long.class)).thenReturn(1L);
+
+        service = new ReferenceDataService(entityManager, jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void should_copy_types() {
+        final ReferenceDataSnapshot.TypeEntry type = service.getSnapshot().findType("HOME").orElseThrow();
+
+        assertThat(type.type(), is(TypeType.ADDRESS));
+        assertThat(type.labels().get("sv"), is("Hem"));
+    }
+
+    @Test
+    void should_reload_once_for_many_changes() {
+        final ReferenceDataSnapshot initial = service.getSnapshot();
+
+        service.onEvent(event(Event.SourceType.TYPE));
+        service.onEvent(event(Event.SourceType.TASK_CATEGORY));
+
+        final ReferenceDataSnapshot reloaded = service.getSnapshot();
+
+        assertThat(reloaded.version(), is(initial.version() + 1));
+        assertThat(service.getSnapshot(), sameInstance(reloaded));
+    }
+
+    @Test
+    void should_ignore_other_changes() {
+        final ReferenceDataSnapshot initial = service.getSnapshot();
+
+        service.onEvent(event(Event.SourceType.SPEXARE));
+
+        assertThat(service.getSnapshot(), sameInstance(initial));
+    }
+
+    @Test
+    void should_reload_when_changed_on_other_node() {
+        final ReferenceDataSnapshot initial = service.getSnapshot();
+
+        service.detectRemoteChanges();
+        assertThat(service.getSnapshot(), sameInstance(initial));
+
+        when(jdbcTemplate.queryForObject(ReferenceDataService.LATEST_EVENT_SQL, Long.class)).thenReturn(2L);
+        service.detectRemoteChanges();
+
+        assertThat(service.getSnapshot().version(), is(initial.version() + 1));
+    }
+
+    private static SpringEvent event(final Event.SourceType sourceType) {
+        return new SpringEvent(new Object(), Event.EventType.UPDATE, sourceType);
+    }
+}
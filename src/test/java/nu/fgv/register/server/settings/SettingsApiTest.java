@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpHeaders;
 import org.springframework.restdocs.headers.RequestHeadersSnippet;
 import org.springframework.restdocs.hypermedia.LinksSnippet;
@@ -17,6 +18,8 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
@@ -37,10 +40,12 @@ import static org.springframework.restdocs.payload.PayloadDocumentation.subsecti
 import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
 import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(value = SettingsApi.class)
+@Import(SettingsResponseCache.class)
 class SettingsApiTest extends AbstractApiTest {
 
     @MockBean
@@ -186,6 +191,34 @@ class SettingsApiTest extends AbstractApiTest {
                     );
         }
 
+        @Test
+        void should_not_get_countries_when_not_modified() throws Exception {
+            var country1 = CountryDto.builder().isoCode("SE").label("Sverige").build();
+            var country2 = CountryDto.builder().isoCode("NO").label("Norge").build();
+
+            when(countryService.findAll()).thenReturn((List.of(country1, country2)));
+
+            var eTag = mockMvc
+                    .perform(
+                            get("/api/v1/settings/countries")
+                    )
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, is(notNullValue())))
+                    .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(containsString(HttpHeaders.ACCEPT_LANGUAGE))))
+                    .andReturn()
+                    .getResponse()
+                    .getHeader(HttpHeaders.ETAG);
+
+            mockMvc
+                    .perform(
+                            get("/api/v1/settings/countries")
+                                    .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                    )
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, is(eTag)))
+                    .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(containsString(HttpHeaders.ACCEPT_LANGUAGE))));
+        }
+
         @Test
         void should_get_country() throws Exception {
             var country = CountryDto.builder().isoCode("SE").label("Sverige").build();
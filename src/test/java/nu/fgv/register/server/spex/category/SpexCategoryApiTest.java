@@ -13,6 +13,7 @@ import nu.fgv.register.server.spex.category.SpexCategoryService;
 import nu.fgv.register.server.spex.category.SpexCategoryUpdateDto;
 import nu.fgv.register.server.util.AbstractApiTest;
 import nu.fgv.register.server.util.Constants;
+import nu.fgv.register.server.util.EntityVersionService;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -85,6 +86,9 @@ class SpexCategoryApiTest extends AbstractApiTest {
     @MockBean
     private EventApi eventApi;
 
+    @MockBean
+    private EntityVersionService entityVersionService;
+
     private final ResponseFieldsSnippet responseFields = auditResponseFields.and(
             fieldWithPath("id").description("The id of the spex category"),
             fieldWithPath("name").description("The name of the spex category"),
@@ -7,6 +7,7 @@ import nu.fgv.register.server.event.EventService;
 import nu.fgv.register.server.spex.SpexUpdateDto;
 import nu.fgv.register.server.util.AbstractApiTest;
 import nu.fgv.register.server.util.Constants;
+import nu.fgv.register.server.util.EntityVersionService;
 import nu.fgv.register.server.util.search.Facet;
 import nu.fgv.register.server.util.search.PageWithFacets;
 import nu.fgv.register.server.util.search.PageWithFacetsImpl;
@@ -29,7 +30,10 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.restdocs.hypermedia.LinksSnippet;
 import org.springframework.restdocs.payload.ResponseFieldsSnippet;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -40,6 +44,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 import static org.springframework.restdocs.headers.HeaderDocumentation.headerWithName;
@@ -66,9 +71,12 @@ import static org.springframework.restdocs.request.RequestDocumentation.partWith
 import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
 import static org.springframework.restdocs.request.RequestDocumentation.queryParameters;
 import static org.springframework.restdocs.request.RequestDocumentation.requestParts;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(value = SpexareApi.class)
@@ -92,6 +100,9 @@ class SpexareApiTest extends AbstractApiTest {
     @MockBean
     private PagedWithFacetsResourcesAssembler<SpexareDto> pagedWithFacetsResourcesAssembler; // must mock as it is not instantiated when using @WebMvcTest
 
+    @MockBean
+    private EntityVersionService entityVersionService;
+
     private final ResponseFieldsSnippet responseFields = auditResponseFields.and(
             fieldWithPath("id").description("The id of the spexare"),
             fieldWithPath("firstName").description("The first name of the spexare"),
@@ -217,6 +228,46 @@ class SpexareApiTest extends AbstractApiTest {
                 );
     }
 
+    @Test
+    void should_suggest() throws Exception {
+        var suggestion1 = SpexareSuggestionDto.of(1L, "Ada", "Lovelace", null);
+        var suggestion2 = SpexareSuggestionDto.of(2L, "Adam", "Smith", "Invisible");
+
+        when(service.suggest("ad", 10)).thenReturn(List.of(suggestion1, suggestion2));
+
+        mockMvc
+                .perform(
+                        get("/api/v1/spexare/suggest?prefix=ad&limit=10")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.suggestions", hasSize(2)))
+                .andExpect(jsonPath("_embedded.suggestions[0].displayName", is("Ada Lovelace")))
+                .andExpect(jsonPath("_embedded.suggestions[1].displayName", is("Adam \"Invisible\" Smith")))
+                .andDo(print())
+                .andDo(
+                        document(
+                                "spexare/suggest",
+                                preprocessRequest(prettyPrint()),
+                                preprocessResponse(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH)),
+                                responseFields(
+                                        subsectionWithPath("_embedded").description("The embedded section"),
+                                        subsectionWithPath("_embedded.suggestions[]").description("The elements"),
+                                        fieldWithPath("_embedded.suggestions[].id").description("The id of the spexare"),
+                                        fieldWithPath("_embedded.suggestions[].displayName").description("The name of the spexare, including the nickname if any"),
+                                        subsectionWithPath("_embedded.suggestions[]._links").description("The spexare links"),
+                                        linksSubsection
+                                ),
+                                queryParameters(
+                                        parameterWithName("prefix").description("What has been typed so far, every word is matched as a prefix of the first name, last name or nickname"),
+                                        parameterWithName("limit").description("The maximum number of suggestions (default 10, at most 50)").optional()
+                                ),
+                                secureRequestHeaders,
+                                responseHeaders
+                        )
+                );
+    }
+
     @Test
     void should_get_export() throws Exception {
         var export = Pair.of(".xlsx", new byte[]{10, 12});
@@ -252,6 +303,30 @@ class SpexareApiTest extends AbstractApiTest {
                 );
     }
 
+    @Test
+    void should_get_streaming_export() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(3).write("Id,First name\r\n1,Ada\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).doExport(anyList(), any(String.class), any(Locale.class), any(OutputStream.class));
+
+        final MvcResult result = mockMvc
+                .perform(
+                        get("/api/v1/spexare?ids=1,2,3")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .accept(Constants.MediaTypes.TEXT_CSV)
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc
+                .perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, Constants.MediaTypes.TEXT_CSV_VALUE))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"spexare.csv\""))
+                .andExpect(content().string("Id,First name\r\n1,Ada\r\n"));
+    }
+
     @Test
     void should_create() throws Exception {
         var fields = new ConstrainedFields(SpexareCreateDto.class);
@@ -0,0 +1,427 @@
+package nu.fgv.register.server.spexare;
+
+import nu.fgv.register.server.spexare.address.AddressBatchItemDto;
+import nu.fgv.register.server.spexare.address.AddressCreateDto;
+import nu.fgv.register.server.spexare.address.AddressService;
+import nu.fgv.register.server.spexare.consent.ConsentBatchItemDto;
+import nu.fgv.register.server.spexare.consent.ConsentService;
+import nu.fgv.register.server.spexare.membership.MembershipBatchItemDto;
+import nu.fgv.register.server.spexare.membership.MembershipService;
+import nu.fgv.register.server.spexare.tag.TaggingService;
+import nu.fgv.register.server.spexare.toggle.ToggleBatchItemDto;
+import nu.fgv.register.server.spexare.toggle.ToggleService;
+import nu.fgv.register.server.util.AbstractApiTest;
+import nu.fgv.register.server.util.BatchItemResultDto;
+import nu.fgv.register.server.util.BatchResultDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.restdocs.payload.ResponseFieldsSnippet;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.modifyHeaders;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessRequest;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessResponse;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.prettyPrint;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.requestFields;
+import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
+import static org.springframework.restdocs.payload.PayloadDocumentation.subsectionWithPath;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(value = SpexareBatchApi.class)
+class SpexareBatchApiTest extends AbstractApiTest {
+
+    @MockBean
+    private SpexareService service;
+
+    @MockBean
+    private TaggingService taggingService;
+
+    @MockBean
+    private AddressService addressService;
+
+    @MockBean
+    private MembershipService membershipService;
+
+    @MockBean
+    private ConsentService consentService;
+
+    @MockBean
+    private ToggleService toggleService;
+
+    private static final ResponseFieldsSnippet responseFields = responseFields(
+            fieldWithPath("succeeded").description("The number of items that succeeded"),
+            fieldWithPath("failed").description("The number of items that failed"),
+            subsectionWithPath("results[]").description("The result per item"),
+            fieldWithPath("results[].index").description("The index of the item in the request"),
+            fieldWithPath("results[].id").description("The id of the item, if any").optional(),
+            fieldWithPath("results[].status").description("The HTTP status of the item")
+    );
+
+    @Test
+    void should_batch() throws Exception {
+        var dto = SpexareBatchDto.builder()
+                .create(List.of(
+                        SpexareCreateDto.builder().firstName("FirstName").lastName("LastName").build(),
+                        SpexareCreateDto.builder().firstName("FirstName").build()
+                ))
+                .update(List.of(SpexareUpdateDto.builder().id(1L).firstName("FirstName").lastName("LastName").build()))
+                .build();
+
+        when(service.batch(any(SpexareBatchDto.class))).thenReturn(new BatchResultDto(List.of(
+                BatchItemResultDto.builder().operation("create").index(0).id(2L).status(201).build(),
+                BatchItemResultDto.builder().operation("create").index(1).status(400).messages(List.of("must not be blank")).build(),
+                BatchItemResultDto.builder().operation("update").index(0).id(1L).status(200).build()
+        )));
+
+        mockMvc
+                .perform(
+                        post("/api/v1/spexare:batch")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(dto))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("succeeded", is(2)))
+                .andExpect(jsonPath("failed", is(1)))
+                .andExpect(jsonPath("results", hasSize(3)))
+                .andDo(document(
+                                "spexare/batch",
+                                preprocessRequest(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH).removeMatching(HttpHeaders.HOST)),
+                                preprocessResponse(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH)),
+                                requestFields(
+                                        subsectionWithPath("create[]").description("The spexare to create"),
+                                        subsectionWithPath("update[]").description("The spexare to update, identified by id")
+                                ),
+                                responseFields.and(
+                                        fieldWithPath("results[].operation").description("The operation of the item"),
+                                        fieldWithPath("results[].messages").description("The validation messages of the item, if any").optional()
+                                ),
+                                secureRequestHeaders,
+                                responseHeaders
+                        )
+                );
+    }
+
+    @Test
+    void should_not_batch_when_too_large() throws Exception {
+        var dto = SpexareBatchDto.builder()
+                .create(Collections.nCopies(501, SpexareCreateDto.builder().firstName("FirstName").lastName("LastName").build()))
+                .build();
+
+        mockMvc
+                .perform(
+                        post("/api/v1/spexare:batch")
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(dto))
+                )
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void should_batch_tags() throws Exception {
+        when(taggingService.createAll(any(Long.class), anyList())).thenReturn(new BatchResultDto(List.of(
+                BatchItemResultDto.builder().index(0).id(1L).status(201).build(),
+                BatchItemResultDto.builder().index(1).id(2L).status(409).build()
+        )));
+
+        mockMvc
+                .perform(
+                        post("/api/v1/spexare/{spexareId}/tags:batch", 1L)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(List.of(1L, 2L)))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("succeeded", is(1)))
+                .andExpect(jsonPath("failed", is(1)))
+                .andDo(document(
+                                "spexare/tags/batch",
+                                preprocessRequest(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH).removeMatching(HttpHeaders.HOST)),
+                                preprocessResponse(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH)),
+                                pathParameters(
+                                        parameterWithName("spexareId").description("The id of the spexare")
+                                ),
+                                requestFields(
+                                        fieldWithPath("[]").description("The ids of the tags")
+                                ),
+                                responseFields,
+                                secureRequestHeaders,
+                                responseHeaders
+                        )
+                );
+    }
+
+    @Test
+    void should_not_batch_tags_when_spexare_does_not_exist() throws Exception {
+        when(taggingService.createAll(any(Long.class), anyList())).thenThrow(new ResourceNotFoundException(""));
+
+        mockMvc
+                .perform(
+                        post("/api/v1/spexare/{spexareId}/tags:batch", 1L)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(List.of(1L, 2L)))
+                )
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_not_batch_tags_when_too_large() throws Exception {
+        mockMvc
+                .perform(
+                        post("/api/v1/spexare/{spexareId}/tags:batch", 1L)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(Collections.nCopies(501, 1L)))
+                )
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(taggingService);
+    }
+
+    @Test
+    void should_batch_spexare_for_tag() throws Exception {
+        when(taggingService.tagAll(any(Long.class), anyList())).thenReturn(new BatchResultDto(List.of(
+                BatchItemResultDto.builder().index(0).id(1L).status(201).build(),
+                BatchItemResultDto.builder().index(1).id(2L).status(404).build()
+        )));
+
+        mockMvc
+                .perform(
+                        post("/api/v1/tags/{tagId}/spexare:batch", 1L)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(List.of(1L, 2L)))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("succeeded", is(1)))
+                .andExpect(jsonPath("failed", is(1)))
+                .andDo(document(
+                                "tags/spexare/batch",
+                                preprocessRequest(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH).removeMatching(HttpHeaders.HOST)),
+                                preprocessResponse(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH)),
+                                pathParameters(
+                                        parameterWithName("tagId").description("The id of the tag")
+                                ),
+                                requestFields(
+                                        fieldWithPath("[]").description("The ids of the spexare")
+                                ),
+                                responseFields,
+                                secureRequestHeaders,
+                                responseHeaders
+                        )
+                );
+    }
+
+    @Test
+    void should_batch_addresses() throws Exception {
+        var items = List.of(
+                AddressBatchItemDto.builder().typeId("HOME").address(AddressCreateDto.builder().streetAddress("Street").city("City").build()).build(),
+                AddressBatchItemDto.builder().typeId("WORK").address(AddressCreateDto.builder().emailAddress("invalid").build()).build()
+        );
+
+        when(addressService.batch(any(Long.class), anyList())).thenReturn(new BatchResultDto(List.of(
+                BatchItemResultDto.builder().index(0).id(1L).status(201).build(),
+                BatchItemResultDto.builder().index(1).status(400).messages(List.of("Email address must be valid")).build()
+        )));
+
+        mockMvc
+                .perform(
+                        post("/api/v1/spexare/{spexareId}/addresses:batch", 1L)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(items))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("succeeded", is(1)))
+                .andExpect(jsonPath("failed", is(1)))
+                .andDo(document(
+                                "spexare/addresses/batch",
+                                preprocessRequest(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH).removeMatching(HttpHeaders.HOST)),
+                                preprocessResponse(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH)),
+                                pathParameters(
+                                        parameterWithName("spexareId").description("The id of the spexare")
+                                ),
+                                requestFields(
+                                        fieldWithPath("[].typeId").description("The type of the address, an existing address of the type is updated"),
+                                        subsectionWithPath("[].address").description("The address")
+                                ),
+                                responseFields.and(
+                                        fieldWithPath("results[].messages").description("The validation messages of the item, if any").optional()
+                                ),
+                                secureRequestHeaders,
+                                responseHeaders
+                        )
+                );
+    }
+
+    @Test
+    void should_not_batch_addresses_when_spexare_does_not_exist() throws Exception {
+        when(addressService.batch(any(Long.class), anyList())).thenThrow(new ResourceNotFoundException(""));
+
+        mockMvc
+                .perform(
+                        post("/api/v1/spexare/{spexareId}/addresses:batch", 1L)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(List.of(AddressBatchItemDto.builder().typeId("HOME").address(AddressCreateDto.builder().build()).build())))
+                )
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void should_batch_memberships() throws Exception {
+        var items = List.of(
+                MembershipBatchItemDto.builder().typeId("FGV").year("2023").build(),
+                MembershipBatchItemDto.builder().typeId("FGV").year("2023").build()
+        );
+
+        when(membershipService.batch(any(Long.class), anyList())).thenReturn(new BatchResultDto(List.of(
+                BatchItemResultDto.builder().index(0).id(1L).status(201).build(),
+                BatchItemResultDto.builder().index(1).status(409).build()
+        )));
+
+        mockMvc
+                .perform(
+                        post("/api/v1/spexare/{spexareId}/memberships:batch", 1L)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(items))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("succeeded", is(1)))
+                .andExpect(jsonPath("failed", is(1)))
+                .andDo(document(
+                                "spexare/memberships/batch",
+                                preprocessRequest(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH).removeMatching(HttpHeaders.HOST)),
+                                preprocessResponse(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH)),
+                                pathParameters(
+                                        parameterWithName("spexareId").description("The id of the spexare")
+                                ),
+                                requestFields(
+                                        fieldWithPath("[].typeId").description("The type of the membership"),
+                                        fieldWithPath("[].year").description("The year of the membership")
+                                ),
+                                responseFields,
+                                secureRequestHeaders,
+                                responseHeaders
+                        )
+                );
+    }
+
+    @Test
+    void should_batch_consents() throws Exception {
+        var items = List.of(
+                ConsentBatchItemDto.builder().typeId("PUBLISH_ADDRESS").value(true).build(),
+                ConsentBatchItemDto.builder().typeId("UNKNOWN").value(false).build()
+        );
+
+        when(consentService.batch(any(Long.class), anyList())).thenReturn(new BatchResultDto(List.of(
+                BatchItemResultDto.builder().index(0).id(1L).status(200).build(),
+                BatchItemResultDto.builder().index(1).status(404).build()
+        )));
+
+        mockMvc
+                .perform(
+                        post("/api/v1/spexare/{spexareId}/consents:batch", 1L)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(items))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("succeeded", is(1)))
+                .andExpect(jsonPath("failed", is(1)))
+                .andDo(document(
+                                "spexare/consents/batch",
+                                preprocessRequest(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH).removeMatching(HttpHeaders.HOST)),
+                                preprocessResponse(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH)),
+                                pathParameters(
+                                        parameterWithName("spexareId").description("The id of the spexare")
+                                ),
+                                requestFields(
+                                        fieldWithPath("[].typeId").description("The type of the consent, an existing consent of the type is updated"),
+                                        fieldWithPath("[].value").description("The value of the consent")
+                                ),
+                                responseFields,
+                                secureRequestHeaders,
+                                responseHeaders
+                        )
+                );
+    }
+
+    @Test
+    void should_batch_toggles() throws Exception {
+        var items = List.of(
+                ToggleBatchItemDto.builder().typeId("CHILD_TOGGLE").value(true).build(),
+                ToggleBatchItemDto.builder().typeId("OTHER_TOGGLE").value(false).build()
+        );
+
+        when(toggleService.batch(any(Long.class), anyList())).thenReturn(new BatchResultDto(List.of(
+                BatchItemResultDto.builder().index(0).id(1L).status(201).build(),
+                BatchItemResultDto.builder().index(1).id(2L).status(200).build()
+        )));
+
+        mockMvc
+                .perform(
+                        post("/api/v1/spexare/{spexareId}/toggles:batch", 1L)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(items))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("succeeded", is(2)))
+                .andExpect(jsonPath("failed", is(0)))
+                .andDo(document(
+                                "spexare/toggles/batch",
+                                preprocessRequest(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH).removeMatching(HttpHeaders.HOST)),
+                                preprocessResponse(prettyPrint(), modifyHeaders().removeMatching(HttpHeaders.CONTENT_LENGTH)),
+                                pathParameters(
+                                        parameterWithName("spexareId").description("The id of the spexare")
+                                ),
+                                requestFields(
+                                        fieldWithPath("[].typeId").description("The type of the toggle, an existing toggle of the type is updated"),
+                                        fieldWithPath("[].value").description("The value of the toggle")
+                                ),
+                                responseFields,
+                                secureRequestHeaders,
+                                responseHeaders
+                        )
+                );
+    }
+
+    @Test
+    void should_not_batch_toggles_when_too_large() throws Exception {
+        mockMvc
+                .perform(
+                        post("/api/v1/spexare/{spexareId}/toggles:batch", 1L)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(this.objectMapper.writeValueAsString(Collections.nCopies(501, ToggleBatchItemDto.builder().typeId("CHILD_TOGGLE").value(true).build())))
+                )
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(toggleService);
+    }
+
+}
@@ -0,0 +1,104 @@
+package nu.fgv.register.server.spexare;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SpexarePathResolverTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private SpexarePathResolver resolver;
+
+    @Test
+    void should_check_each_segment_against_its_parent_in_one_query() throws Exception {
+        final ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+
+        row(true, true, true, true, true);
+
+        final SpexarePathResolver.ResolvedPath path = resolver.spexare(1L).activity(2L).taskActivity(3L).resolve();
+
+        verify(jdbcTemplate).queryForObject(sql.capture(), any(RowMapper.class), args.capture());
+        assertThat(sql.getValue(), is("SELECT EXISTS(SELECT 1 FROM spexare WHERE id = ?), "
+                + "EXISTS(SELECT 1 FROM activity WHERE id = ?), "
+                + "EXISTS(SELECT 1 FROM activity WHERE id = ? AND spexare_id = ?), "
+                + "EXISTS(SELECT 1 FROM task_activity WHERE id = ?), "
+                + "EXISTS(SELECT 1 FROM task_activity WHERE id = ? AND activity_id = ?)"));
+        assertThat(args.getValue(), arrayContaining(new Object[]{1L, 2L, 2L, 1L, 3L, 3L, 2L}));
+        assertThat(path.allExist(), is(true));
+        assertThat(path.isLinked(), is(true));
+    }
+
+    @Test
+    void should_resolve_valid_path() throws Exception {
+        row(true, true, true);
+
+        final SpexarePathResolver.ResolvedPath path = resolver.spexare(1L).activity(2L).resolve();
+
+        assertThat(path.allExist(), is(true));
+        assertThat(path.ancestorsExist(), is(true));
+        assertThat(path.isLinked(), is(true));
+    }
+
+    @Test
+    void should_not_link_child_of_other_parent() throws Exception {
+        row(true, true, false);
+
+        final SpexarePathResolver.ResolvedPath path = resolver.spexare(1L).activity(2L).resolve();
+
+        assertThat(path.allExist(), is(true));
+        assertThat(path.isLinked(), is(false));
+    }
+
+    @Test
+    void should_report_missing_child_with_existing_ancestors() throws Exception {
+        row(true, false, false);
+
+        final SpexarePathResolver.ResolvedPath path = resolver.spexare(1L).address(2L).resolve();
+
+        assertThat(path.ancestorsExist(), is(true));
+        assertThat(path.allExist(), is(false));
+        assertThat(path.isLinked(), is(false));
+    }
+
+    @Test
+    void should_report_missing_ancestor() throws Exception {
+        row(false, false, false);
+
+        final SpexarePathResolver.ResolvedPath path = resolver.spexare(1L).membership(2L).resolve();
+
+        assertThat(path.ancestorsExist(), is(false));
+        assertThat(path.allExist(), is(false));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void row(final Boolean... columns) throws Exception {
+        final ResultSet rs = mock(ResultSet.class);
+
+        for (int i = 0; i < columns.length; i++) {
+            when(rs.getBoolean(i + 1)).thenReturn(columns[i]);
+        }
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation ->
+                invocation.<RowMapper<SpexarePathResolver.ResolvedPath>>getArgument(1).mapRow(rs, 0));
+    }
+}
@@ -0,0 +1,112 @@
+package nu.fgv.register.server.spexare;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import nu.fgv.register.server.admin.IndexingService;
+import nu.fgv.register.server.util.BatchItemResultDto;
+import nu.fgv.register.server.util.BatchResultDto;
+import nu.fgv.register.server.util.search.FilterExecutionPlanner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SpexareServiceTest {
+
+    @Mock
+    private SpexareRepository repository;
+
+    @Mock
+    private FilterExecutionPlanner filterExecutionPlanner;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private IndexingService indexingService;
+
+    private SpexareService service;
+
+    private final AtomicLong nextId = new AtomicLong(100);
+
+    @BeforeEach
+    void setUp() {
+        service = new SpexareService(repository, filterExecutionPlanner, Validation.buildDefaultValidatorFactory().getValidator(), entityManager, indexingService);
+
+        when(repository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            final List<Spexare> saved = new ArrayList<>();
+
+            invocation.<Iterable<Spexare>>getArgument(0).forEach(spexare -> {
+                if (spexare.getId() == null) {
+                    spexare.setId(nextId.getAndIncrement());
+                }
+                saved.add(spexare);
+            });
+            return saved;
+        });
+    }
+
+    @Test
+    void should_create_valid_and_report_invalid_items() {
+        final SpexareBatchDto dto = SpexareBatchDto.builder()
+                .create(List.of(
+                        SpexareCreateDto.builder().firstName("FirstName").lastName("LastName").build(),
+                        SpexareCreateDto.builder().firstName("FirstName").build()
+                ))
+                .build();
+
+        final BatchResultDto result = service.batch(dto);
+
+        assertThat(result.getSucceeded(), is(1));
+        assertThat(result.getFailed(), is(1));
+        assertThat(result.getResults().stream().map(BatchItemResultDto::getStatus).toList(), contains(201, 400));
+        assertThat(result.getResults().get(0).getId(), is(100L));
+        assertThat(result.getResults().get(0).getMessages(), is(nullValue()));
+        assertThat(result.getResults().get(1).getId(), is(nullValue()));
+        assertThat(result.getResults().get(1).getMessages(), is(notNullValue()));
+    }
+
+    @Test
+    void should_update_existing_and_report_missing_duplicate_and_invalid_items() {
+        final Spexare existing = new Spexare();
+        existing.setId(1L);
+        existing.setFirstName("FirstName");
+        existing.setLastName("LastName");
+
+        when(repository.findAllById(any())).thenReturn(List.of(existing));
+
+        final SpexareBatchDto dto = SpexareBatchDto.builder()
+                .update(List.of(
+                        SpexareUpdateDto.builder().id(1L).firstName("Updated").lastName("LastName").build(),
+                        SpexareUpdateDto.builder().id(2L).firstName("FirstName").lastName("LastName").build(),
+                        SpexareUpdateDto.builder().id(1L).firstName("Again").lastName("LastName").build(),
+                        SpexareUpdateDto.builder().firstName("FirstName").lastName("LastName").build()
+                ))
+                .build();
+
+        final BatchResultDto result = service.batch(dto);
+
+        assertThat(result.getSucceeded(), is(1));
+        assertThat(result.getFailed(), is(3));
+        assertThat(result.getResults().stream().map(BatchItemResultDto::getStatus).toList(), contains(200, 404, 409, 400));
+        assertThat(existing.getFirstName(), is("Updated"));
+    }
+}
@@ -0,0 +1,144 @@
+package nu.fgv.register.server.spexare.membership;
+
+import jakarta.validation.Validation;
+import nu.fgv.register.server.settings.Type;
+import nu.fgv.register.server.settings.TypeRepository;
+import nu.fgv.register.server.settings.TypeService;
+import nu.fgv.register.server.settings.TypeType;
+import nu.fgv.register.server.spexare.Spexare;
+import nu.fgv.register.server.spexare.SpexarePathResolver;
+import nu.fgv.register.server.spexare.SpexareRepository;
+import nu.fgv.register.server.util.BatchItemResultDto;
+import nu.fgv.register.server.util.BatchResultDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MembershipServiceTest {
+
+    private static final Long SPEXARE_ID = 1L;
+
+    @Mock
+    private MembershipRepository repository;
+
+    @Mock
+    private SpexareRepository spexareRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TypeRepository typeRepository;
+
+    @Mock
+    private TypeService typeService;
+
+    private MembershipService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MembershipService(repository, spexareRepository, new SpexarePathResolver(jdbcTemplate), typeRepository, typeService, Validation.buildDefaultValidatorFactory().getValidator());
+
+        when(spexareRepository.getReferenceById(SPEXARE_ID)).thenReturn(new Spexare());
+        when(typeRepository.getReferenceById(anyString())).thenAnswer(invocation -> {
+            final Type type = new Type();
+            type.setId(invocation.getArgument(0));
+            return type;
+        });
+        when(repository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            final List<Membership> saved = new ArrayList<>();
+            long id = 100;
+
+            for (final Membership membership : invocation.<Iterable<Membership>>getArgument(0)) {
+                membership.setId(id++);
+                saved.add(membership);
+            }
+            return saved;
+        });
+        when(typeService.findExistingIds(any(), eq(TypeType.MEMBERSHIP))).thenReturn(Set.of("FGV"));
+        spexareExists(true);
+    }
+
+    @Test
+    void should_create_valid_and_report_invalid_items() {
+        when(repository.findAll(any(Specification.class))).thenReturn(List.of(membership("FGV", "2020")));
+
+        final BatchResultDto result = service.batch(SPEXARE_ID, List.of(
+                item("FGV", "2021"),
+                item("FGV", "1800"),
+                item("UNKNOWN", "2021"),
+                item("FGV", "2020"),
+                item("FGV", "2021")
+        ));
+
+        assertThat(result.getSucceeded(), is(1));
+        assertThat(result.getFailed(), is(4));
+        assertThat(result.getResults().stream().map(BatchItemResultDto::getStatus).toList(), contains(201, 400, 404, 409, 409));
+        assertThat(result.getResults().getFirst().getId(), is(100L));
+    }
+
+    @Test
+    void should_look_up_types_once_per_batch() {
+        service.batch(SPEXARE_ID, List.of(item("FGV", "2021"), item("FGV", "2022"), item("CBK", "2021")));
+
+        verify(typeService, times(1)).findExistingIds(eq(Set.of("FGV", "CBK")), eq(TypeType.MEMBERSHIP));
+        verify(typeService, never()).existsByIdAndType(any(), any());
+    }
+
+    @Test
+    void should_not_batch_when_spexare_does_not_exist() {
+        spexareExists(false);
+
+        final List<MembershipBatchItemDto> items = List.of(item("FGV", "2021"));
+
+        assertThrows(ResourceNotFoundException.class, () -> service.batch(SPEXARE_ID, items));
+        verify(repository, never()).saveAll(anyIterable());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void spexareExists(final boolean exists) {
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(new SpexarePathResolver.ResolvedPath(new boolean[]{exists}, new boolean[]{exists}));
+    }
+
+    private static MembershipBatchItemDto item(final String typeId, final String year) {
+        return MembershipBatchItemDto.builder().typeId(typeId).year(year).build();
+    }
+
+    private static Membership membership(final String typeId, final String year) {
+        final Type type = new Type();
+        type.setId(typeId);
+
+        final Membership membership = new Membership();
+        membership.setType(type);
+        membership.setYear(year);
+        return membership;
+    }
+}
@@ -6,6 +6,7 @@ import nu.fgv.register.server.event.EventDto;
 import nu.fgv.register.server.event.EventService;
 import nu.fgv.register.server.util.AbstractApiTest;
 import nu.fgv.register.server.util.Constants;
+import nu.fgv.register.server.util.EntityVersionService;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -73,6 +74,9 @@ class TagApiTest extends AbstractApiTest {
     @MockBean
     private EventApi eventApi;
 
+    @MockBean
+    private EntityVersionService entityVersionService;
+
     private final ResponseFieldsSnippet responseFields = auditResponseFields.and(
             fieldWithPath("id").description("The id of the tag"),
             fieldWithPath("name").description("The name of the tag"),
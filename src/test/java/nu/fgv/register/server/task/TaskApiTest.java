@@ -8,6 +8,7 @@ import nu.fgv.register.server.task.category.TaskCategoryApi;
 import nu.fgv.register.server.task.category.TaskCategoryDto;
 import nu.fgv.register.server.util.AbstractApiTest;
 import nu.fgv.register.server.util.Constants;
+import nu.fgv.register.server.util.EntityVersionService;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -78,6 +79,9 @@ class TaskApiTest extends AbstractApiTest {
     @MockBean
     private EventApi eventApi;
 
+    @MockBean
+    private EntityVersionService entityVersionService;
+
     private final ResponseFieldsSnippet responseFields = auditResponseFields.and(
             fieldWithPath("id").description("The id of the task"),
             fieldWithPath("name").description("The name of the task"),
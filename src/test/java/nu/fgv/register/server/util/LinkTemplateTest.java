@@ -0,0 +1,74 @@
+package nu.fgv.register.server.util;
+
+import nu.fgv.register.server.spexare.SpexareApi;
+import nu.fgv.register.server.spexare.activity.task.actor.ActorApi;
+import nu.fgv.register.server.spexare.membership.MembershipApi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+class LinkTemplateTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void should_expand_like_link_builder() {
+        final LinkTemplate self = LinkTemplate.of(ids -> methodOn(SpexareApi.class).retrieve(ids[0]));
+        final LinkTemplate memberships = LinkTemplate.of(ids -> methodOn(MembershipApi.class).retrieve(ids[0], Pageable.unpaged(), ""));
+        final LinkTemplate actor = LinkTemplate.of(ids -> methodOn(ActorApi.class).retrieve(ids[0], ids[1], ids[2], ids[3]));
+
+        bindRequest("register.example.org");
+
+        for (long id = 1; id <= 3; id++) {
+            assertThat(self.expand(id).getHref(), is(linkTo(methodOn(SpexareApi.class).retrieve(id)).withSelfRel().getHref()));
+            assertThat(memberships.expand(id).getHref(), is(linkTo(methodOn(MembershipApi.class).retrieve(id, Pageable.unpaged(), "")).withSelfRel().getHref()));
+            assertThat(actor.expand(id, 20L, 300L, 4000L).getHref(), is(linkTo(methodOn(ActorApi.class).retrieve(id, 20L, 300L, 4000L)).withSelfRel().getHref()));
+        }
+    }
+
+    @Test
+    void should_follow_base_uri_of_current_request() {
+        final LinkTemplate self = LinkTemplate.of(ids -> methodOn(SpexareApi.class).retrieve(ids[0]));
+
+        bindRequest("one.example.org");
+        assertThat(self.expand(1L).getHref(), is("http://one.example.org/api/v1/spexare/1"));
+
+        bindRequest("two.example.org");
+        assertThat(self.expand(1L).getHref(), is("http://two.example.org/api/v1/spexare/1"));
+    }
+
+    @Test
+    void should_compile_after_request_that_could_not_be_compiled() {
+        final LinkTemplate self = LinkTemplate.of(ids -> methodOn(SpexareApi.class).retrieve(ids[0]));
+
+        // A base URI the link does not start with can not be compiled, so the link builder is used
+        bindRequest("one.example.org").setAttribute(LinkTemplate.BASE_URI_ATTRIBUTE, "http://proxy.example.org");
+        assertThat(self.expand(1L).getHref(), is("http://one.example.org/api/v1/spexare/1"));
+
+        bindRequest("two.example.org");
+        assertThat(self.expand(1L).getHref(), is("http://two.example.org/api/v1/spexare/1"));
+
+        // Only a compiled template builds the link from the base URI of the request
+        bindRequest("three.example.org").setAttribute(LinkTemplate.BASE_URI_ATTRIBUTE, "http://compiled.example.org");
+        assertThat(self.expand(1L).getHref(), is("http://compiled.example.org/api/v1/spexare/1"));
+    }
+
+    private static MockHttpServletRequest bindRequest(final String serverName) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/spexare");
+
+        request.setServerName(serverName);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        return request;
+    }
+}
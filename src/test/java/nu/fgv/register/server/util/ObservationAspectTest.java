@@ -0,0 +1,94 @@
+package nu.fgv.register.server.util;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ObservationAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ObservedService service;
+
+    @BeforeEach
+    void setUp() {
+        final ObservationRegistry observationRegistry = ObservationRegistry.create();
+        final AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new ObservedService());
+
+        meterRegistry = new SimpleMeterRegistry();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        proxyFactory.addAspect(new ObservationAspect(observationRegistry, new MockEnvironment(), Duration.ofSeconds(1)));
+        service = proxyFactory.getProxy();
+    }
+
+    @Test
+    void should_time_calls() {
+        service.succeed();
+        service.succeed();
+
+        final Timer timer = meterRegistry.find(ObservationAspect.OBSERVATION_NAME)
+                .tag("class", "ObservedService")
+                .tag("method", "succeed")
+                .tag("error", "none")
+                .timer();
+
+        assertThat(timer, is(notNullValue()));
+        assertThat(timer.count(), is(2L));
+    }
+
+    @Test
+    void should_time_failed_calls_by_error() {
+        assertThrows(IllegalStateException.class, () -> service.fail());
+
+        final Timer timer = meterRegistry.find(ObservationAspect.OBSERVATION_NAME)
+                .tag("method", "fail")
+                .tag("error", "IllegalStateException")
+                .timer();
+
+        assertThat(timer, is(notNullValue()));
+        assertThat(timer.count(), is(1L));
+    }
+
+    @Test
+    void should_render_arguments_bounded() {
+        final String arguments = new ObservationAspect.Arguments(new Object[]{
+                1L,
+                "a".repeat(ObservationAspect.MAX_ARGUMENT_LENGTH + 1),
+                List.of(1, 2, 3),
+                new ObservedService(),
+                null
+        }).toString();
+
+        assertThat(arguments, is("[1, " + "a".repeat(ObservationAspect.MAX_ARGUMENT_LENGTH) + "..., ListN[size=3], ObservedService, null]"));
+    }
+
+}
+
+@Service
+class ObservedService {
+
+    public void succeed() {
+    }
+
+    public void fail() {
+        throw new IllegalStateException("Failed");
+    }
+
+    @Override
+    public String toString() {
+        throw new AssertionError("Arguments must not be rendered by toString()");
+    }
+}
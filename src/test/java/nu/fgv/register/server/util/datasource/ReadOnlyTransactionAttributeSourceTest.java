@@ -0,0 +1,58 @@
+package nu.fgv.register.server.util.datasource;
+
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class ReadOnlyTransactionAttributeSourceTest {
+
+    private final TransactionAttributeSource source = new ReadOnlyTransactionAttributeSource(
+            new AnnotationTransactionAttributeSource(),
+            "nu.fgv.register.server",
+            List.of("find*", "search*")
+    );
+
+    @Test
+    void should_mark_matching_methods_read_only() throws Exception {
+        final TransactionAttribute attribute = source.getTransactionAttribute(TransactionalService.class.getMethod("findAll"), TransactionalService.class);
+
+        assertThat(attribute.isReadOnly(), is(true));
+        assertThat(attribute.getPropagationBehavior(), is(TransactionAttribute.PROPAGATION_REQUIRED));
+    }
+
+    @Test
+    void should_not_mark_other_methods_read_only() throws Exception {
+        final TransactionAttribute attribute = source.getTransactionAttribute(TransactionalService.class.getMethod("create"), TransactionalService.class);
+
+        assertThat(attribute.isReadOnly(), is(false));
+    }
+
+    @Test
+    void should_not_add_transactions() throws Exception {
+        assertThat(source.getTransactionAttribute(NonTransactionalService.class.getMethod("findAll"), NonTransactionalService.class), is(nullValue()));
+    }
+
+    @Transactional
+    public static class TransactionalService {
+
+        public void findAll() {
+        }
+
+        public void create() {
+        }
+    }
+
+    public static class NonTransactionalService {
+
+        public void findAll() {
+        }
+    }
+}
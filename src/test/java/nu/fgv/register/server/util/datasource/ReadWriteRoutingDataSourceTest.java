@@ -0,0 +1,62 @@
+package nu.fgv.register.server.util.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private ReplicationLagGuard replicationLagGuard;
+
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ReadWriteRoutingDataSource(primary, replica, replicationLagGuard);
+        dataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void should_route_read_write_to_primary() {
+        assertThat(dataSource.determineCurrentLookupKey(), is(ReadWriteRoutingDataSource.Route.PRIMARY));
+    }
+
+    @Test
+    void should_route_read_only_to_replica() {
+        when(replicationLagGuard.isReplicaUsable()).thenReturn(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.determineCurrentLookupKey(), is(ReadWriteRoutingDataSource.Route.REPLICA));
+    }
+
+    @Test
+    void should_route_read_only_to_primary_when_replica_is_lagging() {
+        when(replicationLagGuard.isReplicaUsable()).thenReturn(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.determineCurrentLookupKey(), is(ReadWriteRoutingDataSource.Route.PRIMARY));
+    }
+}
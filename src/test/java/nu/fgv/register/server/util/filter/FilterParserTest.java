@@ -0,0 +1,67 @@
+package nu.fgv.register.server.util.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+class FilterParserTest {
+
+    @Test
+    void should_return_null_for_empty_filter() {
+        assertThat(FilterParser.parseTree(null), is(nullValue()));
+        assertThat(FilterParser.parseTree(" "), is(nullValue()));
+    }
+
+    @Test
+    void should_parse_single_criteria() {
+        final FilterNode node = FilterParser.parseTree("firstName:*ohn*");
+
+        assertThat(node, is(instanceOf(FilterNode.Criterion.class)));
+
+        final FilterCriteria criteria = ((FilterNode.Criterion) node).criteria();
+
+        assertThat(criteria.getKey(), is("firstName"));
+        assertThat(criteria.getOperation(), is(FilterOperation.CONTAINS));
+        assertThat(criteria.getValue(), is("ohn"));
+    }
+
+    @Test
+    void should_respect_operator_precedence() {
+        final FilterNode node = FilterParser.parseTree("firstName:John OR lastName:Doe AND nickName:Jd");
+
+        assertThat(node, is(instanceOf(FilterNode.Or.class)));
+        assertThat(((FilterNode.Or) node).right(), is(instanceOf(FilterNode.And.class)));
+        assertThat(keys(node), contains("firstName", "lastName", "nickName"));
+    }
+
+    @Test
+    void should_respect_parentheses() {
+        final FilterNode node = FilterParser.parseTree("( firstName:John OR lastName:Doe ) AND nickName:Jd");
+
+        assertThat(node, is(instanceOf(FilterNode.And.class)));
+        assertThat(((FilterNode.And) node).left(), is(instanceOf(FilterNode.Or.class)));
+        assertThat(keys(node), contains("firstName", "lastName", "nickName"));
+    }
+
+    @Test
+    void should_reuse_parsed_filter() {
+        final String filter = "published:true AND subject:*news*";
+
+        assertThat(FilterParser.parseTree(filter), is(sameInstance(FilterParser.parseTree(filter))));
+    }
+
+    private List<String> keys(final FilterNode node) {
+        final List<String> keys = new ArrayList<>();
+
+        node.forEachCriteria(criteria -> keys.add(criteria.getKey()));
+        return keys;
+    }
+}
@@ -0,0 +1,60 @@
+package nu.fgv.register.server.util.impex.exporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nu.fgv.register.server.util.impex.model.ExcelCell;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Locale;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class FlatExportWriterTest {
+
+    private final FlatExportWriter writer = new FlatExportWriter(Row.class, new StaticMessageSource(), Locale.ENGLISH, new ObjectMapper());
+
+    @Test
+    void should_write_csv_in_column_order() throws IOException {
+        var out = new StringWriter();
+
+        writer.writeCsvHeader(out);
+        writer.writeCsvRow(out, new Row(1L, "Ada, \"the\" first", null));
+
+        assertThat(out.toString(), is("Id,Name,Comment\r\n1,\"Ada, \"\"the\"\" first\",\r\n"));
+    }
+
+    @Test
+    void should_write_json_lines_in_column_order() throws IOException {
+        var out = new StringWriter();
+
+        writer.writeJsonLine(out, new Row(1L, "Ada", "Line 1\nLine 2"));
+        writer.writeJsonLine(out, new Row(2L, "Bea", null));
+
+        assertThat(out.toString(), is("""
+                {"id":1,"name":"Ada","comment":"Line 1\\nLine 2"}
+                {"id":2,"name":"Bea","comment":null}
+                """));
+    }
+
+    // Declared out of column order to verify that the position decides the order
+    private static class Row {
+        @ExcelCell(header = "Id", position = 0)
+        private final Long id;
+
+        @ExcelCell(header = "Comment", position = 2)
+        private final String comment;
+
+        @ExcelCell(header = "Name", position = 1)
+        private final String name;
+
+        private Row(final Long id, final String name, final String comment) {
+            this.id = id;
+            this.name = name;
+            this.comment = comment;
+        }
+    }
+
+}
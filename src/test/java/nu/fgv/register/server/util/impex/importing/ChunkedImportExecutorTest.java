@@ -0,0 +1,218 @@
+package nu.fgv.register.server.util.impex.importing;
+
+import jakarta.validation.Validator;
+import nu.fgv.register.server.util.impex.model.ExcelSheet;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.MessageSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ChunkedImportExecutorTest {
+
+    private static final String SHEET_NAME = "Rows";
+    private static final String FAILING_NAME = "Failing";
+    private static final Long EXISTING_ID = 1L;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @TempDir
+    private Path tempDir;
+
+    private ChunkedImportExecutor executor;
+    private final RecordingImport chunkedImport = new RecordingImport();
+    private final List<ChunkResult> results = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(messageSource.getMessage(eq(SHEET_NAME), any(), eq(SHEET_NAME), any(Locale.class))).thenReturn(SHEET_NAME);
+        when(messageSource.getMessage(anyString(), any(), any(Locale.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        executor = new ChunkedImportExecutor(transactionManager, validator, messageSource);
+    }
+
+    @Test
+    void should_commit_each_chunk() throws IOException {
+        final Path file = createWorkbook("Name 1", "Name 2", "Name 3", "Name 4", "Name 5");
+
+        assertThat(executor.execute(file, chunkedImport, Locale.ENGLISH, 2, 0, results::add), is(true));
+
+        verify(transactionManager, times(3)).commit(any());
+        assertThat(chunkedImport.created, contains("Name 1", "Name 2", "Name 3", "Name 4", "Name 5"));
+        assertThat(results, hasSize(3));
+        assertThat(results.get(0).created(), is(2));
+        assertThat(results.get(2).created(), is(1));
+    }
+
+    @Test
+    void should_report_last_row_of_each_chunk() throws IOException {
+        final Path file = createWorkbook("Name 1", "Name 2", "Name 3", "Name 4", "Name 5");
+
+        executor.execute(file, chunkedImport, Locale.ENGLISH, 2, 0, results::add);
+
+        assertThat(results.stream().map(ChunkResult::lastRow).toList(), contains(2, 4, 5));
+    }
+
+    @Test
+    void should_retry_failed_chunk_row_by_row() throws IOException {
+        final Path file = createWorkbook("Name 1", FAILING_NAME, "Name 3");
+
+        executor.execute(file, chunkedImport, Locale.ENGLISH, 3, 0, results::add);
+
+        verify(transactionManager).rollback(any());
+        // One result per row, since only the failing row should fail
+        assertThat(results.stream().map(ChunkResult::lastRow).toList(), contains(1, 2, 3));
+        assertThat(results.stream().map(ChunkResult::created).toList(), contains(1, 0, 1));
+        assertThat(results.get(1).failed(), is(1));
+        assertThat(results.get(1).messages(), contains("import.row.failed"));
+    }
+
+    @Test
+    void should_skip_rows_already_imported_when_resuming() throws IOException {
+        final Path file = createWorkbook("Name 1", "Name 2", "Name 3", "Name 4", "Name 5");
+
+        executor.execute(file, chunkedImport, Locale.ENGLISH, 2, 3, results::add);
+
+        assertThat(chunkedImport.created, contains("Name 4", "Name 5"));
+        assertThat(results, hasSize(1));
+        assertThat(results.getFirst().lastRow(), is(5));
+    }
+
+    @Test
+    void should_not_import_missing_sheet() throws IOException {
+        when(messageSource.getMessage(eq(SHEET_NAME), any(), eq(SHEET_NAME), any(Locale.class))).thenReturn("Missing");
+        final Path file = createWorkbook("Name 1");
+
+        assertThat(executor.execute(file, chunkedImport, Locale.ENGLISH, 2, 0, results::add), is(false));
+        assertThat(results, hasSize(0));
+    }
+
+    @Test
+    void should_fail_delete_of_missing_entry() throws IOException {
+        final Path file = createWorkbook(new String[][]{{EXISTING_ID + "D", "Name 1"}, {"2D", "Name 2"}});
+
+        executor.execute(file, chunkedImport, Locale.ENGLISH, 2, 0, results::add);
+
+        assertThat(chunkedImport.deleted, contains(EXISTING_ID, 2L));
+        assertThat(results, hasSize(1));
+        assertThat(results.getFirst().deleted(), is(1));
+        assertThat(results.getFirst().failed(), is(1));
+        assertThat(results.getFirst().messages(), contains("import.validation.entryDoesNotExist"));
+    }
+
+    private Path createWorkbook(final String... names) throws IOException {
+        final String[][] rows = new String[names.length][];
+
+        for (int i = 0; i < names.length; i++) {
+            // Leaves the id cell empty, as for a new entry
+            rows[i] = new String[]{null, names[i]};
+        }
+        return createWorkbook(rows);
+    }
+
+    private Path createWorkbook(final String[][] rows) throws IOException {
+        final Path file = tempDir.resolve("rows.xlsx");
+
+        try (final XSSFWorkbook workbook = new XSSFWorkbook(); final OutputStream outputStream = Files.newOutputStream(file)) {
+            final Sheet sheet = workbook.createSheet(SHEET_NAME);
+            final Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Id");
+            header.createCell(1).setCellValue("Name");
+
+            for (int i = 0; i < rows.length; i++) {
+                final Row row = sheet.createRow(i + 1);
+
+                if (rows[i][0] != null) {
+                    row.createCell(0).setCellValue(rows[i][0]);
+                }
+                row.createCell(1).setCellValue(rows[i][1]);
+            }
+
+            workbook.write(outputStream);
+        }
+        return file;
+    }
+
+    @ExcelSheet(name = SHEET_NAME)
+    private static class RowSheet {
+    }
+
+    private static class RecordingImport implements ChunkedImport<String, String> {
+
+        private final List<String> created = new ArrayList<>();
+        private final List<Long> deleted = new ArrayList<>();
+
+        @Override
+        public Class<?> getSheetClass() {
+            return RowSheet.class;
+        }
+
+        @Override
+        public String toCreateDto(final ImportRow row) {
+            return row.cell(1);
+        }
+
+        @Override
+        public String toUpdateDto(final Long id, final ImportRow row) {
+            return row.cell(1);
+        }
+
+        @Override
+        public void create(final String dto) {
+            if (FAILING_NAME.equals(dto)) {
+                throw new IllegalStateException("Could not create");
+            }
+            created.add(dto);
+        }
+
+        @Override
+        public boolean update(final String dto) {
+            return true;
+        }
+
+        @Override
+        public boolean deleteById(final Long id) {
+            deleted.add(id);
+            return EXISTING_ID.equals(id);
+        }
+    }
+}
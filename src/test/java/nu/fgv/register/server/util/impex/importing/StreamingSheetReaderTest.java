@@ -0,0 +1,77 @@
+package nu.fgv.register.server.util.impex.importing;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class StreamingSheetReaderTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void should_read_rows_of_sheet() throws IOException {
+        var file = createWorkbook();
+        var rows = new ArrayList<ImportRow>();
+
+        assertThat(StreamingSheetReader.read(file, "Tasks", rows::add), is(true));
+        assertThat(rows, hasSize(3));
+        assertThat(rows.get(0).cells(), contains("Id", "Name"));
+        assertThat(rows.get(1).longCell(0), is(1L));
+        assertThat(rows.get(1).cell(1), is("Task 1"));
+        assertThat(rows.get(2).cell(0), is(nullValue()));
+        assertThat(rows.get(2).cell(1), is("Task 2"));
+    }
+
+    @Test
+    void should_not_read_missing_sheet() throws IOException {
+        var file = createWorkbook();
+        var rows = new ArrayList<ImportRow>();
+
+        assertThat(StreamingSheetReader.read(file, "Missing", rows::add), is(false));
+        assertThat(rows, hasSize(0));
+    }
+
+    private Path createWorkbook() throws IOException {
+        final Path file = tempDir.resolve("tasks.xlsx");
+
+        try (final XSSFWorkbook workbook = new XSSFWorkbook(); final OutputStream outputStream = Files.newOutputStream(file)) {
+            final Sheet other = workbook.createSheet("Other");
+            other.createRow(0).createCell(0).setCellValue("Other");
+
+            final Sheet sheet = workbook.createSheet("Tasks");
+            addRow(sheet, 0, List.of("Id", "Name"));
+            final Row first = sheet.createRow(1);
+            first.createCell(0).setCellValue(1);
+            first.createCell(1).setCellValue("Task 1");
+            // Leaves the id cell empty, as for a new entry
+            sheet.createRow(2).createCell(1).setCellValue("Task 2");
+
+            workbook.write(outputStream);
+        }
+        return file;
+    }
+
+    private static void addRow(final Sheet sheet, final int rowNum, final List<String> values) {
+        final Row row = sheet.createRow(rowNum);
+
+        for (int i = 0; i < values.size(); i++) {
+            row.createCell(i).setCellValue(values.get(i));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package nu.fgv.register.server.util.persistence;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasKey;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PersistenceEndpointTest {
+
+    private final PersistenceStatistics statistics = mock(PersistenceStatistics.class);
+    private final PersistenceEndpoint endpoint = new PersistenceEndpoint(statistics);
+
+    @Test
+    void should_only_report_state_when_disabled() {
+        when(statistics.isEnabled()).thenReturn(false);
+
+        final Map<String, Object> result = endpoint.persistence();
+
+        assertThat(result, aMapWithSize(1));
+        assertThat(result, hasEntry("enabled", false));
+    }
+
+    @Test
+    void should_report_statistics_when_enabled() {
+        final Statistics hibernate = mock(Statistics.class);
+
+        when(statistics.isEnabled()).thenReturn(true);
+        when(statistics.getHibernateStatistics()).thenReturn(hibernate);
+        when(statistics.getIndexStatistics()).thenReturn(List.of(new PersistenceStatistics.IndexStatistics("Spexare", "Spexare", 1024L, 2, 10)));
+        when(hibernate.getSecondLevelCacheRegionNames()).thenReturn(new String[0]);
+
+        final Map<String, Object> result = endpoint.persistence();
+
+        assertThat(result, hasEntry("enabled", true));
+        assertThat(result, hasKey("hibernate"));
+        assertThat(result, hasKey("indexes"));
+    }
+
+    @Test
+    void should_toggle() {
+        endpoint.toggle(true);
+
+        verify(statistics).setEnabled(true);
+    }
+
+}
@@ -0,0 +1,64 @@
+package nu.fgv.register.server.util.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PersistenceStatisticsTest {
+
+    private final EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+    private final SessionFactory sessionFactory = mock(SessionFactory.class);
+    private final Statistics hibernate = mock(Statistics.class);
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final PersistenceStatistics statistics = new PersistenceStatistics(entityManagerFactory,
+            new StaticListableBeanFactory(Map.of("meterRegistry", registry)).getBeanProvider(MeterRegistry.class), "./.index");
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(hibernate);
+    }
+
+    @Test
+    void should_bind_hibernate_meters_when_enabled() {
+        when(hibernate.isStatisticsEnabled()).thenReturn(true);
+
+        statistics.setEnabled(true);
+
+        verify(hibernate).setStatisticsEnabled(true);
+        assertThat(registry.find("hibernate.sessions.open").meter(), notNullValue());
+    }
+
+    @Test
+    void should_bind_hibernate_meters_once() {
+        when(hibernate.isStatisticsEnabled()).thenReturn(true);
+
+        statistics.setEnabled(true);
+        statistics.setEnabled(false);
+        statistics.setEnabled(true);
+
+        assertThat(registry.find("hibernate.sessions.open").meters(), hasSize(1));
+    }
+
+    @Test
+    void should_not_bind_hibernate_meters_when_disabled() {
+        statistics.setEnabled(false);
+
+        assertThat(registry.find("hibernate.sessions.open").meter(), nullValue());
+    }
+}
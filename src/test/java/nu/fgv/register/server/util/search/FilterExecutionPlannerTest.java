@@ -0,0 +1,123 @@
+package nu.fgv.register.server.util.search;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import nu.fgv.register.server.admin.IndexingService;
+import nu.fgv.register.server.spexare.Spexare;
+import nu.fgv.register.server.util.filter.FilterParser;
+import org.hibernate.search.engine.search.query.SearchResult;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class FilterExecutionPlannerTest {
+
+    private static final int MAX_IDS = 2;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private IndexingService indexingService;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private SearchSession searchSession;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private SearchResult<Object> searchResult;
+
+    @InjectMocks
+    private FilterExecutionPlanner planner;
+
+    private MockedStatic<Search> search;
+
+    private final Specification<Spexare> specification = (root, query, builder) -> builder.conjunction();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReflectionTestUtils.setField(planner, "maxIds", MAX_IDS);
+
+        search = mockStatic(Search.class);
+        search.when(() -> Search.session(entityManager)).thenReturn(searchSession);
+        when(searchSession.search(Spexare.class).select(any(Function.class)).where(any(Function.class)).fetch(anyInt())).thenAnswer(invocation -> searchResult);
+        when(indexingService.isIndexCurrent()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        search.close();
+    }
+
+    @Test
+    void should_use_database_while_index_lacks_normalized_fields() {
+        when(indexingService.isIndexCurrent()).thenReturn(false);
+
+        assertThat(planner.plan(Spexare.class, FilterParser.parseTree("firstName:*ohn*"), criteria -> specification), sameInstance(specification));
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void should_filter_substring_on_indexed_field_by_ids_from_index() {
+        final Root<Spexare> root = mock(Root.class);
+        final Path<Object> path = mock(Path.class);
+        final Predicate predicate = mock(Predicate.class);
+
+        when(searchResult.total().hitCountLowerBound()).thenReturn(2L);
+        when(searchResult.hits()).thenReturn(List.of(1L, 2L));
+        when(root.get("id")).thenReturn(path);
+        when(path.in(List.of(1L, 2L))).thenReturn(predicate);
+
+        final Specification<Spexare> planned = planner.plan(Spexare.class, FilterParser.parseTree("firstName:*ohn*"), criteria -> specification);
+
+        assertThat(planned, not(sameInstance(specification)));
+        assertThat(planned.toPredicate(root, mock(CriteriaQuery.class), mock(CriteriaBuilder.class)), sameInstance(predicate));
+        verify(path).in(List.of(1L, 2L));
+    }
+
+    @Test
+    void should_use_database_when_index_matches_more_than_max_ids() {
+        when(searchResult.total().hitCountLowerBound()).thenReturn(MAX_IDS + 1L);
+        when(searchResult.hits()).thenReturn(List.of(1L, 2L, 3L));
+
+        assertThat(planner.plan(Spexare.class, FilterParser.parseTree("firstName:*ohn*"), criteria -> specification), sameInstance(specification));
+    }
+
+    @Test
+    void should_use_database_for_field_without_normalized_field() {
+        assertThat(planner.plan(Spexare.class, FilterParser.parseTree("graduation:*F9*"), criteria -> specification), sameInstance(specification));
+        search.verifyNoInteractions();
+    }
+}
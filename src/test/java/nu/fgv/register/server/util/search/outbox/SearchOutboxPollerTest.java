@@ -0,0 +1,214 @@
+package nu.fgv.register.server.util.search.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import nu.fgv.register.server.spexare.Spexare;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.entity.SearchIndexedEntity;
+import org.hibernate.search.mapper.orm.mapping.SearchMapping;
+import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.hibernate.search.mapper.orm.work.SearchIndexingPlan;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SearchOutboxPollerTest {
+
+    private static final String ORIGIN = "node-1";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private SearchMapping searchMapping;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private SessionFactoryImplementor sessionFactory;
+
+    @Mock
+    private SearchSession searchSession;
+
+    @Mock
+    private SearchIndexingPlan indexingPlan;
+
+    @TempDir
+    private Path indexRoot;
+
+    private MockedStatic<Search> search;
+    private SearchOutboxPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        final SearchIndexedEntity<?> indexedEntity = mock(SearchIndexedEntity.class);
+        final EntityPersister persister = mock(EntityPersister.class, Answers.RETURNS_DEEP_STUBS);
+
+        search = mockStatic(Search.class);
+        search.when(() -> Search.mapping(entityManagerFactory)).thenReturn(searchMapping);
+        search.when(() -> Search.session(entityManager)).thenReturn(searchSession);
+        doReturn(Spexare.class).when(indexedEntity).javaClass();
+        doReturn(List.of(indexedEntity)).when(searchMapping).allIndexedEntities();
+        when(searchSession.indexingPlan()).thenReturn(indexingPlan);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getMappingMetamodel().getEntityDescriptor(Spexare.class.getName())).thenReturn(persister);
+        doReturn(Spexare.class).when(persister).getMappedClass();
+        doReturn(Long.class).when(persister.getIdentifierType()).getReturnedClass();
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        poller = new SearchOutboxPoller(jdbcTemplate, transactionTemplate, entityManager, entityManagerFactory, ORIGIN,
+                indexRoot, 500, Duration.ofSeconds(2), Duration.ofDays(1), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        search.close();
+    }
+
+    @Test
+    void should_rebuild_index_without_offset() throws Exception {
+        when(jdbcTemplate.queryForObject(contains("MAX(id)"), eq(Long.class))).thenReturn(42L);
+
+        poller.poll();
+
+        verify(searchMapping.scope(Object.class).massIndexer()).startAndWait();
+        assertThat(offset(), is("42"));
+    }
+
+    @Test
+    void should_rebuild_index_when_events_after_offset_have_been_deleted() throws Exception {
+        Files.writeString(indexRoot.resolve("outbox-offset"), "10");
+        when(jdbcTemplate.queryForObject(contains("MIN(id)"), eq(Long.class))).thenReturn(20L);
+        when(jdbcTemplate.queryForObject(contains("MAX(id)"), eq(Long.class))).thenReturn(30L);
+
+        poller.poll();
+
+        verify(searchMapping.scope(Object.class).massIndexer()).startAndWait();
+        assertThat(offset(), is("30"));
+    }
+
+    @Test
+    void should_continue_from_offset() throws Exception {
+        Files.writeString(indexRoot.resolve("outbox-offset"), "10");
+        when(jdbcTemplate.queryForObject(contains("MIN(id)"), eq(Long.class))).thenReturn(5L);
+
+        poller.poll();
+
+        verify(searchMapping.scope(Object.class).massIndexer(), never()).startAndWait();
+        verify(jdbcTemplate).query(contains("WHERE id > ? AND created_at <= ?"), any(RowMapper.class), eq(10L), any(), eq(500));
+    }
+
+    @Test
+    void should_apply_latest_remote_change_per_entity() throws Exception {
+        final Spexare spexare = new Spexare();
+
+        Files.writeString(indexRoot.resolve("outbox-offset"), "10");
+        when(jdbcTemplate.queryForObject(contains("MIN(id)"), eq(Long.class))).thenReturn(5L);
+        events(
+                event(11, "1", false, "node-2"),
+                event(12, "2", false, "node-2"),
+                event(13, "2", true, "node-2"),
+                event(14, "3", false, ORIGIN)
+        );
+        when(entityManager.find(Spexare.class, 1L)).thenReturn(spexare);
+
+        poller.poll();
+
+        verify(indexingPlan).addOrUpdate(spexare);
+        verify(indexingPlan).purge(Spexare.class, 2L, null);
+        verify(entityManager, never()).find(Spexare.class, 2L);
+        // Changes made on this node have already been indexed
+        verify(entityManager, never()).find(Spexare.class, 3L);
+        assertThat(offset(), is("14"));
+    }
+
+    @Test
+    void should_purge_entity_deleted_before_event_was_applied() throws Exception {
+        Files.writeString(indexRoot.resolve("outbox-offset"), "10");
+        when(jdbcTemplate.queryForObject(contains("MIN(id)"), eq(Long.class))).thenReturn(5L);
+        events(event(11, "1", false, "node-2"));
+
+        poller.poll();
+
+        verify(indexingPlan).purge(eq(Spexare.class), eq(1L), isNull());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void events(final ResultSet... rows) {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation -> {
+            final RowMapper<Object> rowMapper = invocation.getArgument(1);
+            final List<Object> events = new ArrayList<>();
+
+            for (int i = 0; i < rows.length; i++) {
+                events.add(rowMapper.mapRow(rows[i], i));
+            }
+            return events;
+        });
+    }
+
+    private static ResultSet event(final long id, final String entityId, final boolean deleted, final String origin) throws Exception {
+        final ResultSet rs = mock(ResultSet.class);
+
+        when(rs.getLong("id")).thenReturn(id);
+        when(rs.getString("entity_name")).thenReturn(Spexare.class.getName());
+        when(rs.getString("entity_id")).thenReturn(entityId);
+        when(rs.getBoolean("deleted")).thenReturn(deleted);
+        when(rs.getString("origin")).thenReturn(origin);
+        return rs;
+    }
+
+    private String offset() throws Exception {
+        return Files.readString(indexRoot.resolve("outbox-offset"), StandardCharsets.UTF_8);
+    }
+}
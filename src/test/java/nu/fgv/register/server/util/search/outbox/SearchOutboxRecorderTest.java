@@ -0,0 +1,150 @@
+package nu.fgv.register.server.util.search.outbox;
+
+import nu.fgv.register.server.event.Event;
+import nu.fgv.register.server.spexare.Spexare;
+import nu.fgv.register.server.spexare.activity.Activity;
+import nu.fgv.register.server.spexare.activity.task.TaskActivity;
+import nu.fgv.register.server.spexare.activity.task.actor.Actor;
+import nu.fgv.register.server.spexare.address.Address;
+import nu.fgv.register.server.tag.Tag;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.jdbc.Work;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SearchOutboxRecorderTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EventSource session;
+
+    @Mock
+    private ActionQueue actionQueue;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private final SearchOutboxRecorder recorder = new SearchOutboxRecorder(List.of(Spexare.class), "node-1");
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(session.getActionQueue()).thenReturn(actionQueue);
+        when(connection.prepareStatement(SearchOutboxRecorder.INSERT_SQL)).thenReturn(statement);
+        doAnswer(invocation -> {
+            invocation.<Work>getArgument(0).execute(connection);
+            return null;
+        }).when(session).doWork(any(Work.class));
+    }
+
+    @Test
+    void should_include_embedded_types() {
+        final Set<Class<?>> types = SearchOutboxRecorder.searchRelevantTypes(List.of(Spexare.class));
+
+        assertThat(types, hasItems(Spexare.class, Activity.class, Actor.class, Address.class, Tag.class));
+        assertThat(types, not(hasItem(Event.class)));
+    }
+
+    @Test
+    void should_find_fields_referring_to_embedding_entity() {
+        assertThat(SearchOutboxRecorder.ownerFields(List.of(Spexare.class)).keySet(), hasItems(Activity.class, TaskActivity.class, Actor.class, Address.class));
+        assertThat(SearchOutboxRecorder.ownerFields(List.of(Spexare.class)).keySet(), not(hasItem(Tag.class)));
+    }
+
+    @Test
+    void should_write_changes_once_per_entity_before_completion() throws Exception {
+        final EntityPersister persister = persister(Spexare.class);
+
+        recorder.onPostInsert(new PostInsertEvent(new Spexare(), 1L, new Object[0], persister, session));
+        recorder.onPostInsert(new PostInsertEvent(new Spexare(), 2L, new Object[0], persister, session));
+        recorder.onPostDelete(new PostDeleteEvent(new Spexare(), 1L, new Object[0], persister, session));
+        complete();
+
+        verify(statement, times(2)).addBatch();
+        verify(statement).setString(2, "1");
+        verify(statement).setBoolean(3, true);
+        verify(statement).setString(2, "2");
+        verify(statement).setBoolean(3, false);
+        verify(statement, times(2)).setString(4, "node-1");
+        verify(statement).executeBatch();
+    }
+
+    @Test
+    void should_record_embedding_entity_of_deleted_embedded_entity() throws Exception {
+        final EntityPersister spexarePersister = persister(Spexare.class);
+        final Spexare spexare = new Spexare();
+        final Activity activity = new Activity();
+
+        spexare.setId(7L);
+        activity.setSpexare(spexare);
+        when(session.getFactory().getMappingMetamodel().getEntityDescriptor(Spexare.class)).thenReturn(spexarePersister);
+        when(session.getFactory().getPersistenceUnitUtil().getIdentifier(spexare)).thenReturn(7L);
+
+        recorder.onPostDelete(new PostDeleteEvent(activity, 3L, new Object[0], persister(Activity.class), session));
+        complete();
+
+        verify(statement).setString(1, Activity.class.getName());
+        verify(statement).setString(1, Spexare.class.getName());
+        verify(statement).setString(2, "7");
+        verify(statement).setBoolean(3, false);
+        verify(statement).executeBatch();
+    }
+
+    @Test
+    void should_ignore_types_not_relevant_to_search() throws Exception {
+        recorder.onPostInsert(new PostInsertEvent(new Object(), 1L, new Object[0], persister(Event.class), session));
+
+        verify(actionQueue, never()).registerProcess(any(BeforeTransactionCompletionProcess.class));
+        verify(statement, never()).setString(anyInt(), anyString());
+    }
+
+    private void complete() {
+        final ArgumentCaptor<BeforeTransactionCompletionProcess> process = ArgumentCaptor.forClass(BeforeTransactionCompletionProcess.class);
+
+        verify(actionQueue).registerProcess(process.capture());
+        process.getValue().doBeforeTransactionCompletion(session);
+    }
+
+    private static EntityPersister persister(final Class<?> type) {
+        final EntityPersister persister = mock(EntityPersister.class);
+
+        doReturn(type).when(persister).getMappedClass();
+        when(persister.getEntityName()).thenReturn(type.getName());
+        return persister;
+    }
+}
@@ -0,0 +1,80 @@
+package nu.fgv.register.server.util.sql;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import nu.fgv.register.server.util.ObservationAspect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class QueryObservationHandlerTest {
+
+    private final QueryStatisticsListener listener = new QueryStatisticsListener(Duration.ofSeconds(1));
+    private SimpleMeterRegistry meterRegistry;
+    private ObservationRegistry observationRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new QueryObservationHandler(meterRegistry, 5));
+    }
+
+    @Test
+    void should_record_statements_per_route() {
+        requestObservation().observe(() -> {
+            execute("SELECT * FROM task");
+            execute("SELECT * FROM task_category WHERE id = ?");
+        });
+
+        assertThat(meterRegistry.get(QueryObservationHandler.REQUEST_METRIC_PREFIX + ".statements").tag("uri", "/api/v1/tasks").summary().totalAmount(), is(2.0));
+        assertThat(meterRegistry.find(QueryObservationHandler.N_PLUS_ONE_METRIC).counter(), is(nullValue()));
+    }
+
+    @Test
+    void should_record_statements_per_method() {
+        Observation.createNotStarted(ObservationAspect.OBSERVATION_NAME, observationRegistry)
+                .lowCardinalityKeyValue("class", "TaskService")
+                .lowCardinalityKeyValue("method", "findAll")
+                .observe(() -> execute("SELECT * FROM task"));
+
+        assertThat(meterRegistry.get(QueryObservationHandler.METHOD_METRIC_PREFIX + ".statements").tag("class", "TaskService").summary().totalAmount(), is(1.0));
+    }
+
+    @Test
+    void should_detect_n_plus_one() {
+        requestObservation().observe(() -> {
+            execute("SELECT * FROM task");
+            IntStream.range(0, 5).forEach(i -> execute("SELECT * FROM task_category WHERE id = ?"));
+        });
+
+        assertThat(meterRegistry.get(QueryObservationHandler.N_PLUS_ONE_METRIC).tag("uri", "/api/v1/tasks").counter().count(), is(1.0));
+    }
+
+    private Observation requestObservation() {
+        return Observation.createNotStarted("http.server.requests", () -> new ServerRequestObservationContext(new MockHttpServletRequest(), new MockHttpServletResponse()), observationRegistry)
+                .lowCardinalityKeyValue("method", "GET")
+                .lowCardinalityKeyValue("uri", "/api/v1/tasks");
+    }
+
+    private void execute(final String sql) {
+        final ExecutionInfo executionInfo = new ExecutionInfo();
+
+        executionInfo.setElapsedTime(1);
+        listener.afterQuery(executionInfo, List.of(new QueryInfo(sql)));
+    }
+
+}